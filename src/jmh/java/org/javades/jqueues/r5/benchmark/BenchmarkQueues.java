@@ -0,0 +1,196 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.benchmark;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.FCFS;
+import org.javades.jqueues.r5.util.swing.KnownSimQueue;
+import org.javades.jsimulation.r5.SimEventList;
+
+/** Utility methods for benchmarks over {@link KnownSimQueue}s.
+ * 
+ * <p>
+ * Composite queues are created with {@link FCFS} sub-queues;
+ * encapsulators and feedback queues get a single sub-queue,
+ * the parallel dispatchers ({@link KnownSimQueue#JSQ}, {@link KnownSimQueue#JSQ_D} and {@link KnownSimQueue#JIQ})
+ * get {@link #NUMBER_OF_DISPATCHER_SUB_QUEUES} sub-queues,
+ * and the other composite queues get {@link #NUMBER_OF_SUB_QUEUES} sub-queues.
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+final class BenchmarkQueues
+{
+  
+  /** Prevents instantiation.
+   * 
+   */
+  private BenchmarkQueues ()
+  {
+  }
+  
+  /** The number of sub-queues of composite queues that take more than a single sub-queue.
+   * 
+   */
+  public static final int NUMBER_OF_SUB_QUEUES = 2;
+  
+  /** The number of sub-queues of the parallel dispatchers, which are meant for large fan-outs.
+   * 
+   */
+  public static final int NUMBER_OF_DISPATCHER_SUB_QUEUES = 16;
+  
+  /** The wait or service time for queues that take one, like {@link KnownSimQueue#DELAY}.
+   * 
+   */
+  public static final double WAIT_SERVICE_TIME = 1.0;
+  
+  /** The buffer size for queues with a finite buffer.
+   * 
+   */
+  public static final int BUFFER_SIZE = 10;
+  
+  /** The feedback probability for {@link KnownSimQueue#FB_PROB}.
+   * 
+   */
+  public static final double FEEDBACK_PROBABILITY = 0.5;
+  
+  /** Returns the number of sub-queues required for a known queue type.
+   * 
+   * @param knownSimQueue The known queue type, non-{@code null}.
+   * 
+   * @return The number of sub-queues required, zero for non-composite queues.
+   * 
+   */
+  public static int getNumberOfSubQueues (final KnownSimQueue knownSimQueue)
+  {
+    if (! knownSimQueue.isComposite ())
+      return 0;
+    switch (knownSimQueue)
+    {
+      case ENC:
+      case ENC_HS:
+      case FB_PROB:
+      case FB_VISITS:
+        return 1;
+      case JSQ:
+      case JSQ_D:
+      case JIQ:
+        return NUMBER_OF_DISPATCHER_SUB_QUEUES;
+      default:
+        return NUMBER_OF_SUB_QUEUES;
+    }
+  }
+  
+  /** Creates a new queue of given known type.
+   * 
+   * @param knownSimQueue   The known queue type, non-{@code null}.
+   * @param eventList       The event list, non-{@code null}.
+   * @param numberOfServers The number of servers, used only for multi-server queues.
+   * 
+   * @return The new queue.
+   * 
+   * @throws IllegalArgumentException If the queue type cannot be instantiated.
+   * 
+   */
+  public static SimQueue newQueue (final KnownSimQueue knownSimQueue, final SimEventList eventList, final int numberOfServers)
+  {
+    final KnownSimQueue.Parameters parameters = new KnownSimQueue.Parameters ();
+    parameters.eventList = eventList;
+    parameters.numberOfServers = numberOfServers;
+    parameters.waitServiceTime = WAIT_SERVICE_TIME;
+    parameters.bufferSize = BUFFER_SIZE;
+    parameters.feedbackProbability = FEEDBACK_PROBABILITY;
+    final int numberOfSubQueues = getNumberOfSubQueues (knownSimQueue);
+    if (numberOfSubQueues > 0)
+    {
+      final Set<SimQueue> queues = new LinkedHashSet<> ();
+      for (int q = 0; q < numberOfSubQueues; q++)
+        queues.add (new FCFS (eventList));
+      parameters.queues = queues;
+    }
+    final SimQueue queue = knownSimQueue.newInstance (parameters);
+    if (queue == null)
+      throw new IllegalArgumentException ("Cannot instantiate " + knownSimQueue + ".");
+    return queue;
+  }
+  
+  /** Returns the service capacity of a queue of given known type relative to that of a single server.
+   * 
+   * <p>
+   * The arrival rate of a benchmark load is the target utilization times the service capacity,
+   * so that all queue types see comparable (and stable) loads.
+   * Infinite-server and serverless queues have capacity unity.
+   * 
+   * @param knownSimQueue   The known queue type, non-{@code null}.
+   * @param numberOfServers The number of servers, used only for multi-server queues.
+   * 
+   * @return The service capacity.
+   * 
+   */
+  public static double getServiceCapacity (final KnownSimQueue knownSimQueue, final int numberOfServers)
+  {
+    switch (knownSimQueue)
+    {
+      case NO_BUFFER_c:
+      case FCFS_c:
+        return numberOfServers;
+      case JSQ:
+      case JSQ_D:
+      case JIQ:
+        // Jobs visit (exactly) one of the sub-queues.
+        return NUMBER_OF_DISPATCHER_SUB_QUEUES;
+      case FB_PROB:
+        // The expected number of visits to the sub-queue is 1 / (1 - p).
+        return 1.0 - FEEDBACK_PROBABILITY;
+      default:
+        return 1.0;
+    }
+  }
+  
+  /** Runs the event list until it is empty, and returns the number of events processed.
+   * 
+   * @param eventList The event list, non-{@code null}.
+   * 
+   * @return The number of events processed.
+   * 
+   */
+  public static long runEventList (final SimEventList eventList)
+  {
+    long events = 0;
+    while (! eventList.isEmpty ())
+    {
+      eventList.runSingleStep ();
+      events++;
+    }
+    return events;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
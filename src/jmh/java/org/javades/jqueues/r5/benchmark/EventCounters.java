@@ -0,0 +1,74 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** JMH auxiliary counters for the number of events processed and the number of jobs offered.
+ * 
+ * <p>
+ * Benchmarks taking this object as argument add the number of events processed and jobs offered per invocation.
+ * JMH reports both counters as rates next to the primary score,
+ * yielding events per second and jobs per second, respectively.
+ * The time per event is the reciprocal of the event rate;
+ * with the GC profiler ({@code -prof gc}), the allocation per job is the allocation rate divided by the job rate.
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+@State (Scope.Thread)
+@AuxCounters (AuxCounters.Type.OPERATIONS)
+public class EventCounters
+{
+  
+  /** The number of events processed.
+   * 
+   */
+  public long events;
+  
+  /** The number of jobs offered.
+   * 
+   */
+  public long jobs;
+  
+  /** Clears the counters at the start of each iteration.
+   * 
+   */
+  @Setup (Level.Iteration)
+  public void clear ()
+  {
+    this.events = 0;
+    this.jobs = 0;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
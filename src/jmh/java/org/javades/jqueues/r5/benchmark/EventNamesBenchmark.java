@@ -0,0 +1,207 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.javades.jqueues.r5.entity.SimEntity;
+import org.javades.jqueues.r5.entity.SimEntityEvent;
+import org.javades.jqueues.r5.entity.SimEntityNotificationBuffer;
+import org.javades.jqueues.r5.entity.jq.SimJQEventScheduler;
+import org.javades.jqueues.r5.entity.jq.job.DefaultSimJob;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.FCFS;
+import org.javades.jqueues.r5.entity.jq.queue.processorsharing.PS;
+import org.javades.jqueues.r5.listener.DefaultSimEntityListener;
+import org.javades.jsimulation.r5.DefaultSimEventList;
+import org.javades.jsimulation.r5.SimEventList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** A JMH benchmark for the cost of (lazily) naming {@link SimEntityEvent}s on {@link FCFS} and {@link PS}.
+ * 
+ * <p>
+ * Each invocation resets the event list, schedules {@link #NUMBER_OF_JOBS} job arrivals
+ * (with unit service time and deterministic inter-arrival times, at load {@link #LOAD}),
+ * and runs the event list until all jobs have departed.
+ * The score is in jobs per second.
+ * 
+ * <p>
+ * A listener is registered on the queue, so all notifications are created.
+ * With {@code forceNames == false}, the listener ignores the notifications,
+ * and the names of the events involved are never created.
+ * With {@code forceNames == true}, the listener requests the name of every notification,
+ * approximating the (former) behavior of creating event names eagerly upon construction.
+ * The difference between both settings shows the throughput gain of lazy event names.
+ * 
+ * <p>
+ * Build with {@code mvn -Pbenchmark package}, and run with, e.g.,
+ * {@code java -jar target/benchmarks.jar EventNamesBenchmark}.
+ * 
+ * @see SimEntityEvent#getName
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.SECONDS)
+@Warmup (iterations = 5, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+@State (Scope.Thread)
+public class EventNamesBenchmark
+{
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // PARAMETERS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The number of jobs per invocation.
+   * 
+   */
+  public static final int NUMBER_OF_JOBS = 10000;
+  
+  /** The (offered) load on the queue.
+   * 
+   */
+  public static final double LOAD = 0.8;
+  
+  /** The queue type; "FCFS" or "PS".
+   * 
+   */
+  @Param ({"FCFS", "PS"})
+  public String queueType;
+  
+  /** Whether the listener requests the name of every notification.
+   * 
+   */
+  @Param ({"false", "true"})
+  public boolean forceNames;
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // STATE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private SimEventList eventList;
+  
+  private SimQueue queue;
+  
+  private SimJob[] jobs;
+  
+  private NamingListener listener;
+  
+  /** A listener that (optionally) requests the name of every notification it receives.
+   * 
+   */
+  private static final class NamingListener
+  extends DefaultSimEntityListener
+  {
+    
+    private final boolean forceNames;
+    
+    private long nameLength = 0;
+    
+    private NamingListener (final boolean forceNames)
+    {
+      this.forceNames = forceNames;
+    }
+    
+    @Override
+    public void notifyStateChanged
+    (final double time, final SimEntity entity, final SimEntityNotificationBuffer notifications)
+    {
+      if (this.forceNames)
+        for (int i = 0; i < notifications.size (); i++)
+          this.nameLength += notifications.getNotificationEvent (i).getName ().length ();
+    }
+    
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SETUP
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  @Setup (Level.Trial)
+  public void setup ()
+  {
+    this.eventList = new DefaultSimEventList ();
+    switch (this.queueType)
+    {
+      case "FCFS":
+        this.queue = new FCFS (this.eventList);
+        break;
+      case "PS":
+        this.queue = new PS (this.eventList);
+        break;
+      default:
+        throw new IllegalArgumentException ("queueType: " + this.queueType);
+    }
+    this.listener = new NamingListener (this.forceNames);
+    this.queue.registerSimEntityListener (this.listener);
+    this.jobs = new SimJob[NUMBER_OF_JOBS];
+    // Jobs do not need the event list; attaching them would only add reset listeners to it.
+    for (int i = 0; i < NUMBER_OF_JOBS; i++)
+      this.jobs[i] = new DefaultSimJob (null, "J" + i, 1.0);
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // BENCHMARK
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  @Benchmark
+  @OperationsPerInvocation (NUMBER_OF_JOBS)
+  public long runJobs ()
+  {
+    this.eventList.reset ();
+    for (int i = 0; i < NUMBER_OF_JOBS; i++)
+      SimJQEventScheduler.scheduleJobArrival (this.jobs[i], this.queue, i / LOAD);
+    this.eventList.run ();
+    return this.listener.nameLength;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
@@ -0,0 +1,169 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.javades.jqueues.r5.entity.jq.job.visitslogging.DefaultVisitsLoggingSimJobQoSFactory;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.util.loadfactory.LoadFactory_SQ_SV;
+import org.javades.jqueues.r5.util.loadfactory.pattern.KnownLoadFactory_SQ_SV;
+import org.javades.jqueues.r5.util.swing.KnownSimQueue;
+import org.javades.jsimulation.r5.DefaultSimEventList;
+import org.javades.jsimulation.r5.SimEventList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** A JMH benchmark running the {@link KnownLoadFactory_SQ_SV} load patterns on every (instantiable) {@link KnownSimQueue}.
+ * 
+ * <p>
+ * Before each invocation, the load factory resets the event list
+ * and schedules the load (job arrivals, revocations, queue-access vacations, server-access credits, etc.)
+ * for {@link #numberOfJobs} jobs, just like the {@link SimQueue} tests do.
+ * The invocation itself runs the event list until it is empty.
+ * Load generation is therefore excluded from the measurements,
+ * but the administration of visit logs by the jobs (created by a {@link DefaultVisitsLoggingSimJobQoSFactory}) is not.
+ * Composite queues use {@link org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.FCFS} sub-queues,
+ * see {@link BenchmarkQueues}.
+ * 
+ * <p>
+ * The primary score is in simulation runs per second;
+ * the auxiliary counters report events and jobs per second, see {@link EventCounters}.
+ * Since all events are scheduled in advance, the default numbers of jobs are smaller than those of
+ * {@link SimQueueLoadBenchmark}; larger numbers can be set from the command line.
+ * 
+ * <p>
+ * Build with {@code mvn -Pbenchmark package}, and run with, e.g.,
+ * {@code java -jar target/benchmarks.jar KnownLoadFactoryBenchmark -p knownSimQueue=TANDEM -p loadFactory=KLF_0001 -prof gc}.
+ * 
+ * @see SimQueueLoadBenchmark
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.SECONDS)
+@Warmup (iterations = 3, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+@State (Scope.Thread)
+public class KnownLoadFactoryBenchmark
+{
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // PARAMETERS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The queue type.
+   * 
+   * <p>
+   * All {@link KnownSimQueue}s that can be instantiated from their {@link KnownSimQueue.Parameters}.
+   * 
+   */
+  @Param ({"DROP", "SINK", "DELAY", "ZERO", "GATE",
+           "NO_BUFFER_c", "FCFS", "FCFS_B", "FCFS_c", "LCFS", "RANDOM", "SJF", "LJF", "IS", "IS_CST", "IC",
+           "PS",
+           "ENC", "ENC_HS", "DROP_COLLECTOR", "TANDEM", "COMP_TANDEM_2", "JSQ", "JSQ_D", "JIQ", "FB_PROB", "FB_VISITS"})
+  public KnownSimQueue knownSimQueue;
+  
+  /** The load pattern; all known load factories by default.
+   * 
+   */
+  @Param
+  public KnownLoadFactory_SQ_SV loadFactory;
+  
+  /** The number of jobs per invocation.
+   * 
+   */
+  @Param ({"1000", "10000", "100000"})
+  public int numberOfJobs;
+  
+  /** The number of servers of multi-server queues.
+   * 
+   */
+  public static final int NUMBER_OF_SERVERS = 2;
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // STATE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private SimEventList eventList;
+  
+  private SimQueue queue;
+  
+  private final DefaultVisitsLoggingSimJobQoSFactory jobFactory = new DefaultVisitsLoggingSimJobQoSFactory<> ();
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SETUP
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  @Setup (Level.Trial)
+  public void setup ()
+  {
+    this.eventList = new DefaultSimEventList ();
+    this.queue = BenchmarkQueues.newQueue (this.knownSimQueue, this.eventList, NUMBER_OF_SERVERS);
+  }
+  
+  @Setup (Level.Invocation)
+  public void setupInvocation ()
+  {
+    final LoadFactory_SQ_SV load = this.loadFactory.getLoadFactory ();
+    load.generate (this.eventList, false, this.queue, this.jobFactory, this.numberOfJobs, true, 0.0, null, null);
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // BENCHMARK
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  @Benchmark
+  public double runJobs (final EventCounters counters)
+  {
+    counters.events += BenchmarkQueues.runEventList (this.eventList);
+    counters.jobs += this.numberOfJobs;
+    return this.eventList.getTime ();
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
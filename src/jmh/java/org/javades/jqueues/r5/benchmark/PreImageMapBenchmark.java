@@ -0,0 +1,215 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.javades.jqueues.r5.util.collection.DoubleHashMapWithPreImageAndOrderedValueSet;
+import org.javades.jqueues.r5.util.collection.HashMapWithPreImageAndOrderedValueSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** A JMH benchmark comparing {@link HashMapWithPreImageAndOrderedValueSet} (with boxed {@link Double} values)
+ *  and {@link DoubleHashMapWithPreImageAndOrderedValueSet}.
+ * 
+ * <p>
+ * Both maps are filled with {@link #size} keys with random values (from a fixed seed).
+ * The {@link #departAndArrive} benchmark mimics the virtual-departure-time administration of processor-sharing queues:
+ * it removes the key with the smallest value, and re-inserts it with a larger value.
+ * The {@link #changeValue} benchmark assigns a new value to a (pseudo-randomly chosen) present key.
+ * The {@link #rangePreImage} benchmark obtains the pre-image of a value range holding about ten keys;
+ * as {@link HashMapWithPreImageAndOrderedValueSet} has no range queries,
+ * it scans its values for the range and obtains the pre-image of the resulting set.
+ * The score is in operations per second.
+ * 
+ * <p>
+ * Build with {@code mvn -Pbenchmark package}, and run with, e.g.,
+ * {@code java -jar target/benchmarks.jar PreImageMapBenchmark}.
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.SECONDS)
+@Warmup (iterations = 5, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+@State (Scope.Thread)
+@SuppressWarnings ("deprecation")
+public class PreImageMapBenchmark
+{
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // PARAMETERS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The seed for the keys' values.
+   * 
+   */
+  public static final long SEED = 20170101L;
+  
+  /** The map implementation.
+   * 
+   */
+  @Param ({"BOXED", "PRIMITIVE"})
+  public String mapType;
+  
+  /** The number of keys in the map.
+   * 
+   */
+  @Param ({"10", "1000", "100000"})
+  public int size;
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // STATE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private boolean boxed;
+  
+  private HashMapWithPreImageAndOrderedValueSet<Integer, Double> boxedMap;
+  
+  private DoubleHashMapWithPreImageAndOrderedValueSet<Integer> primitiveMap;
+  
+  private Integer[] keys;
+  
+  private double[] increments;
+  
+  private int next;
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SETUP
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  @Setup (Level.Trial)
+  public void setup ()
+  {
+    switch (this.mapType)
+    {
+      case "BOXED":
+        this.boxed = true;
+        break;
+      case "PRIMITIVE":
+        this.boxed = false;
+        break;
+      default:
+        throw new IllegalArgumentException ("mapType: " + this.mapType);
+    }
+    final Random random = new Random (PreImageMapBenchmark.SEED);
+    this.boxedMap = new HashMapWithPreImageAndOrderedValueSet<> ();
+    this.primitiveMap = new DoubleHashMapWithPreImageAndOrderedValueSet<> ();
+    this.keys = new Integer[this.size];
+    for (int i = 0; i < this.size; i++)
+    {
+      this.keys[i] = i;
+      final double value = this.size * random.nextDouble ();
+      this.boxedMap.put (this.keys[i], value);
+      this.primitiveMap.put (this.keys[i], value);
+    }
+    // A power of two, so we can cycle through the increments with a mask.
+    this.increments = new double[1 << 16];
+    for (int i = 0; i < this.increments.length; i++)
+      this.increments[i] = - this.size * Math.log (1 - random.nextDouble ());
+    this.next = 0;
+  }
+  
+  private double nextIncrement ()
+  {
+    this.next = (this.next + 1) & (this.increments.length - 1);
+    return this.increments[this.next];
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // BENCHMARK
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  @Benchmark
+  public double departAndArrive ()
+  {
+    if (this.boxed)
+    {
+      final double firstValue = this.boxedMap.firstValue ();
+      final Integer key = this.boxedMap.getPreImageForValue (firstValue).iterator ().next ();
+      this.boxedMap.remove (key);
+      this.boxedMap.put (key, firstValue + nextIncrement ());
+      return firstValue;
+    }
+    else
+    {
+      final double firstValue = this.primitiveMap.firstValue ();
+      final Integer key = this.primitiveMap.firstKey ();
+      this.primitiveMap.remove (key);
+      this.primitiveMap.put (key, firstValue + nextIncrement ());
+      return firstValue;
+    }
+  }
+  
+  @Benchmark
+  public double changeValue ()
+  {
+    final double increment = nextIncrement ();
+    final Integer key = this.keys[this.next % this.size];
+    if (this.boxed)
+      return this.boxedMap.put (key, this.boxedMap.get (key) + increment);
+    else
+      return this.primitiveMap.put (key, this.primitiveMap.get (key) + increment);
+  }
+  
+  @Benchmark
+  public int rangePreImage ()
+  {
+    final double from = this.increments[this.next] % this.size;
+    nextIncrement ();
+    if (this.boxed)
+      return this.boxedMap.getPreImageForSet (this.boxedMap.values ().stream ()
+        .filter (v -> v >= from && v < from + 10)
+        .collect (Collectors.toSet ())).size ();
+    else
+      return this.primitiveMap.getPreImageForRange (from, true, from + 10, false).size ();
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
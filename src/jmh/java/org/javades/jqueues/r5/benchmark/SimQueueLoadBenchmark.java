@@ -0,0 +1,268 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.javades.jqueues.r5.entity.jq.job.DefaultSimJob;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.util.swing.KnownSimQueue;
+import org.javades.jsimulation.r5.DefaultSimEvent;
+import org.javades.jsimulation.r5.DefaultSimEventList;
+import org.javades.jsimulation.r5.SimEvent;
+import org.javades.jsimulation.r5.SimEventList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** A JMH benchmark running synthetic M/M/1- and M/G/c-style loads on every (instantiable) {@link KnownSimQueue}.
+ * 
+ * <p>
+ * Each invocation resets the event list, offers {@link #numberOfJobs} jobs to the queue
+ * from a Poisson arrival process (from a fixed seed, hence identical for all invocations),
+ * and runs the event list until it is empty.
+ * Arrivals are generated one at a time, so the event list holds at most a single pending arrival,
+ * and jobs are created upon arrival.
+ * 
+ * <p>
+ * The load types are
+ * <ul>
+ * <li>{@code MM1}: exponentially distributed service times with unit mean,
+ *                  and a single server for multi-server queues;
+ * <li>{@code MGc}: hyper-exponentially distributed service times with unit mean
+ *                  and squared coefficient of variation {@link #MGC_SCV},
+ *                  and {@link #MGC_NUMBER_OF_SERVERS} servers for multi-server queues.
+ * </ul>
+ * In both cases, the arrival rate is {@link #LOAD} times the service capacity of the queue,
+ * see {@link BenchmarkQueues#getServiceCapacity}.
+ * Composite queues use {@link org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.FCFS} sub-queues,
+ * see {@link BenchmarkQueues}.
+ * No listeners are registered on the queue.
+ * 
+ * <p>
+ * The primary score is in simulation runs per second;
+ * the auxiliary counters report events and jobs per second, see {@link EventCounters}.
+ * 
+ * <p>
+ * Build with {@code mvn -Pbenchmark package}, and run with, e.g.,
+ * {@code java -jar target/benchmarks.jar SimQueueLoadBenchmark -p knownSimQueue=FCFS,PS -p numberOfJobs=100000 -prof gc}.
+ * 
+ * @see KnownLoadFactoryBenchmark
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.SECONDS)
+@Warmup (iterations = 3, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+@State (Scope.Thread)
+public class SimQueueLoadBenchmark
+{
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // PARAMETERS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The target utilization of the queue.
+   * 
+   */
+  public static final double LOAD = 0.8;
+  
+  /** The number of servers of multi-server queues under the {@code MGc} load.
+   * 
+   */
+  public static final int MGC_NUMBER_OF_SERVERS = 4;
+  
+  /** The squared coefficient of variation of the service times under the {@code MGc} load.
+   * 
+   */
+  public static final double MGC_SCV = 4.0;
+  
+  /** The seed for the inter-arrival and service times.
+   * 
+   */
+  public static final long SEED = 20170101L;
+  
+  /** The queue type.
+   * 
+   * <p>
+   * All {@link KnownSimQueue}s that can be instantiated from their {@link KnownSimQueue.Parameters}.
+   * 
+   */
+  @Param ({"DROP", "SINK", "DELAY", "ZERO", "GATE",
+           "NO_BUFFER_c", "FCFS", "FCFS_B", "FCFS_c", "LCFS", "RANDOM", "SJF", "LJF", "IS", "IS_CST", "IC",
+           "PS",
+           "ENC", "ENC_HS", "DROP_COLLECTOR", "TANDEM", "COMP_TANDEM_2", "JSQ", "JSQ_D", "JIQ", "FB_PROB", "FB_VISITS"})
+  public KnownSimQueue knownSimQueue;
+  
+  /** The load type.
+   * 
+   */
+  @Param ({"MM1", "MGc"})
+  public String loadType;
+  
+  /** The number of jobs per invocation.
+   * 
+   */
+  @Param ({"1000", "10000", "100000", "1000000", "10000000"})
+  public int numberOfJobs;
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // STATE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private SimEventList eventList;
+  
+  private SimQueue queue;
+  
+  private final Random random = new Random ();
+  
+  private double arrivalRate;
+  
+  private boolean hyperExponential;
+  
+  // The probability and rates of the two phases of the hyper-exponential distribution (balanced means).
+  private double h2Probability;
+  
+  private double h2Rate1;
+  
+  private double h2Rate2;
+  
+  // The single (reused) arrival event.
+  private SimEvent arrivalEvent;
+  
+  private int arrivalsLeft;
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SETUP
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  @Setup (Level.Trial)
+  public void setup ()
+  {
+    final int numberOfServers;
+    switch (this.loadType)
+    {
+      case "MM1":
+        numberOfServers = 1;
+        this.hyperExponential = false;
+        break;
+      case "MGc":
+        numberOfServers = MGC_NUMBER_OF_SERVERS;
+        this.hyperExponential = true;
+        this.h2Probability = 0.5 * (1.0 + Math.sqrt ((MGC_SCV - 1.0) / (MGC_SCV + 1.0)));
+        this.h2Rate1 = 2.0 * this.h2Probability;
+        this.h2Rate2 = 2.0 * (1.0 - this.h2Probability);
+        break;
+      default:
+        throw new IllegalArgumentException ("loadType: " + this.loadType);
+    }
+    this.eventList = new DefaultSimEventList ();
+    this.queue = BenchmarkQueues.newQueue (this.knownSimQueue, this.eventList, numberOfServers);
+    this.arrivalRate = LOAD * BenchmarkQueues.getServiceCapacity (this.knownSimQueue, numberOfServers);
+    this.arrivalEvent = new DefaultSimEvent (0.0, null, (final SimEvent event) -> arrival (event.getTime ()));
+  }
+  
+  @Setup (Level.Invocation)
+  public void setupInvocation ()
+  {
+    this.eventList.reset (0.0);
+    this.random.setSeed (SEED);
+    this.arrivalsLeft = this.numberOfJobs;
+    if (this.arrivalsLeft > 0)
+      this.eventList.schedule (nextInterArrivalTime (), this.arrivalEvent);
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // LOAD
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private double nextExponential (final double rate)
+  {
+    return - Math.log (1 - this.random.nextDouble ()) / rate;
+  }
+  
+  private double nextInterArrivalTime ()
+  {
+    return nextExponential (this.arrivalRate);
+  }
+  
+  private double nextServiceTime ()
+  {
+    if (! this.hyperExponential)
+      return nextExponential (1.0);
+    else if (this.random.nextDouble () < this.h2Probability)
+      return nextExponential (this.h2Rate1);
+    else
+      return nextExponential (this.h2Rate2);
+  }
+  
+  private void arrival (final double time)
+  {
+    // Jobs do not need the event list; attaching them would only add reset listeners to it.
+    this.queue.arrive (time, new DefaultSimJob (null, null, nextServiceTime ()));
+    this.arrivalsLeft--;
+    if (this.arrivalsLeft > 0)
+      this.eventList.schedule (time + nextInterArrivalTime (), this.arrivalEvent);
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // BENCHMARK
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  @Benchmark
+  public double runJobs (final EventCounters counters)
+  {
+    counters.events += BenchmarkQueues.runEventList (this.eventList);
+    counters.jobs += this.numberOfJobs;
+    return this.eventList.getTime ();
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
@@ -0,0 +1,200 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.javades.jqueues.r5.entity.jq.SimJQEventScheduler;
+import org.javades.jqueues.r5.entity.jq.job.DefaultSimJob;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.entity.jq.queue.AbstractSimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.AbstractSimQueue.ValidationLevel;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.FCFS;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.IS;
+import org.javades.jqueues.r5.entity.jq.queue.preemptive.PreemptionStrategy;
+import org.javades.jqueues.r5.entity.jq.queue.preemptive.SRTF;
+import org.javades.jqueues.r5.entity.jq.queue.processorsharing.CUPS;
+import org.javades.jqueues.r5.entity.jq.queue.processorsharing.PS;
+import org.javades.jqueues.r5.entity.jq.queue.processorsharing.SocPS;
+import org.javades.jsimulation.r5.DefaultSimEventList;
+import org.javades.jsimulation.r5.SimEventList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** A JMH benchmark for the cost of the {@link ValidationLevel}s of {@link AbstractSimQueue} per queueing discipline.
+ * 
+ * <p>
+ * Each invocation resets the event list, schedules {@link #NUMBER_OF_JOBS} job arrivals
+ * with exponentially distributed inter-arrival and service times
+ * (from a fixed seed, hence identical for all invocations, at load {@link #LOAD}),
+ * and runs the event list until all jobs have departed.
+ * No listeners are registered on the queue.
+ * The score is in jobs per second.
+ * 
+ * <p>
+ * Build with {@code mvn -Pbenchmark package}, and run with, e.g.,
+ * {@code java -jar target/benchmarks.jar ValidationBenchmark}.
+ * 
+ * @see AbstractSimQueue#setValidationLevel
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.SECONDS)
+@Warmup (iterations = 5, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+@State (Scope.Thread)
+public class ValidationBenchmark
+{
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // PARAMETERS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The number of jobs per invocation.
+   * 
+   */
+  public static final int NUMBER_OF_JOBS = 10000;
+  
+  /** The (offered) load on the queue.
+   * 
+   */
+  public static final double LOAD = 0.9;
+  
+  /** The seed for the inter-arrival and service times.
+   * 
+   */
+  public static final long SEED = 20170101L;
+  
+  /** The queue type.
+   * 
+   */
+  @Param ({"FCFS", "IS", "SRTF", "PS", "SocPS", "CUPS"})
+  public String queueType;
+  
+  /** The validation level of the queue.
+   * 
+   */
+  @Param ({"OFF", "CHEAP", "FULL", "DEBUG"})
+  public ValidationLevel validationLevel;
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // STATE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private SimEventList eventList;
+  
+  private AbstractSimQueue queue;
+  
+  private SimJob[] jobs;
+  
+  private double[] arrivalTimes;
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SETUP
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  @Setup (Level.Trial)
+  public void setup ()
+  {
+    this.eventList = new DefaultSimEventList ();
+    switch (this.queueType)
+    {
+      case "FCFS":
+        this.queue = new FCFS (this.eventList);
+        break;
+      case "IS":
+        this.queue = new IS (this.eventList);
+        break;
+      case "SRTF":
+        this.queue = new SRTF (this.eventList, PreemptionStrategy.RESUME);
+        break;
+      case "PS":
+        this.queue = new PS (this.eventList);
+        break;
+      case "SocPS":
+        this.queue = new SocPS (this.eventList);
+        break;
+      case "CUPS":
+        this.queue = new CUPS (this.eventList);
+        break;
+      default:
+        throw new IllegalArgumentException ("queueType: " + this.queueType);
+    }
+    this.queue.setValidationLevel (this.validationLevel);
+    final Random random = new Random (ValidationBenchmark.SEED);
+    this.jobs = new SimJob[NUMBER_OF_JOBS];
+    this.arrivalTimes = new double[NUMBER_OF_JOBS];
+    double time = 0;
+    for (int i = 0; i < NUMBER_OF_JOBS; i++)
+    {
+      time += - Math.log (1 - random.nextDouble ()) / LOAD;
+      this.arrivalTimes[i] = time;
+      // Jobs do not need the event list; attaching them would only add reset listeners to it.
+      this.jobs[i] = new DefaultSimJob (null, "J" + i, - Math.log (1 - random.nextDouble ()));
+    }
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // BENCHMARK
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  @Benchmark
+  @OperationsPerInvocation (NUMBER_OF_JOBS)
+  public double runJobs ()
+  {
+    this.eventList.reset ();
+    for (int i = 0; i < NUMBER_OF_JOBS; i++)
+      SimJQEventScheduler.scheduleJobArrival (this.jobs[i], this.queue, this.arrivalTimes[i]);
+    this.eventList.run ();
+    return this.eventList.getTime ();
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
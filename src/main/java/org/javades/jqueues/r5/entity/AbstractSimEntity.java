@@ -18,6 +18,8 @@ package org.javades.jqueues.r5.entity;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -118,7 +120,7 @@ implements SimEntity
     setName (name);
     registerOperation (SimEntityOperation.Reset.getInstance ());
     registerOperation (SimEntityOperation.Update.getInstance ());
-    registerNotificationType (SimEntitySimpleEventType.RESET, this::fireReset);
+    registerNotificationType (SimEntitySimpleEventType.RESET, this::fireReset, true);
     if (this.eventList != null)
     {
       this.lastUpdateTime = this.eventList.getTime ();
@@ -440,12 +442,44 @@ implements SimEntity
    */
   protected final void registerNotificationType
   (final SimEntitySimpleEventType.Member notificationType, final Notifier notifier)
+  {
+    registerNotificationType (notificationType, notifier, false);
+  }
+  
+  /** The notification types registered with a {@link Notifier} that only propagates notifications to listeners.
+   * 
+   * @see #registerNotificationType(SimEntitySimpleEventType.Member, Notifier, boolean)
+   * @see #isNotificationTypeConsumed
+   * 
+   */
+  private final Set<SimEntitySimpleEventType.Member> listenersOnlyNotificationTypes = new HashSet<> ();
+  
+  /** Registers a mapping between a notification type and a {@link Notifier} for it,
+   *  stating whether the notifier only propagates notifications to listeners.
+   * 
+   * <p>
+   * A non-{@code null} notifier that does more than propagating notifications to listeners
+   * is a consumer of the notification type on its own, see {@link #isNotificationTypeConsumed}.
+   * 
+   * @param notificationType The notification type; non-{@code null} and not yet registered.
+   * @param notifier         The {@link Notifier} for it, may be {@code null}.
+   * @param listenersOnly    Whether the notifier only propagates notifications to listeners.
+   * 
+   * @throws IllegalArgumentException If the notification type is {@code null} or already registered. 
+   * 
+   * @see #registerNotificationType(SimEntitySimpleEventType.Member, Notifier)
+   * 
+   */
+  protected final void registerNotificationType
+  (final SimEntitySimpleEventType.Member notificationType, final Notifier notifier, final boolean listenersOnly)
   {
     if (notificationType == null)
       throw new IllegalArgumentException ();
     if (this.notificationMap.containsKey (notificationType))
       throw new IllegalArgumentException ();
     this.notificationMap.put (notificationType, notifier);
+    if (listenersOnly)
+      this.listenersOnlyNotificationTypes.add (notificationType);
   }
   
   @Override
@@ -488,6 +522,13 @@ implements SimEntity
    * A pre-notification hook allows sub-classes to modify the pending notifications (for whatever reason),
    * but it is typically used to automatically detect state-changes that are not explicitly dealt with otherwise.
    * 
+   * <p>
+   * The hook is passed the list view of the pending notifications, see {@link SimEntityNotificationBuffer#asList}.
+   * Hooks that only need to inspect and add (type, event) pairs should preferably implement
+   * {@link PreNotificationBufferHook} instead.
+   * 
+   * @see PreNotificationBufferHook
+   * 
    */
   @FunctionalInterface
   public interface PreNotificationHook
@@ -502,12 +543,37 @@ implements SimEntity
 
   }
   
-  /** The registered pre-notification hooks.
+  /** A functional interface for a hook to be called before notifications are sent, operating on the notification buffer.
+   * 
+   * <p>
+   * Functionally equivalent to {@link PreNotificationHook}, yet avoids the creation of the notification list.
+   * 
+   * @see PreNotificationHook
+   * @see SimEntityNotificationBuffer
+   * 
+   */
+  @FunctionalInterface
+  public interface PreNotificationBufferHook
+  {
+
+    /** Invokes the hook.
+     * 
+     * @param pendingNotifications The pending notifications (may be changed).
+     * 
+     */
+    void hook (SimEntityNotificationBuffer pendingNotifications);
+
+  }
+  
+  /** The registered pre-notification hooks, in order of registration.
+   * 
+   * <p>
+   * Hooks registered through {@link #registerPreNotificationHook} are wrapped into a {@link PreNotificationBufferHook}.
    * 
    */
-  private final Set<PreNotificationHook> preNotificationHooks = new LinkedHashSet<> ();
+  private final Map<Object, PreNotificationBufferHook> preNotificationHooks = new LinkedHashMap<> ();
 
-  private PreNotificationHook[] preNotificationHooksAsArray = new PreNotificationHook[0];
+  private PreNotificationBufferHook[] preNotificationHooksAsArray = new PreNotificationBufferHook[0];
   
   /** Registers a pre-notification hook.
    * 
@@ -515,15 +581,37 @@ implements SimEntity
    * 
    * @throws IllegalArgumentException If the hook is {@code null} or already registered.
    * 
+   * @see #registerPreNotificationBufferHook
+   * 
    */  
   protected final void registerPreNotificationHook (final PreNotificationHook preNotificationHook)
   {
-    if (preNotificationHook == null || this.preNotificationHooks.contains (preNotificationHook))
+    if (preNotificationHook == null || this.preNotificationHooks.containsKey (preNotificationHook))
       throw new IllegalArgumentException ();
-    this.preNotificationHooks.add (preNotificationHook);
+    this.preNotificationHooks.put (preNotificationHook,
+      (final SimEntityNotificationBuffer pendingNotifications) -> preNotificationHook.hook (pendingNotifications.asList ()));
     if (AbstractSimEntity.USE_ARRAY_OPTIMIZATION)
       this.preNotificationHooksAsArray
-        = this.preNotificationHooks.toArray (new PreNotificationHook[this.preNotificationHooks.size ()]);
+        = this.preNotificationHooks.values ().toArray (new PreNotificationBufferHook[this.preNotificationHooks.size ()]);
+  }
+  
+  /** Registers a pre-notification hook operating on the pending-notifications buffer.
+   * 
+   * @param preNotificationHook The hook, non-{@code null}.
+   * 
+   * @throws IllegalArgumentException If the hook is {@code null} or already registered.
+   * 
+   * @see #registerPreNotificationHook
+   * 
+   */  
+  protected final void registerPreNotificationBufferHook (final PreNotificationBufferHook preNotificationHook)
+  {
+    if (preNotificationHook == null || this.preNotificationHooks.containsKey (preNotificationHook))
+      throw new IllegalArgumentException ();
+    this.preNotificationHooks.put (preNotificationHook, preNotificationHook);
+    if (AbstractSimEntity.USE_ARRAY_OPTIMIZATION)
+      this.preNotificationHooksAsArray
+        = this.preNotificationHooks.values ().toArray (new PreNotificationBufferHook[this.preNotificationHooks.size ()]);
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -567,9 +655,12 @@ implements SimEntity
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
   /** The pending notifications for this entity, mapped onto the associated job (if applicable).
+   * 
+   * <p>
+   * The buffer is reused in between state changes.
    * 
    */
-  private final List<Map<SimEntitySimpleEventType.Member, SimEntityEvent>> pendingNotifications = new ArrayList<> ();
+  private final SimEntityNotificationBuffer pendingNotifications = new SimEntityNotificationBuffer ();
   
   /** The time corresponding to the pending notifications (which all share the same time).
    * 
@@ -612,62 +703,43 @@ implements SimEntity
     if (notification == null
     ||  notification.size () != 1
     ||  notification.containsKey (null)
-    ||  notification.containsValue (null)
-    ||  this.pendingNotifications.contains (notification)
-    ||  ((! this.pendingNotifications.isEmpty ()) && getLastUpdateTime () != this.pendingNotificationsTime)
-    ||  this.pendingNotificationsLocked
-    ||  this.firingPendingNotifications)
+    ||  notification.containsValue (null))
       throw new IllegalArgumentException ("notification: " + notification);
-    if (this.pendingNotifications.isEmpty ())
-      this.pendingNotificationsTime = getLastUpdateTime ();
-    if (containsPendingNotification (notification))
-      LOGGER.log (Level.WARNING, "Attempt to re-enter notification {0}@{1}!", new Object[]{notification, this});
-    else
-      this.pendingNotifications.add (notification);
+    final Map.Entry<SimEntitySimpleEventType.Member, SimEntityEvent> entry = notification.entrySet ().iterator ().next ();
+    addPendingNotification (entry.getKey (), entry.getValue ());
   }
   
   /** Adds a notification to the pending notifications.
    * 
    * <p>
-   * Convenience method to {@link #addPendingNotification(java.util.Map)} creating a singleton map from the arguments on the fly.
+   * The (type, event) pair is stored directly in the pending-notifications buffer;
+   * no singleton map is created.
    * 
    * @param notificationType The notification type, non-{@code null}.
    * @param notification     The notification event, non-{@code null}.
    * 
-   * @throws IllegalArgumentException If the notification type or event is {@code null} or if
-   *                                  {@link #addPendingNotification(java.util.Map)} encounters an error in the arguments.
+   * @throws IllegalArgumentException If the notification type or event is {@code null},
+   *                                  if the notification is already present
+   *                                  or has time different from the pending-notifications time,
+   *                                  if this entity is locked for pending notifications mutations,
+   *                                  or is currently firing notifications.
+   * 
+   * @see SimEntityNotificationBuffer
    * 
    */
   protected final void addPendingNotification
   (final SimEntitySimpleEventType.Member notificationType, final SimEntityEvent notification)
   {
-    if (notificationType == null || notification == null)
-      throw new IllegalArgumentException ();
-    addPendingNotification (Collections.singletonMap (notificationType, notification));
-  }
-  
-  /** Checks if a notification is already registered in the pending notifications.
-   * 
-   * @param notification The notification.
-   * 
-   * @return True if the notification is already pending.
-   * 
-   * @throws IllegalArgumentException If there is an error in the arguments.
-   * 
-   */
-  private boolean containsPendingNotification (final Map<SimEntitySimpleEventType.Member, SimEntityEvent> notification)
-  {
-    if (notification == null
-    ||  notification.size () != 1
-    ||  notification.containsKey (null))
-      throw new IllegalArgumentException ();
-    final SimEntitySimpleEventType.Member eventType = notification.keySet ().iterator ().next ();
-    final SimEntityEvent event = notification.values ().iterator ().next ();
-    for (final Map<SimEntitySimpleEventType.Member, SimEntityEvent> member : this.pendingNotifications)
-      if (member.keySet ().iterator ().next () == eventType
-      &&  member.values ().iterator ().next () == event)
-        return true;
-    return false;
+    if (notificationType == null
+    ||  notification == null
+    ||  ((! this.pendingNotifications.isEmpty ()) && getLastUpdateTime () != this.pendingNotificationsTime)
+    ||  this.pendingNotificationsLocked
+    ||  this.firingPendingNotifications
+    ||  this.pendingNotifications.contains (notificationType, notification))
+      throw new IllegalArgumentException ("notification: " + notificationType + "=" + notification);
+    if (this.pendingNotifications.isEmpty ())
+      this.pendingNotificationsTime = getLastUpdateTime ();
+    this.pendingNotifications.add (notificationType, notification);
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -738,17 +810,24 @@ implements SimEntity
     this.pendingNotificationsLocked = true;
     this.firingPendingNotifications = true;
     final boolean isResetNotification = (this.pendingNotifications.size () == 1
-                                        && this.pendingNotifications.get (0).containsKey (SimEntitySimpleEventType.RESET));
+                                        && this.pendingNotifications.getNotificationType (0) == SimEntitySimpleEventType.RESET);
     if (! isResetNotification)
-      for (final PreNotificationHook preNotificationHook : this.preNotificationHooks)
-        preNotificationHook.hook (this.pendingNotifications);
+    {
+      if (AbstractSimEntity.USE_ARRAY_OPTIMIZATION)
+        for (final PreNotificationBufferHook preNotificationHook : this.preNotificationHooksAsArray)
+          preNotificationHook.hook (this.pendingNotifications);
+      else
+        for (final PreNotificationBufferHook preNotificationHook : this.preNotificationHooks.values ())
+          preNotificationHook.hook (this.pendingNotifications);
+    }
     if (! this.pendingNotifications.isEmpty ())
     {
       final double time = getLastUpdateTime ();
+      final int size = this.pendingNotifications.size ();
       // Respect policy for unknown notification types.
-      for (final Map<SimEntitySimpleEventType.Member, SimEntityEvent> notification : this.pendingNotifications)
+      for (int i = 0; i < size; i++)
       {
-        final SimEntitySimpleEventType.Member notificationType = notification.keySet ().iterator ().next ();
+        final SimEntitySimpleEventType.Member notificationType = this.pendingNotifications.getNotificationType (i);
         if (! this.notificationMap.containsKey (notificationType))
           switch (this.unknownNotificationTypePolicy)
           {
@@ -763,15 +842,27 @@ implements SimEntity
               throw new RuntimeException ();
           }
       }    
-      for (SimEntityListener l : this.simEntityListeners)
-        l.notifyStateChanged (time, this, this.pendingNotifications);
-      for (final Map<SimEntitySimpleEventType.Member, SimEntityEvent> notification : this.pendingNotifications)
+      // Skip listeners registered with an interest set that none of the pending notifications matches.
+      if (AbstractSimEntity.USE_ARRAY_OPTIMIZATION)
       {
-        final SimEntitySimpleEventType.Member notificationType = notification.keySet ().iterator ().next ();
-        final SimEntityEvent notificationEvent = notification.values ().iterator ().next ();
-        if (this.notificationMap.containsKey (notificationType)
-        &&  this.notificationMap.get (notificationType) != null)
-          this.notificationMap.get (notificationType).fire (notificationEvent);
+        final SimEntityListener[] listeners = this.simEntityListenersAsArray;
+        final Set<SimEntitySimpleEventType.Member>[] interests = this.simEntityListenerInterestsAsArray;
+        for (int l = 0; l < listeners.length; l++)
+          if (interests[l] == null || isPendingNotificationOfInterest (interests[l]))
+            listeners[l].notifyStateChanged (time, this, this.pendingNotifications);
+      }
+      else
+        for (final SimEntityListener l : this.simEntityListeners)
+        {
+          final Set<SimEntitySimpleEventType.Member> interests = this.simEntityListenerInterests.get (l);
+          if (interests == null || isPendingNotificationOfInterest (interests))
+            l.notifyStateChanged (time, this, this.pendingNotifications);
+        }
+      for (int i = 0; i < size; i++)
+      {
+        final Notifier notifier = this.notificationMap.get (this.pendingNotifications.getNotificationType (i));
+        if (notifier != null)
+          notifier.fire (this.pendingNotifications.getNotificationEvent (i));
       }
     }
     this.firingPendingNotifications = false;
@@ -792,25 +883,104 @@ implements SimEntity
 
   private SimEntityListener[] simEntityListenersAsArray = new SimEntityListener[0];
   
+  /** The interest sets of {@link SimEntityListener}s registered for a restricted set of notification types.
+   * 
+   * <p>
+   * Listeners registered without restriction do not appear as key in this map.
+   * 
+   * @see #registerSimEntityListener(SimEntityListener, Set)
+   * 
+   */
+  private final Map<SimEntityListener, Set<SimEntitySimpleEventType.Member>> simEntityListenerInterests = new HashMap<> ();
+  
+  /** The interest sets of the listeners in {@link #simEntityListenersAsArray}, {@code null} for unrestricted listeners.
+   * 
+   */
+  private Set<SimEntitySimpleEventType.Member>[] simEntityListenerInterestsAsArray = newInterestsArray (0);
+  
+  /** The listeners per notification type, created on demand and invalidated upon (un)registration of listeners.
+   * 
+   * <p>
+   * Only used if at least one listener is registered for a restricted set of notification types.
+   * 
+   * @see #getSimEntityListeners(SimEntitySimpleEventType.Member)
+   * 
+   */
+  private final Map<SimEntitySimpleEventType.Member, Set<SimEntityListener>> simEntityListenersByType = new HashMap<> ();
+  
+  @SuppressWarnings ("unchecked")
+  private static Set<SimEntitySimpleEventType.Member>[] newInterestsArray (final int length)
+  {
+    return (Set<SimEntitySimpleEventType.Member>[]) new Set[length];
+  }
+  
+  /** Rebuilds the array representations of the listeners and their interest sets, and clears the per-type listener cache.
+   * 
+   */
+  private void simEntityListenersChanged ()
+  {
+    if (AbstractSimEntity.USE_ARRAY_OPTIMIZATION)
+    {
+      this.simEntityListenersAsArray = this.simEntityListeners.toArray (new SimEntityListener[this.simEntityListeners.size ()]);
+      this.simEntityListenerInterestsAsArray = newInterestsArray (this.simEntityListenersAsArray.length);
+      for (int i = 0; i < this.simEntityListenersAsArray.length; i++)
+        this.simEntityListenerInterestsAsArray[i] = this.simEntityListenerInterests.get (this.simEntityListenersAsArray[i]);
+    }
+    this.simEntityListenersByType.clear ();
+  }
+  
+  /** Registers a listener to all event notifications related to this entity.
+   * 
+   * <p>
+   * If the listener is already registered, this method does nothing;
+   * in particular, it does not lift a restriction on the notification types of interest.
+   * 
+   * @see #registerSimEntityListener(SimEntityListener, Set)
+   * 
+   */
   @Override
   public final void registerSimEntityListener (final SimEntityListener listener)
   {
     if (listener != null && ! this.simEntityListeners.contains (listener))
     {
       this.simEntityListeners.add (listener);
-      if (AbstractSimEntity.USE_ARRAY_OPTIMIZATION)
-        this.simEntityListenersAsArray = this.simEntityListeners.toArray (new SimEntityListener[this.simEntityListeners.size ()]);
+      simEntityListenersChanged ();
     }
   }
 
+  /** Registers a listener to event notifications related to this entity, restricted to given notification types.
+   * 
+   * <p>
+   * This implementation honors the interest set:
+   * state-change notifications are only passed to the listener
+   * if at least one of the pending sub-notifications is of a type of interest,
+   * and type-specific notifications are only passed for types of interest.
+   * 
+   * @see #getSimEntityListeners(SimEntitySimpleEventType.Member)
+   * 
+   */
+  @Override
+  public final void registerSimEntityListener
+  (final SimEntityListener listener, final Set<SimEntitySimpleEventType.Member> notificationTypes)
+  {
+    if (listener == null)
+      return;
+    this.simEntityListeners.add (listener);
+    if (notificationTypes == null)
+      this.simEntityListenerInterests.remove (listener);
+    else
+      this.simEntityListenerInterests.put (listener, Collections.unmodifiableSet (new HashSet<> (notificationTypes)));
+    simEntityListenersChanged ();
+  }
+
   @Override
   public final void unregisterSimEntityListener (final SimEntityListener listener)
   {
     if (this.simEntityListeners.contains (listener))
     {
       this.simEntityListeners.remove (listener);
-      if (AbstractSimEntity.USE_ARRAY_OPTIMIZATION)
-        this.simEntityListenersAsArray = this.simEntityListeners.toArray (new SimEntityListener[this.simEntityListeners.size ()]);
+      this.simEntityListenerInterests.remove (listener);
+      simEntityListenersChanged ();
     }
   }  
 
@@ -823,6 +993,148 @@ implements SimEntity
     return this.simEntityListeners;
   }
   
+  @Override
+  public final Set<SimEntityListener> getSimEntityListeners (final SimEntitySimpleEventType.Member notificationType)
+  {
+    if (notificationType == null)
+      throw new IllegalArgumentException ();
+    if (this.simEntityListenerInterests.isEmpty ())
+      return this.simEntityListeners;
+    Set<SimEntityListener> listeners = this.simEntityListenersByType.get (notificationType);
+    if (listeners == null)
+    {
+      listeners = new LinkedHashSet<> ();
+      for (final SimEntityListener l : this.simEntityListeners)
+        if (isSimEntityListenerInterested (l, notificationType))
+          listeners.add (l);
+      // For performance reasons, we hand out a direct reference to the cached set.
+      this.simEntityListenersByType.put (notificationType, listeners);
+    }
+    return listeners;
+  }
+  
+  /** Returns whether a registered listener is interested in notifications of given type.
+   * 
+   * @param listener         The listener.
+   * @param notificationType The notification type.
+   * 
+   * @return Whether the listener is interested in notifications of given type.
+   * 
+   */
+  private boolean isSimEntityListenerInterested
+  (final SimEntityListener listener, final SimEntitySimpleEventType.Member notificationType)
+  {
+    final Set<SimEntitySimpleEventType.Member> interests = this.simEntityListenerInterests.get (listener);
+    return interests == null || interests.contains (notificationType);
+  }
+  
+  /** Returns whether at least one of the pending notifications is of a type in given interest set.
+   * 
+   * @param interests The interest set, non-{@code null}.
+   * 
+   * @return Whether at least one of the pending notifications is of a type in given interest set.
+   * 
+   */
+  private boolean isPendingNotificationOfInterest (final Set<SimEntitySimpleEventType.Member> interests)
+  {
+    if (interests.isEmpty ())
+      return false;
+    final int size = this.pendingNotifications.size ();
+    for (int i = 0; i < size; i++)
+      if (interests.contains (this.pendingNotifications.getNotificationType (i)))
+        return true;
+    return false;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // NOTIFICATIONS: LAZY NOTIFICATIONS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Whether this entity is in lazy-notifications mode.
+   * 
+   * @see #isLazyNotifications
+   * @see #setLazyNotifications
+   * 
+   */
+  private boolean lazyNotifications = false;
+  
+  /** Returns whether this entity is in lazy-notifications mode.
+   * 
+   * <p>
+   * In lazy-notifications mode, sub-classes are allowed to skip the construction
+   * (and the subsequent addition to the pending notifications)
+   * of notifications for which there are no consumers,
+   * see {@link #isNotificationTypeConsumed}.
+   * 
+   * <p>
+   * By default, lazy notifications are switched off.
+   * 
+   * @return Whether this entity is in lazy-notifications mode.
+   * 
+   * @see #setLazyNotifications
+   * 
+   */
+  public final boolean isLazyNotifications ()
+  {
+    return this.lazyNotifications;
+  }
+  
+  /** Sets whether this entity is in lazy-notifications mode.
+   * 
+   * <p>
+   * Lazy notifications are a performance option only;
+   * they do not affect the notifications received by listeners.
+   * {@link Notifier}s registered (by sub-classes) count as consumers,
+   * unless registered as only propagating notifications to listeners
+   * (for which {@link #isNotificationTypeConsumed} accounts).
+   * 
+   * <p>
+   * The setting is not affected by {@link #resetEntity}.
+   * 
+   * @param lazyNotifications Whether this entity is in lazy-notifications mode.
+   * 
+   * @see #isLazyNotifications
+   * 
+   */
+  public final void setLazyNotifications (final boolean lazyNotifications)
+  {
+    this.lazyNotifications = lazyNotifications;
+  }
+  
+  /** Returns whether a notification of given type has at least one consumer.
+   * 
+   * <p>
+   * If this entity is not in lazy-notifications mode, this method always returns {@code true}.
+   * Otherwise, it returns {@code true} if and only if this entity has at least one registered {@link SimEntityListener}
+   * interested in the notification type, see {@link #registerSimEntityListener(SimEntityListener, Set)},
+   * or a (non-{@code null}) {@link Notifier} for it that does more than propagating notifications to listeners,
+   * see {@link #registerNotificationType(SimEntitySimpleEventType.Member, Notifier, boolean)}.
+   * 
+   * <p>
+   * Sub-classes must add notifications that are <i>not</i> consumed according to this method nonetheless
+   * if the notification is needed for other purposes, like pre-notification hooks.
+   * 
+   * @param notificationType The notification type, non-{@code null}.
+   * 
+   * @return Whether a notification of given type has at least one consumer.
+   * 
+   * @throws IllegalArgumentException If the notification type is {@code null}.
+   * 
+   * @see #isLazyNotifications
+   * 
+   */
+  protected final boolean isNotificationTypeConsumed (final SimEntitySimpleEventType.Member notificationType)
+  {
+    if (notificationType == null)
+      throw new IllegalArgumentException ();
+    return (! this.lazyNotifications)
+      || (this.notificationMap.get (notificationType) != null
+          && ! this.listenersOnlyNotificationTypes.contains (notificationType))
+      || ! getSimEntityListeners (notificationType).isEmpty ();
+  }
+  
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // STDOUT LISTENER
@@ -370,7 +370,43 @@ extends SimEventListResetListener
    * 
    */
   void registerSimEntityListener (SimEntityListener listener);
-  
+
+  /** Registers a listener to event notifications related to this entity, restricted to given notification types.
+   *
+   * <p>
+   * The set of notification types is an <i>interest set</i>:
+   * the entity may skip the invocation of {@link SimEntityListener#notifyStateChanged}
+   * if none of the sub-notifications is of a type in the set,
+   * and may skip type-specific notifications (like job arrivals) for types not in the set.
+   * Note that if the listener <i>is</i> notified through {@link SimEntityListener#notifyStateChanged},
+   * it receives all sub-notifications, including those of types outside its interest set.
+   * Reset and update notifications
+   * (through {@link SimEntityListener#notifyResetEntity} and {@link SimEntityListener#notifyUpdate})
+   * are always delivered, irrespective of the interest set.
+   * An empty set therefore registers the listener for resets and updates only.
+   *
+   * <p>
+   * The interest set is a hint for efficiency only;
+   * listeners must tolerate notifications of types outside their interest set.
+   * If the listener is already registered, its interest set is replaced.
+   *
+   * <p>
+   * The default implementation ignores the interest set and registers the listener for all notifications.
+   *
+   * @param listener          The listener; ignored if <code>null</code>.
+   * @param notificationTypes The notification types of interest to the listener,
+   *                            {@code null} for all types (no restriction).
+   *
+   * @see SimEntityListener
+   * @see #registerSimEntityListener(SimEntityListener)
+   * @see #getSimEntityListeners(Member)
+   *
+   */
+  default void registerSimEntityListener (final SimEntityListener listener, final Set<Member> notificationTypes)
+  {
+    registerSimEntityListener (listener);
+  }
+
   /** Unregisters a listener to event notifications related to this entity.
    * 
    * @param listener The listener; ignored if not registered or <code>null</code>.
@@ -400,6 +436,26 @@ extends SimEventListResetListener
    */
   Set<SimEntityListener> getSimEntityListeners ();
 
+  /** Gets the listeners to this entity interested in notifications of given type.
+   *
+   * <p>
+   * Callers must <i>not</i> attempt to change the returned set.
+   *
+   * <p>
+   * The default implementation returns all listeners, see {@link #getSimEntityListeners()}.
+   *
+   * @param notificationType The notification type, non-{@code null}.
+   *
+   * @return A read-only set holding the listeners to this entity interested in notifications of given type.
+   *
+   * @see #registerSimEntityListener(SimEntityListener, Set)
+   *
+   */
+  default Set<SimEntityListener> getSimEntityListeners (final Member notificationType)
+  {
+    return getSimEntityListeners ();
+  }
+
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // RESET [OPERATION/NOTIFICATION]
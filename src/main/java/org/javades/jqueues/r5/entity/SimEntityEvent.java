@@ -45,6 +45,10 @@ extends DefaultSimEvent
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
   /** Creates a new event for an entity.
+   * 
+   * <p>
+   * If the name is {@code null}, the name of the event is created lazily
+   * through {@link #createDefaultName}.
    * 
    * @param name   The (optional) name of the event, may be  {@code null}.
    * @param time   The time at which the event occurs.
@@ -83,6 +87,88 @@ extends DefaultSimEvent
     return this.entity;
   }
   
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // NAME / toString
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Whether the default name of this event has been created (or at least attempted).
+   * 
+   * @see #createDefaultName
+   * 
+   */
+  private boolean defaultNameCreated = false;
+  
+  /** Creates the default name of this event.
+   * 
+   * <p>
+   * This method is invoked at most once, upon the first request for the name (or the string representation) of this event,
+   * and only if no name was supplied upon construction or set afterwards.
+   * Creating the name lazily avoids (expensive) string concatenations on events
+   * (notably, notifications and departure events) of which the name is never requested.
+   * Beware that as a result, the default name reflects the names of the entities involved at the time of the first request,
+   * instead of those at the time of construction.
+   * 
+   * <p>
+   * The default implementation returns {@code null}.
+   * 
+   * @return The default name of this event, may be {@code null}.
+   * 
+   * @see #getName
+   * 
+   */
+  protected String createDefaultName ()
+  {
+    return null;
+  }
+  
+  /** Returns the name of this event, creating the default name if needed.
+   * 
+   * @return The name of this event.
+   * 
+   * @see #createDefaultName
+   * 
+   */
+  @Override
+  public String getName ()
+  {
+    final String name = super.getName ();
+    if (name != null || this.defaultNameCreated)
+      return name;
+    this.defaultNameCreated = true;
+    super.setName (createDefaultName ());
+    return super.getName ();
+  }
+  
+  /** Clears the name of this event, such that the default name is created anew upon the next request.
+   * 
+   * <p>
+   * For use by (sub-class) events that are re-initialized and reused, like recycled departure events at queues.
+   * 
+   * @see #createDefaultName
+   * 
+   */
+  protected final void clearName ()
+  {
+    super.setName (null);
+    this.defaultNameCreated = false;
+  }
+  
+  /** Returns the string representation of this event, creating the default name if needed.
+   * 
+   * @return The string representation of this event.
+   * 
+   * @see #getName
+   * 
+   */
+  @Override
+  public String toString ()
+  {
+    getName ();
+    return super.toString ();
+  }
+  
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // RESET [EVENT]
@@ -122,7 +208,18 @@ extends DefaultSimEvent
     public Reset
     (final SimEntity entity, final double time)
     {
-      super ("Reset@" + entity, time, entity, createAction (entity));
+      super (null, time, entity, createAction (entity));
+    }
+  
+    /** Returns "Reset@" followed by the entity.
+     * 
+     * @return "Reset@" followed by the entity.
+     * 
+     */
+    @Override
+    protected final String createDefaultName ()
+    {
+      return "Reset@" + getEntity ();
     }
   
   }
@@ -166,7 +263,18 @@ extends DefaultSimEvent
     public Update
     (final SimEntity entity, final double time)
     {
-      super ("Update@" + entity, time, entity, createAction (entity, time));
+      super (null, time, entity, createAction (entity, time));
+    }
+  
+    /** Returns "Update@" followed by the entity.
+     * 
+     * @return "Update@" followed by the entity.
+     * 
+     */
+    @Override
+    protected final String createDefaultName ()
+    {
+      return "Update@" + getEntity ();
     }
   
   }
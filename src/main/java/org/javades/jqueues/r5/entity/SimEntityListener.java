@@ -119,5 +119,32 @@ public interface SimEntityListener
    */
   public void notifyStateChanged
   (double time, SimEntity entity, List<Map<SimEntitySimpleEventType.Member, SimEntityEvent>> notifications);
-    
+
+  /** Notification of a (any) state change of a {@link SimEntity}, passing the sub-notifications as a flyweight buffer.
+   *
+   * <p>
+   * This is the method actually invoked by {@link AbstractSimEntity}.
+   * The default implementation passes the list view of the buffer, {@link SimEntityNotificationBuffer#asList},
+   * to {@link #notifyStateChanged(double, SimEntity, List)}.
+   * Listeners that only need to inspect the (type, event) pairs can override this method
+   * and avoid the creation of the notification list altogether.
+   *
+   * <p>
+   * Implementations must not modify the buffer, nor hold on to it after returning.
+   *
+   * @param time          The current time (the time of the state change).
+   * @param entity        The entity at which the state changed.
+   * @param notifications The buffer holding the sequence of notifications of state-changes
+   *                        the combination of which led to the new state.
+   *
+   * @see #notifyStateChanged(double, SimEntity, List)
+   * @see SimEntityNotificationBuffer
+   *
+   */
+  public default void notifyStateChanged
+  (final double time, final SimEntity entity, final SimEntityNotificationBuffer notifications)
+  {
+    notifyStateChanged (time, entity, notifications.asList ());
+  }
+
 }
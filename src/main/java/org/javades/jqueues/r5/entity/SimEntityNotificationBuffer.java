@@ -0,0 +1,480 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/** A reusable buffer of (sub-)notifications, each a ({@link SimEntitySimpleEventType.Member}, {@link SimEntityEvent}) pair.
+ * 
+ * <p>
+ * The buffer holds the pending notifications of a {@link SimEntity} in parallel arrays that are reused
+ * in between state changes, and offers constant-time (amortized) checks on the presence of a given pair.
+ * Both the notification type and the notification event are compared by reference.
+ * 
+ * <p>
+ * Listeners may read the buffer as a flyweight view
+ * through {@link #size}, {@link #getNotificationType} and {@link #getNotificationEvent},
+ * see {@link SimEntityListener#notifyStateChanged(double, SimEntity, SimEntityNotificationBuffer)}.
+ * For compatibility with the notification-list representation, see {@link #asList},
+ * which (lazily) creates singleton maps for each pair.
+ * 
+ * <p>
+ * Listeners must <i>never</i> modify the buffer; it is owned (and mutated) by the reporting entity.
+ * Also, the contents of the buffer are only valid during the notification; listeners must copy what they need.
+ * 
+ * @see AbstractSimEntity
+ * @see SimEntityListener
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+public final class SimEntityNotificationBuffer
+{
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // CONSTRUCTORS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Creates a new empty buffer.
+   * 
+   */
+  public SimEntityNotificationBuffer ()
+  {
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // PAIRS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private static final int INITIAL_CAPACITY = 8;
+  
+  private SimEntitySimpleEventType.Member[] notificationTypes = new SimEntitySimpleEventType.Member[INITIAL_CAPACITY];
+  
+  private SimEntityEvent[] notificationEvents = new SimEntityEvent[INITIAL_CAPACITY];
+  
+  private int size = 0;
+  
+  /** Returns the number of notifications in this buffer.
+   * 
+   * @return The number of notifications in this buffer.
+   * 
+   */
+  public final int size ()
+  {
+    return this.size;
+  }
+  
+  /** Returns whether this buffer is empty.
+   * 
+   * @return Whether this buffer is empty.
+   * 
+   */
+  public final boolean isEmpty ()
+  {
+    return this.size == 0;
+  }
+  
+  /** Returns the notification type at given index.
+   * 
+   * @param i The index.
+   * 
+   * @return The notification type at given index.
+   * 
+   * @throws IndexOutOfBoundsException If the index is out of bounds.
+   * 
+   */
+  public final SimEntitySimpleEventType.Member getNotificationType (final int i)
+  {
+    if (i < 0 || i >= this.size)
+      throw new IndexOutOfBoundsException ();
+    return this.notificationTypes[i];
+  }
+  
+  /** Returns the notification event at given index.
+   * 
+   * @param i The index.
+   * 
+   * @return The notification event at given index.
+   * 
+   * @throws IndexOutOfBoundsException If the index is out of bounds.
+   * 
+   */
+  public final SimEntityEvent getNotificationEvent (final int i)
+  {
+    if (i < 0 || i >= this.size)
+      throw new IndexOutOfBoundsException ();
+    return this.notificationEvents[i];
+  }
+  
+  /** Returns whether this buffer holds given notification type (with any event).
+   * 
+   * <p>
+   * This method has linear complexity in the size of the buffer.
+   * 
+   * @param notificationType The notification type.
+   * 
+   * @return Whether this buffer holds given notification type.
+   * 
+   */
+  public final boolean containsNotificationType (final SimEntitySimpleEventType.Member notificationType)
+  {
+    for (int i = 0; i < this.size; i++)
+      if (this.notificationTypes[i] == notificationType)
+        return true;
+    return false;
+  }
+  
+  /** Returns whether this buffer holds given (type, event) pair.
+   * 
+   * @param notificationType  The notification type.
+   * @param notificationEvent The notification event.
+   * 
+   * @return Whether this buffer holds given (type, event) pair.
+   * 
+   */
+  public final boolean contains
+  (final SimEntitySimpleEventType.Member notificationType, final SimEntityEvent notificationEvent)
+  {
+    return indexOf (notificationType, notificationEvent) >= 0;
+  }
+  
+  /** Adds a (type, event) pair to this buffer.
+   * 
+   * <p>
+   * This method does not check for duplicates; see {@link #contains}.
+   * 
+   * @param notificationType  The notification type, non-{@code null}.
+   * @param notificationEvent The notification event.
+   * 
+   * @throws IllegalArgumentException If the notification type is {@code null}.
+   * 
+   */
+  public final void add
+  (final SimEntitySimpleEventType.Member notificationType, final SimEntityEvent notificationEvent)
+  {
+    if (notificationType == null)
+      throw new IllegalArgumentException ();
+    if (this.size == this.notificationTypes.length)
+    {
+      final int newCapacity = 2 * this.notificationTypes.length;
+      this.notificationTypes = Arrays.copyOf (this.notificationTypes, newCapacity);
+      this.notificationEvents = Arrays.copyOf (this.notificationEvents, newCapacity);
+      if (this.notificationMaps != null)
+        this.notificationMaps = Arrays.copyOf (this.notificationMaps, newCapacity);
+    }
+    this.notificationTypes[this.size] = notificationType;
+    this.notificationEvents[this.size] = notificationEvent;
+    if (this.notificationMaps != null)
+      this.notificationMaps[this.size] = null;
+    this.size++;
+    if (2 * this.size > this.indexTable.length)
+      rebuildIndex (2 * this.indexTable.length);
+    else
+      insertIndex (this.size - 1);
+  }
+  
+  /** Removes the pair at given index, shifting subsequent pairs to the left.
+   * 
+   * @param i The index.
+   * 
+   * @throws IndexOutOfBoundsException If the index is out of bounds.
+   * 
+   */
+  public final void remove (final int i)
+  {
+    if (i < 0 || i >= this.size)
+      throw new IndexOutOfBoundsException ();
+    final int numberMoved = this.size - i - 1;
+    if (numberMoved > 0)
+    {
+      System.arraycopy (this.notificationTypes, i + 1, this.notificationTypes, i, numberMoved);
+      System.arraycopy (this.notificationEvents, i + 1, this.notificationEvents, i, numberMoved);
+      if (this.notificationMaps != null)
+        System.arraycopy (this.notificationMaps, i + 1, this.notificationMaps, i, numberMoved);
+    }
+    this.size--;
+    this.notificationTypes[this.size] = null;
+    this.notificationEvents[this.size] = null;
+    if (this.notificationMaps != null)
+      this.notificationMaps[this.size] = null;
+    rebuildIndex (this.indexTable.length);
+  }
+  
+  /** Removes all pairs with given notification type.
+   * 
+   * @param notificationType The notification type.
+   * 
+   * @return Whether at least one pair was removed.
+   * 
+   */
+  public final boolean removeNotificationType (final SimEntitySimpleEventType.Member notificationType)
+  {
+    int j = 0;
+    for (int i = 0; i < this.size; i++)
+      if (this.notificationTypes[i] != notificationType)
+      {
+        if (i != j)
+        {
+          this.notificationTypes[j] = this.notificationTypes[i];
+          this.notificationEvents[j] = this.notificationEvents[i];
+          if (this.notificationMaps != null)
+            this.notificationMaps[j] = this.notificationMaps[i];
+        }
+        j++;
+      }
+    if (j == this.size)
+      return false;
+    for (int i = j; i < this.size; i++)
+    {
+      this.notificationTypes[i] = null;
+      this.notificationEvents[i] = null;
+      if (this.notificationMaps != null)
+        this.notificationMaps[i] = null;
+    }
+    this.size = j;
+    rebuildIndex (this.indexTable.length);
+    return true;
+  }
+  
+  /** Removes all pairs from this buffer, retaining the allocated storage.
+   * 
+   */
+  public final void clear ()
+  {
+    Arrays.fill (this.notificationTypes, 0, this.size, null);
+    Arrays.fill (this.notificationEvents, 0, this.size, null);
+    if (this.notificationMaps != null)
+      Arrays.fill (this.notificationMaps, 0, this.size, null);
+    this.size = 0;
+    clearIndex ();
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // INDEX (OPEN ADDRESSING, LINEAR PROBING, GENERATION STAMPS)
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The index table holding (buffer index + 1) for each occupied slot.
+   * 
+   * <p>
+   * A slot is only occupied if its stamp equals the current generation,
+   * allowing the index to be cleared in constant time.
+   * 
+   */
+  private int[] indexTable = new int[2 * INITIAL_CAPACITY];
+  
+  private int[] indexStamps = new int[2 * INITIAL_CAPACITY];
+  
+  private int generation = 1;
+  
+  private static int hash
+  (final SimEntitySimpleEventType.Member notificationType, final SimEntityEvent notificationEvent)
+  {
+    final int h = 31 * System.identityHashCode (notificationType) + System.identityHashCode (notificationEvent);
+    return h ^ (h >>> 16);
+  }
+  
+  private void clearIndex ()
+  {
+    this.generation++;
+    if (this.generation == 0)
+    {
+      Arrays.fill (this.indexStamps, 0);
+      this.generation = 1;
+    }
+  }
+  
+  private void insertIndex (final int i)
+  {
+    final int mask = this.indexTable.length - 1;
+    int slot = hash (this.notificationTypes[i], this.notificationEvents[i]) & mask;
+    while (this.indexStamps[slot] == this.generation)
+      slot = (slot + 1) & mask;
+    this.indexStamps[slot] = this.generation;
+    this.indexTable[slot] = i + 1;
+  }
+  
+  private void rebuildIndex (final int capacity)
+  {
+    if (capacity != this.indexTable.length)
+    {
+      this.indexTable = new int[capacity];
+      this.indexStamps = new int[capacity];
+      this.generation = 1;
+    }
+    else
+      clearIndex ();
+    for (int i = 0; i < this.size; i++)
+      insertIndex (i);
+  }
+  
+  private int indexOf
+  (final SimEntitySimpleEventType.Member notificationType, final SimEntityEvent notificationEvent)
+  {
+    final int mask = this.indexTable.length - 1;
+    int slot = hash (notificationType, notificationEvent) & mask;
+    while (this.indexStamps[slot] == this.generation)
+    {
+      final int i = this.indexTable[slot] - 1;
+      if (this.notificationTypes[i] == notificationType && this.notificationEvents[i] == notificationEvent)
+        return i;
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // LIST VIEW
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The singleton maps handed out through {@link #asList}, created lazily per index.
+   * 
+   */
+  private Map<SimEntitySimpleEventType.Member, SimEntityEvent>[] notificationMaps = null;
+  
+  private List<Map<SimEntitySimpleEventType.Member, SimEntityEvent>> listView = null;
+  
+  @SuppressWarnings ("unchecked")
+  private static Map<SimEntitySimpleEventType.Member, SimEntityEvent>[] newNotificationMapsArray (final int length)
+  {
+    return (Map<SimEntitySimpleEventType.Member, SimEntityEvent>[]) new Map[length];
+  }
+  
+  /** Returns the cached singleton maps, allocating the array (with the capacity of this buffer) upon first use.
+   * 
+   * @return The cached singleton maps.
+   * 
+   */
+  private Map<SimEntitySimpleEventType.Member, SimEntityEvent>[] getNotificationMaps ()
+  {
+    if (this.notificationMaps == null)
+      this.notificationMaps = newNotificationMapsArray (this.notificationTypes.length);
+    return this.notificationMaps;
+  }
+  
+  private Map<SimEntitySimpleEventType.Member, SimEntityEvent> getNotificationMap (final int i)
+  {
+    if (i < 0 || i >= this.size)
+      throw new IndexOutOfBoundsException ();
+    final Map<SimEntitySimpleEventType.Member, SimEntityEvent>[] maps = getNotificationMaps ();
+    if (maps[i] == null)
+      maps[i] = Collections.singletonMap (this.notificationTypes[i], this.notificationEvents[i]);
+    return maps[i];
+  }
+  
+  /** Returns a (modifiable) list view of this buffer, with each pair represented as a singleton map.
+   * 
+   * <p>
+   * This is the representation used by {@link SimEntityListener#notifyStateChanged(double, SimEntity, List)}.
+   * The singleton maps are created lazily upon first access, and cached until the pair is removed.
+   * 
+   * <p>
+   * The list supports {@link List#add(Object)} and removal (also through its iterators);
+   * maps added must have exactly one non-{@code null} key.
+   * 
+   * @return The list view of this buffer (always the same object).
+   * 
+   */
+  public final List<Map<SimEntitySimpleEventType.Member, SimEntityEvent>> asList ()
+  {
+    if (this.listView == null)
+      this.listView = new AbstractList<Map<SimEntitySimpleEventType.Member, SimEntityEvent>> ()
+      {
+        
+        @Override
+        public final Map<SimEntitySimpleEventType.Member, SimEntityEvent> get (final int index)
+        {
+          return SimEntityNotificationBuffer.this.getNotificationMap (index);
+        }
+        
+        @Override
+        public final int size ()
+        {
+          return SimEntityNotificationBuffer.this.size;
+        }
+        
+        @Override
+        public final void add (final int index, final Map<SimEntitySimpleEventType.Member, SimEntityEvent> notification)
+        {
+          if (index != SimEntityNotificationBuffer.this.size)
+            throw new UnsupportedOperationException ();
+          if (notification == null || notification.size () != 1 || notification.containsKey (null))
+            throw new IllegalArgumentException ();
+          final Map.Entry<SimEntitySimpleEventType.Member, SimEntityEvent> entry = notification.entrySet ().iterator ().next ();
+          SimEntityNotificationBuffer.this.add (entry.getKey (), entry.getValue ());
+          SimEntityNotificationBuffer.this.getNotificationMaps ()[index] = notification;
+          this.modCount++;
+        }
+        
+        @Override
+        public final Map<SimEntitySimpleEventType.Member, SimEntityEvent> remove (final int index)
+        {
+          final Map<SimEntitySimpleEventType.Member, SimEntityEvent> notification
+            = SimEntityNotificationBuffer.this.getNotificationMap (index);
+          SimEntityNotificationBuffer.this.remove (index);
+          this.modCount++;
+          return notification;
+        }
+        
+        @Override
+        public final void clear ()
+        {
+          SimEntityNotificationBuffer.this.clear ();
+          this.modCount++;
+        }
+        
+      };
+    return this.listView;
+  }
+  
+  @Override
+  public String toString ()
+  {
+    final StringBuilder sb = new StringBuilder ("[");
+    for (int i = 0; i < this.size; i++)
+    {
+      if (i > 0)
+        sb.append (", ");
+      sb.append (this.notificationTypes[i]).append ('=').append (this.notificationEvents[i]);
+    }
+    return sb.append (']').toString ();
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
@@ -102,12 +102,12 @@ implements SimQoS<J, Q>
       throw new IllegalArgumentException ("AbstractSimJQ must be SimJob or a SimQueue");
     if ((this instanceof SimJob) && (this instanceof SimQueue))
       throw new IllegalArgumentException ("AbstractSimJQ cannot be both a SimJob and a SimQueue");
-    registerNotificationType (SimJQSimpleEventType.ARRIVAL, this::fireArrival);
-    registerNotificationType (SimJQSimpleEventType.DROP, this::fireDrop);
-    registerNotificationType (SimJQSimpleEventType.REVOCATION, this::fireRevocation);
-    registerNotificationType (SimJQSimpleEventType.AUTO_REVOCATION, this::fireAutoRevocation);
-    registerNotificationType (SimJQSimpleEventType.START, this::fireStart);
-    registerNotificationType (SimJQSimpleEventType.DEPARTURE, this::fireDeparture);
+    registerNotificationType (SimJQSimpleEventType.ARRIVAL, this::fireArrival, true);
+    registerNotificationType (SimJQSimpleEventType.DROP, this::fireDrop, true);
+    registerNotificationType (SimJQSimpleEventType.REVOCATION, this::fireRevocation, true);
+    registerNotificationType (SimJQSimpleEventType.AUTO_REVOCATION, this::fireAutoRevocation, true);
+    registerNotificationType (SimJQSimpleEventType.START, this::fireStart, true);
+    registerNotificationType (SimJQSimpleEventType.DEPARTURE, this::fireDeparture, true);
   }
     
   /** Creates a new {@link AbstractSimJQ} with given event list and <code>null</code> (initial) name.
@@ -173,11 +173,11 @@ implements SimQoS<J, Q>
     final J job = (J) ((SimJQEvent) event).getJob ();
     if (queue == null || job == null)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimJQSimpleEventType.ARRIVAL))
       if (l instanceof SimJQListener)
         ((SimJQListener) l).notifyArrival (time, job, queue);
     if (this instanceof SimQueue)
-      for (SimEntityListener l : job.getSimEntityListeners ())
+      for (SimEntityListener l : job.getSimEntityListeners (SimJQSimpleEventType.ARRIVAL))
         if (l instanceof SimJQListener)
           ((SimJQListener) l).notifyArrival (time, job, queue);
   }
@@ -211,11 +211,11 @@ implements SimQoS<J, Q>
     final J job = (J) ((SimJQEvent) event).getJob ();
     if (queue == null || job == null)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimJQSimpleEventType.DROP))
       if (l instanceof SimJQListener)
         ((SimJQListener) l).notifyDrop (time, job, queue);
     if (this instanceof SimQueue)
-      for (SimEntityListener l : job.getSimEntityListeners ())
+      for (SimEntityListener l : job.getSimEntityListeners (SimJQSimpleEventType.DROP))
         if (l instanceof SimJQListener)
           ((SimJQListener) l).notifyDrop (time, job, queue);
   }
@@ -249,11 +249,11 @@ implements SimQoS<J, Q>
     final J job = (J) ((SimJQEvent) event).getJob ();
     if (queue == null || job == null)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimJQSimpleEventType.REVOCATION))
       if (l instanceof SimJQListener)
         ((SimJQListener) l).notifyRevocation (time, job, queue);
     if (this instanceof SimQueue)
-      for (SimEntityListener l : job.getSimEntityListeners ())
+      for (SimEntityListener l : job.getSimEntityListeners (SimJQSimpleEventType.REVOCATION))
         if (l instanceof SimJQListener)
           ((SimJQListener) l).notifyRevocation (time, job, queue);
   }
@@ -287,11 +287,11 @@ implements SimQoS<J, Q>
     final J job = (J) ((SimJQEvent) event).getJob ();
     if (queue == null || job == null)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimJQSimpleEventType.AUTO_REVOCATION))
       if (l instanceof SimJQListener)
         ((SimJQListener) l).notifyAutoRevocation (time, job, queue);
     if (this instanceof SimQueue)
-      for (SimEntityListener l : job.getSimEntityListeners ())
+      for (SimEntityListener l : job.getSimEntityListeners (SimJQSimpleEventType.AUTO_REVOCATION))
         if (l instanceof SimJQListener)
           ((SimJQListener) l).notifyAutoRevocation (time, job, queue);
   }
@@ -325,11 +325,11 @@ implements SimQoS<J, Q>
     final J job = (J) ((SimJQEvent) event).getJob ();
     if (queue == null || job == null)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimJQSimpleEventType.START))
       if (l instanceof SimJQListener)
         ((SimJQListener) l).notifyStart (time, job, queue);
     if (this instanceof SimQueue)
-      for (SimEntityListener l : job.getSimEntityListeners ())
+      for (SimEntityListener l : job.getSimEntityListeners (SimJQSimpleEventType.START))
         if (l instanceof SimJQListener)
           ((SimJQListener) l).notifyStart (time, job, queue);
   }
@@ -365,11 +365,11 @@ implements SimQoS<J, Q>
     final J job = (J) ((SimJQEvent) event).getJob ();
     if (queue == null || job == null)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimJQSimpleEventType.DEPARTURE))
       if (l instanceof SimJQListener)
         ((SimJQListener) l).notifyDeparture (time, job, queue);
     if (this instanceof SimQueue)
-      for (SimEntityListener l : job.getSimEntityListeners ())
+      for (SimEntityListener l : job.getSimEntityListeners (SimJQSimpleEventType.DEPARTURE))
         if (l instanceof SimJQListener)
           ((SimJQListener) l).notifyDeparture (time, job, queue);
   }
@@ -116,7 +116,7 @@ extends SimEntityEvent
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  private final J job;
+  private J job;
   
   /** Gets the job (if applicable) to which the event applies.
    * 
@@ -184,7 +184,18 @@ extends SimEntityEvent
     public Arrival
     (final J job, final Q queue, final double arrivalTime)
     {
-      super ("Arr[" + job + "]@" + queue, arrivalTime, queue, job, createAction (job, queue));
+      super (null, arrivalTime, queue, job, createAction (job, queue));
+    }
+  
+    /** Returns "Arr[", followed by the job, followed by "]@", followed by the queue.
+     * 
+     * @return "Arr[", followed by the job, followed by "]@", followed by the queue.
+     * 
+     */
+    @Override
+    protected final String createDefaultName ()
+    {
+      return "Arr[" + getJob () + "]@" + getQueue ();
     }
   
     /** Creates a new job-arrival event at given queue (if non-{@code null}) for given job (if non-{@code null}).
@@ -243,7 +254,7 @@ extends SimEntityEvent
      */
     public Drop (final J job, final Q queue, final double dropTime, final SimEventAction<J> action)
     {
-      super ("Drop[" + job + "]@" + queue, dropTime, queue, job, action);
+      super (null, dropTime, queue, job, action);
       if (action == null)
         throw new IllegalArgumentException ();
     }
@@ -262,9 +273,20 @@ extends SimEntityEvent
      */
     public Drop (final J job, final Q queue, final double dropTime)
     {
-      super ("Drop[" + job + "]@" + queue, dropTime, queue, job, null);
+      super (null, dropTime, queue, job, null);
     }
 
+    /** Returns "Drop[", followed by the job, followed by "]@", followed by the queue.
+     * 
+     * @return "Drop[", followed by the job, followed by "]@", followed by the queue.
+     * 
+     */
+    @Override
+    protected final String createDefaultName ()
+    {
+      return "Drop[" + getJob () + "]@" + getQueue ();
+    }
+  
     /** Creates a new job-drop event at given queue (if non-{@code null}) for given job (if non-{@code null}).
      * 
      * @return A new job-drop event at given queue (if non-{@code null}) for given job (if non-{@code null}).
@@ -351,10 +373,21 @@ extends SimEntityEvent
     public Revocation
     (final J job, final Q queue, final double revocationTime, final boolean interruptService)
     {
-      super ("Rev[" + job + "]@" + queue, revocationTime, queue, job, createAction (job, queue, interruptService));
+      super (null, revocationTime, queue, job, createAction (job, queue, interruptService));
       this.interruptService = interruptService;
     }
 
+    /** Returns "Rev[", followed by the job, followed by "]@", followed by the queue.
+     * 
+     * @return "Rev[", followed by the job, followed by "]@", followed by the queue.
+     * 
+     */
+    @Override
+    protected final String createDefaultName ()
+    {
+      return "Rev[" + getJob () + "]@" + getQueue ();
+    }
+  
     /** Creates a new revocation event at given queue (if non-{@code null}) for given job (if non-{@code null}).
      * 
      * @return A new revocation event at given queue (if non-{@code null}) for given job (if non-{@code null}).
@@ -434,7 +467,7 @@ extends SimEntityEvent
     public AutoRevocation
     (final J job, final Q queue, final double revocationTime, final SimEventAction<J> action)
     {
-      super ("AutoRev[" + job + "]@" + queue, revocationTime, queue, job, action);
+      super (null, revocationTime, queue, job, action);
       if (action == null)
         throw new IllegalArgumentException ();
     }
@@ -457,9 +490,20 @@ extends SimEntityEvent
     public AutoRevocation
     (final J job, final Q queue, final double revocationTime)
     {
-      super ("AutoRev[" + job + "]@" + queue, revocationTime, queue, job, null);
+      super (null, revocationTime, queue, job, null);
     }
 
+    /** Returns "AutoRev[", followed by the job, followed by "]@", followed by the queue.
+     * 
+     * @return "AutoRev[", followed by the job, followed by "]@", followed by the queue.
+     * 
+     */
+    @Override
+    protected final String createDefaultName ()
+    {
+      return "AutoRev[" + getJob () + "]@" + getQueue ();
+    }
+  
     /** Creates a new auto-revocation event at given queue (if non-{@code null}) for given job (if non-{@code null}).
      * 
      * @return A new auto-revocation event at given queue (if non-{@code null}) for given job (if non-{@code null}).
@@ -531,7 +575,7 @@ extends SimEntityEvent
     public Start
     (final J job, final Q queue, final double startTime, final SimEventAction<J> action)
     {
-      super ("Start[" + job + "]@" + queue, startTime, queue, job, action);
+      super (null, startTime, queue, job, action);
       if (action == null)
         throw new IllegalArgumentException ();
     }
@@ -551,9 +595,20 @@ extends SimEntityEvent
     public Start
     (final J job, final Q queue, final double startTime)
     {
-      super ("Start[" + job + "]@" + queue, startTime, queue, job, null);
+      super (null, startTime, queue, job, null);
     }
 
+    /** Returns "Start[", followed by the job, followed by "]@", followed by the queue.
+     * 
+     * @return "Start[", followed by the job, followed by "]@", followed by the queue.
+     * 
+     */
+    @Override
+    protected final String createDefaultName ()
+    {
+      return "Start[" + getJob () + "]@" + getQueue ();
+    }
+  
     /** Creates a new start event at given queue (if non-{@code null}) for given job (if non-{@code null}).
      * 
      * @return A new start event at given queue (if non-{@code null}) for given job (if non-{@code null}).
@@ -595,11 +650,15 @@ extends SimEntityEvent
    * Do not <i>ever</i> schedule this yourself unless for your own implementation;
    * it is for private use by {@link SimQueue} implementations.
    * 
+   * <p>
+   * This class is not final only in order to allow {@link SimQueue} implementations
+   * to reuse their departure events through a (private) subclass; see {@link #recycle}.
+   * 
    * @param <J> The type of {@link SimJob}s supported.
    * @param <Q> The type of {@link SimQueue}s supported.
    * 
    */
-  public final static class Departure<J extends SimJob, Q extends SimQueue>
+  public static class Departure<J extends SimJob, Q extends SimQueue>
   extends SimJQEvent<J, Q>
   {
 
@@ -625,7 +684,7 @@ extends SimEntityEvent
     public Departure
     (final J job, final Q queue, final double departureTime, final SimEventAction<J> action)
     {
-      super ("Dep[" + job + "]@" + queue, departureTime, queue, job, action);
+      super (null, departureTime, queue, job, action);
       if (action == null)
         throw new IllegalArgumentException ();
     }
@@ -645,9 +704,51 @@ extends SimEntityEvent
     public Departure
     (final J job, final Q queue, final double departureTime)
     {
-      super ("Dep[" + job + "]@" + queue, departureTime, queue, job, null);
+      super (null, departureTime, queue, job, null);
     }
 
+    /** Re-initializes this departure event for a (possibly) different job and departure time.
+     * 
+     * <p>
+     * The name and the deconflicter of the event are cleared;
+     * all other properties (notably, the queue and the {@link SimEventAction}) are kept.
+     * 
+     * <p>
+     * This method is for private use by {@link SimQueue} implementations that recycle their departure events;
+     * it is protected so that it can only be invoked through a subclass,
+     * and other parties cannot change a departure event they merely obtained.
+     * It must only be invoked on an event that is <i>not</i> scheduled on an event list
+     * (i.e., one that has fired or has been canceled),
+     * since the event list orders its events by their time.
+     * 
+     * @param job           The job that is to depart.
+     * @param departureTime The scheduled departure time.
+     * 
+     * @throws IllegalArgumentException If the job is <code>null</code>.
+     * 
+     */
+    protected final void recycle (final J job, final double departureTime)
+    {
+      if (job == null)
+        throw new IllegalArgumentException ();
+      ((SimJQEvent<J, Q>) this).job = job;
+      setTime (departureTime);
+      // Like a newly created event, the recycled event awaits its deconflicter from the event list it is scheduled upon.
+      setDeconflicter (0);
+      clearName ();
+    }
+
+    /** Returns "Dep[", followed by the job, followed by "]@", followed by the queue.
+     * 
+     * @return "Dep[", followed by the job, followed by "]@", followed by the queue.
+     * 
+     */
+    @Override
+    protected final String createDefaultName ()
+    {
+      return "Dep[" + getJob () + "]@" + getQueue ();
+    }
+  
     /** Creates a new departure event at given queue (if non-{@code null}) for given job (if non-{@code null}).
      * 
      * @return A new departure event at given queue (if non-{@code null}) for given job (if non-{@code null}).
@@ -16,6 +16,12 @@
  */
 package org.javades.jqueues.r5.entity.jq;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.SimEntity;
+import org.javades.jqueues.r5.entity.SimEntityListener;
 import org.javades.jqueues.r5.entity.SimEntitySimpleEventType;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
@@ -81,4 +87,15 @@ extends SimEntitySimpleEventType
    */
   public static Member DEPARTURE = new Member ("DEPARTURE");
   
+  /** The (read-only) set of all job-visit types: arrival, drop, revocation, auto-revocation, start and departure.
+   * 
+   * <p>
+   * Useful as interest set for listeners that only care about job visits.
+   * 
+   * @see SimEntity#registerSimEntityListener(SimEntityListener, Set)
+   * 
+   */
+  public static final Set<Member> VISIT_TYPES = Collections.unmodifiableSet (new LinkedHashSet<> (Arrays.asList
+    (ARRIVAL, DROP, REVOCATION, AUTO_REVOCATION, START, DEPARTURE)));
+  
 }
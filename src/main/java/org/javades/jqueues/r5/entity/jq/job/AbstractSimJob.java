@@ -18,6 +18,7 @@ package org.javades.jqueues.r5.entity.jq.job;
 
 import org.javades.jqueues.r5.entity.jq.AbstractSimJQ;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueJobSlots;
 import org.javades.jsimulation.r5.SimEventList;
 
 /** Convenience class with a basic (yet still abstract) implementation of {@link SimJob}.
@@ -96,6 +97,70 @@ implements SimJob<J, Q>
     this.queue = queue;
   }
 
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // QUEUE SLOT
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private int queueSlot = -1;
+  
+  /** The token of the {@link SimQueueJobSlots} that assigned {@link #queueSlot}, {@code null} if no slot is set.
+   * 
+   */
+  private SimQueueJobSlots.SlotToken queueSlotToken = null;
+  
+  /** Returns the slot of this job at the queue visited (for private use by the queue).
+   * 
+   * <p>
+   * This method is for private use by {@link SimQueueJobSlots}; the token it requires is private to that class.
+   * 
+   * @param token The token of the slot table asking, non-{@code null}.
+   * 
+   * @return The slot of this job assigned by the slot table owning the token, negative if not set (by that table).
+   * 
+   * @throws IllegalArgumentException If the token is {@code null}.
+   * 
+   * @see SimQueueJobSlots
+   * 
+   */
+  public final int getQueueSlot (final SimQueueJobSlots.SlotToken token)
+  {
+    if (token == null)
+      throw new IllegalArgumentException ();
+    return token == this.queueSlotToken ? this.queueSlot : -1;
+  }
+  
+  /** Sets the slot of this job at the queue visited.
+   * 
+   * <p>
+   * This method is for private use by {@link SimQueueJobSlots}; the token it requires is private to that class.
+   * Clearing the slot (with a negative argument) has no effect if the slot was set through another token.
+   * 
+   * @param token     The token of the slot table setting the slot, non-{@code null}.
+   * @param queueSlot The new slot, negative meaning no slot.
+   * 
+   * @throws IllegalArgumentException If the token is {@code null}.
+   * 
+   * @see SimQueueJobSlots
+   * 
+   */
+  public final void setQueueSlot (final SimQueueJobSlots.SlotToken token, final int queueSlot)
+  {
+    if (token == null)
+      throw new IllegalArgumentException ();
+    if (queueSlot >= 0)
+    {
+      this.queueSlot = queueSlot;
+      this.queueSlotToken = token;
+    }
+    else if (token == this.queueSlotToken)
+    {
+      this.queueSlot = -1;
+      this.queueSlotToken = null;
+    }
+  }
+
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // RESET
@@ -175,12 +175,14 @@ implements SimJob<J, Q>
       else
         return 0.0;
     }
-    if (this.requestedServiceTimeMap != null && this.requestedServiceTimeMap.containsKey (queue))
-      return this.requestedServiceTimeMap.get (queue);
-    else if (this.requestedServiceTimeMap != null && this.requestedServiceTimeMap.containsKey (null))
-      return this.requestedServiceTimeMap.get (null);
-    else
-      return this.fallbackRequestedServiceTime;
+    // Use a single look-up per key (instead of containsKey followed by get); the map holds no null values.
+    final Double serviceTime = this.requestedServiceTimeMap.get (queue);
+    if (serviceTime != null)
+      return serviceTime;
+    final Double defaultServiceTime = this.requestedServiceTimeMap.get (null);
+    if (defaultServiceTime != null)
+      return defaultServiceTime;
+    return this.fallbackRequestedServiceTime;
   }
   
   /** Sets the requested service-time for future visits to a specific queue.
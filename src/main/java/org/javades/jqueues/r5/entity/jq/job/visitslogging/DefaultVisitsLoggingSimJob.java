@@ -23,6 +23,7 @@ import java.util.TreeMap;
 import org.javades.jqueues.r5.entity.SimEntity;
 import org.javades.jqueues.r5.entity.SimEntityEvent;
 import org.javades.jqueues.r5.entity.SimEntitySimpleEventType;
+import org.javades.jqueues.r5.entity.jq.SimJQSimpleEventType;
 import org.javades.jqueues.r5.entity.jq.job.DefaultSimJob;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.job.selflistening.DefaultSelfListeningSimJob;
@@ -69,6 +70,7 @@ extends DefaultSelfListeningSimJob<J, Q>
   public DefaultVisitsLoggingSimJob (final SimEventList eventList, final String name, final Map<Q, Double> requestedServiceTimeMap)
   {
     super (eventList, name, requestedServiceTimeMap);
+    registerSimEntityListener (this, SimJQSimpleEventType.VISIT_TYPES);
   }
 
   /** Creates a new {@link DefaultVisitsLoggingSimJob}.
@@ -84,6 +86,7 @@ extends DefaultSelfListeningSimJob<J, Q>
   public DefaultVisitsLoggingSimJob (final SimEventList eventList, final String name, final double requestedServiceTime)
   {
     super (eventList, name, requestedServiceTime);
+    registerSimEntityListener (this, SimJQSimpleEventType.VISIT_TYPES);
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -16,15 +16,21 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue;
 
+import java.util.ArrayDeque;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.javades.jqueues.r5.entity.SimEntityEvent;
 import org.javades.jqueues.r5.entity.SimEntityListener;
+import org.javades.jqueues.r5.entity.SimEntityNotificationBuffer;
 import org.javades.jqueues.r5.entity.SimEntitySimpleEventType;
 import org.javades.jqueues.r5.entity.jq.AbstractSimJQ;
 import org.javades.jqueues.r5.entity.jq.SimJQEvent;
@@ -71,13 +77,211 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
-  // SANITY CHECKING [COMPILE-TIME SWITCH]
+  // LOGGER
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
+  private static final Logger LOGGER = Logger.getLogger (AbstractSimQueue.class.getName ());
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // VALIDATION
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The level of (optional) consistency checks (sanity checks) performed by a queue.
+   * 
+   * <p>
+   * Checks on arguments passed to public methods are not affected by the validation level;
+   * they are always performed.
+   * 
+   * @see #getValidationLevel
+   * @see #setValidationLevel
+   * @see #getDefaultValidationLevel
+   * 
+   */
+  public enum ValidationLevel
+  {
+    /** No optional consistency checks.
+     * 
+     */
+    OFF,
+    /** Only optional consistency checks that take constant time.
+     * 
+     */
+    CHEAP,
+    /** All optional consistency checks, including those that take time linear in the number of jobs (or worse).
+     * 
+     * <p>
+     * This is the default.
+     * 
+     */
+    FULL,
+    /** All checks of {@link #FULL}, and, in addition, cross-checks of cached state against its (expensive) re-computation.
+     * 
+     * <p>
+     * Meant for debugging queue implementations (and for testing);
+     * for instance, the {@link AbstractSimQueue#isStartArmed} state is re-assessed upon every notification
+     * in order to check that sub-classes properly invoke {@link AbstractSimQueue#invalidateStartArmed}.
+     * 
+     */
+    DEBUG
+  }
+  
+  /** The name of the system property holding the initial default validation level.
+   * 
+   * <p>
+   * The value of the property must be the name of a {@link ValidationLevel} constant, e.g.,
+   * {@code -Dorg.javades.jqueues.r5.validation=OFF}.
+   * If absent, the initial default validation level is {@link ValidationLevel#FULL}.
+   * 
+   * @see #getDefaultValidationLevel
+   * 
+   */
+  public static final String VALIDATION_LEVEL_PROPERTY = "org.javades.jqueues.r5.validation";
+  
+  private static ValidationLevel getValidationLevelFromSystemProperty ()
+  {
+    final String value = System.getProperty (AbstractSimQueue.VALIDATION_LEVEL_PROPERTY);
+    if (value == null)
+      return ValidationLevel.FULL;
+    try
+    {
+      return ValidationLevel.valueOf (value.trim ().toUpperCase ());
+    }
+    catch (IllegalArgumentException iae)
+    {
+      LOGGER.log (Level.WARNING, "Illegal value for property {0}: {1}; using {2}.",
+        new Object[]{AbstractSimQueue.VALIDATION_LEVEL_PROPERTY, value, ValidationLevel.FULL});
+      return ValidationLevel.FULL;
+    }
+  }
+  
+  private static volatile ValidationLevel defaultValidationLevel = getValidationLevelFromSystemProperty ();
+  
+  /** Returns the default validation level, i.e., the validation level of newly created queues.
+   * 
+   * @return The default validation level, non-{@code null}.
+   * 
+   * @see #VALIDATION_LEVEL_PROPERTY
+   * @see #setDefaultValidationLevel
+   * 
+   */
+  public static ValidationLevel getDefaultValidationLevel ()
+  {
+    return AbstractSimQueue.defaultValidationLevel;
+  }
+  
+  /** Sets the default validation level, i.e., the validation level of newly created queues.
+   * 
+   * <p>
+   * Existing queues are not affected.
+   * 
+   * @param validationLevel The new default validation level, non-{@code null}.
+   * 
+   * @throws IllegalArgumentException If the argument is {@code null}.
+   * 
+   * @see #getDefaultValidationLevel
+   * 
+   */
+  public static void setDefaultValidationLevel (final ValidationLevel validationLevel)
+  {
+    if (validationLevel == null)
+      throw new IllegalArgumentException ();
+    AbstractSimQueue.defaultValidationLevel = validationLevel;
+  }
+  
+  private ValidationLevel validationLevel = AbstractSimQueue.defaultValidationLevel;
+  
+  private boolean validateCheap = (this.validationLevel != ValidationLevel.OFF);
+  
+  private boolean validateFull = (this.validationLevel == ValidationLevel.FULL || this.validationLevel == ValidationLevel.DEBUG);
+  
+  private boolean validateDebug = (this.validationLevel == ValidationLevel.DEBUG);
+  
+  /** Returns the validation level of this queue.
+   * 
+   * @return The validation level of this queue, non-{@code null}.
+   * 
+   * @see #setValidationLevel
+   * 
+   */
+  public final ValidationLevel getValidationLevel ()
+  {
+    return this.validationLevel;
+  }
+  
+  /** Sets the validation level of this queue.
+   * 
+   * <p>
+   * The validation level is not affected by {@link #resetEntity}.
+   * 
+   * @param validationLevel The new validation level, non-{@code null}.
+   * 
+   * @throws IllegalArgumentException If the argument is {@code null}.
+   * 
+   * @see #getValidationLevel
+   * 
+   */
+  public final void setValidationLevel (final ValidationLevel validationLevel)
+  {
+    if (validationLevel == null)
+      throw new IllegalArgumentException ();
+    this.validationLevel = validationLevel;
+    this.validateCheap = (validationLevel != ValidationLevel.OFF);
+    this.validateFull = (validationLevel == ValidationLevel.FULL || validationLevel == ValidationLevel.DEBUG);
+    this.validateDebug = (validationLevel == ValidationLevel.DEBUG);
+  }
+  
+  /** Returns whether this queue performs (at least) constant-time consistency checks.
+   * 
+   * @return Whether the validation level is {@link ValidationLevel#CHEAP}, {@link ValidationLevel#FULL}
+   *           or {@link ValidationLevel#DEBUG}.
+   * 
+   * @see #getValidationLevel
+   * 
+   */
+  protected final boolean isCheapValidation ()
+  {
+    return this.validateCheap;
+  }
+  
+  /** Returns whether this queue performs all consistency checks, including expensive ones.
+   * 
+   * @return Whether the validation level is {@link ValidationLevel#FULL} or {@link ValidationLevel#DEBUG}.
+   * 
+   * @see #getValidationLevel
+   * 
+   */
+  protected final boolean isFullValidation ()
+  {
+    return this.validateFull;
+  }
+  
+  /** Returns whether this queue cross-checks cached state against its re-computation.
+   * 
+   * @return Whether the validation level is {@link ValidationLevel#DEBUG}.
+   * 
+   * @see #getValidationLevel
+   * 
+   */
+  protected final boolean isDebugValidation ()
+  {
+    return this.validateDebug;
+  }
+  
   /** When {@code false}, this class and some sub-classes skip several (not all) sanity checks.
+   * 
+   * <p>
+   * This compile-time switch is no longer used by this class;
+   * the sanity checks are now governed by the validation level of the queue.
+   * 
+   * @deprecated Use {@link #isCheapValidation} or {@link #isFullValidation} instead.
+   * 
+   * @see #getValidationLevel
    * 
    */
+  @Deprecated
   protected final static boolean SANITY = true;
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -101,14 +305,14 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     registerOperation (SimQueueOperation.Revocation.getInstance ());
     registerOperation (SimQueueOperation.ServerAccessCredits.getInstance ());
     registerPreEventHook (this::setInitStartArmed);
-    registerPreNotificationHook (this::serverAccessCreditsPreNotificationHook);
-    registerPreNotificationHook (this::startArmedPreNotificationHook);
-    registerNotificationType (SimQueueSimpleEventType.QAV_START, this::fireStartQueueAccessVacation);
-    registerNotificationType (SimQueueSimpleEventType.QAV_END, this::fireStopQueueAccessVacation);
-    registerNotificationType (SimQueueSimpleEventType.OUT_OF_SAC, this::fireOutOfServerAccessCredits);
-    registerNotificationType (SimQueueSimpleEventType.REGAINED_SAC, this::fireRegainedServerAccessCredits);
-    registerNotificationType (SimQueueSimpleEventType.STA_FALSE, this::fireLostStartArmed);
-    registerNotificationType (SimQueueSimpleEventType.STA_TRUE, this::fireRegainedStartArmed);
+    registerPreNotificationBufferHook (this::serverAccessCreditsPreNotificationHook);
+    registerPreNotificationBufferHook (this::startArmedPreNotificationHook);
+    registerNotificationType (SimQueueSimpleEventType.QAV_START, this::fireStartQueueAccessVacation, true);
+    registerNotificationType (SimQueueSimpleEventType.QAV_END, this::fireStopQueueAccessVacation, true);
+    registerNotificationType (SimQueueSimpleEventType.OUT_OF_SAC, this::fireOutOfServerAccessCredits, true);
+    registerNotificationType (SimQueueSimpleEventType.REGAINED_SAC, this::fireRegainedServerAccessCredits, true);
+    registerNotificationType (SimQueueSimpleEventType.STA_FALSE, this::fireLostStartArmed, true);
+    registerNotificationType (SimQueueSimpleEventType.STA_TRUE, this::fireRegainedStartArmed, true);
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -189,12 +393,67 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     this.autoRevocationPolicy = autoRevocationPolicy;
   }
   
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // JOB SLOTS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The slots of the jobs currently in queueing system, with side stores for per-job state (for use by sub-classes).
+   * 
+   */
+  private final SimQueueJobSlots<J> jobSlots = new SimQueueJobSlots<> ();
+  
+  /** Returns the slots of the jobs visiting this queue.
+   * 
+   * <p>
+   * Each job is assigned a slot upon arrival, <i>before</i> {@link #insertJobInQueueUponArrival} is invoked.
+   * The slot is released after the job has been removed from the job queue upon exit,
+   * i.e., <i>after</i> {@link #removeJobFromQueueUponDrop}, {@link #removeJobFromQueueUponRevokation}
+   * and {@link #removeJobFromQueueUponDeparture},
+   * but <i>before</i> {@link #rescheduleAfterDrop}, {@link #rescheduleAfterRevokation} and {@link #rescheduleAfterDeparture}.
+   * All slots are released upon reset.
+   * 
+   * <p>
+   * Sub-classes can create side stores for per-job state on the returned object (typically in field initializers),
+   * see {@link SimQueueJobSlots#newDoubles}, {@link SimQueueJobSlots#newInts}, {@link SimQueueJobSlots#newLongs}
+   * and {@link SimQueueJobSlots#newReferences},
+   * and job orderings, see {@link SimQueueJobSlots#newHeap} and {@link SimQueueJobSlots#newDeque};
+   * they must not allocate nor release slots themselves.
+   * 
+   * @return The slots of the jobs visiting this queue.
+   * 
+   */
+  protected final SimQueueJobSlots<J> getJobSlots ()
+  {
+    return this.jobSlots;
+  }
+  
+  /** Returns the slot of given job at this queue.
+   * 
+   * @param job The job.
+   * 
+   * @return The slot of the job, or {@code -1} if the job is {@code null} or not visiting this queue.
+   * 
+   * @see #getJobSlots
+   * 
+   */
+  protected final int getJobSlot (final J job)
+  {
+    return this.jobSlots.getSlot (job);
+  }
+  
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // STATE: JOB QUEUE / JOBS IN WAITING AREA / JOBS IN SERVICE AREA
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
+  // The job queue, the waiting area and the service area are maintained as intrusive doubly linked lists
+  // over the job slots (instead of as hash sets), each of which is directly exposed as an unmodifiable Set view.
+  // Hence, moving a job from the waiting area into the service area (and membership tests)
+  // take constant time and require neither per-entry nodes nor hashing.
+  
   /** Jobs currently in queueing system.
    * 
    * <p>
@@ -203,12 +462,20 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    * Note: This includes jobs in service (in the service area).
    *
    */
-  private final Set<J> jobs = new LinkedHashSet<> ();
+  private final SimQueueJobList<J> jobs = new SimQueueJobList<> (this.jobSlots);
   
+  /** Returns the jobs currently in queueing system.
+   * 
+   * <p>
+   * The (final) implementation returns an unmodifiable view (not a copy),
+   * the iterators of which are fail-fast.
+   * 
+   * @return The jobs currently in queueing system, in order of arrival.
+   * 
+   */
   @Override
   public final Set<J> getJobs ()
   {
-    // return Collections.unmodifiableSet (this.jobs);
     return this.jobs;
   }
 
@@ -221,7 +488,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
   @Override
   public final boolean isJob (final SimJob job)
   {
-    return job != null && this.jobs.contains ((J) job); // Note: futile cast, but stops compiler from complaining.
+    return job != null && this.jobs.contains (job);
   }
 
   /** Returns whether this queue has jobs present.
@@ -248,9 +515,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    */
   protected final J getFirstJob ()
   {
-    if (this.jobs.isEmpty ())
-      return null;
-    return this.jobs.iterator ().next ();
+    return this.jobs.first ();
   }
 
   /** Jobs currently in the waiting area.
@@ -262,12 +527,20 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    * Any job in this set must also be in {@link #jobs}.
    * 
    */
-  private final Set<J> jobsInWaitingArea = new LinkedHashSet<> ();
+  private final SimQueueJobList<J> jobsInWaitingArea = new SimQueueJobList<> (this.jobSlots);
   
+  /** Returns the jobs currently in the waiting area.
+   * 
+   * <p>
+   * The (final) implementation returns an unmodifiable view (not a copy),
+   * the iterators of which are fail-fast.
+   * 
+   * @return The jobs currently in the waiting area, in order of arrival.
+   * 
+   */
   @Override
   public final Set<J> getJobsInWaitingArea ()
   {
-    // return Collections.unmodifiableSet (new LinkedHashSet (this.jobsInWaitingArea));
     return this.jobsInWaitingArea;
   }
 
@@ -280,7 +553,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
   @Override
   public final boolean isJobInWaitingArea (final SimJob job)
   {
-    return job != null && this.jobsInWaitingArea.contains ((J) job);
+    return job != null && this.jobsInWaitingArea.contains (job);
   }
   
   /** Returns whether or not this queue has at least one job waiting.
@@ -307,9 +580,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    */
   protected final J getFirstJobInWaitingArea ()
   {
-    if (this.jobsInWaitingArea.isEmpty ())
-      return null;
-    return this.jobsInWaitingArea.iterator ().next ();
+    return this.jobsInWaitingArea.first ();
   }
 
   /** Jobs currently in the service area.
@@ -321,12 +592,20 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    * Any job in this set must also be in {@link #jobs}.
    * 
    */
-  private final Set<J> jobsInServiceArea = new LinkedHashSet<> ();
+  private final SimQueueJobList<J> jobsInServiceArea = new SimQueueJobList<> (this.jobSlots);
 
+  /** Returns the jobs currently in the service area.
+   * 
+   * <p>
+   * The (final) implementation returns an unmodifiable view (not a copy),
+   * the iterators of which are fail-fast.
+   * 
+   * @return The jobs currently in the service area, in order of start.
+   * 
+   */
   @Override
   public final Set<J> getJobsInServiceArea ()
   {
-    // return Collections.unmodifiableSet (new LinkedHashSet (this.jobsInServiceArea));
     return this.jobsInServiceArea;
   }
 
@@ -339,7 +618,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
   @Override
   public final boolean isJobInServiceArea (final SimJob job)
   {
-    return job != null && this.jobsInServiceArea.contains ((J) job); // Note: futile cast, but stops compiler from complaining.
+    return job != null && this.jobsInServiceArea.contains (job);
   }
   
   /** Returns whether or not this queue has at least one job in the service area.
@@ -366,9 +645,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    */
   protected final J getFirstJobInServiceArea ()
   {
-    if (this.jobsInServiceArea.isEmpty ())
-      return null;
-    return this.jobsInServiceArea.iterator ().next ();
+    return this.jobsInServiceArea.first ();
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -380,10 +657,186 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
   /** Events scheduled on behalf of this {@link SimQueue}.
    * 
    * Any events in this set must also be in the {@link #eventList}.
+   * 
+   * <p>
+   * Departure events must only be added to and removed from this set
+   * through {@link #scheduleDepartureEvent} and {@link #cancelDepartureEvent(SimJQEvent.Departure)},
+   * since these methods also maintain the index {@link #departureEventsByJob}.
    *
    */
   protected final Set<SimEvent> eventsScheduled = new HashSet<> ();
 
+  /** The departure events in {@link #eventsScheduled}, indexed by job.
+   * 
+   * <p>
+   * There can be at most one scheduled departure event per job.
+   * 
+   * @see #scheduleDepartureEvent
+   * @see #getDepartureEvent
+   * 
+   */
+  private final Map<J, SimJQEvent.Departure<J, Q>> departureEventsByJob = new LinkedHashMap<> ();
+  
+  /** The (single) {@link SimEventAction} shared by all departure events scheduled by this queue.
+   * 
+   * <p>
+   * The action takes the job and the time from the event passed, and invokes {@link #departureFromEventList}.
+   * 
+   * @see #scheduleDepartureEvent
+   * 
+   */
+  private final SimEventAction departureEventAction = (SimEventAction) (final SimEvent e) ->
+  {
+    AbstractSimQueue.this.departureFromEventList ((SimJQEvent.Departure) e);
+  };
+  
+  /** Departure events (previously) scheduled by this queue that have fired or have been canceled
+   *  (at an earlier time), available for reuse.
+   * 
+   * <p>
+   * The pool never contains events that are scheduled on the event list,
+   * and its size is bounded by the maximum number of departure events simultaneously scheduled by this queue.
+   * 
+   * @see #scheduleDepartureEvent
+   * @see #recycleDepartureEvent
+   * @see #departureEventsCanceled
+   * @see SimJQEvent.Departure#recycle
+   * 
+   */
+  private final ArrayDeque<PooledDeparture<J, Q>> departureEventPool = new ArrayDeque<> ();
+  
+  /** Returns a departure event that is no longer scheduled to the pool of departure events for reuse.
+   * 
+   * <p>
+   * Only events created by {@link #scheduleDepartureEvent} are pooled; other events are ignored.
+   * 
+   * @param event The departure event, non-{@code null} and no longer scheduled on the event list.
+   * 
+   * @see #departureEventPool
+   * 
+   */
+  private void recycleDepartureEvent (final SimJQEvent.Departure<J, Q> event)
+  {
+    if (event instanceof PooledDeparture)
+      this.departureEventPool.addLast ((PooledDeparture<J, Q>) event);
+  }
+  
+  /** Departure events canceled (or removed upon reset) at {@link #departureEventsCanceledTime}, not yet available for reuse.
+   * 
+   * <p>
+   * A canceled departure event is only moved to {@link #departureEventPool} once the time has advanced beyond the time
+   * of its cancellation.
+   * Hence, it is never rescheduled at the instant it was canceled,
+   * for instance when a queue cancels and reschedules departures while handling a departure at the same instant.
+   * 
+   * @see #recycleCanceledDepartureEvent
+   * @see #scheduleDepartureEvent
+   * 
+   */
+  private final ArrayList<PooledDeparture<J, Q>> departureEventsCanceled = new ArrayList<> ();
+  
+  /** The (latest) time at which an event in {@link #departureEventsCanceled} was canceled.
+   * 
+   */
+  private double departureEventsCanceledTime = Double.NEGATIVE_INFINITY;
+  
+  /** Sets aside a canceled departure event for reuse once the time has advanced.
+   * 
+   * <p>
+   * Only events created by {@link #scheduleDepartureEvent} are pooled; other events are ignored.
+   * 
+   * @param event The departure event, non-{@code null} and no longer scheduled on the event list.
+   * 
+   * @see #departureEventsCanceled
+   * 
+   */
+  private void recycleCanceledDepartureEvent (final SimJQEvent.Departure<J, Q> event)
+  {
+    if (event instanceof PooledDeparture)
+    {
+      this.departureEventsCanceled.add ((PooledDeparture<J, Q>) event);
+      this.departureEventsCanceledTime = getLastUpdateTime ();
+    }
+  }
+  
+  /** A departure event that can be re-initialized by its queue.
+   * 
+   * <p>
+   * Exists only to expose {@link SimJQEvent.Departure#recycle} to this class.
+   * 
+   * @param <J> The type of {@link SimJob}s supported.
+   * @param <Q> The type of {@link SimQueue}s supported.
+   * 
+   */
+  private static final class PooledDeparture<J extends SimJob, Q extends SimQueue>
+  extends SimJQEvent.Departure<J, Q>
+  {
+    
+    private PooledDeparture (final J job, final Q queue, final double departureTime, final SimEventAction<J> action)
+    {
+      super (job, queue, departureTime, action);
+    }
+    
+    /** Re-initializes this (unscheduled) departure event for a different job and departure time.
+     * 
+     * @param job           The job that is to depart.
+     * @param departureTime The scheduled departure time.
+     * 
+     * @see SimJQEvent.Departure#recycle
+     * 
+     */
+    private void reinitialize (final J job, final double departureTime)
+    {
+      recycle (job, departureTime);
+    }
+    
+  }
+  
+  /** An unmodifiable view on the departure events in {@link #eventsScheduled}.
+   * 
+   * @see #getDepartureEvents()
+   * 
+   */
+  private final Set<SimJQEvent.Departure> departureEventsView = new AbstractSet<SimJQEvent.Departure> ()
+  {
+    
+    @Override
+    public final Iterator<SimJQEvent.Departure> iterator ()
+    {
+      final Iterator<SimJQEvent.Departure<J, Q>> iterator = AbstractSimQueue.this.departureEventsByJob.values ().iterator ();
+      return new Iterator<SimJQEvent.Departure> ()
+      {
+        
+        @Override
+        public final boolean hasNext ()
+        {
+          return iterator.hasNext ();
+        }
+        
+        @Override
+        public final SimJQEvent.Departure next ()
+        {
+          return iterator.next ();
+        }
+        
+      };
+    }
+    
+    @Override
+    public final int size ()
+    {
+      return AbstractSimQueue.this.departureEventsByJob.size ();
+    }
+    
+    @Override
+    public final boolean contains (final Object o)
+    {
+      return (o instanceof SimJQEvent.Departure)
+        && AbstractSimQueue.this.departureEventsByJob.get (((SimJQEvent.Departure) o).getJob ()) == o;
+    }
+    
+  };
+
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // RESET
@@ -401,13 +854,18 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     super.resetEntitySubClass ();
     for (SimJob j : this.jobs)
       j.setQueue (null);
-    this.jobs.clear ();
-    this.jobsInWaitingArea.clear ();
-    this.jobsInServiceArea.clear ();
+    this.jobs.reset ();
+    this.jobsInWaitingArea.reset ();
+    this.jobsInServiceArea.reset ();
+    this.jobSlots.clear ();
     for (SimEvent e : this.eventsScheduled)
       getEventList ().remove (e);
     this.eventsScheduled.clear ();
+    for (final SimJQEvent.Departure<J, Q> event : this.departureEventsByJob.values ())
+      recycleCanceledDepartureEvent (event);
+    this.departureEventsByJob.clear ();
     this.previousStartArmedSet = false;
+    invalidateStartArmed ();
     this.isQueueAccessVacation = false;
     this.serverAccessCredits = Integer.MAX_VALUE;
     this.previousSacAvailability = true;
@@ -423,6 +881,35 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
   
   private boolean previousStartArmed = false;
   
+  /** Whether the {@link #isStartArmed} state may have changed since it was last assessed.
+   * 
+   * <p>
+   * Set upon reset, upon every arrival, start, drop, revocation, auto-revocation and departure,
+   * and through {@link #invalidateStartArmed}.
+   * Cleared by {@link #startArmedPreNotificationHook} after it has assessed the {@link #isStartArmed} state.
+   * 
+   */
+  private boolean startArmedDirty = true;
+  
+  /** Marks the {@link #isStartArmed} state as potentially changed (for sub-class use).
+   * 
+   * <p>
+   * The pre-notification hook {@link #startArmedPreNotificationHook} only assesses the {@link #isStartArmed} state
+   * (which may be expensive, e.g., on composite queues) if it may have changed since its previous assessment.
+   * This abstract base class takes care of all changes in the job administration, i.e.,
+   * arrivals, starts, drops, revocations, auto-revocations and departures.
+   * Sub-classes whose {@link #isStartArmed} state depends on other state (like that of sub-queues)
+   * must invoke this method upon every change to such state.
+   * 
+   * @see #isStartArmed
+   * @see #triggerPotentialNewStartArmed
+   * 
+   */
+  protected final void invalidateStartArmed ()
+  {
+    this.startArmedDirty = true;
+  }
+  
   /** Sets the initial state (after construction or after a reset) of {@code StartArmed}.
    * 
    * <p>
@@ -441,12 +928,18 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
   }
 
   /** The registered pre-notification hook for {@code startArmed} state-change notifications.
+   * 
+   * <p>
+   * The {@link #isStartArmed} state is only assessed if it may have changed, see {@link #invalidateStartArmed},
+   * or if {@link SimQueueSimpleEventType#STA_FALSE} or {@link SimQueueSimpleEventType#STA_TRUE}
+   * notifications are pending.
+   * At validation level {@link ValidationLevel#DEBUG} (only),
+   * the (unchanged) state is assessed nonetheless, in order to check the invalidation administration.
    * 
    * @param pendingNotifications The pending notifications.
    * 
    */
-  private void startArmedPreNotificationHook
-  (final List<Map<SimEntitySimpleEventType.Member, SimEntityEvent>> pendingNotifications)
+  private void startArmedPreNotificationHook (final SimEntityNotificationBuffer pendingNotifications)
   {
     if (pendingNotifications == null)
       throw new IllegalArgumentException ();
@@ -457,31 +950,44 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
       // Our only option now is the set the initial StartArmed here...
       // Note, by the way, that the (time) argument is ignored.
       setInitStartArmed (getLastUpdateTime ());
-    final boolean startArmed = isStartArmed ();
-    final Iterator<Map<SimEntitySimpleEventType.Member, SimEntityEvent>> i_pendingNotifications
-      = pendingNotifications.iterator ();
     boolean hasStaNotification = false;
-    while (i_pendingNotifications.hasNext ())
+    for (int i = 0; i < pendingNotifications.size () && ! hasStaNotification; i++)
     {
-      final SimEntitySimpleEventType.Member notificationType = i_pendingNotifications.next ().keySet ().iterator ().next ();
-      if (notificationType == SimQueueSimpleEventType.STA_FALSE || notificationType == SimQueueSimpleEventType.STA_TRUE)
+      final SimEntitySimpleEventType.Member notificationType = pendingNotifications.getNotificationType (i);
+      hasStaNotification =
+        (notificationType == SimQueueSimpleEventType.STA_FALSE || notificationType == SimQueueSimpleEventType.STA_TRUE);
+    }
+    if (! (hasStaNotification || this.startArmedDirty))
+    {
+      // Nothing happened that could have changed our StartArmed state.
+      if (isDebugValidation () && isStartArmed () != this.previousStartArmed)
+        throw new IllegalStateException ("StartArmed changed without invalidation on " + this + ".");
+      return;
+    }
+    final boolean startArmed = isStartArmed ();
+    this.startArmedDirty = false;
+    if (hasStaNotification)
+      for (int i = 0; i < pendingNotifications.size (); i++)
       {
-        if ((notificationType == SimQueueSimpleEventType.STA_TRUE) != startArmed)
+        final SimEntitySimpleEventType.Member notificationType = pendingNotifications.getNotificationType (i);
+        if ((notificationType == SimQueueSimpleEventType.STA_FALSE || notificationType == SimQueueSimpleEventType.STA_TRUE)
+          && (notificationType == SimQueueSimpleEventType.STA_TRUE) != startArmed)
           throw new IllegalArgumentException ();
-        else
-          i_pendingNotifications.remove ();
-        hasStaNotification = true;
       }
+    if (hasStaNotification)
+    {
+      pendingNotifications.removeNotificationType (SimQueueSimpleEventType.STA_FALSE);
+      pendingNotifications.removeNotificationType (SimQueueSimpleEventType.STA_TRUE);
     }
     if (hasStaNotification || (startArmed != this.previousStartArmed))
     {
       final double time = getLastUpdateTime ();
       if (startArmed)
-        pendingNotifications.add (Collections.singletonMap
-          (SimQueueSimpleEventType.STA_TRUE, new SimQueueEvent.StartArmed<> (this, time, true)));
+        pendingNotifications.add
+          (SimQueueSimpleEventType.STA_TRUE, new SimQueueEvent.StartArmed<> (this, time, true));
       else
-        pendingNotifications.add (Collections.singletonMap
-          (SimQueueSimpleEventType.STA_FALSE, new SimQueueEvent.StartArmed<> (this, time, false)));
+        pendingNotifications.add
+          (SimQueueSimpleEventType.STA_FALSE, new SimQueueEvent.StartArmed<> (this, time, false));
     }
     this.previousStartArmed = startArmed;
   }
@@ -525,6 +1031,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    */
   protected final void triggerPotentialNewStartArmed (final double time)
   {
+    invalidateStartArmed ();
     final boolean startArmed = isStartArmed ();
     if ((! this.previousStartArmedSet) || startArmed != this.previousStartArmed)
     {
@@ -568,7 +1075,8 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    * The latter method allows for (the rare case of) specific sub-class handling. 
    * 
    * <p>
-   * Otherwise, it then invokes the subclass-specific {@link #insertJobInQueueUponArrival},
+   * Otherwise, it then assigns a slot to the job (see {@link #getJobSlots}),
+   * invokes the subclass-specific {@link #insertJobInQueueUponArrival},
    * adds the job to the job queue and to the waiting area,
    * set the job's queue property to this queue through {@link SimJob#setQueue},
    * and invokes the subclass-specific {@link #rescheduleAfterArrival}.
@@ -597,20 +1105,24 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     final boolean isTopLevel = clearAndUnlockPendingNotificationsIfLocked ();
     if (! isTopLevel)
       throw new IllegalStateException ();
-    addPendingNotification (SimQueueSimpleEventType.ARRIVAL, new SimJQEvent.Arrival<> (job, this, time));
+    if (isJobNotificationConsumed (SimQueueSimpleEventType.ARRIVAL, job))
+      addPendingNotification (SimQueueSimpleEventType.ARRIVAL, new SimJQEvent.Arrival<> (job, this, time));
     if (this.isQueueAccessVacation)
     {
-      addPendingNotification (SimQueueSimpleEventType.DROP, new SimJQEvent.Drop<> (job, this, time));
+      if (isJobNotificationConsumed (SimQueueSimpleEventType.DROP, job))
+        addPendingNotification (SimQueueSimpleEventType.DROP, new SimJQEvent.Drop<> (job, this, time));
       queueAccessVacationDropSubClass (time, job);
     }
     else
     {
+      this.jobSlots.allocate (job);
       insertJobInQueueUponArrival (job, time);
-      this.jobs.add (job);
-      this.jobsInWaitingArea.add (job);
+      this.jobs.append (job);
+      this.jobsInWaitingArea.append (job);
+      invalidateStartArmed ();
       job.setQueue (this);
       rescheduleAfterArrival (job, time);
-      if (AbstractSimQueue.SANITY)
+      if (isCheapValidation ())
       {
         if ((! isJob (job))
         &&  (isJobInWaitingArea (job) || isJobInServiceArea (job) || job.getQueue () == this))
@@ -843,11 +1355,14 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     if (isTopLevel)
       throw new IllegalStateException ();
     removeJobFromQueueUponDrop (job, time);
-    this.jobs.remove (job);
-    this.jobsInWaitingArea.remove (job);
-    this.jobsInServiceArea.remove (job);
+    this.jobs.unlink (job);
+    this.jobsInWaitingArea.unlink (job);
+    this.jobsInServiceArea.unlink (job);
+    invalidateStartArmed ();
+    this.jobSlots.release (job);
     job.setQueue (null);
-    addPendingNotification (SimQueueSimpleEventType.DROP, new SimJQEvent.Drop<> (job, this, time));
+    if (isJobNotificationConsumed (SimQueueSimpleEventType.DROP, job))
+      addPendingNotification (SimQueueSimpleEventType.DROP, new SimJQEvent.Drop<> (job, this, time));
     rescheduleAfterDrop (job, time);
   }
 
@@ -966,12 +1481,15 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     if (! isTopLevel)
       throw new IllegalStateException ();
     removeJobFromQueueUponRevokation (job, time, false);
-    this.jobs.remove (job);
-    this.jobsInWaitingArea.remove (job);
-    this.jobsInServiceArea.remove (job);
+    this.jobs.unlink (job);
+    this.jobsInWaitingArea.unlink (job);
+    this.jobsInServiceArea.unlink (job);
+    invalidateStartArmed ();
+    this.jobSlots.release (job);
     job.setQueue (null);
-    addPendingNotification
-      (SimQueueSimpleEventType.REVOCATION, new SimJQEvent.Revocation<> (job, this, time, interruptService));
+    if (isJobNotificationConsumed (SimQueueSimpleEventType.REVOCATION, job))
+      addPendingNotification
+        (SimQueueSimpleEventType.REVOCATION, new SimJQEvent.Revocation<> (job, this, time, interruptService));
     rescheduleAfterRevokation (job, time, false);
     fireAndLockPendingNotifications ();
     return true;
@@ -1033,12 +1551,15 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     if (isTopLevel)
       throw new IllegalStateException ();
     removeJobFromQueueUponRevokation (job, time, true);
-    this.jobs.remove (job);
-    this.jobsInWaitingArea.remove (job);
-    this.jobsInServiceArea.remove (job);
+    this.jobs.unlink (job);
+    this.jobsInWaitingArea.unlink (job);
+    this.jobsInServiceArea.unlink (job);
+    invalidateStartArmed ();
+    this.jobSlots.release (job);
     job.setQueue (null);
-    addPendingNotification
-      (SimQueueSimpleEventType.AUTO_REVOCATION, new SimJQEvent.AutoRevocation<> (job, this, time));
+    if (isJobNotificationConsumed (SimQueueSimpleEventType.AUTO_REVOCATION, job))
+      addPendingNotification
+        (SimQueueSimpleEventType.AUTO_REVOCATION, new SimJQEvent.AutoRevocation<> (job, this, time));
     rescheduleAfterRevokation (job, time, true);
   }
 
@@ -1268,29 +1789,31 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
   /** The pre-notification hook for server-access credits availability (using caching).
    * 
    */
-  private void serverAccessCreditsPreNotificationHook
-  (final List<Map<SimEntitySimpleEventType.Member, SimEntityEvent>> pendingNotifications)
+  private void serverAccessCreditsPreNotificationHook (final SimEntityNotificationBuffer pendingNotifications)
   {
     if (pendingNotifications == null)
       throw new IllegalArgumentException ();
-    for (final Map<SimEntitySimpleEventType.Member, SimEntityEvent> entry : pendingNotifications)
-    {
-      final SimEntitySimpleEventType.Member notificationType = entry.keySet ().iterator ().next ();
-      if (notificationType == SimQueueSimpleEventType.OUT_OF_SAC
-      ||  notificationType == SimQueueSimpleEventType.REGAINED_SAC)
-        throw new IllegalArgumentException ();
-    }
+    // Scanning the pending notifications takes linear time; only at full validation.
+    if (isFullValidation ())
+      for (int i = 0; i < pendingNotifications.size (); i++)
+      {
+        final SimEntitySimpleEventType.Member notificationType = pendingNotifications.getNotificationType (i);
+        if (notificationType == SimQueueSimpleEventType.OUT_OF_SAC
+        ||  notificationType == SimQueueSimpleEventType.REGAINED_SAC)
+          throw new IllegalArgumentException ();
+      }
+    // Assessing SAC availability takes constant time; there is no need to track its changes.
     final boolean sacAvailability = hasServerAcccessCredits ();
     if (sacAvailability != this.previousSacAvailability)
     {
       final double time = getLastUpdateTime ();
       final int sac = getServerAccessCredits ();
       if (sacAvailability)
-        pendingNotifications.add (Collections.singletonMap
-          (SimQueueSimpleEventType.REGAINED_SAC, new SimQueueEvent.ServerAccessCredits<> (this, time, sac)));
+        pendingNotifications.add
+          (SimQueueSimpleEventType.REGAINED_SAC, new SimQueueEvent.ServerAccessCredits<> (this, time, sac));
       else
-        pendingNotifications.add (Collections.singletonMap
-          (SimQueueSimpleEventType.OUT_OF_SAC, new SimQueueEvent.ServerAccessCredits<> (this, time, sac)));
+        pendingNotifications.add
+          (SimQueueSimpleEventType.OUT_OF_SAC, new SimQueueEvent.ServerAccessCredits<> (this, time, sac));
     }
     this.previousSacAvailability = sacAvailability;
   }
@@ -1337,6 +1860,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    * @see #insertJobInQueueUponStart
    * @see #rescheduleAfterStart
    * @see #getAutoRevocationPolicy
+   * @see #startJobs
    * 
    * @see #clearAndUnlockPendingNotificationsIfLocked
    * @see #addPendingNotification(SimEntitySimpleEventType.Member, SimEntityEvent)
@@ -1344,6 +1868,93 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    * 
    */
   protected final void start (final double time, final J job)
+  {
+    if (job == null)
+      throw new IllegalArgumentException ();
+    if (time != getLastUpdateTime ())
+      throw new IllegalStateException ();
+    final boolean isTopLevel = clearAndUnlockPendingNotificationsIfLocked ();
+    if (isTopLevel)
+      throw new IllegalStateException ();
+    takeServerAccessCredit ();
+    startJob (time, job, isNotificationTypeConsumed (SimQueueSimpleEventType.START));
+  }
+  
+  /** Starts jobs at this queue, one at a time, as long as server-access credits are available
+   *  and the supplied selector returns a job (for subclass use).
+   * 
+   * <p>
+   * The result is identical to
+   * <pre>
+   *   J job;
+   *   while (hasServerAcccessCredits () &amp;&amp; (job = selector.get ()) != null)
+   *     start (time, job);
+   * </pre>
+   * but the checks on the time and on being a non-top-level operation are made only once,
+   * and so is the lookup of the consumers of {@link SimQueueSimpleEventType#START} notifications at this queue.
+   * With infinite server-access credits (the default), the credits are not touched at all.
+   * 
+   * <p>
+   * Apart from that, the jobs are still started one at a time:
+   * the selector is consulted anew for each job,
+   * and a credit is taken through {@link #takeServerAccessCredit} for each job right before it starts,
+   * just like in {@link #start}
+   * (there is no single credit adjustment for all jobs started).
+   * This is because starting a job may affect the state of this queue beyond the job itself,
+   * for instance, a job with zero service time typically departs immediately,
+   * and the ensuing rescheduling may already have started other jobs (and taken credits for them).
+   * 
+   * <p>
+   * The selector must return a job in the waiting area, or {@code null} to stop starting jobs.
+   * 
+   * <p>
+   * This method does <i>not</i> notify listeners through {@link #fireAndLockPendingNotifications};
+   * the notifications of all starts are fired together upon completion of the top-level operation.
+   * 
+   * @param time     The current time (i.e., start time of the jobs).
+   * @param selector The selector of the next job to start, non-{@code null}.
+   * 
+   * @return The number of jobs started.
+   * 
+   * @throws IllegalArgumentException If the selector is {@code null}.
+   * @throws IllegalStateException    If the time is not the current time, or if this is a top-level operation.
+   * 
+   * @see #start
+   * @see #hasServerAcccessCredits
+   * @see #takeServerAccessCredit
+   * 
+   */
+  protected final int startJobs (final double time, final Supplier<? extends J> selector)
+  {
+    if (selector == null)
+      throw new IllegalArgumentException ();
+    if (time != getLastUpdateTime ())
+      throw new IllegalStateException ();
+    final boolean isTopLevel = clearAndUnlockPendingNotificationsIfLocked ();
+    if (isTopLevel)
+      throw new IllegalStateException ();
+    final boolean startConsumed = isNotificationTypeConsumed (SimQueueSimpleEventType.START);
+    int started = 0;
+    while (hasServerAcccessCredits ())
+    {
+      final J job = selector.get ();
+      if (job == null)
+        break;
+      takeServerAccessCredit ();
+      startJob (time, job, startConsumed);
+      started++;
+    }
+    return started;
+  }
+  
+  /** Starts a job at this queue after the credit has been taken (for internal use by {@link #start} and {@link #startJobs}).
+   * 
+   * @param time          The current time (i.e., start time of the job).
+   * @param job           The job that is to be started.
+   * @param startConsumed Whether {@link SimQueueSimpleEventType#START} notifications are consumed at this queue.
+   * 
+   */
+  private void startJob (final double time, final J job, final boolean startConsumed)
   {
     if (job == null)
       throw new IllegalArgumentException ();
@@ -1355,24 +1966,21 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
       throw new RuntimeException ();
     if (isJobInServiceArea (job))
       throw new IllegalStateException ();
-    if (time != getLastUpdateTime ())
-      throw new IllegalStateException ();
-    final boolean isTopLevel = clearAndUnlockPendingNotificationsIfLocked ();
-    if (isTopLevel)
-      throw new IllegalStateException ();
-    takeServerAccessCredit ();
     if (this.autoRevocationPolicy == AutoRevocationPolicy.UPON_START)
     {
-      addPendingNotification (SimQueueSimpleEventType.START, new SimJQEvent.Start<> (job, this, time));
+      if (startConsumed || ! job.getSimEntityListeners (SimQueueSimpleEventType.START).isEmpty ())
+        addPendingNotification (SimQueueSimpleEventType.START, new SimJQEvent.Start<> (job, this, time));
       // Note: we do not bother to first put the job into the service area.
       autoRevoke (time, job);
     }
     else
     {
       insertJobInQueueUponStart (job, time);
-      this.jobsInWaitingArea.remove (job);
-      this.jobsInServiceArea.add (job);
-      addPendingNotification (SimQueueSimpleEventType.START, new SimJQEvent.Start<> (job, this, time));
+      this.jobsInWaitingArea.unlink (job);
+      this.jobsInServiceArea.append (job);
+      invalidateStartArmed ();
+      if (startConsumed || ! job.getSimEntityListeners (SimQueueSimpleEventType.START).isEmpty ())
+        addPendingNotification (SimQueueSimpleEventType.START, new SimJQEvent.Start<> (job, this, time));
       rescheduleAfterStart (job, time);
     }
   }
@@ -1435,6 +2043,13 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
+  /** The cached service times of the jobs visiting this queue, indexed by slot; {@link Double#NaN} if not (yet) cached.
+   * 
+   * @see #getServiceTimeForJob
+   * 
+   */
+  private final SimQueueJobSlots<J>.Doubles serviceTimesForJobs = this.jobSlots.newDoubles (Double.NaN);
+  
   /** Returns the service time for a job at this queue.
    * 
    * <p>
@@ -1449,6 +2064,15 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    * This method can only change its return value immediately after a job visit.
    * 
    * <p>
+   * The default implementation reads the requested service time through {@link SimJob#getServiceTime}
+   * at most once per visit, viz., upon the first invocation for the job while it holds a slot at this queue
+   * (see {@link #getJobSlots}), and caches the value in a per-visit primitive slot until the job exits.
+   * Hence, changes to the service time requested by a job for this queue <i>during</i> a visit
+   * are ignored by the default implementation;
+   * they take effect at the next visit of the job.
+   * For jobs not visiting this queue, the requested service time is read from the job upon each invocation.
+   * 
+   * <p>
    * Note that this base class does not use this method; it is for sub-class use.
    * Also note that certain queueing disciplines may not support the notion
    * of a job's service time, and thus completely ignore this method.
@@ -1465,7 +2089,13 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    */
   protected double getServiceTimeForJob (final J job)
   {
-    return job.getServiceTime (this);
+    final int slot = this.jobSlots.getSlot (job);
+    if (slot < 0)
+      return job.getServiceTime (this);
+    final double[] serviceTimes = this.serviceTimesForJobs.array ();
+    if (Double.isNaN (serviceTimes[slot]))
+      serviceTimes[slot] = job.getServiceTime (this);
+    return serviceTimes[slot];
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -1495,6 +2125,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    * Finally, it grabs the time and job parameters from the event argument,
    * invokes {@link #depart},
    * and notifies listeners through {@link #fireAndLockPendingNotifications}.
+   * Only after the notifications have been fired, the event is returned to the pool of departure events for reuse.
    * 
    * @param event The departure event; must be non-<code>null</code> and present in {@link #eventsScheduled}.
    * 
@@ -1514,6 +2145,8 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     if (! this.eventsScheduled.contains (event))
       throw new IllegalStateException ();
     this.eventsScheduled.remove (event);
+    if (this.departureEventsByJob.get (event.getJob ()) == event)
+      this.departureEventsByJob.remove (event.getJob ());
     final double time = event.getTime ();
     update (time);
     final boolean isTopLevel = clearAndUnlockPendingNotificationsIfLocked ();
@@ -1522,6 +2155,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     final J job = event.getJob ();
     depart (time, job);
     fireAndLockPendingNotifications ();
+    recycleDepartureEvent (event);
   }
   
   /** Departure (unconditionally) of a job (for subclass and departure-event use).
@@ -1581,14 +2215,17 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     if (isTopLevel)
       throw new IllegalStateException ();   
     removeJobFromQueueUponDeparture (job, time);
-    this.jobs.remove (job);
-    this.jobsInWaitingArea.remove (job);
-    this.jobsInServiceArea.remove (job);
+    this.jobs.unlink (job);
+    this.jobsInWaitingArea.unlink (job);
+    this.jobsInServiceArea.unlink (job);
+    invalidateStartArmed ();
+    this.jobSlots.release (job);
     job.setQueue (null);
 //    if (this.jobQueue.contains (job)
 //      || this.jobsInServiceArea.contains (job))
 //      throw new IllegalStateException ();
-    addPendingNotification (SimQueueSimpleEventType.DEPARTURE, new SimJQEvent.Departure<> (job, this, time));
+    if (isJobNotificationConsumed (SimQueueSimpleEventType.DEPARTURE, job))
+      addPendingNotification (SimQueueSimpleEventType.DEPARTURE, new SimJQEvent.Departure<> (job, this, time));
     rescheduleAfterDeparture (job, time);
   }
   
@@ -1645,18 +2282,29 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
   /** Schedules a suitable {@link SimEvent} for a job's future departure on the event list.
    * 
    * The implementation requires passing several rigorous sanity checks,
-   * after which it creates a new {@link Departure},
-   * adds it to {@link #eventsScheduled} and schedules the new event on the event list.
+   * after which it takes a {@link Departure} from the pool of fired or canceled departure events
+   * (re-initializing it through {@link SimJQEvent.Departure#recycle}),
+   * or creates a new one if the pool is empty,
+   * adds it to {@link #eventsScheduled} (and to the index of departure events by job)
+   * and schedules the event on the event list.
+   * All departure events of this queue share a single {@link SimEventAction}.
    * Effectively, this ensures that unless the event is canceled,
    * the method {@link #departureFromEventList} is invoked upon reaching the departure event.
    * 
    * <p>
+   * Since departure events are reused, callers must not hold on to the event returned
+   * after it has fired or after it has been canceled.
+   * 
+   * <p>
    * The base class {@link AbstractSimQueue} does not use this method; it is provided as a service to subclasses.
    * 
    * @param time The departure time.
    * @param job  The job to depart.
    * 
-   * @return The event created and scheduled on the event list.
+   * @return The event (created or reused and) scheduled on the event list.
+   * 
+   * @throws IllegalArgumentException If the time is in the past, the job is {@code null} or not present,
+   *                                  or if the job already has a scheduled departure event.
    * 
    * @see #getEventList
    * @see #getLastUpdateTime
@@ -1669,13 +2317,21 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
       throw new IllegalArgumentException ();
     if (! isJob (job))
       throw new IllegalArgumentException ();
-    final SimJQEvent.Departure<J, Q>  event = new SimJQEvent.Departure<> (job, (Q) this, time,
-      (SimEventAction) (final SimEvent e) ->
-      {
-        AbstractSimQueue.this.departureFromEventList ((SimJQEvent.Departure) e);
-      });
+    if (this.departureEventsByJob.containsKey (job))
+      throw new IllegalArgumentException ();
+    if ((! this.departureEventsCanceled.isEmpty ()) && getLastUpdateTime () > this.departureEventsCanceledTime)
+    {
+      this.departureEventPool.addAll (this.departureEventsCanceled);
+      this.departureEventsCanceled.clear ();
+    }
+    PooledDeparture<J, Q> event = this.departureEventPool.pollLast ();
+    if (event != null)
+      event.reinitialize (job, time);
+    else
+      event = new PooledDeparture<> (job, (Q) this, time, this.departureEventAction);
     SimJQEventScheduler.scheduleJQ (getEventList (), event);
     this.eventsScheduled.add (event);
+    this.departureEventsByJob.put (job, event);
     return event;
   }
   
@@ -1684,7 +2340,11 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    * <p>
    * After sanity checks on the event not being {@code null},
    * and on the event's presence in {@link #getEventList} and {@link #eventsScheduled},
-   * this method removes the event from the event list and from {@link #eventsScheduled}.
+   * this method removes the event from the event list, from {@link #eventsScheduled},
+   * and from the index of departure events by job.
+   * The event is returned to the pool of departure events for reuse,
+   * but only after the time has advanced beyond the current time,
+   * so it is never rescheduled at the instant it was canceled.
    * 
    * <p>
    * XXX Check on presence of job currently deactivated.
@@ -1715,15 +2375,18 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     // if (! this.jobQueue.contains (event.getJob ()))
     //   throw new IllegalArgumentException ();
     this.eventsScheduled.remove (event);
+    if (this.departureEventsByJob.get (event.getJob ()) == event)
+      this.departureEventsByJob.remove (event.getJob ());
     getEventList ().remove (event);
+    recycleCanceledDepartureEvent (event);
   }
   
   /** Cancels a pending departure event for given job on the event list.
    * 
    * <p>
-   * After several rigorous sanity checks, this default implementation
-   * removes the event from the event list and from {@link #eventsScheduled}.
-   * Note that a unique {@link Departure} must be found in {@link #eventsScheduled} for the job supplied,
+   * The departure event for the job is looked up (in constant time) in the index of departure events by job,
+   * after which it is removed from the event list, from {@link #eventsScheduled}, and from the index.
+   * Note that a {@link Departure} must be scheduled for the job supplied,
    * otherwise a {@link IllegalArgumentException} is thrown.
    * 
    * <p>
@@ -1731,78 +2394,76 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
    * 
    * @param job The job for which the unique departure event to cancel.
    * 
-   * @throws IllegalArgumentException If zero or multiple {@link Departure}s
-   *                                  were found for the job in {@link #eventsScheduled}.
+   * @throws IllegalArgumentException If the job is {@code null} or if no {@link Departure} is scheduled for the job.
    * 
    * @see #eventsScheduled
    * @see #getEventList
-   * @see #getDepartureEvents
+   * @see #getDepartureEvent
    * 
    */
   protected final void cancelDepartureEvent (final J job)
   {
     if (job == null)
       throw new IllegalArgumentException ();
-    final Set<SimJQEvent.Departure> set = getDepartureEvents (job);
-    if (set == null || set.size () != 1)
+    final SimJQEvent.Departure<J, Q> event = this.departureEventsByJob.get (job);
+    if (event == null)
       throw new IllegalArgumentException ();
-    cancelDepartureEvent (set.iterator ().next ());
+    cancelDepartureEvent (event);
   }
   
   /** Gets all departure events.
    * 
-   * The (final) implementation returns all {@link Departure}s in {@link #eventsScheduled}.
+   * <p>
+   * The (final) implementation returns an unmodifiable view on all {@link Departure}s in {@link #eventsScheduled}.
+   * The view is maintained by this queue; it is <i>not</i> a copy.
+   * Hence, callers must not schedule or cancel departure events while iterating over it.
    * 
    * @return A non-<code>null</code> {@link Set} holding all future departure events.
    * 
    */
   protected final Set<SimJQEvent.Departure> getDepartureEvents ()
   {
-    final Set<SimJQEvent.Departure> set = new LinkedHashSet<> ();
-    for (final SimEvent e : this.eventsScheduled)
-      if (e == null)
-        throw new IllegalStateException ();
-      // JdJ20150913: I have no clue why the next statement does not work...
-      // XXX TBD
-      // else if (! (e instanceof Departure))
-      //  continue;
-      else if (! SimJQEvent.Departure.class.isAssignableFrom (e.getClass ()))
-        /* continue */ ;
-      else
-        set.add ((SimJQEvent.Departure) e);
-    return set;
+    return this.departureEventsView;
+  }
+  
+  /** Gets the departure event for given job, if any.
+   * 
+   * @param job The job, non-{@code null}.
+   * 
+   * @return The scheduled departure event for the job, {@code null} if there is none.
+   * 
+   * @throws IllegalArgumentException If the job is {@code null}.
+   * 
+   * @see #scheduleDepartureEvent
+   * 
+   */
+  protected final SimJQEvent.Departure<J, Q> getDepartureEvent (final J job)
+  {
+    if (job == null)
+      throw new IllegalArgumentException ();
+    return this.departureEventsByJob.get (job);
   }
   
   /** Gets all departure events for given job.
    * 
-   * The (final) implementation returns all {@link Departure}s for the given job in {@link #eventsScheduled}.
+   * <p>
+   * Since there can be at most one departure event per job,
+   * the set returned is either empty or a singleton.
    * 
    * @param job The job.
    * 
-   * @return A non-<code>null</code> {@link Set} holding all scheduled departure events for the job.
+   * @return A non-<code>null</code> (unmodifiable) {@link Set} holding all scheduled departure events for the job.
+   * 
+   * @see #getDepartureEvent
    * 
    */
   protected final Set<SimJQEvent.Departure> getDepartureEvents (final J job)
   {
-    if (job == null)
-      throw new IllegalArgumentException ();
-//    if (! isJob (job))
-//      throw new IllegalArgumentException ();
-    final Set<SimJQEvent.Departure> set = new LinkedHashSet<> ();
-    for (SimEvent e : this.eventsScheduled)
-      if (e == null)
-        throw new IllegalStateException ();
-      // JdJ20150913: I have no clue why the next statement does not work...
-      // XXX TBD
-      // else if (! (e instanceof Departure))
-      //  continue;
-      else if (! SimJQEvent.Departure.class.isAssignableFrom (e.getClass ()))
-        /* continue */ ;
-      else if (((SimJQEvent.Departure) e).getJob () != job)
-        /* continue */ ;
-      else
-        set.add ((SimJQEvent.Departure) e);
-    return set;
+    final SimJQEvent.Departure<J, Q> event = getDepartureEvent (job);
+    if (event == null)
+      return Collections.emptySet ();
+    else
+      return Collections.singleton (event);
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -1811,6 +2472,27 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
+  /** Returns whether a job notification of given type has at least one consumer, either at this queue or at the job.
+   * 
+   * <p>
+   * Job notifications are propagated to the listeners on the job as well, see {@link AbstractSimJQ}.
+   * Hence, in lazy-notifications mode, we must still construct and add job notifications
+   * if the job has listeners interested in the notification type, even if this queue has none.
+   * 
+   * @param notificationType The notification type, non-{@code null}.
+   * @param job              The job, non-{@code null}.
+   * 
+   * @return Whether the job notification has at least one consumer.
+   * 
+   * @see #isLazyNotifications
+   * @see #isNotificationTypeConsumed
+   * 
+   */
+  private boolean isJobNotificationConsumed (final SimEntitySimpleEventType.Member notificationType, final J job)
+  {
+    return isNotificationTypeConsumed (notificationType) || ! job.getSimEntityListeners (notificationType).isEmpty ();
+  }
+  
   /** Notifies all queue listeners of the start of a queue-access vacation.
    * 
    */
@@ -1826,7 +2508,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     final Q queue = (Q) ((SimJQEvent) event).getQueue ();
     if (queue == null || queue != this)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimQueueSimpleEventType.QAV_START))
       if (l instanceof SimQueueListener)
         ((SimQueueListener) l).notifyStartQueueAccessVacation (time, this);
   }
@@ -1846,7 +2528,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     final Q queue = (Q) ((SimJQEvent) event).getQueue ();
     if (queue == null || queue != this)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimQueueSimpleEventType.QAV_END))
       if (l instanceof SimQueueListener)
         ((SimQueueListener) l).notifyStopQueueAccessVacation (time, this);
   }
@@ -1866,7 +2548,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     final Q queue = (Q) ((SimJQEvent) event).getQueue ();
     if (queue == null || queue != this)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimQueueSimpleEventType.OUT_OF_SAC))
       if (l instanceof SimQueueListener)
         ((SimQueueListener) l).notifyOutOfServerAccessCredits (time, this);
   }
@@ -1886,7 +2568,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     final Q queue = (Q) ((SimJQEvent) event).getQueue ();
     if (queue == null || queue != this)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimQueueSimpleEventType.REGAINED_SAC))
       if (l instanceof SimQueueListener)
         ((SimQueueListener) l).notifyRegainedServerAccessCredits (time, this);
   }
@@ -1906,7 +2588,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     final Q queue = (Q) ((SimJQEvent) event).getQueue ();
     if (queue == null || queue != this)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimQueueSimpleEventType.STA_FALSE))
       if (l instanceof SimQueueListener)
         ((SimQueueListener) l).notifyNewStartArmed (time, this, false);
   }
@@ -1926,7 +2608,7 @@ public abstract class AbstractSimQueue<J extends SimJob, Q extends AbstractSimQu
     final Q queue = (Q) ((SimJQEvent) event).getQueue ();
     if (queue == null || queue != this)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimQueueSimpleEventType.STA_TRUE))
       if (l instanceof SimQueueListener)
         ((SimQueueListener) l).notifyNewStartArmed (time, this, true);
   }
@@ -0,0 +1,84 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue;
+
+import org.javades.jqueues.r5.entity.jq.SimJQEvent;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.IS_CST;
+import org.javades.jqueues.r5.entity.jq.queue.serverless.DELAY;
+
+/** A list of possible ways to put departure events on the event list for queues in which jobs depart in FIFO order.
+ * 
+ * <p>
+ * Queues like {@link IS_CST} and {@link DELAY} give all jobs the same residence time,
+ * hence their jobs depart in the order in which they start (or arrive).
+ * Such queues can either schedule a departure event for each job individually,
+ * or hold the jobs in an internal FIFO queue with only the departure event(s) of its head on the event list.
+ * 
+ * @see IS_CST
+ * @see DELAY
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+public enum DepartureScheduling
+{
+
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // DEPARTURE SCHEDULING
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /** Schedules a {@link SimJQEvent.Departure} for each job as soon as its departure time is known.
+   * 
+   * <p>
+   * The event list holds a departure event for each job with finite departure time,
+   * and the processing order of (simultaneous) events is identical to that of earlier releases.
+   * 
+   */
+  PER_JOB,
+  /** Schedules a {@link SimJQEvent.Departure} only for the job(s) at the head of the internal FIFO queue.
+   * 
+   * <p>
+   * Jobs with the same departure time as the last job with a scheduled departure event
+   * get their own departure event right away;
+   * the departure events of all other jobs are scheduled as soon as all jobs before them have left.
+   * The event list therefore holds (typically) a single departure event for the queue.
+   * 
+   * <p>
+   * Because a departure event is scheduled later than in {@link #PER_JOB},
+   * it is processed after all events for the same time that other entities scheduled in the mean time.
+   * Visit logs may therefore differ from {@link #PER_JOB} if other entities schedule events
+   * at exactly the same time as a departure from the queue.
+   * The order of the departures among themselves is unaffected.
+   * 
+   */
+  HEAD_ONLY
+
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+}
@@ -129,10 +129,21 @@ extends SimJQEvent<J, Q>
     public Operation
     (final Q queue, final double time, SimEntityOperation.Request request)
     {
-      super ("Op[" + request + "]@" + queue, time, queue, createAction (queue, request));
+      super (null, time, queue, createAction (queue, request));
       this.request = request;
     }
 
+    /** Returns "Op[", followed by the request, followed by "]@", followed by the queue.
+     * 
+     * @return "Op[", followed by the request, followed by "]@", followed by the queue.
+     * 
+     */
+    @Override
+    protected final String createDefaultName ()
+    {
+      return "Op[" + getRequest () + "]@" + getQueue ();
+    }
+    
     /** Creates a new operation event at given queue (if non-{@code null}) with given new job (if non-{@code null}).
      * 
      * <p>
@@ -247,10 +258,21 @@ extends SimJQEvent<J, Q>
     public QueueAccessVacation
     (final Q queue, final double time, final boolean vacation)
     {
-      super ("QAV[" + vacation + "]@" + queue, time, queue, createAction (queue, vacation));
+      super (null, time, queue, createAction (queue, vacation));
       this.vacation = vacation;
     }
 
+    /** Returns "QAV[", followed by the vacation flag, followed by "]@", followed by the queue.
+     * 
+     * @return "QAV[", followed by the vacation flag, followed by "]@", followed by the queue.
+     * 
+     */
+    @Override
+    protected final String createDefaultName ()
+    {
+      return "QAV[" + getVacation () + "]@" + getQueue ();
+    }
+    
     /** Creates a new queue-access vacation event at given queue (if non-{@code null}).
      * 
      * @return A new queue-access vacation event at given queue (if non-{@code null}).
@@ -333,7 +355,7 @@ extends SimJQEvent<J, Q>
     public StartArmed
     (final Q queue, final double time, final boolean startArmed, final SimEventAction<Q> action)
     {
-      super ("StartArmed[" + startArmed + "]@" + queue, time, queue, action);
+      super (null, time, queue, action);
       if (action == null)
         throw new IllegalArgumentException ();
       this.startArmed = startArmed;
@@ -357,10 +379,21 @@ extends SimJQEvent<J, Q>
     public StartArmed
     (final Q queue, final double time, final boolean startArmed)
     {
-      super ("StartArmed[" + startArmed + "]@" + queue, time, queue, null);
+      super (null, time, queue, null);
       this.startArmed = startArmed;
     }
 
+    /** Returns "StartArmed[", followed by the start-armed flag, followed by "]@", followed by the queue.
+     * 
+     * @return "StartArmed[", followed by the start-armed flag, followed by "]@", followed by the queue.
+     * 
+     */
+    @Override
+    protected final String createDefaultName ()
+    {
+      return "StartArmed[" + isStartArmed () + "]@" + getQueue ();
+    }
+    
     /** Creates a new start-armed event at given queue (if non-{@code null}).
      * 
      * @return A new start-armed event at given queue (if non-{@code null}).
@@ -459,10 +492,21 @@ extends SimJQEvent<J, Q>
     public ServerAccessCredits
     (final Q queue, final double time, final int credits)
     {
-      super ("SAC[" + credits + "]@" + queue, time, queue, createAction (queue, credits));
+      super (null, time, queue, createAction (queue, credits));
       this.credits = credits;
     }
 
+    /** Returns "SAC[", followed by the credits, followed by "]@", followed by the queue.
+     * 
+     * @return "SAC[", followed by the credits, followed by "]@", followed by the queue.
+     * 
+     */
+    @Override
+    protected final String createDefaultName ()
+    {
+      return "SAC[" + getCredits () + "]@" + getQueue ();
+    }
+    
     /** Creates a new server-access-credits event at given queue (if non-{@code null}).
      * 
      * @return A new server-access-credits event at given queue (if non-{@code null}).
@@ -0,0 +1,271 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue;
+
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+
+/** An intrusive doubly linked list of jobs holding a slot in a {@link SimQueueJobSlots}, exposed as a {@link java.util.Set}.
+ *
+ * <p>
+ * The links are stored in two {@code int} side stores (indexed by slot),
+ * hence the list does not require per-entry nodes nor hashing.
+ * Appending, removing and membership tests are constant-time operations;
+ * jobs are iterated in the order in which they were appended.
+ * 
+ * <p>
+ * The {@link java.util.Set} view is unmodifiable; its iterators are fail-fast.
+ * 
+ * <p>
+ * Jobs must be removed from the list before their slot is released.
+ * Upon {@link SimQueueJobSlots#clear}, the list must be cleared as well.
+ * 
+ * @param <J> The type of {@link SimJob}s supported.
+ * 
+ * @see AbstractSimQueue#getJobs
+ * @see AbstractSimQueue#getJobsInWaitingArea
+ * @see AbstractSimQueue#getJobsInServiceArea
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+final class SimQueueJobList<J extends SimJob>
+extends AbstractSet<J>
+{
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // CONSTRUCTOR(S)
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The "null" slot.
+   * 
+   */
+  private static final int NIL = -1;
+  
+  /** Creates a new empty list on given job slots.
+   * 
+   * @param jobSlots The job slots, non-{@code null}.
+   * 
+   * @throws IllegalArgumentException If the argument is {@code null}.
+   * 
+   */
+  SimQueueJobList (final SimQueueJobSlots<J> jobSlots)
+  {
+    if (jobSlots == null)
+      throw new IllegalArgumentException ();
+    this.jobSlots = jobSlots;
+    this.next = jobSlots.newInts (SimQueueJobList.NIL);
+    this.previous = jobSlots.newInts (SimQueueJobList.NIL);
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // LINKS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private final SimQueueJobSlots<J> jobSlots;
+  
+  private final SimQueueJobSlots<J>.Ints next;
+  
+  private final SimQueueJobSlots<J>.Ints previous;
+  
+  private int head = SimQueueJobList.NIL;
+  
+  private int tail = SimQueueJobList.NIL;
+  
+  private int size = 0;
+  
+  /** The number of structural modifications, for fail-fast iterators.
+   * 
+   */
+  private int modCount = 0;
+  
+  /** Returns whether the job at given slot is on this list.
+   * 
+   * @param slot The slot, non-negative.
+   * 
+   * @return Whether the job at given slot is on this list.
+   * 
+   */
+  private boolean containsSlot (final int slot)
+  {
+    return slot == this.head || this.previous.array ()[slot] != SimQueueJobList.NIL;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // OPERATIONS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Appends a job to this list.
+   * 
+   * @param job The job, holding a slot and not on this list.
+   * 
+   * @throws IllegalArgumentException If the job does not hold a slot, or is already on this list.
+   * 
+   */
+  final void append (final J job)
+  {
+    final int slot = this.jobSlots.getSlot (job);
+    if (slot < 0 || containsSlot (slot))
+      throw new IllegalArgumentException ();
+    final int[] nextArray = this.next.array ();
+    final int[] previousArray = this.previous.array ();
+    previousArray[slot] = this.tail;
+    nextArray[slot] = SimQueueJobList.NIL;
+    if (this.tail == SimQueueJobList.NIL)
+      this.head = slot;
+    else
+      nextArray[this.tail] = slot;
+    this.tail = slot;
+    this.size++;
+    this.modCount++;
+  }
+  
+  /** Removes a job from this list, if present.
+   * 
+   * @param job The job, may be {@code null}.
+   * 
+   * @return Whether the job was on this list.
+   * 
+   */
+  final boolean unlink (final J job)
+  {
+    final int slot = this.jobSlots.getSlot (job);
+    if (slot < 0 || ! containsSlot (slot))
+      return false;
+    final int[] nextArray = this.next.array ();
+    final int[] previousArray = this.previous.array ();
+    final int nextSlot = nextArray[slot];
+    final int previousSlot = previousArray[slot];
+    if (previousSlot == SimQueueJobList.NIL)
+      this.head = nextSlot;
+    else
+      nextArray[previousSlot] = nextSlot;
+    if (nextSlot == SimQueueJobList.NIL)
+      this.tail = previousSlot;
+    else
+      previousArray[nextSlot] = previousSlot;
+    nextArray[slot] = SimQueueJobList.NIL;
+    previousArray[slot] = SimQueueJobList.NIL;
+    this.size--;
+    this.modCount++;
+    return true;
+  }
+  
+  /** Empties this list without resetting the links of its members.
+   * 
+   * <p>
+   * Only to be used in conjunction with {@link SimQueueJobSlots#clear}, which resets the links.
+   * 
+   */
+  final void reset ()
+  {
+    this.head = SimQueueJobList.NIL;
+    this.tail = SimQueueJobList.NIL;
+    this.size = 0;
+    this.modCount++;
+  }
+  
+  /** Returns the first job on this list.
+   * 
+   * @return The first job on this list, {@code null} if empty.
+   * 
+   */
+  final J first ()
+  {
+    return this.head == SimQueueJobList.NIL ? null : this.jobSlots.getJob (this.head);
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SET VIEW
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  @Override
+  public final int size ()
+  {
+    return this.size;
+  }
+  
+  @Override
+  public final boolean isEmpty ()
+  {
+    return this.size == 0;
+  }
+  
+  @Override
+  public final boolean contains (final Object o)
+  {
+    if (! (o instanceof SimJob))
+      return false;
+    final int slot = this.jobSlots.getSlot ((J) o);
+    return slot >= 0 && containsSlot (slot);
+  }
+  
+  @Override
+  public final Iterator<J> iterator ()
+  {
+    return new Iterator<J> ()
+    {
+      
+      private int nextSlot = SimQueueJobList.this.head;
+      
+      private final int expectedModCount = SimQueueJobList.this.modCount;
+      
+      @Override
+      public final boolean hasNext ()
+      {
+        return this.nextSlot != SimQueueJobList.NIL;
+      }
+      
+      @Override
+      public final J next ()
+      {
+        if (SimQueueJobList.this.modCount != this.expectedModCount)
+          throw new ConcurrentModificationException ();
+        if (this.nextSlot == SimQueueJobList.NIL)
+          throw new NoSuchElementException ();
+        final J job = SimQueueJobList.this.jobSlots.getJob (this.nextSlot);
+        this.nextSlot = SimQueueJobList.this.next.array ()[this.nextSlot];
+        return job;
+      }
+      
+    };
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
@@ -0,0 +1,1402 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.javades.jqueues.r5.entity.jq.job.AbstractSimJob;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+
+/** A table of dense integer slots for the jobs visiting a {@link SimQueue},
+ *  with primitive-array side stores for per-job (visit) state.
+ *
+ * <p>
+ * Each job visiting the queue is assigned a slot, a non-negative integer, upon arrival;
+ * the slot is released (and available for reuse) when the job leaves.
+ * Slots are handed out densely, i.e., all slots are strictly smaller than {@link #getCapacity},
+ * which never exceeds the maximum number of jobs simultaneously present (since the last {@link #clear}).
+ * 
+ * <p>
+ * The per-job state is held in side stores created through {@link #newDoubles}, {@link #newInts}, {@link #newLongs}
+ * and {@link #newReferences}, which are backed by arrays indexed by slot.
+ * Jobs can be kept in key order through an indexed binary heap created through {@link #newHeap},
+ * and in insertion order (at either end) through a linked deque created through {@link #newDeque}.
+ * This avoids boxing and hashing in per-job updates,
+ * and allows for loops over contiguous data, see, e.g., {@link Doubles#array}.
+ * Upon release (and upon creation), the value at a slot is set to the default value of the store.
+ * 
+ * <p>
+ * The slot of a job is stored on the job itself if it is an {@link AbstractSimJob} (exploiting the fact
+ * that a job visits at most one queue at a time), avoiding a map lookup; other jobs are looked up in an identity map.
+ * Access to the slot stored on the job requires a {@link SlotToken} private to the table.
+ * 
+ * @param <J> The type of {@link SimJob}s supported.
+ * 
+ * @see AbstractSimQueue#getJobSlots
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+public final class SimQueueJobSlots<J extends SimJob>
+{
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // CONSTRUCTOR(S)
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The initial length of the slot arrays.
+   * 
+   */
+  private static final int INITIAL_LENGTH = 16;
+  
+  /** Creates a new (empty) table of job slots.
+   * 
+   */
+  public SimQueueJobSlots ()
+  {
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SLOTS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The job occupying each slot, {@code null} for free slots.
+   * 
+   */
+  private SimJob[] jobs = new SimJob[SimQueueJobSlots.INITIAL_LENGTH];
+  
+  /** The number of slots ever handed out (since the last {@link #clear}).
+   * 
+   */
+  private int capacity = 0;
+  
+  /** The number of slots currently occupied.
+   * 
+   */
+  private int size = 0;
+  
+  /** The stack of free slots (below {@link #capacity}).
+   * 
+   */
+  private int[] freeSlots = new int[SimQueueJobSlots.INITIAL_LENGTH];
+  
+  /** The number of free slots on the stack.
+   * 
+   */
+  private int numberOfFreeSlots = 0;
+  
+  /** The slots of jobs that are not an {@link AbstractSimJob}.
+   * 
+   */
+  private final Map<SimJob, Integer> foreignJobSlots = new IdentityHashMap<> ();
+  
+  /** A token granting access to the slot stored on an {@link AbstractSimJob}.
+   * 
+   * <p>
+   * Tokens can only be created by {@link SimQueueJobSlots}, and each table keeps its own token private.
+   * Hence, the slot stored on a job can only be read and changed by the table that assigned it.
+   * 
+   * @see AbstractSimJob#getQueueSlot
+   * @see AbstractSimJob#setQueueSlot
+   * 
+   */
+  public static final class SlotToken
+  {
+    
+    private SlotToken ()
+    {
+    }
+    
+  }
+  
+  /** The token of this table, for accessing the slot stored on an {@link AbstractSimJob}.
+   * 
+   */
+  private final SlotToken slotToken = new SlotToken ();
+  
+  /** Returns the number of slots handed out since the last {@link #clear}, i.e., an upper bound to all slots (in use).
+   * 
+   * <p>
+   * Loops over all slots (in use) can safely iterate from zero (inclusive) to the capacity (exclusive),
+   * skipping free slots through {@link #getJob} or through the default values in a side store.
+   * 
+   * @return The number of slots handed out since the last {@link #clear}.
+   * 
+   */
+  public final int getCapacity ()
+  {
+    return this.capacity;
+  }
+  
+  /** Returns the number of slots in use, i.e., the number of jobs holding a slot.
+   * 
+   * @return The number of slots in use.
+   * 
+   */
+  public final int size ()
+  {
+    return this.size;
+  }
+  
+  /** Returns the slot of given job, if any.
+   * 
+   * @param job The job, may be {@code null}.
+   * 
+   * @return The slot of the job, or {@code -1} if the job does not hold a slot (or is {@code null}).
+   * 
+   */
+  public final int getSlot (final J job)
+  {
+    if (job == null)
+      return -1;
+    if (job instanceof AbstractSimJob)
+    {
+      final int slot = ((AbstractSimJob) job).getQueueSlot (this.slotToken);
+      return (slot >= 0 && slot < this.capacity && this.jobs[slot] == job) ? slot : -1;
+    }
+    final Integer slot = this.foreignJobSlots.get (job);
+    return slot != null ? slot : -1;
+  }
+  
+  /** Returns the job at given slot, if any.
+   * 
+   * @param slot The slot.
+   * 
+   * @return The job at given slot, {@code null} if the slot is free.
+   * 
+   * @throws ArrayIndexOutOfBoundsException If the slot is negative or not smaller than the length of the slot arrays.
+   * 
+   */
+  public final J getJob (final int slot)
+  {
+    return (J) this.jobs[slot];
+  }
+  
+  /** Assigns a slot to given job.
+   * 
+   * <p>
+   * Slots released earlier are reused first.
+   * 
+   * @param job The job, non-{@code null}.
+   * 
+   * @return The slot assigned.
+   * 
+   * @throws IllegalArgumentException If the job is {@code null} or already holds a slot.
+   * 
+   */
+  public final int allocate (final J job)
+  {
+    if (job == null || getSlot (job) >= 0)
+      throw new IllegalArgumentException ();
+    final int slot;
+    if (this.numberOfFreeSlots > 0)
+      slot = this.freeSlots[--this.numberOfFreeSlots];
+    else
+    {
+      if (this.capacity == this.jobs.length)
+        grow ();
+      slot = this.capacity++;
+    }
+    this.jobs[slot] = job;
+    this.size++;
+    if (job instanceof AbstractSimJob)
+      ((AbstractSimJob) job).setQueueSlot (this.slotToken, slot);
+    else
+      this.foreignJobSlots.put (job, slot);
+    return slot;
+  }
+  
+  /** Releases the slot of given job, and resets the side stores at that slot to their default values.
+   * 
+   * @param job The job, non-{@code null}.
+   * 
+   * @throws IllegalArgumentException If the job is {@code null} or does not hold a slot.
+   * 
+   */
+  public final void release (final J job)
+  {
+    final int slot = getSlot (job);
+    if (slot < 0)
+      throw new IllegalArgumentException ();
+    this.jobs[slot] = null;
+    this.size--;
+    if (job instanceof AbstractSimJob)
+      ((AbstractSimJob) job).setQueueSlot (this.slotToken, -1);
+    else
+      this.foreignJobSlots.remove (job);
+    for (final Store store : this.stores)
+      store.clear (slot);
+    if (this.size == 0)
+    {
+      // Restart handing out slots from zero; keeps the slots dense.
+      this.capacity = 0;
+      this.numberOfFreeSlots = 0;
+    }
+    else
+      this.freeSlots[this.numberOfFreeSlots++] = slot;
+  }
+  
+  /** Releases all slots and resets all side stores.
+   * 
+   */
+  public final void clear ()
+  {
+    for (int slot = 0; slot < this.capacity; slot++)
+      if (this.jobs[slot] != null)
+      {
+        if (this.jobs[slot] instanceof AbstractSimJob && ((AbstractSimJob) this.jobs[slot]).getQueueSlot (this.slotToken) == slot)
+          ((AbstractSimJob) this.jobs[slot]).setQueueSlot (this.slotToken, -1);
+        this.jobs[slot] = null;
+        for (final Store store : this.stores)
+          store.clear (slot);
+      }
+    this.foreignJobSlots.clear ();
+    this.capacity = 0;
+    this.size = 0;
+    this.numberOfFreeSlots = 0;
+  }
+  
+  /** Doubles the length of the slot arrays and of all side stores.
+   * 
+   */
+  private void grow ()
+  {
+    final int newLength = 2 * this.jobs.length;
+    this.jobs = Arrays.copyOf (this.jobs, newLength);
+    this.freeSlots = Arrays.copyOf (this.freeSlots, newLength);
+    for (final Store store : this.stores)
+      store.grow (newLength);
+  }
+  
+  /** Returns the slot of given job, insisting that it holds one.
+   * 
+   * @param job The job.
+   * 
+   * @return The slot of the job.
+   * 
+   * @throws IllegalArgumentException If the job is {@code null} or does not hold a slot.
+   * 
+   */
+  private int requireSlot (final J job)
+  {
+    final int slot = getSlot (job);
+    if (slot < 0)
+      throw new IllegalArgumentException ();
+    return slot;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SIDE STORES
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The side stores created on this table.
+   * 
+   */
+  private final List<Store> stores = new ArrayList<> ();
+  
+  /** A side store, holding a value for each slot.
+   * 
+   */
+  private interface Store
+  {
+    
+    /** Grows the store to given length.
+     * 
+     * @param newLength The new length.
+     * 
+     */
+    void grow (int newLength);
+    
+    /** Resets the value at given slot to the default value.
+     * 
+     * @param slot The slot.
+     * 
+     */
+    void clear (int slot);
+    
+  }
+  
+  /** Creates a new side store for {@code double} values.
+   * 
+   * @param defaultValue The default value (for free slots).
+   * 
+   * @return The new store.
+   * 
+   */
+  public final Doubles newDoubles (final double defaultValue)
+  {
+    final Doubles store = new Doubles (defaultValue);
+    this.stores.add (store);
+    return store;
+  }
+  
+  /** Creates a new side store for {@code int} values.
+   * 
+   * @param defaultValue The default value (for free slots).
+   * 
+   * @return The new store.
+   * 
+   */
+  public final Ints newInts (final int defaultValue)
+  {
+    final Ints store = new Ints (defaultValue);
+    this.stores.add (store);
+    return store;
+  }
+  
+  /** Creates a new side store for {@code long} values.
+   * 
+   * @param defaultValue The default value (for free slots).
+   * 
+   * @return The new store.
+   * 
+   */
+  public final Longs newLongs (final long defaultValue)
+  {
+    final Longs store = new Longs (defaultValue);
+    this.stores.add (store);
+    return store;
+  }
+  
+  /** Creates a new side store for references, with default value {@code null}.
+   * 
+   * @param <V> The type of the values.
+   * 
+   * @return The new store.
+   * 
+   */
+  public final <V> References<V> newReferences ()
+  {
+    final References<V> store = new References<> ();
+    this.stores.add (store);
+    return store;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SIDE STORE: DOUBLES
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** A side store holding a {@code double} for each slot.
+   * 
+   */
+  public final class Doubles
+  implements Store
+  {
+    
+    private final double defaultValue;
+    
+    private double[] values;
+    
+    private Doubles (final double defaultValue)
+    {
+      this.defaultValue = defaultValue;
+      this.values = new double[SimQueueJobSlots.this.jobs.length];
+      Arrays.fill (this.values, defaultValue);
+    }
+    
+    /** Returns the default value of this store.
+     * 
+     * @return The default value of this store.
+     * 
+     */
+    public final double getDefaultValue ()
+    {
+      return this.defaultValue;
+    }
+    
+    /** Returns the value for given job.
+     * 
+     * @param job The job.
+     * 
+     * @return The value for the job.
+     * 
+     * @throws IllegalArgumentException If the job is {@code null} or does not hold a slot.
+     * 
+     */
+    public final double get (final J job)
+    {
+      return this.values[requireSlot (job)];
+    }
+    
+    /** Sets the value for given job.
+     * 
+     * @param job   The job.
+     * @param value The new value.
+     * 
+     * @throws IllegalArgumentException If the job is {@code null} or does not hold a slot.
+     * 
+     */
+    public final void set (final J job, final double value)
+    {
+      this.values[requireSlot (job)] = value;
+    }
+    
+    /** Returns the backing array of this store, indexed by slot.
+     * 
+     * <p>
+     * The array is replaced when the table grows, i.e., upon {@link SimQueueJobSlots#allocate};
+     * callers must not hold on to it across allocations.
+     * Only the entries below {@link SimQueueJobSlots#getCapacity} are meaningful;
+     * entries of free slots hold the default value.
+     * 
+     * @return The backing array of this store.
+     * 
+     */
+    public final double[] array ()
+    {
+      return this.values;
+    }
+    
+    @Override
+    public final void grow (final int newLength)
+    {
+      final int oldLength = this.values.length;
+      this.values = Arrays.copyOf (this.values, newLength);
+      Arrays.fill (this.values, oldLength, newLength, this.defaultValue);
+    }
+    
+    @Override
+    public final void clear (final int slot)
+    {
+      this.values[slot] = this.defaultValue;
+    }
+    
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SIDE STORE: INTS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** A side store holding an {@code int} for each slot.
+   * 
+   */
+  public final class Ints
+  implements Store
+  {
+    
+    private final int defaultValue;
+    
+    private int[] values;
+    
+    private Ints (final int defaultValue)
+    {
+      this.defaultValue = defaultValue;
+      this.values = new int[SimQueueJobSlots.this.jobs.length];
+      Arrays.fill (this.values, defaultValue);
+    }
+    
+    /** Returns the default value of this store.
+     * 
+     * @return The default value of this store.
+     * 
+     */
+    public final int getDefaultValue ()
+    {
+      return this.defaultValue;
+    }
+    
+    /** Returns the value for given job.
+     * 
+     * @param job The job.
+     * 
+     * @return The value for the job.
+     * 
+     * @throws IllegalArgumentException If the job is {@code null} or does not hold a slot.
+     * 
+     */
+    public final int get (final J job)
+    {
+      return this.values[requireSlot (job)];
+    }
+    
+    /** Sets the value for given job.
+     * 
+     * @param job   The job.
+     * @param value The new value.
+     * 
+     * @throws IllegalArgumentException If the job is {@code null} or does not hold a slot.
+     * 
+     */
+    public final void set (final J job, final int value)
+    {
+      this.values[requireSlot (job)] = value;
+    }
+    
+    /** Returns the backing array of this store, indexed by slot.
+     * 
+     * @return The backing array of this store.
+     * 
+     * @see Doubles#array
+     * 
+     */
+    public final int[] array ()
+    {
+      return this.values;
+    }
+    
+    @Override
+    public final void grow (final int newLength)
+    {
+      final int oldLength = this.values.length;
+      this.values = Arrays.copyOf (this.values, newLength);
+      Arrays.fill (this.values, oldLength, newLength, this.defaultValue);
+    }
+    
+    @Override
+    public final void clear (final int slot)
+    {
+      this.values[slot] = this.defaultValue;
+    }
+    
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SIDE STORE: LONGS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** A side store holding a {@code long} for each slot.
+   * 
+   */
+  public final class Longs
+  implements Store
+  {
+    
+    private final long defaultValue;
+    
+    private long[] values;
+    
+    private Longs (final long defaultValue)
+    {
+      this.defaultValue = defaultValue;
+      this.values = new long[SimQueueJobSlots.this.jobs.length];
+      Arrays.fill (this.values, defaultValue);
+    }
+    
+    /** Returns the default value of this store.
+     * 
+     * @return The default value of this store.
+     * 
+     */
+    public final long getDefaultValue ()
+    {
+      return this.defaultValue;
+    }
+    
+    /** Returns the value for given job.
+     * 
+     * @param job The job.
+     * 
+     * @return The value for the job.
+     * 
+     * @throws IllegalArgumentException If the job is {@code null} or does not hold a slot.
+     * 
+     */
+    public final long get (final J job)
+    {
+      return this.values[requireSlot (job)];
+    }
+    
+    /** Sets the value for given job.
+     * 
+     * @param job   The job.
+     * @param value The new value.
+     * 
+     * @throws IllegalArgumentException If the job is {@code null} or does not hold a slot.
+     * 
+     */
+    public final void set (final J job, final long value)
+    {
+      this.values[requireSlot (job)] = value;
+    }
+    
+    /** Returns the backing array of this store, indexed by slot.
+     * 
+     * @return The backing array of this store.
+     * 
+     * @see Doubles#array
+     * 
+     */
+    public final long[] array ()
+    {
+      return this.values;
+    }
+    
+    @Override
+    public final void grow (final int newLength)
+    {
+      final int oldLength = this.values.length;
+      this.values = Arrays.copyOf (this.values, newLength);
+      Arrays.fill (this.values, oldLength, newLength, this.defaultValue);
+    }
+    
+    @Override
+    public final void clear (final int slot)
+    {
+      this.values[slot] = this.defaultValue;
+    }
+    
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SIDE STORE: REFERENCES
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** A side store holding a reference for each slot; the default value is {@code null}.
+   * 
+   * @param <V> The type of the values.
+   * 
+   */
+  public final class References<V>
+  implements Store
+  {
+    
+    private Object[] values;
+    
+    private References ()
+    {
+      this.values = new Object[SimQueueJobSlots.this.jobs.length];
+    }
+    
+    /** Returns the value for given job, or {@code null} if the job does not hold a slot.
+     * 
+     * <p>
+     * Unlike {@link Doubles#get} and {@link Ints#get}, this method is lenient towards jobs without a slot,
+     * as {@code null} unambiguously denotes absence.
+     * 
+     * @param job The job, may be {@code null}.
+     * 
+     * @return The value for the job, or {@code null} if absent.
+     * 
+     */
+    public final V get (final J job)
+    {
+      final int slot = getSlot (job);
+      return slot >= 0 ? (V) this.values[slot] : null;
+    }
+    
+    /** Sets the value for given job.
+     * 
+     * @param job   The job.
+     * @param value The new value, may be {@code null}.
+     * 
+     * @throws IllegalArgumentException If the job is {@code null} or does not hold a slot.
+     * 
+     */
+    public final void set (final J job, final V value)
+    {
+      this.values[requireSlot (job)] = value;
+    }
+    
+    @Override
+    public final void grow (final int newLength)
+    {
+      this.values = Arrays.copyOf (this.values, newLength);
+    }
+    
+    @Override
+    public final void clear (final int slot)
+    {
+      this.values[slot] = null;
+    }
+    
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SIDE STORE: HEAP
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Creates a new indexed binary heap of jobs ordered by a {@code double} key.
+   * 
+   * @param descending Whether jobs with larger keys come first (instead of jobs with smaller keys).
+   * 
+   * @return The new heap.
+   * 
+   * @see Heap
+   * 
+   */
+  public final Heap newHeap (final boolean descending)
+  {
+    final Heap store = new Heap (descending);
+    this.stores.add (store);
+    return store;
+  }
+  
+  /** An indexed binary heap of jobs (holding a slot) ordered by a {@code double} key, with ties broken in insertion order.
+   * 
+   * <p>
+   * The heap holds its jobs by slot, and keeps the position in the heap of each slot,
+   * so that insertion, removal of the first job and removal of an arbitrary job all take logarithmic time,
+   * and membership tests take constant time.
+   * Jobs with equal keys come out in the order in which they were added (since the last {@link #clear}).
+   * 
+   * <p>
+   * A job is removed from the heap automatically when it releases its slot.
+   * 
+   */
+  public final class Heap
+  implements Store
+  {
+    
+    private final boolean descending;
+    
+    /** The slots in the heap, in heap order; only the first {@link #size} entries are meaningful.
+     * 
+     */
+    private int[] heap;
+    
+    private int size = 0;
+    
+    /** The position in {@link #heap} for each slot, {@code -1} if absent.
+     * 
+     */
+    private int[] position;
+    
+    /** The key for each slot (in the heap).
+     * 
+     */
+    private double[] keys;
+    
+    /** The insertion sequence number for each slot (in the heap), used for tie breaking.
+     * 
+     */
+    private long[] sequence;
+    
+    private long nextSequence = 0;
+    
+    private Heap (final boolean descending)
+    {
+      this.descending = descending;
+      final int length = SimQueueJobSlots.this.jobs.length;
+      this.heap = new int[length];
+      this.position = new int[length];
+      Arrays.fill (this.position, -1);
+      this.keys = new double[length];
+      this.sequence = new long[length];
+    }
+    
+    /** Returns the number of jobs in the heap.
+     * 
+     * @return The number of jobs in the heap.
+     * 
+     */
+    public final int size ()
+    {
+      return this.size;
+    }
+    
+    /** Returns whether the heap is empty.
+     * 
+     * @return Whether the heap is empty.
+     * 
+     */
+    public final boolean isEmpty ()
+    {
+      return this.size == 0;
+    }
+    
+    /** Returns whether given job is in the heap.
+     * 
+     * @param job The job, may be {@code null}.
+     * 
+     * @return Whether the job is in the heap.
+     * 
+     */
+    public final boolean contains (final J job)
+    {
+      final int slot = getSlot (job);
+      return slot >= 0 && this.position[slot] >= 0;
+    }
+    
+    /** Returns the key of given job.
+     * 
+     * @param job The job.
+     * 
+     * @return The key of the job.
+     * 
+     * @throws IllegalArgumentException If the job is not in the heap.
+     * 
+     */
+    public final double getKey (final J job)
+    {
+      final int slot = requireSlot (job);
+      if (this.position[slot] < 0)
+        throw new IllegalArgumentException ();
+      return this.keys[slot];
+    }
+    
+    /** Adds a job to the heap.
+     * 
+     * @param job The job.
+     * @param key The key of the job.
+     * 
+     * @throws IllegalArgumentException If the job is {@code null}, does not hold a slot, or is already in the heap.
+     * 
+     */
+    public final void add (final J job, final double key)
+    {
+      final int slot = requireSlot (job);
+      if (this.position[slot] >= 0)
+        throw new IllegalArgumentException ();
+      this.keys[slot] = key;
+      this.sequence[slot] = this.nextSequence++;
+      this.heap[this.size] = slot;
+      this.position[slot] = this.size;
+      this.size++;
+      siftUp (this.size - 1);
+    }
+    
+    /** Changes the key of a job in the heap.
+     * 
+     * <p>
+     * For tie breaking among jobs with equal keys, the job keeps its original insertion order.
+     * 
+     * @param job The job.
+     * @param key The new key of the job.
+     * 
+     * @throws IllegalArgumentException If the job is not in the heap.
+     * 
+     */
+    public final void setKey (final J job, final double key)
+    {
+      final int slot = requireSlot (job);
+      final int i = this.position[slot];
+      if (i < 0)
+        throw new IllegalArgumentException ();
+      this.keys[slot] = key;
+      siftDown (i);
+      siftUp (this.position[slot]);
+    }
+    
+    /** Returns the first job in the heap, without removing it.
+     * 
+     * @return The first job in the heap, {@code null} if the heap is empty.
+     * 
+     */
+    public final J first ()
+    {
+      return this.size > 0 ? (J) SimQueueJobSlots.this.jobs[this.heap[0]] : null;
+    }
+    
+    /** Removes and returns the first job in the heap.
+     * 
+     * @return The (removed) first job in the heap.
+     * 
+     * @throws IllegalStateException If the heap is empty.
+     * 
+     */
+    public final J removeFirst ()
+    {
+      if (this.size == 0)
+        throw new IllegalStateException ();
+      final J job = (J) SimQueueJobSlots.this.jobs[this.heap[0]];
+      removeAt (0);
+      return job;
+    }
+    
+    /** Removes a job from the heap, if present.
+     * 
+     * @param job The job, may be {@code null}.
+     * 
+     * @return Whether the job was in the heap.
+     * 
+     */
+    public final boolean remove (final J job)
+    {
+      final int slot = getSlot (job);
+      if (slot < 0 || this.position[slot] < 0)
+        return false;
+      removeAt (this.position[slot]);
+      return true;
+    }
+    
+    /** Removes all jobs from the heap, and restarts the insertion sequence for tie breaking.
+     * 
+     */
+    public final void clear ()
+    {
+      for (int i = 0; i < this.size; i++)
+        this.position[this.heap[i]] = -1;
+      this.size = 0;
+      this.nextSequence = 0;
+    }
+    
+    /** Returns whether the slot at heap position {@code i} must come before the slot at heap position {@code j}.
+     * 
+     */
+    private boolean before (final int i, final int j)
+    {
+      final int slotI = this.heap[i];
+      final int slotJ = this.heap[j];
+      final double keyI = this.keys[slotI];
+      final double keyJ = this.keys[slotJ];
+      if (keyI < keyJ)
+        return ! this.descending;
+      if (keyI > keyJ)
+        return this.descending;
+      return this.sequence[slotI] < this.sequence[slotJ];
+    }
+    
+    private void swap (final int i, final int j)
+    {
+      final int slotI = this.heap[i];
+      final int slotJ = this.heap[j];
+      this.heap[i] = slotJ;
+      this.heap[j] = slotI;
+      this.position[slotJ] = i;
+      this.position[slotI] = j;
+    }
+    
+    private void siftUp (int i)
+    {
+      while (i > 0)
+      {
+        final int parent = (i - 1) >>> 1;
+        if (! before (i, parent))
+          return;
+        swap (i, parent);
+        i = parent;
+      }
+    }
+    
+    private void siftDown (int i)
+    {
+      while (true)
+      {
+        final int left = 2 * i + 1;
+        if (left >= this.size)
+          return;
+        final int right = left + 1;
+        final int child = (right < this.size && before (right, left)) ? right : left;
+        if (! before (child, i))
+          return;
+        swap (i, child);
+        i = child;
+      }
+    }
+    
+    private void removeAt (final int i)
+    {
+      final int slot = this.heap[i];
+      final int last = this.size - 1;
+      if (i != last)
+      {
+        swap (i, last);
+        this.size--;
+        siftDown (i);
+        siftUp (i);
+      }
+      else
+        this.size--;
+      this.position[slot] = -1;
+    }
+    
+    @Override
+    public final void grow (final int newLength)
+    {
+      final int oldLength = this.position.length;
+      this.heap = Arrays.copyOf (this.heap, newLength);
+      this.position = Arrays.copyOf (this.position, newLength);
+      Arrays.fill (this.position, oldLength, newLength, -1);
+      this.keys = Arrays.copyOf (this.keys, newLength);
+      this.sequence = Arrays.copyOf (this.sequence, newLength);
+    }
+    
+    @Override
+    public final void clear (final int slot)
+    {
+      if (this.position[slot] >= 0)
+        removeAt (this.position[slot]);
+    }
+    
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SIDE STORE: DEQUE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Creates a new linked deque of jobs.
+   * 
+   * @return The new deque.
+   * 
+   * @see Deque
+   * 
+   */
+  public final Deque newDeque ()
+  {
+    final Deque store = new Deque ();
+    this.stores.add (store);
+    return store;
+  }
+  
+  /** A doubly linked deque of jobs (holding a slot).
+   * 
+   * <p>
+   * The deque holds its links by slot,
+   * so that insertion and removal at either end, removal of an arbitrary job,
+   * membership tests and order comparisons between jobs all take constant time.
+   * 
+   * <p>
+   * A job is removed from the deque automatically when it releases its slot.
+   * 
+   */
+  public final class Deque
+  implements Store, Iterable<J>
+  {
+    
+    /** The "null" slot.
+     * 
+     */
+    private static final int NIL = -1;
+    
+    private int[] next;
+    
+    private int[] previous;
+    
+    /** Whether each slot is in the deque.
+     * 
+     */
+    private boolean[] present;
+    
+    /** The rank of each slot (in the deque); ranks strictly increase from the first to the last job.
+     * 
+     */
+    private long[] rank;
+    
+    private int first = Deque.NIL;
+    
+    private int last = Deque.NIL;
+    
+    private int size = 0;
+    
+    /** The number of structural modifications, for fail-fast iterators.
+     * 
+     */
+    private int modCount = 0;
+    
+    private Deque ()
+    {
+      final int length = SimQueueJobSlots.this.jobs.length;
+      this.next = new int[length];
+      this.previous = new int[length];
+      this.present = new boolean[length];
+      this.rank = new long[length];
+    }
+    
+    /** Returns the number of jobs in the deque.
+     * 
+     * @return The number of jobs in the deque.
+     * 
+     */
+    public final int size ()
+    {
+      return this.size;
+    }
+    
+    /** Returns whether the deque is empty.
+     * 
+     * @return Whether the deque is empty.
+     * 
+     */
+    public final boolean isEmpty ()
+    {
+      return this.size == 0;
+    }
+    
+    /** Returns whether given job is in the deque.
+     * 
+     * @param job The job, may be {@code null}.
+     * 
+     * @return Whether the job is in the deque.
+     * 
+     */
+    public final boolean contains (final J job)
+    {
+      final int slot = getSlot (job);
+      return slot >= 0 && this.present[slot];
+    }
+    
+    /** Returns the first job in the deque, without removing it.
+     * 
+     * @return The first job in the deque, {@code null} if the deque is empty.
+     * 
+     */
+    public final J first ()
+    {
+      return this.first != Deque.NIL ? (J) SimQueueJobSlots.this.jobs[this.first] : null;
+    }
+    
+    /** Returns the last job in the deque, without removing it.
+     * 
+     * @return The last job in the deque, {@code null} if the deque is empty.
+     * 
+     */
+    public final J last ()
+    {
+      return this.last != Deque.NIL ? (J) SimQueueJobSlots.this.jobs[this.last] : null;
+    }
+    
+    /** Inserts a job at the front of the deque.
+     * 
+     * @param job The job.
+     * 
+     * @throws IllegalArgumentException If the job is {@code null}, does not hold a slot, or is already in the deque.
+     * 
+     */
+    public final void addFirst (final J job)
+    {
+      final int slot = requireSlot (job);
+      if (this.present[slot])
+        throw new IllegalArgumentException ();
+      this.present[slot] = true;
+      this.previous[slot] = Deque.NIL;
+      this.next[slot] = this.first;
+      if (this.first == Deque.NIL)
+      {
+        this.rank[slot] = 0;
+        this.last = slot;
+      }
+      else
+      {
+        this.rank[slot] = this.rank[this.first] - 1;
+        this.previous[this.first] = slot;
+      }
+      this.first = slot;
+      this.size++;
+      this.modCount++;
+    }
+    
+    /** Inserts a job at the end of the deque.
+     * 
+     * @param job The job.
+     * 
+     * @throws IllegalArgumentException If the job is {@code null}, does not hold a slot, or is already in the deque.
+     * 
+     */
+    public final void addLast (final J job)
+    {
+      final int slot = requireSlot (job);
+      if (this.present[slot])
+        throw new IllegalArgumentException ();
+      this.present[slot] = true;
+      this.next[slot] = Deque.NIL;
+      this.previous[slot] = this.last;
+      if (this.last == Deque.NIL)
+      {
+        this.rank[slot] = 0;
+        this.first = slot;
+      }
+      else
+      {
+        this.rank[slot] = this.rank[this.last] + 1;
+        this.next[this.last] = slot;
+      }
+      this.last = slot;
+      this.size++;
+      this.modCount++;
+    }
+    
+    /** Removes and returns the first job in the deque.
+     * 
+     * @return The (removed) first job in the deque.
+     * 
+     * @throws IllegalStateException If the deque is empty.
+     * 
+     */
+    public final J removeFirst ()
+    {
+      if (this.first == Deque.NIL)
+        throw new IllegalStateException ();
+      final J job = (J) SimQueueJobSlots.this.jobs[this.first];
+      unlink (this.first);
+      return job;
+    }
+    
+    /** Removes and returns the last job in the deque.
+     * 
+     * @return The (removed) last job in the deque.
+     * 
+     * @throws IllegalStateException If the deque is empty.
+     * 
+     */
+    public final J removeLast ()
+    {
+      if (this.last == Deque.NIL)
+        throw new IllegalStateException ();
+      final J job = (J) SimQueueJobSlots.this.jobs[this.last];
+      unlink (this.last);
+      return job;
+    }
+    
+    /** Removes a job from the deque, if present.
+     * 
+     * @param job The job, may be {@code null}.
+     * 
+     * @return Whether the job was in the deque.
+     * 
+     */
+    public final boolean remove (final J job)
+    {
+      final int slot = getSlot (job);
+      if (slot < 0 || ! this.present[slot])
+        return false;
+      unlink (slot);
+      return true;
+    }
+    
+    /** Returns whether a job comes before another job in the deque.
+     * 
+     * @param job1 The first job.
+     * @param job2 The second job.
+     * 
+     * @return Whether {@code job1} comes (strictly) before {@code job2} in the deque.
+     * 
+     * @throws IllegalArgumentException If either job is not in the deque.
+     * 
+     */
+    public final boolean isBefore (final J job1, final J job2)
+    {
+      final int slot1 = requireSlot (job1);
+      final int slot2 = requireSlot (job2);
+      if (! (this.present[slot1] && this.present[slot2]))
+        throw new IllegalArgumentException ();
+      return this.rank[slot1] < this.rank[slot2];
+    }
+    
+    /** Removes all jobs from the deque.
+     * 
+     */
+    public final void clear ()
+    {
+      for (int slot = this.first; slot != Deque.NIL; slot = this.next[slot])
+        this.present[slot] = false;
+      this.first = Deque.NIL;
+      this.last = Deque.NIL;
+      this.size = 0;
+      this.modCount++;
+    }
+    
+    /** Returns a (fail-fast) iterator over the jobs in the deque, from first to last.
+     * 
+     * <p>
+     * The iterator does not support removal.
+     * 
+     * @return An iterator over the jobs in the deque.
+     * 
+     */
+    @Override
+    public final Iterator<J> iterator ()
+    {
+      return new Iterator<J> ()
+      {
+        
+        private int nextSlot = Deque.this.first;
+        
+        private final int expectedModCount = Deque.this.modCount;
+        
+        @Override
+        public final boolean hasNext ()
+        {
+          return this.nextSlot != Deque.NIL;
+        }
+        
+        @Override
+        public final J next ()
+        {
+          if (Deque.this.modCount != this.expectedModCount)
+            throw new ConcurrentModificationException ();
+          if (this.nextSlot == Deque.NIL)
+            throw new NoSuchElementException ();
+          final J job = (J) SimQueueJobSlots.this.jobs[this.nextSlot];
+          this.nextSlot = Deque.this.next[this.nextSlot];
+          return job;
+        }
+        
+      };
+    }
+    
+    private void unlink (final int slot)
+    {
+      final int nextSlot = this.next[slot];
+      final int previousSlot = this.previous[slot];
+      if (previousSlot == Deque.NIL)
+        this.first = nextSlot;
+      else
+        this.next[previousSlot] = nextSlot;
+      if (nextSlot == Deque.NIL)
+        this.last = previousSlot;
+      else
+        this.previous[nextSlot] = previousSlot;
+      this.present[slot] = false;
+      this.size--;
+      this.modCount++;
+    }
+    
+    @Override
+    public final void grow (final int newLength)
+    {
+      this.next = Arrays.copyOf (this.next, newLength);
+      this.previous = Arrays.copyOf (this.previous, newLength);
+      this.present = Arrays.copyOf (this.present, newLength);
+      this.rank = Arrays.copyOf (this.rank, newLength);
+    }
+    
+    @Override
+    public final void clear (final int slot)
+    {
+      if (this.present[slot])
+        unlink (slot);
+    }
+    
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
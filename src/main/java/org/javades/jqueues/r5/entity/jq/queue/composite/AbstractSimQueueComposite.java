@@ -16,6 +16,7 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue.composite;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -29,6 +30,7 @@ import org.javades.jqueues.r5.entity.SimEntitySimpleEventType;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.AbstractSimQueue;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueJobSlots;
 import org.javades.jqueues.r5.listener.MultiSimQueueNotificationProcessor;
 import org.javades.jqueues.r5.listener.MultiSimQueueNotificationProcessor.Processor;
 import org.javades.jsimulation.r5.SimEventList;
@@ -136,11 +138,17 @@ implements SimQueueComposite<DJ, DQ, J, Q>,
       q.setIgnoreEventListReset (true);
       // We still need to register as listener, despite the multi-queue event processor,
       // in order to obtain UPDATE notifications from the sub-queues.
-      q.registerSimEntityListener (this);
+      // We register with an empty interest set, since all other notifications are handled by the processor.
+      q.registerSimEntityListener (this, Collections.emptySet ());
     }
     final MultiSimQueueNotificationProcessor<DJ, DQ>  subQueueEventProcessor =
       new MultiSimQueueNotificationProcessor<> (getQueues ());
-    subQueueEventProcessor.setProcessor (this::processSubQueueNotifications);
+    subQueueEventProcessor.setProcessor ((notifications) ->
+    {
+      // Our StartArmed state may depend on the state of any sub-queue.
+      invalidateStartArmed ();
+      processSubQueueNotifications (notifications);
+    });
     resetEntitySubClassLocal ();
   }
 
@@ -393,16 +401,22 @@ implements SimQueueComposite<DJ, DQ, J, Q>,
     this.delegateSimJobFactory = delegateSimJobFactory;
   }
   
-  /** Maps "real" jobs onto delegate jobs.
+  /** Maps "real" jobs onto delegate jobs, stored in the job slots of this queue.
+   * 
+   * <p>
+   * Kept in sync with {@link #realSimJobMap}.
+   * Real jobs without delegate job (and free slots) hold {@code null}.
    * 
-   * Kept in sync with {@link realSimJobMap}.
+   * @see #getJobSlots
    * 
    */
-  private final Map<J, DJ> delegateSimJobMap = new HashMap<> ();
+  private final SimQueueJobSlots<J>.References<DJ> delegateSimJobMap = getJobSlots ().newReferences ();
   
   /** Maps delegate jobs onto "real" jobs.
    * 
-   * Kept in sync with {@link realSimJobMap}.
+   * <p>
+   * Kept in sync with {@link #delegateSimJobMap}.
+   * Note that delegate jobs visit the sub-queues, hence they do not hold a slot at this queue.
    * 
    */
   private final Map<DJ, J> realSimJobMap = new HashMap<> ();
@@ -628,14 +642,13 @@ implements SimQueueComposite<DJ, DQ, J, Q>,
       throw new IllegalArgumentException ();
     if (isJob (realJob) || isJobInServiceArea (realJob))
       throw new IllegalArgumentException ();
-    if (this.delegateSimJobMap.containsKey (realJob))
-      throw new IllegalStateException ();
-    if (this.realSimJobMap.containsValue (realJob))
+    // Note that checking the delegate-job mapping suffices, as it is kept in sync with the real-job mapping.
+    if (this.delegateSimJobMap.get (realJob) != null)
       throw new IllegalStateException ();
     final DJ delegateSimJob = this.delegateSimJobFactory.newInstance (getLastUpdateTime (), realJob, (Q) this);
     if (delegateSimJob == null)
       throw new IllegalArgumentException ();
-    this.delegateSimJobMap.put (realJob, delegateSimJob);
+    this.delegateSimJobMap.set (realJob, delegateSimJob);
     this.realSimJobMap.put (delegateSimJob, realJob);
   }
 
@@ -653,7 +666,8 @@ implements SimQueueComposite<DJ, DQ, J, Q>,
    */
   protected final void removeJobsFromQueueLocal (final J realJob, final DJ delegateJob)
   {
-    this.delegateSimJobMap.remove (realJob);
+    if (getJobSlot (realJob) >= 0)
+      this.delegateSimJobMap.set (realJob, null);
     if (delegateJob != null)
       this.realSimJobMap.remove (delegateJob);
   }
@@ -748,7 +762,7 @@ implements SimQueueComposite<DJ, DQ, J, Q>,
     // NOTE: This method is invoked from the constructor instead of resetEntitySubClass ().
     //
     this.simQueueSelector.resetSimQueueSelector ();
-    this.delegateSimJobMap.clear ();
+    // Note that the delegate-job mapping is cleared along with the job slots.
     this.realSimJobMap.clear ();
     for (final DQ q : getQueues ())
       q.resetEntity ();
@@ -466,7 +466,7 @@ extends AbstractSimQueueComposite<DJ, DQ, J, Q>
    * @see AbstractSimQueue#setServerAccessCredits
    * @see #hasServerAcccessCredits
    * @see #hasJobsInWaitingArea
-   * @see #start
+   * @see #startJobs
    * @see #getFirstJobInWaitingArea
    * @see #setServerAccessCreditsSubClass
    * 
@@ -474,8 +474,7 @@ extends AbstractSimQueueComposite<DJ, DQ, J, Q>
   @Override
   protected final void rescheduleForNewServerAccessCredits (final double time)
   {
-    while (hasServerAcccessCredits () && hasJobsInWaitingArea ())
-      start (time, getFirstJobInWaitingArea ());
+    startJobs (time, () -> getFirstJobInWaitingArea ());
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
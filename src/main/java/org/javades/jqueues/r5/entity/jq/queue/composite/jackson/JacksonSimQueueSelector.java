@@ -17,12 +17,13 @@
 package org.javades.jqueues.r5.entity.jq.queue.composite.jackson;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
-import org.javades.jqueues.r5.entity.jq.queue.composite.AbstractSimQueueComposite;
 import org.javades.jqueues.r5.entity.jq.queue.composite.SimQueueSelector;
 
 /** A {@link SimQueueSelector} for Jackson networks.
@@ -33,6 +34,13 @@ import org.javades.jqueues.r5.entity.jq.queue.composite.SimQueueSelector;
  * both at arrival of a job at the aggregate queue, as well as upon departure of the job at one of the
  * constituent (sub)queues.
  * 
+ * <p>
+ * The arrival distribution and the transition distribution of each queue (each including the departure "remainder")
+ * are converted into alias tables (Walker's alias method, with Vose's construction) upon construction,
+ * so that each routing decision takes constant time, irrespective of the number of queues.
+ * Each routing decision consumes a single {@link Random#nextDouble} from the random-number generator,
+ * so seeded runs are reproducible.
+ * 
  * @param <J>  The job type.
  * @param <DQ> The queue-type for delegate jobs.
  *
@@ -87,19 +95,20 @@ implements SimQueueSelector<J, DQ>
     if (queues == null || queues.contains (null))
       throw new IllegalArgumentException ();
     this.queues = new LinkedHashSet<> (queues);
+    this.queuesArray = (DQ[]) this.queues.toArray (new SimQueue[this.queues.size ()]);
+    this.queueIndex = new HashMap<> ();
+    for (int q = 0; q < this.queuesArray.length; q++)
+      this.queueIndex.put (this.queuesArray[q], q);
     checkPdfArray (pdfArrival, queues.size ());
     this.pdfArrival = Arrays.copyOf (pdfArrival, pdfArrival.length);
-    this.cdfArrival = new double[queues.size ()];
-    for (int e = 0; e < queues.size (); e++)
-      this.cdfArrival[e] = this.pdfArrival[e] + ((e > 0) ? this.cdfArrival[e-1] : 0);
+    this.aliasArrival = new AliasTable (this.pdfArrival);
     checkPdfMatrix (pdfTransition, queues.size ());
     this.pdfTransition = new double[queues.size ()][];
     for (int r = 0; r < queues.size (); r++)
       this.pdfTransition[r] = Arrays.copyOf (pdfTransition[r], queues.size ());
-    this.cdfTransition = new double[queues.size ()][queues.size ()];
+    this.aliasTransition = new AliasTable[queues.size ()];
     for (int r = 0; r < queues.size (); r++)
-      for (int c = 0; c < queues.size (); c++)
-        this.cdfTransition[r][c] = this.pdfTransition[r][c] + ((c > 0) ? this.cdfTransition[r][c-1] : 0);
+      this.aliasTransition[r] = new AliasTable (this.pdfTransition[r]);
     this.rng = ((userRNG != null) ? userRNG : new Random ());
   }
 
@@ -110,6 +119,16 @@ implements SimQueueSelector<J, DQ>
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
   private final Set<DQ> queues;  
+  
+  /** The queues in (set) iteration order.
+   * 
+   */
+  private final DQ[] queuesArray;
+  
+  /** The index of each queue in {@link #queuesArray}.
+   * 
+   */
+  private final Map<DQ, Integer> queueIndex;
    
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
@@ -180,10 +199,10 @@ implements SimQueueSelector<J, DQ>
     return this.pdfArrival;
   }
   
-  /** The arrival probabilities (as cumulative distribution function).
+  /** The alias table for the arrival probabilities.
    * 
    */
-  private final double[] cdfArrival;
+  private final AliasTable aliasArrival;
   
   /** The transition probabilities for each (source) queue in turn (as probability distribution function).
    * 
@@ -200,10 +219,116 @@ implements SimQueueSelector<J, DQ>
     return this.pdfTransition;
   }
   
-  /** The transition probabilities for each (source) queue in turn (as cumulative distribution function).
+  /** The alias tables for the transition probabilities for each (source) queue in turn.
+   * 
+   */
+  private final AliasTable[] aliasTransition;
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // ALIAS TABLE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** An alias table for sampling from a discrete distribution on the queue indices and the departure (as last outcome).
+   * 
+   * <p>
+   * The outcomes are the queue indices {@code 0} through {@code |Q|-1}, and {@code |Q|} for departure.
+   * A sample picks a column uniformly, and then either the column itself or its alias,
+   * both from the integer and the fractional part of a single scaled uniform draw.
    * 
    */
-  private final double[][] cdfTransition;
+  private static final class AliasTable
+  {
+    
+    /** Creates the alias table from a probability-distribution array (with departure as the "remainder").
+     * 
+     * <p>
+     * The probabilities are taken from the cumulative distribution function, truncated at unity,
+     * so that the distribution sampled is the one of a linear search on that function.
+     * 
+     * @param pdfArray The pdf array, as checked by {@link #checkPdfArray}.
+     * 
+     */
+    private AliasTable (final double[] pdfArray)
+    {
+      final int n = pdfArray.length + 1;
+      final double[] p = new double[n];
+      double cdf = 0;
+      for (int q = 0; q < n - 1; q++)
+      {
+        final double nextCdf = Math.min (cdf + pdfArray[q], 1);
+        p[q] = nextCdf - cdf;
+        cdf = nextCdf;
+      }
+      p[n - 1] = 1 - cdf;
+      this.probability = new double[n];
+      this.alias = new int[n];
+      // Vose's construction; p is scaled to mean unity and holds the residual probability of the columns not yet filled.
+      final int[] small = new int[n];
+      final int[] large = new int[n];
+      int numberOfSmall = 0;
+      int numberOfLarge = 0;
+      for (int i = 0; i < n; i++)
+      {
+        p[i] *= n;
+        if (p[i] < 1)
+          small[numberOfSmall++] = i;
+        else
+          large[numberOfLarge++] = i;
+      }
+      while (numberOfSmall > 0 && numberOfLarge > 0)
+      {
+        final int s = small[--numberOfSmall];
+        final int l = large[--numberOfLarge];
+        this.probability[s] = p[s];
+        this.alias[s] = l;
+        p[l] = (p[l] + p[s]) - 1;
+        if (p[l] < 1)
+          small[numberOfSmall++] = l;
+        else
+          large[numberOfLarge++] = l;
+      }
+      // Remaining columns are full, up to rounding errors.
+      while (numberOfLarge > 0)
+      {
+        final int l = large[--numberOfLarge];
+        this.probability[l] = 1;
+        this.alias[l] = l;
+      }
+      while (numberOfSmall > 0)
+      {
+        final int s = small[--numberOfSmall];
+        this.probability[s] = 1;
+        this.alias[s] = s;
+      }
+    }
+    
+    /** The probability of selecting each column itself (instead of its alias).
+     * 
+     */
+    private final double[] probability;
+    
+    /** The alias of each column.
+     * 
+     */
+    private final int[] alias;
+    
+    /** Samples an outcome from a single draw.
+     * 
+     * @param sample The draw, uniform in {@code [0, 1)}.
+     * 
+     * @return The outcome, a queue index, or the number of queues for departure.
+     * 
+     */
+    private int sample (final double sample)
+    {
+      final double scaledSample = sample * this.probability.length;
+      final int column = Math.min ((int) scaledSample, this.probability.length - 1);
+      return (scaledSample - column < this.probability[column]) ? column : this.alias[column];
+    }
+    
+  }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
@@ -226,27 +351,24 @@ implements SimQueueSelector<J, DQ>
     return this.rng;
   }
   
-  /** Selects a (sub-)queue by drawing from {@link #getRNG} and respecting the given cumulative distribution function,
-   * with an entry for each (sub-)queue.
+  /** Selects a (sub-)queue by drawing from {@link #getRNG} and respecting the given alias table.
    * 
-   * @param cdfArray The cumulative distribution function for queue selection, with an entry for each (sub-)queue.
+   * @param aliasTable The alias table for queue selection.
    * 
    * @return The selected queue, may be <code>null</code>.
    * 
    * @see #getRNG
    * 
    */
-  private DQ draw (final double[] cdfArray)
+  private DQ draw (final AliasTable aliasTable)
   {
-    if (cdfArray == null || cdfArray.length != this.queues.size ())
+    if (aliasTable == null)
       throw new IllegalArgumentException ();
     final double sample = this.rng.nextDouble ();
     if (sample < 0 || sample >= 1)
       throw new RuntimeException ();
-    for (int q = 0; q < this.queues.size (); q++)
-      if (sample < cdfArray[q])
-        return AbstractSimQueueComposite.getQueue (this.queues, q);
-    return null;
+    final int q = aliasTable.sample (sample);
+    return (q < this.queuesArray.length) ? this.queuesArray[q] : null;
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -270,14 +392,14 @@ implements SimQueueSelector<J, DQ>
   @Override
   public DQ selectFirstQueue (final double time, final J job)
   {
-    return draw (this.cdfArrival);
+    return draw (this.aliasArrival);
   }
 
   /** Returns the queue selected (or <code>null</code> implying a departure)
    * from a probabilistic experiment governed by the <code>pdfTransition</code>
    * matrix passed in the constructor.
    * 
-   * @throws IllegalStateException If the previous queue argument is <code>null</code> or not a member of the set of queues.
+   * @throws IllegalArgumentException If the previous queue argument is <code>null</code> or not a member of the set of queues.
    * 
    * @see #draw
    * 
@@ -285,7 +407,10 @@ implements SimQueueSelector<J, DQ>
   @Override
   public DQ selectNextQueue (final double time, final J job, final DQ previousQueue)
   {
-    return draw (this.cdfTransition[AbstractSimQueueComposite.getIndex (this.queues, previousQueue)]);
+    final Integer q = (previousQueue != null) ? this.queueIndex.get (previousQueue) : null;
+    if (q == null)
+      throw new IllegalArgumentException ();
+    return draw (this.aliasTransition[q]);
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
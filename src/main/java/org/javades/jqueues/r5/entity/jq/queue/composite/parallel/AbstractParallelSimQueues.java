@@ -18,6 +18,7 @@ package org.javades.jqueues.r5.entity.jq.queue.composite.parallel;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import org.javades.jqueues.r5.entity.jq.job.AbstractSimJob;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
@@ -37,6 +38,11 @@ import org.javades.jsimulation.r5.SimEventList;
  * as controlled by a {@link SimQueueSelector} supplied by concrete subclasses.
  * 
  * <p>
+ * Optionally, a parallel queue owns a {@link SimQueueIndex} on its sub-queues,
+ * which is kept up to date upon every notification from a sub-queue and upon reset,
+ * and which is typically consulted by the {@link SimQueueSelector}.
+ * 
+ * <p>
  * This and derived queues use the {@code LocalStart} model as explained with {@link AbstractSimQueueComposite_LocalStart}.
  * 
  * @param <DJ> The delegate-job type.
@@ -46,6 +52,7 @@ import org.javades.jsimulation.r5.SimEventList;
  * 
  * @see Par
  * @see ParallelSimQueuesSelector
+ * @see SimQueueIndex
  * 
  * @author Jan de Jongh, TNO
  * 
@@ -91,6 +98,75 @@ public abstract class AbstractParallelSimQueues
    final DelegateSimJobFactory delegateSimJobFactory)
   {
     super (eventList, queues, new ParallelSimQueuesSelector (simQueueSelector), delegateSimJobFactory);
+    this.subQueueIndex = null;
+  }
+
+  /** Creates a (abstract) parallel queue given an event list, a list of queues to put in parallel,
+   *  and an index on the queues from which the {@link SimQueueSelector} is created.
+   *
+   * <p>
+   * The index is owned by this queue;
+   * it is updated upon every notification from a sub-queue, and rebuilt upon reset.
+   * 
+   * @param <I>                     The type of the index.
+   * @param eventList               The event list to use.
+   * @param queues                  The queues in no particular order.
+   * @param subQueueIndex           The index on the queues, non-<code>null</code>.
+   * @param simQueueSelectorFactory The factory for the {@link SimQueueSelector} for arriving jobs, given the index,
+   *                                  non-<code>null</code>.
+   * @param delegateSimJobFactory   An optional factory for the delegate {@link SimJob}s.
+   *
+   * @throws IllegalArgumentException If the event list is <code>null</code>,
+   *                                  the <code>queues</code> argument is <code>null</code>,
+   *                                  if it contains a <code>null</code> entry,
+   *                                  or if the index or selector factory is <code>null</code>.
+   *
+   * @see #getSubQueueIndex
+   * @see ParallelSimQueuesSelector
+   * @see DelegateSimJobFactory
+   * @see DefaultDelegateSimJobFactory
+   * 
+   */
+  protected <I extends SimQueueIndex> AbstractParallelSimQueues
+  (final SimEventList eventList,
+   final Set<DQ> queues,
+   final I subQueueIndex,
+   final Function<? super I, SimQueueSelector> simQueueSelectorFactory,
+   final DelegateSimJobFactory delegateSimJobFactory)
+  {
+    super (eventList,
+      queues,
+      new ParallelSimQueuesSelector (AbstractParallelSimQueues.createSimQueueSelector (subQueueIndex, simQueueSelectorFactory)),
+      delegateSimJobFactory);
+    this.subQueueIndex = subQueueIndex;
+    // Our super-class constructor resets the sub-queues, before our index has been set.
+    this.subQueueIndex.updateAll ();
+  }
+  
+  private static <I extends SimQueueIndex> SimQueueSelector createSimQueueSelector
+  (final I subQueueIndex, final Function<? super I, SimQueueSelector> simQueueSelectorFactory)
+  {
+    if (subQueueIndex == null || simQueueSelectorFactory == null)
+      throw new IllegalArgumentException ();
+    return simQueueSelectorFactory.apply (subQueueIndex);
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SUB-QUEUE INDEX
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private final SimQueueIndex subQueueIndex;
+  
+  /** Returns the index on the sub-queues, if any.
+   * 
+   * @return The index on the sub-queues, <code>null</code> if this queue does not own one.
+   * 
+   */
+  protected final SimQueueIndex getSubQueueIndex ()
+  {
+    return this.subQueueIndex;
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -99,16 +175,44 @@ public abstract class AbstractParallelSimQueues
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Calls super method (and made final).
+  /** Updates the sub-queue index (if any) for each sub-queue with notifications, and calls super method (and made final).
+   * 
+   * <p>
+   * Every change to the state of a sub-queue (like its number of jobs) is reported through a notification,
+   * so the index can be maintained incrementally, reading the state directly from the sub-queue.
+   * 
+   * @see #getSubQueueIndex
    * 
    */
   @Override
   protected final void processSubQueueNotifications
   (final List<MultiSimQueueNotificationProcessor.Notification<DJ, DQ>> notifications)
   {
+    // Our super-class constructor resets the sub-queues, before our index has been set.
+    if (notifications != null && this.subQueueIndex != null)
+      for (final MultiSimQueueNotificationProcessor.Notification<DJ, DQ> notification : notifications)
+        this.subQueueIndex.update (notification.getQueue ());
     super.processSubQueueNotifications (notifications);
   }
   
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // RESET
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Calls super method and rebuilds the sub-queue index (if any).
+   * 
+   */
+  @Override
+  protected void resetEntitySubClass ()
+  {
+    super.resetEntitySubClass ();
+    // Our super-class constructor resets us, before our index has been set.
+    if (this.subQueueIndex != null)
+      this.subQueueIndex.updateAll ();
+  }
+  
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // END OF FILE
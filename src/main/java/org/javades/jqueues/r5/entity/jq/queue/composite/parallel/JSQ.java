@@ -16,7 +16,6 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue.composite.parallel;
 
-import java.util.LinkedHashSet;
 import java.util.Random;
 import java.util.Set;
 import org.javades.jqueues.r5.entity.jq.job.AbstractSimJob;
@@ -38,6 +37,11 @@ import org.javades.jsimulation.r5.SimEventList;
  * Ties are broken at random with equal probabilities.
  * 
  * <p>
+ * The sub-queues are kept in a {@link SimQueueLengthIndex} owned by {@link AbstractParallelSimQueues},
+ * updated upon every notification from a sub-queue,
+ * so that selecting a shortest queue takes constant time, irrespective of the number of sub-queues.
+ * 
+ * <p>
  * This queue uses the {@code LocalStart} model as explained with {@link AbstractSimQueueComposite_LocalStart}.
  * 
  * @param <DJ> The delegate-job type.
@@ -75,20 +79,19 @@ public class JSQ
    * After departure from the first queue, the job is made to depart by selecting <code>null</code> as its next queue.
    * 
    * @param queues           The queues, non-<code>null</code>.
-   * @param onlyWaitingJobs  Whether only waiting jobs are considered in determining the queue length
-   *                           (instead of all jobs present).
+   * @param queueLengthIndex The queue-length index on the queues, non-<code>null</code>.
    * @param rng              The random-number generator to use, non-<code>null</code>.
    * 
    * @return A new {@link SimQueueSelector} that selects the queue with the shortest-queue length as queue to visit upon arrival.
    * 
    * @throws IllegalArgumentException If the <code>queues</code> argument is <code>null</code>, contains <code>null</code>,
-   *                                    or the <code>rng</code> argument is <code>null</code>.
+   *                                    or the <code>queueLengthIndex</code> or <code>rng</code> argument is <code>null</code>.
    * 
    */
   private static SimQueueSelector createSimQueueSelector
-  (final Set<SimQueue> queues, final boolean onlyWaitingJobs, final Random rng)
+  (final Set<SimQueue> queues, final SimQueueLengthIndex queueLengthIndex, final Random rng)
   {
-    if (queues == null || queues.contains (null) || rng == null)
+    if (queues == null || queues.contains (null) || queueLengthIndex == null || rng == null)
       throw new IllegalArgumentException ();
     return new SimQueueSelector ()
     {
@@ -101,8 +104,7 @@ public class JSQ
       {
         if (job == null)
           throw new IllegalArgumentException ();
-        final Set<SimQueue> shortestQueues = selectShortestQueues (queues, onlyWaitingJobs);
-        return getRandomSimQueueFromSet (shortestQueues, rng);
+        return queueLengthIndex.selectShortestQueue (rng);
       }
       @Override
       public final SimQueue selectNextQueue (final double time, final SimJob job, final SimQueue previousQueue)
@@ -143,8 +145,9 @@ public class JSQ
     final boolean onlyWaitingJobs,
     final Random rng)
   {
-    super (eventList, queues, 
-      createSimQueueSelector ((Set<SimQueue>) queues, onlyWaitingJobs, ((rng != null) ? rng : new Random ())),
+    super (eventList, queues,
+      new SimQueueLengthIndex (queues, onlyWaitingJobs),
+      (queueLengthIndex) -> createSimQueueSelector ((Set<SimQueue>) queues, queueLengthIndex, ((rng != null) ? rng : new Random ())),
       delegateSimJobFactory);
     this.onlyWaitingJobs = onlyWaitingJobs;
   }
@@ -224,43 +227,6 @@ public class JSQ
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Returns a subset holding the queues with shortest queue length from a set of {@link SimQueue}s.
-   * 
-   * @param queues           The queues, if empty, an empty set is returned.
-   * @param onlyWaitingJobs  Whether only waiting jobs are considered in determining the queue length
-   *                           (instead of all jobs present).
-   * 
-   * @return A non-<code>null</code> new subset holding the queues with shortest queue length (may be empty).
-   * 
-   * @throws IllegalArgumentException If the <code>queues</code> argument is <code>null</code> or contains <code>null</code>.
-   * 
-   */
-  private static Set<SimQueue> selectShortestQueues (final Set<SimQueue> queues, final boolean onlyWaitingJobs)
-  {
-    if (queues == null || queues.contains (null))
-      throw new IllegalArgumentException ();
-    final Set<SimQueue> set = new LinkedHashSet<> ();
-    int currentNrOfJobs = 0;
-    for (SimQueue q : queues)
-    {
-      final int nrOfJobs = (onlyWaitingJobs ? (q.getNumberOfJobs () - q.getNumberOfJobsInServiceArea ()) : q.getNumberOfJobs ());
-      if (set.isEmpty ())
-      {
-        set.add (q);
-        currentNrOfJobs = nrOfJobs;
-      }
-      else if (nrOfJobs < currentNrOfJobs)
-      {
-        set.clear ();
-        set.add (q);
-        currentNrOfJobs = nrOfJobs;
-      }
-      else if (nrOfJobs == currentNrOfJobs)
-        set.add (q);
-    }
-    return set;
-  }
-  
   /** Selects a queue at random (with equal probabilities) from a set of queues.
    * 
    * @param queues The queues, non-<code>null</code>.
@@ -0,0 +1,313 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue.composite.parallel;
+
+import java.util.Random;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.jq.job.AbstractSimJob;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.composite.AbstractSimQueueComposite_LocalStart;
+import org.javades.jqueues.r5.entity.jq.queue.composite.DefaultDelegateSimJobFactory;
+import org.javades.jqueues.r5.entity.jq.queue.composite.DelegateSimJobFactory;
+import org.javades.jqueues.r5.entity.jq.queue.composite.SimQueueSelector;
+import org.javades.jsimulation.r5.SimEventList;
+
+/** Parallel queues with Join Shortest Queue selection policy among {@code d} sub-queues sampled at random.
+ *
+ * <p>
+ * Power of {@code d} choices.
+ * 
+ * <p>
+ * Upon arrival of a job, {@code d} distinct sub-queues are sampled at random (with equal probabilities),
+ * and the job is sent to the shortest queue among them,
+ * with ties broken at random with equal probabilities.
+ * If {@code d} exceeds the number of sub-queues, all sub-queues are sampled, and the policy reduces to {@link JSQ};
+ * if {@code d == 1}, the policy reduces to {@link JRQ}.
+ * 
+ * <p>
+ * The selection of the "shortest queue" is either based on all jobs present in the candidate queues
+ * or on all <i>waiting</i> jobs present.
+ * 
+ * <p>
+ * The sample is drawn with a partial Fisher-Yates shuffle on an array of the sub-queues,
+ * so selecting a queue takes time linear in {@code d}, irrespective of the number of sub-queues.
+ * The array is restored to the original order of the sub-queues upon reset,
+ * so that a reset queue with a given random-number generator state reproduces its selections.
+ * 
+ * <p>
+ * This queue uses the {@code LocalStart} model as explained with {@link AbstractSimQueueComposite_LocalStart}.
+ * 
+ * @param <DJ> The delegate-job type.
+ * @param <DQ> The queue-type for delegate jobs.
+ * @param <J>  The job type.
+ * @param <Q>  The queue type for jobs.
+ *
+ * @see JSQ
+ * @see JRQ
+ * @see SimQueue#getNumberOfJobs
+ * @see SimQueue#getNumberOfJobsInServiceArea
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+public class JSQ_d
+<DJ extends AbstractSimJob, DQ extends SimQueue, J extends SimJob, Q extends JSQ_d>
+  extends AbstractParallelSimQueues<DJ, DQ, J, Q>
+{
+
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // CONSTRUCTOR(S) / FACTORY
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Creates a {@link SimQueueSelector} that selects the queue with the shortest-queue length among {@code d} sampled queues,
+   * either in terms of jobs waiting or in terms of jobs present, as the queue to visit by a job upon arrival.
+   * 
+   * <p>
+   * After departure from the first queue, the job is made to depart by selecting <code>null</code> as its next queue.
+   * 
+   * @param queues          The queues, non-<code>null</code>.
+   * @param onlyWaitingJobs Whether queue-length is the number of waiting jobs,
+   *                          or the total number of jobs present.
+   * @param numberOfChoices The number of queues to sample, strictly positive.
+   * @param rng             The random-number generator to use, non-<code>null</code>.
+   * 
+   * @return A new {@link SimQueueSelector} that selects the queue with the shortest-queue length among {@code d} sampled queues
+   *           as queue to visit upon arrival.
+   * 
+   * @throws IllegalArgumentException If the <code>queues</code> argument is <code>null</code>, contains <code>null</code>,
+   *                                    if the number of choices is zero or negative,
+   *                                    or if the <code>rng</code> argument is <code>null</code>.
+   * 
+   */
+  private static SimQueueSelector createSimQueueSelector
+  (final Set<SimQueue> queues, final boolean onlyWaitingJobs, final int numberOfChoices, final Random rng)
+  {
+    if (queues == null || queues.contains (null) || numberOfChoices < 1 || rng == null)
+      throw new IllegalArgumentException ();
+    // The sub-queues in their original order, and the working array on which the sample is drawn.
+    final SimQueue[] queuesArray = queues.toArray (new SimQueue[queues.size ()]);
+    final SimQueue[] sampleArray = queuesArray.clone ();
+    return new SimQueueSelector ()
+    {
+      @Override
+      public void resetSimQueueSelector ()
+      {
+        System.arraycopy (queuesArray, 0, sampleArray, 0, queuesArray.length);
+      }
+      @Override
+      public final SimQueue selectFirstQueue (final double time, final SimJob job)
+      {
+        if (job == null)
+          throw new IllegalArgumentException ();
+        final int n = sampleArray.length;
+        if (n == 0)
+          return null;
+        final int d = Math.min (numberOfChoices, n);
+        SimQueue shortestQueue = null;
+        int shortestLength = Integer.MAX_VALUE;
+        for (int i = 0; i < d; i++)
+        {
+          // Partial Fisher-Yates shuffle; the swaps are not undone between selections,
+          // as the sample is uniform irrespective of the current order of the array.
+          // The original order is restored upon reset.
+          final int j = (i == n - 1) ? i : (i + rng.nextInt (n - i));
+          final SimQueue queue = sampleArray[j];
+          sampleArray[j] = sampleArray[i];
+          sampleArray[i] = queue;
+          // The sample comes in random order, so taking the first queue with minimum length breaks ties at random.
+          final int length = onlyWaitingJobs
+            ? (queue.getNumberOfJobs () - queue.getNumberOfJobsInServiceArea ())
+            : queue.getNumberOfJobs ();
+          if (length < shortestLength)
+          {
+            shortestQueue = queue;
+            shortestLength = length;
+          }
+        }
+        return shortestQueue;
+      }
+      @Override
+      public final SimQueue selectNextQueue (final double time, final SimJob job, final SimQueue previousQueue)
+      {
+        if (job == null || previousQueue == null || ! queues.contains (previousQueue))
+          throw new IllegalArgumentException ();
+        return null;
+      }
+    };
+  }
+  
+  /** Creates a parallel queue with Join-Shortest Queue selection policy among {@code d} sampled queues
+   *  given an event list and a list of queues.
+   *
+   * @param eventList             The event list to use.
+   * @param queues                The queues in no particular order.
+   * @param delegateSimJobFactory An optional factory for the delegate {@link SimJob}s.
+   * @param onlyWaitingJobs       Whether queue-length is the number of waiting jobs (<code>true</code>),
+   *                                or the total number of jobs present (<code>false</code>).
+   * @param numberOfChoices       The number of queues {@code d} to sample upon each arrival, strictly positive.
+   * @param rng                   An optional user-supplied random-number generator
+   *                                (if absent, a new one is created for local use).
+   *
+   * @throws IllegalArgumentException If the event list is <code>null</code>,
+   *                                  the <code>queues</code> argument is <code>null</code>,
+   *                                  if it contains a <code>null</code> entry,
+   *                                  or if the number of choices is zero or negative.
+   * 
+   * @see DelegateSimJobFactory
+   * @see DefaultDelegateSimJobFactory
+   * @see SimQueueSelector
+   * @see SimQueue#getNumberOfJobs
+   * @see SimQueue#getNumberOfJobsInServiceArea
+   * @see Random
+   * 
+   */
+  public JSQ_d
+  (final SimEventList eventList,
+    final Set<DQ> queues,
+    final DelegateSimJobFactory delegateSimJobFactory,
+    final boolean onlyWaitingJobs,
+    final int numberOfChoices,
+    final Random rng)
+  {
+    super (eventList, queues, 
+      createSimQueueSelector ((Set<SimQueue>) queues, onlyWaitingJobs, numberOfChoices, ((rng != null) ? rng : new Random ())),
+      delegateSimJobFactory);
+    this.onlyWaitingJobs = onlyWaitingJobs;
+    this.numberOfChoices = numberOfChoices;
+  }
+
+  /** Returns a new {@link JSQ_d} object on the same {@link SimEventList} with copies of the sub-queues,
+   *  the same <code>onlyWaitingJobs</code> and <code>numberOfChoices</code> arguments, a new RNG,
+   *  and the same delegate-job factory.
+   * 
+   * @return A new {@link JSQ_d} object on the same {@link SimEventList} with copies of the sub-queues,
+   *  the same <code>onlyWaitingJobs</code> and <code>numberOfChoices</code> arguments, a new RNG,
+   *  and the same delegate-job factory.
+   * 
+   * @throws UnsupportedOperationException If the encapsulated queues could not be copied through {@link SimQueue#getCopySimQueue}.
+   * 
+   * @see #getEventList
+   * @see #getCopySubSimQueues
+   * @see #getDelegateSimJobFactory
+   * @see #isOnlyWaitingJobs
+   * @see #getNumberOfChoices
+   * 
+   */
+  @Override
+  public JSQ_d<DJ, DQ, J, Q> getCopySimQueue ()
+  {
+    final Set<DQ> queuesCopy = getCopySubSimQueues ();
+    return new JSQ_d<>
+      (getEventList (), queuesCopy, getDelegateSimJobFactory (), isOnlyWaitingJobs (), getNumberOfChoices (), null);
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // NAME
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Returns "JSQ_d[queue list]", with {@code d} replaced by the number of choices.
+   * 
+   * @return "JSQ_d[queue list]", with {@code d} replaced by the number of choices.
+   * 
+   */
+  @Override
+  public String toStringDefault ()
+  {
+    String string = "JSQ_" + getNumberOfChoices () + "[";
+    boolean first = true;
+    for (DQ dq : getQueues ())
+    {
+      if (! first)
+        string += ",";
+      else
+        first = false;
+      string += dq;
+    }
+    string += "]";
+    return string;
+  }
+
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // onlyWaitingJobs
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private final boolean onlyWaitingJobs;
+  
+  /** Returns whether only waiting jobs are considered in queue selection.
+   * 
+   * @return <code>True</code> if only waiting jobs are considered in queue selection,
+   *         <code>false</code> if <i>all</i> jobs present are considered.
+   * 
+   */
+  public final boolean isOnlyWaitingJobs ()
+  {
+    return this.onlyWaitingJobs;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // NUMBER OF CHOICES
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private final int numberOfChoices;
+  
+  /** Returns the number of queues {@code d} sampled upon each arrival.
+   * 
+   * @return The number of queues {@code d} sampled upon each arrival, strictly positive.
+   * 
+   */
+  public final int getNumberOfChoices ()
+  {
+    return this.numberOfChoices;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // RESET
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Calls super method (in order to make implementation final).
+   * 
+   */
+  @Override
+  protected final void resetEntitySubClass ()
+  {
+    super.resetEntitySubClass ();
+  }
+
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
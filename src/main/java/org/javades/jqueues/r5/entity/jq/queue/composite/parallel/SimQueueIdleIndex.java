@@ -0,0 +1,220 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue.composite.parallel;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+
+/** An index of the idle queues among a fixed set of {@link SimQueue}s.
+ * 
+ * <p>
+ * A queue is <i>idle</i> if it has no jobs present.
+ * The index does not observe the queues itself;
+ * its owner must invoke {@link #update} for a queue whenever the number of jobs present may have changed,
+ * typically upon every notification from the queue, see {@link SimQueueIndex}.
+ * 
+ * <p>
+ * The idle queues are held in an array, with the position of each idle queue in the array recorded,
+ * so that adding or removing an idle queue takes constant time.
+ * 
+ * @see JIQ
+ * @see SimQueueLengthIndex
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+public final class SimQueueIdleIndex
+implements SimQueueIndex
+{
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // CONSTRUCTOR(S) / FACTORY
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Creates a new index on given queues, and fills it with the currently idle queues.
+   * 
+   * @param queues The queues, non-{@code null} and without {@code null} members.
+   * 
+   * @throws IllegalArgumentException If the {@code queues} argument is {@code null} or contains {@code null}.
+   * 
+   */
+  public SimQueueIdleIndex (final Set<? extends SimQueue> queues)
+  {
+    if (queues == null || queues.contains (null))
+      throw new IllegalArgumentException ();
+    this.queues = queues.toArray (new SimQueue[queues.size ()]);
+    this.queueIndex = new HashMap<> ();
+    for (int q = 0; q < this.queues.length; q++)
+      this.queueIndex.put (this.queues[q], q);
+    this.position = new int[this.queues.length];
+    this.idle = new int[this.queues.length];
+    updateAll ();
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // INDEX
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The marker in {@link #position} for a queue that is not idle.
+   * 
+   */
+  private static final int NOT_IDLE = -1;
+  
+  private final SimQueue[] queues;
+  
+  private final Map<SimQueue, Integer> queueIndex;
+  
+  /** The position of each queue (by queue index) in {@link #idle}, {@link #NOT_IDLE} if the queue is not idle.
+   * 
+   */
+  private final int[] position;
+  
+  /** The indices of the idle queues in the first {@link #numberOfIdleQueues} entries.
+   * 
+   */
+  private final int[] idle;
+  
+  private int numberOfIdleQueues = 0;
+  
+  /** Returns the number of queues in this index.
+   * 
+   * @return The number of queues in this index.
+   * 
+   */
+  public final int size ()
+  {
+    return this.queues.length;
+  }
+  
+  /** Returns whether a queue is idle, according to this index.
+   * 
+   * @param queue The queue.
+   * 
+   * @return Whether the queue is idle, according to this index.
+   * 
+   * @throws IllegalArgumentException If the queue is not in this index.
+   * 
+   */
+  public final boolean isIdle (final SimQueue queue)
+  {
+    return this.position[getQueueIndex (queue)] != SimQueueIdleIndex.NOT_IDLE;
+  }
+  
+  /** Returns the number of idle queues.
+   * 
+   * @return The number of idle queues.
+   * 
+   */
+  public final int getNumberOfIdleQueues ()
+  {
+    return this.numberOfIdleQueues;
+  }
+  
+  /** Returns an idle queue.
+   * 
+   * <p>
+   * The order of the idle queues is unspecified, and changes as queues become idle or busy.
+   * 
+   * @param i The index of the queue among the idle queues, between zero and {@link #getNumberOfIdleQueues} (exclusive).
+   * 
+   * @return The idle queue.
+   * 
+   * @throws IllegalArgumentException If the argument is out of range.
+   * 
+   */
+  public final SimQueue getIdleQueue (final int i)
+  {
+    if (i < 0 || i >= this.numberOfIdleQueues)
+      throw new IllegalArgumentException ();
+    return this.queues[this.idle[i]];
+  }
+  
+  /** Updates the idle state of a queue from the queue itself.
+   * 
+   * @param queue The queue.
+   * 
+   * @throws IllegalArgumentException If the queue is not in this index.
+   * 
+   */
+  @Override
+  public final void update (final SimQueue queue)
+  {
+    final int q = getQueueIndex (queue);
+    final boolean wasIdle = (this.position[q] != SimQueueIdleIndex.NOT_IDLE);
+    final boolean isIdle = (queue.getNumberOfJobs () == 0);
+    if (isIdle && ! wasIdle)
+      addIdle (q);
+    else if (wasIdle && ! isIdle)
+      removeIdle (q);
+  }
+  
+  /** Rebuilds this index from the current number of jobs present in all queues.
+   * 
+   */
+  @Override
+  public final void updateAll ()
+  {
+    this.numberOfIdleQueues = 0;
+    for (int q = 0; q < this.queues.length; q++)
+    {
+      this.position[q] = SimQueueIdleIndex.NOT_IDLE;
+      if (this.queues[q].getNumberOfJobs () == 0)
+        addIdle (q);
+    }
+  }
+  
+  private int getQueueIndex (final SimQueue queue)
+  {
+    final Integer q = this.queueIndex.get (queue);
+    if (q == null)
+      throw new IllegalArgumentException ();
+    return q;
+  }
+  
+  private void addIdle (final int q)
+  {
+    this.position[q] = this.numberOfIdleQueues;
+    this.idle[this.numberOfIdleQueues++] = q;
+  }
+  
+  private void removeIdle (final int q)
+  {
+    final int last = this.idle[--this.numberOfIdleQueues];
+    this.idle[this.position[q]] = last;
+    this.position[last] = this.position[q];
+    this.position[q] = SimQueueIdleIndex.NOT_IDLE;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
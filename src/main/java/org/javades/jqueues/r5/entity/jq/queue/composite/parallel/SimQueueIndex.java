@@ -0,0 +1,71 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue.composite.parallel;
+
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+
+/** An incrementally maintained index on (some aspect of) the state of a fixed set of {@link SimQueue}s.
+ * 
+ * <p>
+ * An index does not observe the queues itself;
+ * its owner must invoke {@link #update} for a queue whenever the indexed state of the queue may have changed,
+ * typically upon every notification from the queue,
+ * and {@link #updateAll} after the queues have been reset.
+ * 
+ * @see AbstractParallelSimQueues
+ * @see SimQueueLengthIndex
+ * @see SimQueueIdleIndex
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+public interface SimQueueIndex
+{
+
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // INDEX
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Updates the index for a queue from the (current) state of the queue itself.
+   * 
+   * @param queue The queue.
+   * 
+   * @throws IllegalArgumentException If the queue is not in this index.
+   * 
+   */
+  public void update (SimQueue queue);
+  
+  /** Rebuilds this index from the (current) state of all queues.
+   * 
+   */
+  public void updateAll ();
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
@@ -0,0 +1,333 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue.composite.parallel;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+
+/** A bucket index of a fixed set of {@link SimQueue}s on their queue length.
+ * 
+ * <p>
+ * The queue length is either the number of jobs present, or the number of <i>waiting</i> jobs present.
+ * The index does not observe the queues itself;
+ * its owner must invoke {@link #update} for a queue whenever the queue length may have changed,
+ * typically upon every notification from the queue, see {@link SimQueueIndex}.
+ * 
+ * <p>
+ * Each bucket holds the queues with a given length in an array, with the position of each queue in its bucket recorded,
+ * so that moving a queue between buckets takes constant time.
+ * The minimum length present is maintained incrementally;
+ * if the bucket with minimum length runs empty, the next non-empty bucket is found by scanning upward,
+ * which takes constant (amortized) time if queue lengths change by one at a time.
+ * 
+ * @see JSQ
+ * @see SimQueueIdleIndex
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+public final class SimQueueLengthIndex
+implements SimQueueIndex
+{
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // CONSTRUCTOR(S) / FACTORY
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Creates a new index on given queues, and fills it with the current queue lengths.
+   * 
+   * @param queues          The queues, non-{@code null} and without {@code null} members.
+   * @param onlyWaitingJobs Whether only waiting jobs are considered in determining the queue length
+   *                          (instead of all jobs present).
+   * 
+   * @throws IllegalArgumentException If the {@code queues} argument is {@code null} or contains {@code null}.
+   * 
+   */
+  public SimQueueLengthIndex (final Set<? extends SimQueue> queues, final boolean onlyWaitingJobs)
+  {
+    if (queues == null || queues.contains (null))
+      throw new IllegalArgumentException ();
+    this.onlyWaitingJobs = onlyWaitingJobs;
+    this.queues = queues.toArray (new SimQueue[queues.size ()]);
+    this.queueIndex = new HashMap<> ();
+    for (int q = 0; q < this.queues.length; q++)
+      this.queueIndex.put (this.queues[q], q);
+    this.length = new int[this.queues.length];
+    this.position = new int[this.queues.length];
+    this.buckets = new int[1][];
+    this.bucketSize = new int[1];
+    this.buckets[0] = new int[this.queues.length];
+    updateAll ();
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // onlyWaitingJobs
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private final boolean onlyWaitingJobs;
+  
+  /** Returns whether only waiting jobs are considered in determining the queue length.
+   * 
+   * @return Whether only waiting jobs are considered in determining the queue length (instead of all jobs present).
+   * 
+   */
+  public final boolean isOnlyWaitingJobs ()
+  {
+    return this.onlyWaitingJobs;
+  }
+  
+  /** Returns the current length of a queue, as defined by this index, directly from the queue.
+   * 
+   * @param queue The queue, non-{@code null}.
+   * 
+   * @return The current length of the queue.
+   * 
+   */
+  private int getCurrentLength (final SimQueue queue)
+  {
+    return this.onlyWaitingJobs
+      ? (queue.getNumberOfJobs () - queue.getNumberOfJobsInServiceArea ())
+      : queue.getNumberOfJobs ();
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // INDEX
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private final SimQueue[] queues;
+  
+  private final Map<SimQueue, Integer> queueIndex;
+  
+  /** The indexed length of each queue (by queue index).
+   * 
+   */
+  private final int[] length;
+  
+  /** The position of each queue (by queue index) in the bucket of its indexed length.
+   * 
+   */
+  private final int[] position;
+  
+  /** The buckets (by length), each holding the indices of the queues with that length in its first {@link #bucketSize} entries.
+   * 
+   * <p>
+   * Buckets are allocated lazily and grow on demand; they are never released.
+   * 
+   */
+  private int[][] buckets;
+  
+  private int[] bucketSize;
+  
+  /** The minimum indexed length over all queues (zero if there are no queues).
+   * 
+   */
+  private int minimumLength = 0;
+  
+  /** Returns the number of queues in this index.
+   * 
+   * @return The number of queues in this index.
+   * 
+   */
+  public final int size ()
+  {
+    return this.queues.length;
+  }
+  
+  /** Returns the indexed length of a queue.
+   * 
+   * @param queue The queue.
+   * 
+   * @return The indexed length of the queue.
+   * 
+   * @throws IllegalArgumentException If the queue is not in this index.
+   * 
+   */
+  public final int getLength (final SimQueue queue)
+  {
+    return this.length[getQueueIndex (queue)];
+  }
+  
+  /** Returns the minimum (indexed) queue length.
+   * 
+   * @return The minimum (indexed) queue length, zero if there are no queues.
+   * 
+   */
+  public final int getMinimumLength ()
+  {
+    return this.minimumLength;
+  }
+  
+  /** Returns the number of queues with given (indexed) length.
+   * 
+   * @param length The length, non-negative.
+   * 
+   * @return The number of queues with given length.
+   * 
+   */
+  public final int getNumberOfQueuesWithLength (final int length)
+  {
+    if (length < 0)
+      throw new IllegalArgumentException ();
+    return length < this.bucketSize.length ? this.bucketSize[length] : 0;
+  }
+  
+  /** Returns a queue with given (indexed) length.
+   * 
+   * <p>
+   * The order of the queues with equal lengths is unspecified, and changes as queues move between buckets.
+   * 
+   * @param length The length, non-negative.
+   * @param i      The index of the queue among those with given length,
+   *                 between zero and {@link #getNumberOfQueuesWithLength} (exclusive).
+   * 
+   * @return The queue.
+   * 
+   * @throws IllegalArgumentException If either argument is out of range.
+   * 
+   */
+  public final SimQueue getQueueWithLength (final int length, final int i)
+  {
+    if (i < 0 || i >= getNumberOfQueuesWithLength (length))
+      throw new IllegalArgumentException ();
+    return this.queues[this.buckets[length][i]];
+  }
+  
+  /** Selects one of the queues with minimum length at random (with equal probabilities).
+   * 
+   * <p>
+   * The random-number generator is only consulted if there are at least two queues with minimum length.
+   * 
+   * @param rng The random-number generator to use, non-{@code null}.
+   * 
+   * @return A queue with minimum length, {@code null} if there are no queues.
+   * 
+   * @throws IllegalArgumentException If the {@code rng} argument is {@code null}.
+   * 
+   */
+  public final SimQueue selectShortestQueue (final Random rng)
+  {
+    if (rng == null)
+      throw new IllegalArgumentException ();
+    if (this.queues.length == 0)
+      return null;
+    final int size = this.bucketSize[this.minimumLength];
+    final int[] bucket = this.buckets[this.minimumLength];
+    return this.queues[bucket[size == 1 ? 0 : rng.nextInt (size)]];
+  }
+  
+  /** Updates the indexed length of a queue from the queue itself.
+   * 
+   * @param queue The queue.
+   * 
+   * @throws IllegalArgumentException If the queue is not in this index.
+   * 
+   */
+  @Override
+  public final void update (final SimQueue queue)
+  {
+    final int q = getQueueIndex (queue);
+    final int oldLength = this.length[q];
+    final int newLength = getCurrentLength (queue);
+    if (newLength == oldLength)
+      return;
+    removeFromBucket (q);
+    addToBucket (q, newLength);
+    if (newLength < this.minimumLength)
+      this.minimumLength = newLength;
+    else
+      while (this.bucketSize[this.minimumLength] == 0)
+        this.minimumLength++;
+  }
+  
+  /** Rebuilds this index from the current lengths of all queues.
+   * 
+   */
+  @Override
+  public final void updateAll ()
+  {
+    Arrays.fill (this.bucketSize, 0);
+    this.minimumLength = Integer.MAX_VALUE;
+    for (int q = 0; q < this.queues.length; q++)
+    {
+      final int length = getCurrentLength (this.queues[q]);
+      addToBucket (q, length);
+      this.minimumLength = Math.min (this.minimumLength, length);
+    }
+    if (this.queues.length == 0)
+      this.minimumLength = 0;
+  }
+  
+  private int getQueueIndex (final SimQueue queue)
+  {
+    final Integer q = this.queueIndex.get (queue);
+    if (q == null)
+      throw new IllegalArgumentException ();
+    return q;
+  }
+  
+  private void addToBucket (final int q, final int length)
+  {
+    if (length < 0)
+      throw new IllegalStateException ();
+    if (length >= this.buckets.length)
+    {
+      final int oldNumberOfBuckets = this.buckets.length;
+      final int newNumberOfBuckets = Math.max (length + 1, 2 * oldNumberOfBuckets);
+      this.buckets = Arrays.copyOf (this.buckets, newNumberOfBuckets);
+      this.bucketSize = Arrays.copyOf (this.bucketSize, newNumberOfBuckets);
+    }
+    if (this.buckets[length] == null)
+      this.buckets[length] = new int[Math.min (this.queues.length, 4)];
+    else if (this.bucketSize[length] == this.buckets[length].length)
+      this.buckets[length] = Arrays.copyOf (this.buckets[length], Math.min (this.queues.length, 2 * this.bucketSize[length]));
+    this.length[q] = length;
+    this.position[q] = this.bucketSize[length];
+    this.buckets[length][this.bucketSize[length]++] = q;
+  }
+  
+  private void removeFromBucket (final int q)
+  {
+    final int length = this.length[q];
+    final int[] bucket = this.buckets[length];
+    final int last = bucket[--this.bucketSize[length]];
+    bucket[this.position[q]] = last;
+    this.position[last] = this.position[q];
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
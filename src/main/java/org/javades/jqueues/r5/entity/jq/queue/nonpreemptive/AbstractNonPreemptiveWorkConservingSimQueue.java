@@ -377,14 +377,14 @@ public abstract class AbstractNonPreemptiveWorkConservingSimQueue
    * AND the job has finite requested service time.
    * 
    * <p>
-   * In all other cases, a suitable departure event is scheduled through {@link #scheduleDepartureEvent}.
+   * In all other cases, the departure of the job is scheduled through {@link #scheduleDepartureAfterStart}.
    * 
    * <p>
    * Caveat: the specification above implies that NOT all jobs in the service area will have a departure event
    * scheduled for them!
    * 
    * @see #getServiceTimeForJob
-   * @see #scheduleDepartureEvent
+   * @see #scheduleDepartureAfterStart
    * @see #depart
    * 
    */
@@ -404,12 +404,31 @@ public abstract class AbstractNonPreemptiveWorkConservingSimQueue
       if (jobServiceTime == 0 || ! Double.isFinite (time))
         depart (time, job);
       else
-        scheduleDepartureEvent (time + jobServiceTime, job);
+        scheduleDepartureAfterStart (time + jobServiceTime, job);
     }
     else
       // Jobs with infinite requested service time never depart.
       ;
   }
+  
+  /** Schedules the departure of a job that has just started, at given (finite) time.
+   * 
+   * <p>
+   * The default implementation schedules a departure event for the job through {@link #scheduleDepartureEvent}.
+   * Sub-classes may override this in order to hold (some of) the departures in their own administration,
+   * e.g., if departures are known to take place in start order;
+   * they must then make sure the job departs at the given time unless it leaves earlier.
+   * 
+   * @param departureTime The departure time of the job.
+   * @param job           The job, present in the service area.
+   * 
+   * @see #rescheduleAfterStart
+   * 
+   */
+  protected void scheduleDepartureAfterStart (final double departureTime, final J job)
+  {
+    scheduleDepartureEvent (departureTime, job);
+  }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
@@ -439,7 +458,7 @@ public abstract class AbstractNonPreemptiveWorkConservingSimQueue
   {
     if (! isJob (departingJob))
       throw new IllegalStateException ();
-    if (! getDepartureEvents (departingJob).isEmpty ())
+    if (getDepartureEvent (departingJob) != null)
       cancelDepartureEvent (departingJob);
     removeJobFromQueueUponExit (departingJob, time);
   }
@@ -492,12 +511,12 @@ public abstract class AbstractNonPreemptiveWorkConservingSimQueue
    * start-able jobs (all waiting jobs)
    * and at least one server ({@link #hasServerAvailable}) available,
    * a single job is selected through (the sub-class specific) {@link #selectJobToStart}
-   * and started through {@link #start}.
+   * and started through {@link #startJobs}.
    * 
    * @see #hasServerAcccessCredits
    * @see #hasJobsInWaitingArea
    * @see #hasServerAvailable
-   * @see #start
+   * @see #startJobs
    * @see #selectJobToStart
    * 
    * @param time The time of rescheduling.
@@ -505,11 +524,8 @@ public abstract class AbstractNonPreemptiveWorkConservingSimQueue
    */
   protected final void reschedule (final double time)
   {
-    while (hasServerAcccessCredits ()
-      && hasJobsInWaitingArea ()
-      && hasServerAvailable ())
-      // We rely on the sanity checks in AbstractSimQueue.start here...
-      start (time, selectJobToStart ());
+    // We rely on the sanity checks in AbstractSimQueue.startJobs here...
+    startJobs (time, () -> (hasJobsInWaitingArea () && hasServerAvailable ()) ? selectJobToStart () : null);
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -18,7 +18,9 @@ package org.javades.jqueues.r5.entity.jq.queue.nonpreemptive;
 
 import org.javades.jqueues.r5.entity.jq.SimQoS;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.entity.jq.queue.DepartureScheduling;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueJobSlots;
 import org.javades.jsimulation.r5.SimEventList;
 
 /** The {@link IS_CST} queue serves all jobs simultaneously with fixed job-independent service times.
@@ -35,7 +37,14 @@ import org.javades.jsimulation.r5.SimEventList;
  * this implementation respects the arrival order of jobs.
  *
  * <p>
- * For jobs with identical arrival times, it is <i>not</i> guaranteed that they will depart in order of arrival.
+ * Since all jobs have the same service time, jobs depart in the order in which they start.
+ * The {@link DepartureScheduling} of the queue determines how their departure events are put on the event list.
+ * With {@link DepartureScheduling#PER_JOB} (the default), each job gets its own departure event upon start.
+ * With {@link DepartureScheduling#HEAD_ONLY}, the jobs in service are held in an internal FIFO queue,
+ * and only the job(s) at the head of that queue have a departure event scheduled;
+ * as a result, {@link #getDepartureEvent} returns {@code null} for the other jobs,
+ * and the processing order of simultaneous events of this queue and other entities may change,
+ * see {@link DepartureScheduling#HEAD_ONLY}.
  * 
  * @param <J> The type of {@link SimJob}s supported.
  * @param <Q> The type of {@link SimQueue}s supported.
@@ -69,25 +78,44 @@ implements SimQoS<J, Q>
    * 
    */
   public IS_CST (final SimEventList eventList, final double serviceTime)
+  {
+    this (eventList, serviceTime, DepartureScheduling.PER_JOB);
+  }
+  
+  /** Creates a new {@link IS_CST} queue with given {@link SimEventList}, (fixed) service time and departure scheduling.
+   * 
+   * @param eventList           The event list to use.
+   * @param serviceTime         The service time for all jobs.
+   * @param departureScheduling The departure scheduling, non-<code>null</code>.
+   * 
+   * @throws IllegalArgumentException If <code>serviceTime</code> is strictly negative,
+   *                                  or the departure scheduling is <code>null</code>.
+   * 
+   * @see DepartureScheduling
+   * 
+   */
+  public IS_CST (final SimEventList eventList, final double serviceTime, final DepartureScheduling departureScheduling)
   {
     super (eventList, Integer.MAX_VALUE, Integer.MAX_VALUE);
-    if (serviceTime < 0)
+    if (serviceTime < 0 || departureScheduling == null)
       throw new IllegalArgumentException ();
     this.serviceTime = serviceTime;
+    this.departureScheduling = departureScheduling;
   }
   
-  /** Returns a new {@link IS_CST} object on the same {@link SimEventList} with the same service time.
+  /** Returns a new {@link IS_CST} object on the same {@link SimEventList} with the same service time and departure scheduling.
    * 
-   * @return A new {@link IS_CST} object on the same {@link SimEventList} with the same service time.
+   * @return A new {@link IS_CST} object on the same {@link SimEventList} with the same service time and departure scheduling.
    * 
    * @see #getEventList
    * @see #getServiceTime
+   * @see #getDepartureScheduling
    * 
    */
   @Override
   public IS_CST<J, Q> getCopySimQueue ()
   {
-    return new IS_CST<> (getEventList (), getServiceTime ());
+    return new IS_CST<> (getEventList (), getServiceTime (), getDepartureScheduling ());
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -137,13 +165,14 @@ implements SimQoS<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Calls super method (in order to make implementation final).
+  /** Calls super method and clears the internal departure queue.
    * 
    */
   @Override
   protected final void resetEntitySubClass ()
   {
     super.resetEntitySubClass ();
+    this.departureQueue.clear ();
   }  
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -223,19 +252,99 @@ implements SimQoS<J, Q>
     return getServiceTime ();
   }
   
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // DEPARTURE SCHEDULING / DEPARTURE QUEUE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private final DepartureScheduling departureScheduling;
+  
+  /** Returns the departure scheduling of this queue.
+   * 
+   * @return The departure scheduling of this queue, non-<code>null</code>.
+   * 
+   */
+  public final DepartureScheduling getDepartureScheduling ()
+  {
+    return this.departureScheduling;
+  }
+  
+  /** The jobs in service with a (finite) departure time, in order of departure.
+   * 
+   * <p>
+   * Only maintained in {@link DepartureScheduling#HEAD_ONLY}.
+   * 
+   */
+  private final SimQueueJobSlots<J>.Deque departureQueue = getJobSlots ().newDeque ();
+  
+  /** The departure time of each job in the departure queue.
+   * 
+   */
+  private final SimQueueJobSlots<J>.Doubles departureTime = getJobSlots ().newDoubles (Double.NaN);
+  
+  /** Schedules the departure event of the job in {@link DepartureScheduling#PER_JOB};
+   *  otherwise appends the job to the internal departure queue.
+   * 
+   * <p>
+   * In {@link DepartureScheduling#HEAD_ONLY}, a departure event is scheduled for the job
+   * only if the departure queue was empty,
+   * or if the last job in the departure queue has the same departure time and a scheduled departure event.
+   * 
+   * @throws IllegalStateException If the departure time is smaller than that of the last job in the departure queue.
+   * 
+   */
+  @Override
+  protected final void scheduleDepartureAfterStart (final double departureTime, final J job)
+  {
+    if (this.departureScheduling == DepartureScheduling.PER_JOB)
+      scheduleDepartureEvent (departureTime, job);
+    else
+    {
+      final J last = this.departureQueue.last ();
+      if (last != null && departureTime < this.departureTime.get (last))
+        throw new IllegalStateException ();
+      this.departureTime.set (job, departureTime);
+      this.departureQueue.addLast (job);
+      if (last == null || (departureTime == this.departureTime.get (last) && getDepartureEvent (last) != null))
+        scheduleDepartureEvent (departureTime, job);
+    }
+  }
+  
+  /** Schedules the departure events of the job at the head of the departure queue
+   *  and of all jobs directly following it with the same departure time,
+   *  unless the head job already has a departure event scheduled.
+   * 
+   */
+  private void scheduleHeadDepartureEvents ()
+  {
+    final J head = this.departureQueue.first ();
+    if (head == null || getDepartureEvent (head) != null)
+      return;
+    final double headDepartureTime = this.departureTime.get (head);
+    for (final J job : this.departureQueue)
+      if (this.departureTime.get (job) == headDepartureTime)
+        scheduleDepartureEvent (headDepartureTime, job);
+      else
+        break;
+  }
+  
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // EXIT
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-  /** Calls super method (in order to make implementation final).
+  /** Calls super method and, in {@link DepartureScheduling#HEAD_ONLY}, removes the job from the internal departure queue
+   *  and schedules the departure event(s) at the head of that queue if needed.
    * 
    */
   @Override
   protected final void removeJobFromQueueUponExit  (final J exitingJob, final double time)
   {
     super.removeJobFromQueueUponExit (exitingJob, time);
+    if (this.departureScheduling == DepartureScheduling.HEAD_ONLY && this.departureQueue.remove (exitingJob))
+      scheduleHeadDepartureEvents ();
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -16,11 +16,10 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue.nonpreemptive;
 
-import java.util.ArrayList;
-import java.util.List;
 import org.javades.jqueues.r5.entity.jq.SimQoS;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueJobSlots;
 import org.javades.jqueues.r5.entity.jq.queue.preemptive.P_LCFS;
 import org.javades.jsimulation.r5.SimEventList;
 
@@ -144,7 +143,7 @@ implements SimQoS<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  private final List<J> lifoWaitingQueue = new ArrayList<> ();
+  private final SimQueueJobSlots<J>.Deque lifoWaitingQueue = getJobSlots ().newDeque ();
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
@@ -158,7 +157,7 @@ implements SimQoS<J, Q>
   @Override
   protected final void insertJobInQueueUponArrival (final J job, final double time)
   {
-    this.lifoWaitingQueue.add (0, job);
+    this.lifoWaitingQueue.addFirst (job);
   }
 
   /** Throws an exception.
@@ -191,7 +190,7 @@ implements SimQoS<J, Q>
   @Override
   protected final J selectJobToStart ()
   {
-    return this.lifoWaitingQueue.remove (0);
+    return this.lifoWaitingQueue.removeFirst ();
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
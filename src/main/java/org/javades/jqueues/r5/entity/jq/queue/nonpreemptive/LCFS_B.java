@@ -16,11 +16,10 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue.nonpreemptive;
 
-import java.util.ArrayList;
-import java.util.List;
 import org.javades.jqueues.r5.entity.jq.SimQoS;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueJobSlots;
 import org.javades.jsimulation.r5.SimEventList;
 
 /** A {@link LCFS} queue with given (possibly infinite) buffer size.
@@ -145,7 +144,7 @@ implements SimQoS<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  private final List<J> lifoWaitingQueue = new ArrayList<> ();
+  private final SimQueueJobSlots<J>.Deque lifoWaitingQueue = getJobSlots ().newDeque ();
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
@@ -160,7 +159,7 @@ implements SimQoS<J, Q>
   @Override
   protected final void insertJobInQueueUponArrival (final J job, final double time)
   {
-    this.lifoWaitingQueue.add (0, job);
+    this.lifoWaitingQueue.addFirst (job);
   }
 
   /** Returns the job at the tail of the internal LIFO (wait) queue, i.e., the "oldest" waiter.
@@ -178,7 +177,7 @@ implements SimQoS<J, Q>
   {
     if (getNumberOfJobsInWaitingArea () == 0 || this.lifoWaitingQueue.isEmpty ())
       throw new IllegalStateException ();
-    return this.lifoWaitingQueue.get (this.lifoWaitingQueue.size () - 1);
+    return this.lifoWaitingQueue.last ();
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -195,7 +194,7 @@ implements SimQoS<J, Q>
   @Override
   protected final J selectJobToStart ()
   {
-    return this.lifoWaitingQueue.remove (0);
+    return this.lifoWaitingQueue.removeFirst ();
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -22,10 +22,23 @@ import java.util.Random;
 import org.javades.jqueues.r5.entity.jq.SimQoS;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueJobSlots;
 import org.javades.jsimulation.r5.SimEventList;
 
 /** The {@link RANDOM} queue serves jobs one at a time in random order.
  *
+ * <p>
+ * The internal administration of waiting jobs is determined by the {@link SelectionMode} of the queue.
+ * In {@link SelectionMode#COMPATIBLE_ORDERING} (the default),
+ * a random position is drawn for each arriving job,
+ * and the order in which jobs are served for a given seed of the random-number generator
+ * is identical to that of earlier releases.
+ * In {@link SelectionMode#FAST}, the job to start is drawn uniformly from the waiting jobs at the start itself,
+ * and all operations on the waiting jobs take constant time.
+ * Both modes serve the waiting jobs in uniformly random order,
+ * but they draw different numbers from the random-number generator,
+ * and they generally yield different service orders for the same seed.
+ * 
  * @param <J> The type of {@link SimJob}s supported.
  * @param <Q> The type of {@link SimQueue}s supported.
  *
@@ -70,12 +83,32 @@ implements SimQoS<J, Q>
    * 
    */
   public RANDOM (final SimEventList eventList, final Random RNG)
+  {
+    this (eventList, RNG, SelectionMode.COMPATIBLE_ORDERING);
+  }
+  
+  /** Creates a RANDOM queue given an event list, {@link Random} random-number-generator and selection mode.
+   *
+   * @param eventList     The event list to use.
+   * @param RNG           The random-number-generator, if <code>null</code>, a new {@link Random} object will be created.
+   * @param selectionMode The selection mode, non-<code>null</code>.
+   *
+   * @throws IllegalArgumentException If the selection mode is <code>null</code>.
+   * 
+   * @see Random
+   * @see SelectionMode
+   * 
+   */
+  public RANDOM (final SimEventList eventList, final Random RNG, final SelectionMode selectionMode)
   {
     super (eventList, Integer.MAX_VALUE, 1);
+    if (selectionMode == null)
+      throw new IllegalArgumentException ();
     this.RNG = ((RNG == null) ? new Random () : RNG);
+    this.selectionMode = selectionMode;
   }
   
-  /** Returns a new {@link RANDOM} object on the same {@link SimEventList}.
+  /** Returns a new {@link RANDOM} object on the same {@link SimEventList} with the same selection mode.
    *
    * <p>
    * The new object has its own newly created {@link Random} RNG.
@@ -88,7 +121,7 @@ implements SimQoS<J, Q>
   @Override
   public RANDOM<J, Q> getCopySimQueue ()
   {
-    return new RANDOM<> (getEventList ());
+    return new RANDOM<> (getEventList (), null, getSelectionMode ());
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -126,6 +159,52 @@ implements SimQoS<J, Q>
     return this.RNG;
   }
   
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SELECTION MODE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** The way in which a {@link RANDOM} queue selects the next job to start.
+   * 
+   */
+  public enum SelectionMode
+  {
+    
+    /** Draws a random position in the internal queue for each arriving job, and starts jobs in queue order.
+     * 
+     * <p>
+     * Arrivals take time linear in the number of waiting jobs, as do drops and revocations of waiting jobs.
+     * For a given seed of the random-number generator, the service order is identical to that of earlier releases.
+     * 
+     */
+    COMPATIBLE_ORDERING,
+    
+    /** Draws the job to start uniformly from the waiting jobs at the start itself.
+     * 
+     * <p>
+     * Arrivals, starts, drops and revocations take constant time.
+     * The job drawn is removed from the internal queue by replacing it with the last job in that queue,
+     * hence the service order for a given seed of the random-number generator differs from
+     * the one in {@link #COMPATIBLE_ORDERING}.
+     * 
+     */
+    FAST;
+    
+  }
+  
+  private final SelectionMode selectionMode;
+  
+  /** Returns the selection mode of this queue.
+   * 
+   * @return The selection mode of this queue, non-<code>null</code>.
+   * 
+   */
+  public final SelectionMode getSelectionMode ()
+  {
+    return this.selectionMode;
+  }
+  
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // QoS
@@ -172,24 +251,77 @@ implements SimQoS<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
+  /** The waiting jobs.
+   * 
+   * <p>
+   * In {@link SelectionMode#COMPATIBLE_ORDERING}, the jobs are held in <i>reverse</i> service order,
+   * so the next job to start is always at the end of the list.
+   * In {@link SelectionMode#FAST}, the order of the jobs is irrelevant.
+   * 
+   */
   private final List<J> randomWaitingQueue = new ArrayList<> ();
   
+  /** The index of each waiting job in {@link #randomWaitingQueue}, {@code -1} if not waiting.
+   * 
+   * <p>
+   * Only maintained in {@link SelectionMode#FAST}.
+   * 
+   */
+  private final SimQueueJobSlots<J>.Ints randomWaitingQueueIndices = getJobSlots ().newInts (-1);
+  
+  /** Removes (and returns) the job at given index from the internal RANDOM queue in {@link SelectionMode#FAST}.
+   * 
+   * <p>
+   * The removed job is replaced with the last job in the queue (if different).
+   * 
+   * @param index The index, non-negative and smaller than the size of the queue.
+   * 
+   * @return The job removed.
+   * 
+   */
+  private J removeFromRandomWaitingQueue (final int index)
+  {
+    final J job = this.randomWaitingQueue.get (index);
+    final J lastJob = this.randomWaitingQueue.remove (this.randomWaitingQueue.size () - 1);
+    if (lastJob != job)
+    {
+      this.randomWaitingQueue.set (index, lastJob);
+      this.randomWaitingQueueIndices.set (lastJob, index);
+    }
+    this.randomWaitingQueueIndices.set (job, -1);
+    return job;
+  }
+  
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // ARRIVAL
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Inserts the job at a random position the internal RANDOM wait queue.
+  /** Inserts the job in the internal RANDOM wait queue.
+   * 
+   * <p>
+   * In {@link SelectionMode#COMPATIBLE_ORDERING}, the job is inserted at a random position;
+   * in {@link SelectionMode#FAST}, the job is appended.
    * 
    * @see #getRNG
+   * @see #getSelectionMode
    * 
    */
   @Override
   protected final void insertJobInQueueUponArrival (final J job, final double time)
   {
-    final int newPosition = getRNG ().nextInt (this.randomWaitingQueue.size () + 1);
-    this.randomWaitingQueue.add (newPosition, job);
+    final int size = this.randomWaitingQueue.size ();
+    if (this.selectionMode == SelectionMode.FAST)
+    {
+      this.randomWaitingQueueIndices.set (job, size);
+      this.randomWaitingQueue.add (job);
+    }
+    else
+    {
+      final int newPosition = getRNG ().nextInt (size + 1);
+      this.randomWaitingQueue.add (size - newPosition, job);
+    }
   }
 
   /** Throws an exception.
@@ -214,15 +346,26 @@ implements SimQoS<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Returns the first job in (and removes it from) the internal RANDOM queue.
+  /** Returns the next job to start and removes it from the internal RANDOM queue.
+   * 
+   * <p>
+   * In {@link SelectionMode#COMPATIBLE_ORDERING}, this is the first job in the internal RANDOM queue;
+   * in {@link SelectionMode#FAST}, the job is drawn uniformly from the internal RANDOM queue.
+   * 
+   * @return The next job to start.
    * 
-   * @return The first job in the internal RANDOM queue.
+   * @see #getRNG
+   * @see #getSelectionMode
    * 
    */
   @Override
   protected final J selectJobToStart ()
   {
-    return this.randomWaitingQueue.remove (0);
+    final int size = this.randomWaitingQueue.size ();
+    if (this.selectionMode == SelectionMode.FAST)
+      return removeFromRandomWaitingQueue (getRNG ().nextInt (size));
+    else
+      return this.randomWaitingQueue.remove (size - 1);
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -255,7 +398,14 @@ implements SimQoS<J, Q>
   protected final void removeJobFromQueueUponExit  (final J exitingJob, final double time)
   {
     super.removeJobFromQueueUponExit (exitingJob, time);
-    this.randomWaitingQueue.remove (exitingJob);
+    if (this.selectionMode == SelectionMode.FAST)
+    {
+      final int index = this.randomWaitingQueueIndices.get (exitingJob);
+      if (index >= 0)
+        removeFromRandomWaitingQueue (index);
+    }
+    else
+      this.randomWaitingQueue.remove (exitingJob);
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -16,11 +16,10 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue.nonpreemptive;
 
-import java.util.ArrayList;
-import java.util.List;
 import org.javades.jqueues.r5.entity.jq.SimQoS;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueJobSlots;
 import org.javades.jsimulation.r5.SimEventList;
 
 /** The {@link SJF} queue serves jobs one at a time in order of ascending requested service times.
@@ -143,7 +142,14 @@ implements SimQoS<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  private final List<J> sjfWaitingQueue = new ArrayList<> ();
+  /** The waiting jobs, ordered by ascending service time and, in case of ties, by arrival.
+   * 
+   * <p>
+   * An indexed binary heap on the job slots;
+   * insertion, selection of the next job to start, and removal of an exiting job take logarithmic time.
+   * 
+   */
+  private final SimQueueJobSlots<J>.Heap sjfWaitingQueue = getJobSlots ().newHeap (false);
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
@@ -162,11 +168,7 @@ implements SimQoS<J, Q>
   @Override
   protected final void insertJobInQueueUponArrival (final J job, final double time)
   {
-    int newPosition = 0;
-    while (newPosition < this.sjfWaitingQueue.size ()
-      && getServiceTimeForJob (this.sjfWaitingQueue.get (newPosition)) <= getServiceTimeForJob (job))
-      newPosition++;
-    this.sjfWaitingQueue.add (newPosition, job);    
+    this.sjfWaitingQueue.add (job, getServiceTimeForJob (job));
   }
   
   /** Throws an exception.
@@ -199,7 +201,7 @@ implements SimQoS<J, Q>
   @Override
   protected final J selectJobToStart ()
   {
-    return this.sjfWaitingQueue.remove (0);
+    return this.sjfWaitingQueue.removeFirst ();
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
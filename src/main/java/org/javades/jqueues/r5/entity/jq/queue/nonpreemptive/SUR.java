@@ -257,15 +257,14 @@ public class SUR
    * 
    * @see #hasServerAcccessCredits
    * @see #hasJobsInWaitingArea
-   * @see #start
+   * @see #startJobs
    * @see #getFirstJobInWaitingArea
    * 
    */
   @Override
   protected final void rescheduleForNewServerAccessCredits (final double time)
   {
-    while (hasServerAcccessCredits () && hasJobsInWaitingArea ())
-      start (time, getFirstJobInWaitingArea ());
+    startJobs (time, () -> getFirstJobInWaitingArea ());
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
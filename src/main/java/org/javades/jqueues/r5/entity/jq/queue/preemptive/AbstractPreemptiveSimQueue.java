@@ -16,13 +16,12 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue.preemptive;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.AbstractClassicSimQueue;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
-import org.javades.jqueues.r5.util.collection.HashMapWithPreImageAndOrderedValueSet;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueJobSlots;
 import org.javades.jsimulation.r5.SimEventList;
 
 /** An abstract base class for preemptive queueing disciplines.
@@ -34,6 +33,14 @@ import org.javades.jsimulation.r5.SimEventList;
  * even if time itself is positive or negative infinity.
  * If time is infinite, jobs with finite service time requirement will always start and depart immediately upon arrival.
  * 
+ * <p>
+ * The remaining service times of the jobs in the service area are private to this class;
+ * sub-classes access them through {@link #hasRemainingServiceTime}, {@link #getRemainingServiceTime},
+ * {@link #setRemainingServiceTime}, {@link #removeRemainingServiceTime}
+ * and {@link #getJobWithSmallestRemainingServiceTime}.
+ * (In earlier versions, sub-classes accessed the protected map {@code remainingServiceTime} directly;
+ * that map is no longer available.)
+ * 
  * @param <J> The type of {@link SimJob}s supported.
  * @param <Q> The type of {@link SimQueue}s supported.
  * 
@@ -134,51 +141,175 @@ public abstract class AbstractPreemptiveSimQueue
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** The mapping from jobs in {@link #getJobsInServiceArea} to their respective remaining service times.
+  /** The remaining service times of the jobs in {@link #getJobsInServiceArea},
+   *  kept as keys of an indexed min-heap on the job slots.
    * 
    * <p>
-   * The key-set of this map must always be identical to {@link #getJobsInServiceArea}.
+   * The set of jobs in this heap must always be identical to {@link #getJobsInServiceArea}.
    * 
    * <p>
-   * The special extensions to <code>TreeMap</code> allow for efficient  determination of the pre-images of
-   * remaining service times.
+   * For jobs being served, the key holds the remaining service time at the start of the current service chunk;
+   * the service obtained since then (the time elapsed since the start of the service chunk) is applied lazily,
+   * see {@link #getRemainingServiceTime}, and written back into the key upon {@link #stopServiceChunk}.
+   * Hence, updates do not touch the heap at all,
+   * and the keys of jobs being served are upper bounds to their actual remaining service times.
+   * 
+   * @see #hasRemainingServiceTime
+   * @see #getRemainingServiceTime
+   * @see #setRemainingServiceTime
+   * @see #removeRemainingServiceTime
+   * @see #getJobWithSmallestRemainingServiceTime
    * 
    */
-  protected final HashMapWithPreImageAndOrderedValueSet<J, Double> remainingServiceTime
-    = new HashMapWithPreImageAndOrderedValueSet<> ();
+  private final SimQueueJobSlots<J>.Heap remainingServiceTime = getJobSlots ().newHeap (false);
 
-  /** Updates the remaining service time of executing jobs in the service area.
+  /** Returns whether given job has a remaining service time administered, i.e., whether it is in the service area.
+   * 
+   * @param job The job, may be {@code null}.
+   * 
+   * @return Whether the job has a remaining service time administered.
+   * 
+   */
+  protected final boolean hasRemainingServiceTime (final J job)
+  {
+    return this.remainingServiceTime.contains (job);
+  }
+  
+  /** Returns the remaining service time of given job (at the time of the last update).
+   * 
+   * <p>
+   * For a job being served, the time elapsed since the start of its current service chunk
+   * is subtracted from the remaining service time at the start of that chunk.
+   * 
+   * @param job The job.
+   * 
+   * @return The remaining service time of the job, non-negative.
+   * 
+   * @throws IllegalArgumentException If the job has no remaining service time administered.
+   * @throws IllegalStateException    If the job has obtained more service than it required (beyond {@link #TOLERANCE_RST}).
+   * 
+   * @see #getLastUpdateTime
+   * @see #hasRemainingServiceTime
+   * 
+   */
+  protected final double getRemainingServiceTime (final J job)
+  {
+    final double rs_chunk = this.remainingServiceTime.getKey (job);
+    final double chunkStartTime = this.serviceChunkStartTime.get (job);
+    if (Double.isNaN (chunkStartTime))
+      return rs_chunk;
+    final double dT = getLastUpdateTime () - chunkStartTime;
+    if (dT < 0)
+      throw new IllegalStateException ();
+    if (dT == 0 || Double.isInfinite (rs_chunk))
+      return rs_chunk;
+    if (rs_chunk < dT - AbstractPreemptiveSimQueue.TOLERANCE_RST)
+      throw new IllegalStateException ();
+    return (rs_chunk < dT) ? 0.0 : (rs_chunk - dT);
+  }
+  
+  /** Sets the remaining service time of given job (at the time of the last update), adding the job if needed.
+   * 
+   * <p>
+   * If the job is being served, its current service chunk is considered to start at the time of the last update.
+   * 
+   * @param job                  The job, holding a slot.
+   * @param remainingServiceTime The new remaining service time, non-negative.
+   * 
+   * @see #getLastUpdateTime
+   * 
+   */
+  protected final void setRemainingServiceTime (final J job, final double remainingServiceTime)
+  {
+    if (this.remainingServiceTime.contains (job))
+      this.remainingServiceTime.setKey (job, remainingServiceTime);
+    else
+      this.remainingServiceTime.add (job, remainingServiceTime);
+    if (isJobBeingServed (job))
+      this.serviceChunkStartTime.set (job, getLastUpdateTime ());
+  }
+  
+  /** Removes the remaining service time of given job, if present.
+   * 
+   * @param job The job, may be {@code null}.
+   * 
+   * @return Whether the job had a remaining service time administered.
+   * 
+   */
+  protected final boolean removeRemainingServiceTime (final J job)
+  {
+    return this.remainingServiceTime.remove (job);
+  }
+  
+  /** Returns a job with the smallest remaining service time (at the time of the last update).
+   * 
+   * <p>
+   * Takes constant time in the number of jobs in the service area,
+   * but linear time in the number of jobs being served,
+   * since the (lazily updated) remaining service times of the latter have to be considered separately.
+   * Among jobs not being served with equal remaining service times,
+   * the one that entered the service area first is returned;
+   * changes to the remaining service time of a job do not affect its position among jobs with equal remaining service times.
+   * 
+   * @return A job with the smallest remaining service time, {@code null} if there are no jobs in the service area.
+   * 
+   * @see #getRemainingServiceTime
+   * 
+   */
+  protected final J getJobWithSmallestRemainingServiceTime ()
+  {
+    J job = this.remainingServiceTime.first ();
+    if (job == null || this.jobsBeingServed.isEmpty ())
+      return job;
+    double rs_job = getRemainingServiceTime (job);
+    for (final J jobBeingServed : this.jobsBeingServed)
+      if (jobBeingServed != job && this.remainingServiceTime.contains (jobBeingServed))
+      {
+        final double rs_jobBeingServed = getRemainingServiceTime (jobBeingServed);
+        if (rs_jobBeingServed < rs_job)
+        {
+          job = jobBeingServed;
+          rs_job = rs_jobBeingServed;
+        }
+      }
+    return job;
+  }
+  
+  /** Checks the remaining service time of executing jobs in the service area.
    * 
    * <p>
    * This method is called as an pre-update hook, and not meant to be called from user code (in sub-classes).
    * It is left protected for {@code javadoc}.
    * 
+   * <p>
+   * Since the service obtained by jobs being served is applied lazily,
+   * this method does not change the remaining service times;
+   * unless validation is off, it checks that no job being served has obtained more service than it required.
+   * 
    * @param newTime The new time.
    * 
    * @see #jobsBeingServed
-   * @see #remainingServiceTime
+   * @see #getRemainingServiceTime
    * @see AbstractPreemptiveSimQueue#TOLERANCE_RST
    * @see #registerPreUpdateHook
+   * @see #isCheapValidation
    * 
    */
   protected final void updateRemainingServiceTime (final double newTime)
   {
-    for (final Map.Entry<J, Double> entry : this.jobsBeingServed.entrySet ())
+    if (! isCheapValidation ())
+      return;
+    for (final J job : this.jobsBeingServed)
     {
-      final J job = entry.getKey ();
-      final double dT = newTime - entry.getValue ();
+      final double dT = newTime - this.serviceChunkStartTime.get (job);
       if (dT < 0)
         throw new IllegalStateException ();
-      else if (dT > 0)
+      else if (dT > 0 && this.remainingServiceTime.contains (job))
       {
-        if (this.remainingServiceTime.get (job) < 0
-        ||  this.remainingServiceTime.get (job) < dT - AbstractPreemptiveSimQueue.TOLERANCE_RST)
+        final double rs_chunk = this.remainingServiceTime.getKey (job);
+        if (rs_chunk < 0
+        ||  rs_chunk < dT - AbstractPreemptiveSimQueue.TOLERANCE_RST)
           throw new IllegalStateException ();
-        else if (this.remainingServiceTime.get (job) < dT)
-          this.remainingServiceTime.put (job, 0.0);
-        else
-          this.remainingServiceTime.put (job, this.remainingServiceTime.get (job) - dT);
-        entry.setValue (newTime);
       }
     }
   }
@@ -189,10 +320,68 @@ public abstract class AbstractPreemptiveSimQueue
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** The jobs currently being served by a server, mapped onto the start time of <i>this service chunk</i>.
+  /** The jobs currently being served by a server.
+   * 
+   * <p>
+   * The start time of <i>this service chunk</i> of each job is held in {@link #serviceChunkStartTime}.
+   * Sub-classes must remove jobs from this set only through {@link #stopServiceChunk}.
+   * 
+   * @see #isJobBeingServed
+   * 
+   */
+  protected final Set<J> jobsBeingServed = new LinkedHashSet<> ();
+  
+  /** The start time of <i>this service chunk</i> for each job in {@link #jobsBeingServed}, stored in the job slots.
+   * 
+   * <p>
+   * Jobs not being served (and free slots) hold {@link Double#NaN}.
+   * 
+   * @see #getJobSlots
+   * 
+   */
+  private final SimQueueJobSlots<J>.Doubles serviceChunkStartTime = getJobSlots ().newDoubles (Double.NaN);
+  
+  /** Returns whether given job is currently being served by a server.
+   * 
+   * <p>
+   * The implementation inspects the job's slot, and does not require a look-up in {@link #jobsBeingServed}.
+   * 
+   * @param job The job, may be {@code null}.
+   * 
+   * @return Whether given job is currently being served by a server.
+   * 
+   * @see #jobsBeingServed
    * 
    */
-  protected final Map<J, Double> jobsBeingServed = new HashMap<> ();
+  protected final boolean isJobBeingServed (final J job)
+  {
+    final int slot = getJobSlot (job);
+    return slot >= 0 && ! Double.isNaN (this.serviceChunkStartTime.array ()[slot]);
+  }
+  
+  /** Ends the current service chunk of given job, removing it from {@link #jobsBeingServed}.
+   * 
+   * <p>
+   * The service obtained during the chunk is written back into the remaining service time of the job, if present.
+   * Note that this method does not cancel a departure event for the job.
+   * 
+   * @param job The job, being served.
+   * 
+   * @throws IllegalArgumentException If the job is {@code null} or not being served.
+   * 
+   * @see #jobsBeingServed
+   * @see #startServiceChunk
+   * 
+   */
+  protected final void stopServiceChunk (final J job)
+  {
+    if (! isJobBeingServed (job))
+      throw new IllegalArgumentException ();
+    if (this.remainingServiceTime.contains (job))
+      this.remainingServiceTime.setKey (job, getRemainingServiceTime (job));
+    this.jobsBeingServed.remove (job);
+    this.serviceChunkStartTime.set (job, Double.NaN);
+  }
   
   /** Gets the set of jobs currently being served by a server.
    * 
@@ -206,7 +395,7 @@ public abstract class AbstractPreemptiveSimQueue
    */
   public final Set<J> getJobsBeingServed ()
   {
-    return this.jobsBeingServed.keySet ();
+    return this.jobsBeingServed;
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -217,7 +406,7 @@ public abstract class AbstractPreemptiveSimQueue
 
   /** Calls super method and removes all jobs from internal data structures.
    * 
-   * @see #remainingServiceTime
+   * @see #getRemainingServiceTime
    * @see #jobsBeingServed
    * 
    */
@@ -227,6 +416,7 @@ public abstract class AbstractPreemptiveSimQueue
     super.resetEntitySubClass ();
     this.remainingServiceTime.clear ();
     this.jobsBeingServed.clear ();
+    // Note that the service-chunk start times are cleared along with the job slots.
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -261,7 +451,7 @@ public abstract class AbstractPreemptiveSimQueue
    *                                         of {@link PreemptionStrategy#CUSTOM}.
    * 
    * @see #jobsBeingServed
-   * @see #remainingServiceTime
+   * @see #getRemainingServiceTime
    * @see #getPreemptionStrategy
    * @see #drop
    * @see #cancelDepartureEvent
@@ -271,9 +461,9 @@ public abstract class AbstractPreemptiveSimQueue
    */
   protected final void preemptJob (final double time, final J job)
   {
-    if (job == null || ! this.jobsBeingServed.keySet ().contains (job))
+    if (job == null || ! isJobBeingServed (job))
       throw new IllegalArgumentException ();
-    if (! this.remainingServiceTime.containsKey (job))
+    if (! this.remainingServiceTime.contains (job))
       throw new IllegalStateException ();
     switch (getPreemptionStrategy ())
     {
@@ -281,13 +471,13 @@ public abstract class AbstractPreemptiveSimQueue
         drop (job, time);
         break;
       case RESUME:
-        this.jobsBeingServed.remove (job);
+        stopServiceChunk (job);
         cancelDepartureEvent (job);
         break;
       case RESTART:
-        this.jobsBeingServed.remove (job);
+        stopServiceChunk (job);
         cancelDepartureEvent (job);
-        this.remainingServiceTime.put (job, getServiceTimeForJob (job));
+        setRemainingServiceTime (job, getServiceTimeForJob (job));
         break;
       case REDRAW:
         throw new UnsupportedOperationException ("PreemptionStrategy.REDRAW is not supported.");
@@ -320,7 +510,7 @@ public abstract class AbstractPreemptiveSimQueue
    * @throws IllegalArgumentException If the job is {@code null}, not in the service area, or already being executed.
    * 
    * @see #jobsBeingServed
-   * @see #remainingServiceTime
+   * @see #getRemainingServiceTime
    * @see AbstractPreemptiveSimQueue#TOLERANCE_RST
    * @see #scheduleDepartureEvent
    * @see #depart
@@ -328,12 +518,13 @@ public abstract class AbstractPreemptiveSimQueue
    */
   protected final void startServiceChunk (final double time, final J job)
   {
-    if (job == null || this.jobsBeingServed.keySet ().contains (job))
+    if (job == null || isJobBeingServed (job))
       throw new IllegalArgumentException ();
-    if (! this.remainingServiceTime.containsKey (job))
+    if (! this.remainingServiceTime.contains (job))
       throw new IllegalStateException ();
-    this.jobsBeingServed.put (job, time);
-    final double rs_job = this.remainingServiceTime.get (job);
+    final double rs_job = this.remainingServiceTime.getKey (job);
+    this.jobsBeingServed.add (job);
+    this.serviceChunkStartTime.set (job, time);
     if (Double.isFinite (rs_job))
     {
       if (Double.isFinite (time) && rs_job > 0 + AbstractPreemptiveSimQueue.TOLERANCE_RST)
@@ -16,10 +16,9 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue.preemptive;
 
-import java.util.ArrayList;
-import java.util.List;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueJobSlots;
 import org.javades.jsimulation.r5.SimEventList;
 
 /** The single-server Preemptive Last-Come First-Served (P_LCFS) queueing discipline.
@@ -137,9 +136,9 @@ extends AbstractPreemptiveSimQueue<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  private final List<J> lifoJobQueue = new ArrayList<> ();
+  private final SimQueueJobSlots<J>.Deque lifoJobQueue = getJobSlots ().newDeque ();
   
-  private final List<J> lifoWaitQueue = new ArrayList<> ();
+  private final SimQueueJobSlots<J>.Deque lifoWaitQueue = getJobSlots ().newDeque ();
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
@@ -154,8 +153,8 @@ extends AbstractPreemptiveSimQueue<J, Q>
   @Override
   protected final void insertJobInQueueUponArrival (final J job, final double time)
   {
-    this.lifoJobQueue.add (0, job);
-    this.lifoWaitQueue.add (0, job);
+    this.lifoJobQueue.addFirst (job);
+    this.lifoWaitQueue.addFirst (job);
   }
 
   /** Starts the arrived job if server-access credits are available.
@@ -171,7 +170,7 @@ extends AbstractPreemptiveSimQueue<J, Q>
       throw new IllegalStateException ();
     if (isJobInServiceArea (job))
       throw new IllegalStateException ();
-    if (this.lifoJobQueue.get (0) != job || this.lifoWaitQueue.get (0) != job)
+    if (this.lifoJobQueue.first () != job || this.lifoWaitQueue.first () != job)
       throw new IllegalStateException ();
     if (hasServerAcccessCredits ())
       start (time, job);
@@ -199,14 +198,13 @@ extends AbstractPreemptiveSimQueue<J, Q>
    * 
    * @see #hasServerAcccessCredits
    * @see #hasJobsInWaitingArea
-   * @see #start
+   * @see #startJobs
    * 
    */
   @Override
   protected final void rescheduleForNewServerAccessCredits (final double time)
   {
-    while (hasServerAcccessCredits () && hasJobsInWaitingArea ())
-      start (time, this.lifoWaitQueue.get (0));
+    startJobs (time, () -> this.lifoWaitQueue.first ());
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -235,7 +233,7 @@ extends AbstractPreemptiveSimQueue<J, Q>
   /** Performs sanity checks, removes the job from the internal LIFO wait queue, and administers its remaining service time.
    * 
    * @see #getServiceTimeForJob
-   * @see #remainingServiceTime
+   * @see #setRemainingServiceTime
    * 
    */
   @Override
@@ -244,15 +242,15 @@ extends AbstractPreemptiveSimQueue<J, Q>
     if (job == null
     || (! isJob (job))
     || isJobInServiceArea (job)
-    || this.remainingServiceTime.containsKey (job))
+    || hasRemainingServiceTime (job))
       throw new IllegalArgumentException ();
-    if (this.lifoWaitQueue.get (0) != job)
+    if (this.lifoWaitQueue.first () != job)
       throw new IllegalStateException ();
-    this.lifoWaitQueue.remove (0);
+    this.lifoWaitQueue.removeFirst ();
     final double jobServiceTime = getServiceTimeForJob (job);
     if (jobServiceTime < 0)
       throw new RuntimeException ();
-    this.remainingServiceTime.put (job, jobServiceTime);
+    setRemainingServiceTime (job, jobServiceTime);
   }
 
   /** Schedules the started job for immediate execution if it is the only job in the service area
@@ -272,15 +270,15 @@ extends AbstractPreemptiveSimQueue<J, Q>
     if (job == null
     || (! getJobs ().contains (job))
     || (! getJobsInServiceArea ().contains (job))
-    || ! this.remainingServiceTime.containsKey (job))
+    || ! hasRemainingServiceTime (job))
       throw new IllegalArgumentException ();
-    if (this.jobsBeingServed.containsKey (job))
+    if (isJobBeingServed (job))
       throw new IllegalStateException ();
     if (this.jobsBeingServed.size () > 1)
       throw new IllegalStateException ();
     // Find the job currently being served; if any.
-    final J jobBeingServed = (this.jobsBeingServed.isEmpty () ? null : this.jobsBeingServed.keySet ().iterator ().next ());
-    if (jobBeingServed == null || this.lifoJobQueue.indexOf (job) < this.lifoJobQueue.indexOf (jobBeingServed))
+    final J jobBeingServed = (this.jobsBeingServed.isEmpty () ? null : this.jobsBeingServed.iterator ().next ());
+    if (jobBeingServed == null || this.lifoJobQueue.isBefore (job, jobBeingServed))
     {
       // The job is eligible for immediate execution, hence we must preempt the job currently being executed.
       if (jobBeingServed != null)
@@ -290,7 +288,7 @@ extends AbstractPreemptiveSimQueue<J, Q>
         startServiceChunk (time, job);
       else if (this.jobsBeingServed.size () > 1)
         throw new IllegalStateException ();
-      else if (this.jobsBeingServed.keySet ().iterator ().next () != job)
+      else if (this.jobsBeingServed.iterator ().next () != job)
         throw new IllegalStateException ();
     }
   }
@@ -321,7 +319,7 @@ extends AbstractPreemptiveSimQueue<J, Q>
   /** Removes the job from internal administration (a.o., LIFO job and LIFO wait queues)
    *  and cancels any pending departure event for it.
    * 
-   * @see #remainingServiceTime
+   * @see #getRemainingServiceTime
    * @see #jobsBeingServed
    * @see #getDepartureEvents
    * @see #cancelDepartureEvent
@@ -336,19 +334,14 @@ extends AbstractPreemptiveSimQueue<J, Q>
       throw new IllegalStateException ();
     if (isJobInServiceArea (exitingJob))
     {
-      if (! this.remainingServiceTime.containsKey (exitingJob))
+      if (! hasRemainingServiceTime (exitingJob))
         throw new IllegalStateException ();
-      this.remainingServiceTime.remove (exitingJob);
-      if (this.jobsBeingServed.containsKey (exitingJob))
+      removeRemainingServiceTime (exitingJob);
+      if (isJobBeingServed (exitingJob))
       {
-        // Note: getDepartureEvents requires its argument to be present in this.jobQueue!
-        if (! getDepartureEvents (exitingJob).isEmpty ())
-        {
-          if (getDepartureEvents (exitingJob).size () > 1)
-            throw new IllegalStateException ();
+        if (getDepartureEvent (exitingJob) != null)
           cancelDepartureEvent (exitingJob);
-        }
-        this.jobsBeingServed.remove (exitingJob);
+        stopServiceChunk (exitingJob);
       }
     }
     else if (! this.lifoWaitQueue.remove (exitingJob))
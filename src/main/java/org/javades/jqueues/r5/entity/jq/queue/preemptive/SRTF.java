@@ -16,11 +16,9 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue.preemptive;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueJobSlots;
 import org.javades.jsimulation.r5.SimEventList;
 
 /** The single-server preemptive Shortest-Remaining (Service) Time First (SRTF) queueing discipline.
@@ -159,7 +157,14 @@ extends AbstractPreemptiveSimQueue<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  private final List<J> srtfWaitingQueue = new ArrayList<> ();
+  /** The waiting jobs, ordered by (required) service time and, in case of ties, by arrival.
+   * 
+   * <p>
+   * An indexed binary heap on the job slots;
+   * insertion, selection of the next job to start, and removal of an exiting job take logarithmic time.
+   * 
+   */
+  private final SimQueueJobSlots<J>.Heap srtfWaitingQueue = getJobSlots ().newHeap (false);
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
@@ -167,7 +172,7 @@ extends AbstractPreemptiveSimQueue<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Inserts the job at the head of an internal SRTF wait queue; maintaining non-decreasing (required) service-time ordering.
+  /** Inserts the job in an internal SRTF wait queue; maintaining non-decreasing (required) service-time ordering.
    * 
    * <p>
    * In case of ties, jobs are inserted in order of arrival.
@@ -178,11 +183,7 @@ extends AbstractPreemptiveSimQueue<J, Q>
   @Override
   protected final void insertJobInQueueUponArrival (final J job, final double time)
   {
-    int newPosition = 0;
-    while (newPosition < this.srtfWaitingQueue.size ()
-      && getServiceTimeForJob (this.srtfWaitingQueue.get (newPosition)) <= getServiceTimeForJob (job))
-      newPosition++;
-    this.srtfWaitingQueue.add (newPosition, job);    
+    this.srtfWaitingQueue.add (job, getServiceTimeForJob (job));
   }
   
   /** Starts the arrived job if server-access credits are available.
@@ -223,14 +224,13 @@ extends AbstractPreemptiveSimQueue<J, Q>
    *
    * @see #hasServerAcccessCredits
    * @see #hasJobsInWaitingArea
-   * @see #start
+   * @see #startJobs
    * 
    */
   @Override
   protected final void rescheduleForNewServerAccessCredits (final double time)
   {
-    while (hasServerAcccessCredits () && hasJobsInWaitingArea ())
-      start (time, this.srtfWaitingQueue.get (0));
+    startJobs (time, () -> this.srtfWaitingQueue.first ());
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -259,7 +259,7 @@ extends AbstractPreemptiveSimQueue<J, Q>
  /** Performs sanity checks, removes the job from the internal SRTF/SJF wait queue, and administers its remaining service time.
    * 
    * @see #getServiceTimeForJob
-   * @see #remainingServiceTime
+   * @see #setRemainingServiceTime
    * 
    */
   @Override
@@ -268,22 +268,22 @@ extends AbstractPreemptiveSimQueue<J, Q>
     if (job == null
     || (! getJobs ().contains (job))
     || getJobsInServiceArea ().contains (job)
-    || this.remainingServiceTime.containsKey (job))
+    || hasRemainingServiceTime (job))
       throw new IllegalArgumentException ();
-    if (this.srtfWaitingQueue.get (0) != job)
+    if (this.srtfWaitingQueue.first () != job)
       throw new IllegalStateException ();
-    this.srtfWaitingQueue.remove (0);
+    this.srtfWaitingQueue.removeFirst ();
     final double jobServiceTime = getServiceTimeForJob (job);
     if (jobServiceTime < 0)
       throw new RuntimeException ();
-    this.remainingServiceTime.put (job, jobServiceTime);
+    setRemainingServiceTime (job, jobServiceTime);
   }
 
   /** Schedules the started job for immediate execution if it is the only job in the service area
    *  or if its (remaining) service time is strictly smaller than the remaining service of a job in execution,
    *  the latter of which is then preempted.
    * 
-   * @see #remainingServiceTime
+   * @see #getRemainingServiceTime
    * @see #preemptJob
    * @see #startServiceChunk
    * 
@@ -294,9 +294,9 @@ extends AbstractPreemptiveSimQueue<J, Q>
     if (job == null
     || (! getJobs ().contains (job))
     || (! getJobsInServiceArea ().contains (job))
-    || ! this.remainingServiceTime.containsKey (job))
+    || ! hasRemainingServiceTime (job))
       throw new IllegalArgumentException ();
-    final double jobServiceTime = this.remainingServiceTime.get (job);
+    final double jobServiceTime = getRemainingServiceTime (job);
     if (jobServiceTime < 0)
       throw new RuntimeException ();
     // Get the job currently being served; if any.
@@ -305,14 +305,14 @@ extends AbstractPreemptiveSimQueue<J, Q>
     {
       if (this.jobsBeingServed.size () > 1)
         throw new IllegalStateException ();
-      jobBeingServed = this.jobsBeingServed.keySet ().iterator ().next ();
+      jobBeingServed = this.jobsBeingServed.iterator ().next ();
     }
     else
       jobBeingServed = null;
     if (job == jobBeingServed)
       throw new IllegalStateException ();
     // Check whether job is eligible for (immediate) execution.
-    if (jobBeingServed == null || jobServiceTime < this.remainingServiceTime.get (jobBeingServed))
+    if (jobBeingServed == null || jobServiceTime < getRemainingServiceTime (jobBeingServed))
     {
       // The job is eligible for immediate execution, hence we must preempt the job currently being executed.
       if (jobBeingServed != null)
@@ -322,7 +322,7 @@ extends AbstractPreemptiveSimQueue<J, Q>
         startServiceChunk (time, job);
       else if (this.jobsBeingServed.size () > 1)
         throw new IllegalStateException ();
-      else if (this.jobsBeingServed.keySet ().iterator ().next () != job)
+      else if (this.jobsBeingServed.iterator ().next () != job)
         throw new IllegalStateException ();
     }
   }
@@ -353,7 +353,7 @@ extends AbstractPreemptiveSimQueue<J, Q>
   /** Removes the job from the internal data structures (a.o., the SRTF/SJF wait queue)
    *  and removes its departure event, if needed.
    * 
-   * @see #remainingServiceTime
+   * @see #getRemainingServiceTime
    * @see #jobsBeingServed
    * @see #getDepartureEvents
    * @see #cancelDepartureEvent
@@ -368,19 +368,14 @@ extends AbstractPreemptiveSimQueue<J, Q>
     {
       if (this.srtfWaitingQueue.contains (exitingJob))
         throw new IllegalStateException ();
-      if (! this.remainingServiceTime.containsKey (exitingJob))
+      if (! hasRemainingServiceTime (exitingJob))
         throw new IllegalStateException ();
-      this.remainingServiceTime.remove (exitingJob);
-      if (this.jobsBeingServed.containsKey (exitingJob))
+      removeRemainingServiceTime (exitingJob);
+      if (isJobBeingServed (exitingJob))
       {
-        // Note: getDepartureEvents requires its argument to be present in this.jobQueue!
-        if (! getDepartureEvents (exitingJob).isEmpty ())
-        {
-          if (getDepartureEvents (exitingJob).size () > 1)
-            throw new IllegalStateException ();
+        if (getDepartureEvent (exitingJob) != null)
           cancelDepartureEvent (exitingJob);
-        }
-        this.jobsBeingServed.remove (exitingJob);
+        stopServiceChunk (exitingJob);
       }
     }
     else if (! this.srtfWaitingQueue.remove (exitingJob))
@@ -391,7 +386,7 @@ extends AbstractPreemptiveSimQueue<J, Q>
    *  starts a service-chunk for the job in the service area
    *  with the minimum remaining service time.
    * 
-   * @see #remainingServiceTime
+   * @see #getJobWithSmallestRemainingServiceTime
    * @see #startServiceChunk
    * 
    */
@@ -400,11 +395,10 @@ extends AbstractPreemptiveSimQueue<J, Q>
   {
     if (this.jobsBeingServed.isEmpty () && hasJobsInServiceArea ())
     {
-      final double sRST = this.remainingServiceTime.firstValue ();
-      final Set<J> jobsWithSRST = this.remainingServiceTime.getPreImageForValue (sRST);
-      if (jobsWithSRST.isEmpty ())
+      final J jobWithSRST = getJobWithSmallestRemainingServiceTime ();
+      if (jobWithSRST == null)
         throw new IllegalStateException ();
-      startServiceChunk (time, jobsWithSRST.iterator ().next ());
+      startServiceChunk (time, jobWithSRST);
     }
   }
   
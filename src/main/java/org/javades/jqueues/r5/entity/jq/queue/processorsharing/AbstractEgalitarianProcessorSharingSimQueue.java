@@ -21,7 +21,7 @@ import org.javades.jqueues.r5.entity.jq.SimJQEvent;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
 import org.javades.jqueues.r5.entity.jq.queue.qos.HOL_PS;
-import org.javades.jqueues.r5.util.collection.HashMapWithPreImageAndOrderedValueSet;
+import org.javades.jqueues.r5.util.collection.DoubleHashMapWithPreImageAndOrderedValueSet;
 import org.javades.jsimulation.r5.SimEventList;
 
 /** An abstract base class for egalitarian processor-sharing queueing disciplines.
@@ -35,6 +35,12 @@ import org.javades.jsimulation.r5.SimEventList;
  * <p>
  * The remaining degrees of freedom to sub-classes are when to start which jobs.
  * 
+ * <p>
+ * The virtual departure times of the jobs in the service area are held in {@link #virtualDepartureTime},
+ * a {@link DoubleHashMapWithPreImageAndOrderedValueSet} with unboxed values.
+ * (In earlier versions, this field was a {@code HashMapWithPreImageAndOrderedValueSet<J, Double>};
+ * sub-classes using methods specific to that type have to be adapted.)
+ * 
  * @param <J> The type of {@link SimJob}s supported.
  * @param <Q> The type of {@link SimQueue}s supported.
  * 
@@ -129,12 +135,13 @@ public abstract class AbstractEgalitarianProcessorSharingSimQueue
   /** The mapping from jobs in {@link #getJobsInServiceArea} to their respective virtual departure times.
    * 
    * <p>
-   * The special extensions to <code>TreeMap</code> allow for efficient  determination of the pre-images of
-   * virtual departure times.
+   * The map holds unboxed values and keeps them ordered, allowing for efficient determination of
+   * the earliest virtual departure time and its pre-image;
+   * jobs with equal virtual departure times are ordered on their start.
    * 
    */
-  protected final HashMapWithPreImageAndOrderedValueSet<J, Double> virtualDepartureTime
-    = new HashMapWithPreImageAndOrderedValueSet<> ();
+  protected final DoubleHashMapWithPreImageAndOrderedValueSet<J> virtualDepartureTime
+    = new DoubleHashMapWithPreImageAndOrderedValueSet<> ();
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
@@ -349,9 +356,10 @@ public abstract class AbstractEgalitarianProcessorSharingSimQueue
         // because if finite, they should have departed upon start already.
         // Other than that, there is nothing to do at positive or negative infinity,
         // because jobs with infinite service-time requirement never depart.
-        for (final J job : getJobsInServiceArea ())
-          if (Double.isFinite (getServiceTimeForJob (job)))
-            throw new IllegalStateException ();
+        if (isFullValidation ())
+          for (final J job : getJobsInServiceArea ())
+            if (Double.isFinite (getServiceTimeForJob (job)))
+              throw new IllegalStateException ();
       }
       else
       {
@@ -361,7 +369,7 @@ public abstract class AbstractEgalitarianProcessorSharingSimQueue
         if (deltaVirtualTime < 0)
           // XXX There is no protection in updating the virtual time, so at some point, we will hit a rounding error here...
           throw new IllegalStateException ();
-        final J job = this.virtualDepartureTime.getPreImageForValue (scheduleVirtualTime).iterator ().next ();
+        final J job = this.virtualDepartureTime.firstKey ();
         if (deltaVirtualTime == 0)
           depart (getLastUpdateTime (), job);
         else if (Double.isFinite (deltaVirtualTime))
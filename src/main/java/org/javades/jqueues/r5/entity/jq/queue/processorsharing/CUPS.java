@@ -16,18 +16,16 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue.processorsharing;
 
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.Map.Entry;
-import java.util.NavigableMap;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.javades.jqueues.r5.entity.jq.SimJQEvent;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueJobSlots;
 import org.javades.jsimulation.r5.SimEvent;
 import org.javades.jsimulation.r5.SimEventAction;
 import org.javades.jsimulation.r5.SimEventList;
@@ -150,23 +148,121 @@ extends AbstractProcessorSharingSimQueue<J, Q>
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // INTERNAL (STATE) ADMINISTRATION
-  // - obtainedServiceTimeMap
+  // - groups
+  // - group heaps
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  private final NavigableMap<Double, Set<J>> obtainedServiceTimeMap = new TreeMap<> ();
-
+  /* The jobs in the service area are partitioned into groups of jobs with equal obtained service time.
+   * Only the group with the least obtained service time (the executing group) receives service,
+   * so its obtained service time acts as the virtual-time clock of this queue;
+   * the obtained service times of all other groups are fixed.
+   * Since jobs start with zero obtained service time, and the executing group never overtakes the runner-up group,
+   * the obtained service time of a job is non-increasing in its start order.
+   * Hence, each group consists of the jobs started in a contiguous range of start sequence numbers,
+   * and the groups form a stack ordered by (decreasing) obtained service time,
+   * with the executing group on top and the runner-up group just below it.
+   * A new group (with zero obtained service time) is always pushed on top of the stack,
+   * and a catch-up merges the top group into the one below it.
+   * Groups that become empty below the runner-up group are removed lazily.
+   * 
+   * Within each group, the jobs are kept in a pairing heap (on their slots)
+   * ordered by required service time, with ties broken in start order,
+   * so the first job to depart from the executing group is always at the root of its heap.
+   */
+  
+  /** The "null" slot.
+   * 
+   */
+  private static final int NIL = -1;
+  
+  /** The initial capacity of the group stack.
+   * 
+   */
+  private static final int INITIAL_GROUP_CAPACITY = 16;
+  
+  /** The obtained service time of each group (on the stack).
+   * 
+   */
+  private double[] groupObtainedServiceTime = new double[CUPS.INITIAL_GROUP_CAPACITY];
+  
+  /** The root slot of the heap of each group (on the stack), {@link #NIL} if the group is empty.
+   * 
+   */
+  private int[] groupRoot = new int[CUPS.INITIAL_GROUP_CAPACITY];
+  
+  /** The number of jobs in each group (on the stack).
+   * 
+   */
+  private int[] groupSize = new int[CUPS.INITIAL_GROUP_CAPACITY];
+  
+  /** The lowest start sequence number of each group (on the stack).
+   * 
+   */
+  private long[] groupLowestStartSequence = new long[CUPS.INITIAL_GROUP_CAPACITY];
+  
+  /** The position of the top (executing) group on the stack, {@code -1} if the stack is empty.
+   * 
+   * <p>
+   * If present, the top group and the group below it are non-empty.
+   * 
+   */
+  private int topGroup = -1;
+  
+  /** The number of non-empty groups.
+   * 
+   */
+  private int numberOfGroups = 0;
+  
+  /** The start sequence number for the next job to start.
+   * 
+   */
+  private long nextStartSequence = 0;
+  
+  /** The start sequence number of each job in the service area.
+   * 
+   */
+  private final SimQueueJobSlots<J>.Longs startSequence = getJobSlots ().newLongs (-1L);
+  
+  /** The required service time of each job in the service area.
+   * 
+   */
+  private final SimQueueJobSlots<J>.Doubles requiredServiceTime = getJobSlots ().newDoubles (Double.NaN);
+  
+  /** The leftmost child in the group heap of each job in the service area.
+   * 
+   */
+  private final SimQueueJobSlots<J>.Ints heapChild = getJobSlots ().newInts (CUPS.NIL);
+  
+  /** The right sibling in the group heap of each job in the service area.
+   * 
+   */
+  private final SimQueueJobSlots<J>.Ints heapSibling = getJobSlots ().newInts (CUPS.NIL);
+  
+  /** The parent (if leftmost child) or left sibling in the group heap of each job in the service area,
+   *  {@link #NIL} for the root.
+   * 
+   */
+  private final SimQueueJobSlots<J>.Ints heapPrevious = getJobSlots ().newInts (CUPS.NIL);
+  
   /** Gets the jobs currently in execution.
    * 
-   * @return The jobs currently in execution (non-{@code null}).
+   * <p>
+   * The returned set is a (new) snapshot, and takes time linear in the number of jobs in the service area to create.
+   * 
+   * @return The jobs currently in execution (non-{@code null}), in start order.
    * 
    */
   protected final Set<J> getJobsExecuting ()
   {
-    if (hasJobsInServiceArea ())
-      return this.obtainedServiceTimeMap.firstEntry ().getValue ();
-    else
+    if (! hasJobsInServiceArea ())
       return Collections.EMPTY_SET;
+    final long lowestStartSequence = this.groupLowestStartSequence[this.topGroup];
+    final Set<J> jobsExecuting = new LinkedHashSet<> ();
+    for (final J job : getJobsInServiceArea ())
+      if (this.startSequence.get (job) >= lowestStartSequence)
+        jobsExecuting.add (job);
+    return jobsExecuting;
   }
   
   /** Gets the number of jobs in execution.
@@ -176,7 +272,7 @@ extends AbstractProcessorSharingSimQueue<J, Q>
    */
   protected final int getNumberOfJobsExecuting ()
   {
-    return getJobsExecuting ().size ();
+    return hasJobsInServiceArea () ? this.groupSize[this.topGroup] : 0;
   }
   
   /** Returns the minimum obtained service time (i.e., of all the jobs currently in execution).
@@ -192,7 +288,36 @@ extends AbstractProcessorSharingSimQueue<J, Q>
   {
     if (! hasJobsInServiceArea ())
       throw new IllegalStateException ();
-    return this.obtainedServiceTimeMap.firstKey ();
+    return this.groupObtainedServiceTime[this.topGroup];
+  }
+  
+  /** Adds a job that starts to the internal administration, with zero obtained service time.
+   * 
+   * @param job                    The job, non-{@code null} and holding a slot.
+   * @param jobRequiredServiceTime The required service time of the job.
+   * 
+   */
+  private void addJobToInternalAdministration (final J job, final double jobRequiredServiceTime)
+  {
+    final int slot = getJobSlot (job);
+    if (slot < 0)
+      throw new IllegalStateException ();
+    final long jobStartSequence = this.nextStartSequence++;
+    this.startSequence.array ()[slot] = jobStartSequence;
+    this.requiredServiceTime.array ()[slot] = jobRequiredServiceTime;
+    if (this.topGroup < 0 || this.groupObtainedServiceTime[this.topGroup] != 0.0)
+    {
+      if (this.topGroup + 1 == this.groupRoot.length)
+        compactOrGrowGroups ();
+      this.topGroup++;
+      this.groupObtainedServiceTime[this.topGroup] = 0.0;
+      this.groupRoot[this.topGroup] = CUPS.NIL;
+      this.groupSize[this.topGroup] = 0;
+      this.groupLowestStartSequence[this.topGroup] = jobStartSequence;
+      this.numberOfGroups++;
+    }
+    this.groupRoot[this.topGroup] = meld (this.groupRoot[this.topGroup], slot);
+    this.groupSize[this.topGroup]++;
   }
   
   /** Removes the given job, if present, from the internal administration.
@@ -212,20 +337,217 @@ extends AbstractProcessorSharingSimQueue<J, Q>
     sanityInternalAdministration ();
     if (! isJobInServiceArea (job))
       return;
-    final Iterator<Entry<Double, Set<J>>> ost_i = this.obtainedServiceTimeMap.entrySet ().iterator ();
-    while (ost_i.hasNext ())
+    final int slot = getJobSlot (job);
+    if (slot < 0)
+      throw new IllegalStateException ();
+    final int group = findGroup (this.startSequence.array ()[slot]);
+    if (group < 0 || this.groupSize[group] == 0)
+      throw new IllegalStateException ();
+    final int[] child = this.heapChild.array ();
+    final int[] sibling = this.heapSibling.array ();
+    final int[] previous = this.heapPrevious.array ();
+    final int previousSlot = previous[slot];
+    if (previousSlot == CUPS.NIL)
+    {
+      if (this.groupRoot[group] != slot)
+        throw new IllegalStateException ();
+      this.groupRoot[group] = combineChildren (slot);
+    }
+    else
     {
-      final Entry<Double, Set<J>> entry = ost_i.next ();
-      final Set<J> jobs = entry.getValue ();
-      if (jobs.contains (job))
+      // Detach the sub-tree rooted at the job, and meld the combined children of the job with the root of the group.
+      final int siblingSlot = sibling[slot];
+      if (child[previousSlot] == slot)
+        child[previousSlot] = siblingSlot;
+      else
+        sibling[previousSlot] = siblingSlot;
+      if (siblingSlot != CUPS.NIL)
+        previous[siblingSlot] = previousSlot;
+      sibling[slot] = CUPS.NIL;
+      previous[slot] = CUPS.NIL;
+      this.groupRoot[group] = meld (this.groupRoot[group], combineChildren (slot));
+    }
+    this.groupSize[group]--;
+    if (this.groupSize[group] == 0)
+    {
+      this.numberOfGroups--;
+      while (this.topGroup >= 0 && this.groupSize[this.topGroup] == 0)
+        this.topGroup--;
+      removeEmptyRunnerUpGroups ();
+    }
+  }
+  
+  /** Finds the group (position on the stack) of a job given its start sequence number.
+   * 
+   * @param jobStartSequence The start sequence number of the job.
+   * 
+   * @return The position on the stack of the group of the job, {@code -1} if not found.
+   * 
+   */
+  private int findGroup (final long jobStartSequence)
+  {
+    int low = 0;
+    int high = this.topGroup;
+    int group = -1;
+    while (low <= high)
+    {
+      final int mid = (low + high) >>> 1;
+      if (this.groupLowestStartSequence[mid] <= jobStartSequence)
       {
-        jobs.remove (job);
-        if (jobs.isEmpty ())
-          ost_i.remove ();
-        return;
+        group = mid;
+        low = mid + 1;
       }
+      else
+        high = mid - 1;
     }
-    throw new IllegalStateException ();
+    return group;
+  }
+  
+  /** Merges the top (executing) group into the runner-up group (at the obtained service time of the latter).
+   * 
+   */
+  private void mergeTopGroup ()
+  {
+    if (this.topGroup < 1)
+      throw new IllegalStateException ();
+    final int runnerUp = this.topGroup - 1;
+    this.groupRoot[runnerUp] = meld (this.groupRoot[runnerUp], this.groupRoot[this.topGroup]);
+    this.groupSize[runnerUp] += this.groupSize[this.topGroup];
+    this.topGroup--;
+    this.numberOfGroups--;
+    removeEmptyRunnerUpGroups ();
+  }
+  
+  /** Removes empty groups just below the top group from the stack.
+   * 
+   */
+  private void removeEmptyRunnerUpGroups ()
+  {
+    while (this.topGroup >= 1 && this.groupSize[this.topGroup - 1] == 0)
+    {
+      moveGroup (this.topGroup, this.topGroup - 1);
+      this.topGroup--;
+    }
+  }
+  
+  /** Removes all empty groups from the stack, or, if there are few of them, grows the stack.
+   * 
+   */
+  private void compactOrGrowGroups ()
+  {
+    if (2 * this.numberOfGroups <= this.topGroup + 1)
+    {
+      int newTopGroup = -1;
+      for (int group = 0; group <= this.topGroup; group++)
+        if (this.groupSize[group] > 0)
+          moveGroup (group, ++newTopGroup);
+      this.topGroup = newTopGroup;
+    }
+    else
+    {
+      final int newCapacity = 2 * this.groupRoot.length;
+      this.groupObtainedServiceTime = Arrays.copyOf (this.groupObtainedServiceTime, newCapacity);
+      this.groupRoot = Arrays.copyOf (this.groupRoot, newCapacity);
+      this.groupSize = Arrays.copyOf (this.groupSize, newCapacity);
+      this.groupLowestStartSequence = Arrays.copyOf (this.groupLowestStartSequence, newCapacity);
+    }
+  }
+  
+  private void moveGroup (final int from, final int to)
+  {
+    if (from == to)
+      return;
+    this.groupObtainedServiceTime[to] = this.groupObtainedServiceTime[from];
+    this.groupRoot[to] = this.groupRoot[from];
+    this.groupSize[to] = this.groupSize[from];
+    this.groupLowestStartSequence[to] = this.groupLowestStartSequence[from];
+  }
+  
+  /** Returns whether the job at given slot must depart before the job at another slot (with equal obtained service time).
+   * 
+   */
+  private boolean before (final int slot1, final int slot2)
+  {
+    final double[] required = this.requiredServiceTime.array ();
+    if (required[slot1] < required[slot2])
+      return true;
+    if (required[slot1] > required[slot2])
+      return false;
+    final long[] sequence = this.startSequence.array ();
+    return sequence[slot1] < sequence[slot2];
+  }
+  
+  /** Melds two (detached) group heaps.
+   * 
+   * @param root1 The root slot of the first heap, {@link #NIL} if empty.
+   * @param root2 The root slot of the second heap, {@link #NIL} if empty.
+   * 
+   * @return The root slot of the melded heap.
+   * 
+   */
+  private int meld (final int root1, final int root2)
+  {
+    if (root1 == CUPS.NIL)
+      return root2;
+    if (root2 == CUPS.NIL)
+      return root1;
+    final int root = before (root2, root1) ? root2 : root1;
+    final int other = (root == root1) ? root2 : root1;
+    final int[] child = this.heapChild.array ();
+    final int[] sibling = this.heapSibling.array ();
+    final int[] previous = this.heapPrevious.array ();
+    sibling[other] = child[root];
+    if (child[root] != CUPS.NIL)
+      previous[child[root]] = other;
+    previous[other] = root;
+    child[root] = other;
+    sibling[root] = CUPS.NIL;
+    previous[root] = CUPS.NIL;
+    return root;
+  }
+  
+  /** Detaches the children of the job at given slot, and combines them into a single heap (two-pass pairing).
+   * 
+   * @param slot The slot.
+   * 
+   * @return The root slot of the combined heap, {@link #NIL} if there were no children.
+   * 
+   */
+  private int combineChildren (final int slot)
+  {
+    final int[] child = this.heapChild.array ();
+    final int[] sibling = this.heapSibling.array ();
+    final int[] previous = this.heapPrevious.array ();
+    int current = child[slot];
+    child[slot] = CUPS.NIL;
+    // First pass: meld pairs from left to right, and stack the results (linked through their siblings).
+    int pairs = CUPS.NIL;
+    while (current != CUPS.NIL)
+    {
+      final int first = current;
+      final int second = sibling[first];
+      current = (second == CUPS.NIL) ? CUPS.NIL : sibling[second];
+      sibling[first] = CUPS.NIL;
+      previous[first] = CUPS.NIL;
+      if (second != CUPS.NIL)
+      {
+        sibling[second] = CUPS.NIL;
+        previous[second] = CUPS.NIL;
+      }
+      final int pair = meld (first, second);
+      sibling[pair] = pairs;
+      pairs = pair;
+    }
+    // Second pass: meld the stacked pairs from right to left.
+    int root = CUPS.NIL;
+    while (pairs != CUPS.NIL)
+    {
+      final int pair = pairs;
+      pairs = sibling[pair];
+      sibling[pair] = CUPS.NIL;
+      root = meld (root, pair);
+    }
+    return root;
   }
   
   /** Calculates the time until the next catch-up.
@@ -238,13 +560,10 @@ extends AbstractProcessorSharingSimQueue<J, Q>
   protected final double getTimeToCatchUp ()
   {
     sanityInternalAdministration ();
-    if (this.obtainedServiceTimeMap.size () < 2)
+    if (this.numberOfGroups < 2)
       throw new IllegalStateException ();
-    final Iterator<Entry<Double, Set<J>>> ost_i = this.obtainedServiceTimeMap.entrySet ().iterator ();
-    final Entry<Double, Set<J>> entry_first = ost_i.next ();
-    final Entry<Double, Set<J>> entry_second = ost_i.next ();
-    final double ost_first = entry_first.getKey ();
-    final double ost_second = entry_second.getKey ();
+    final double ost_first = this.groupObtainedServiceTime[this.topGroup];
+    final double ost_second = this.groupObtainedServiceTime[this.topGroup - 1];
     final double diff_ost = ost_second - ost_first;
     if (diff_ost <= 0)
       throw new IllegalStateException ();
@@ -261,26 +580,51 @@ extends AbstractProcessorSharingSimQueue<J, Q>
    * This method has no effect if all sanity checks pass.
    * 
    * <p>
+   * Since the checks take linear time in the size of the internal administration,
+   * this method does nothing unless the validation level is {@link ValidationLevel#FULL} or {@link ValidationLevel#DEBUG}.
+   * 
+   * <p>
    * Unless commented out due to code maturity and/or performance considerations,
    * invocations are logged at level {@link Level#FINER}.
    * 
    * @throws IllegalStateException If the internal administration is inconsistent.
    * 
+   * @see #isFullValidation
+   * 
    */
   protected final void sanityInternalAdministration ()
   {
-    LOGGER.log (Level.FINER, "t={0}, sanity on {1}: jobsInServiceArea={2}; obtainedServiceTimeMap={3}.", new Object[]{
+    if (! isFullValidation ())
+      return;
+    LOGGER.log (Level.FINER, "t={0}, sanity on {1}: jobsInServiceArea={2}; numberOfGroups={3}.", new Object[]{
       getLastUpdateTime (),
       this,
       getJobsInServiceArea (),
-      this.obtainedServiceTimeMap});
-    if (this.obtainedServiceTimeMap == null)
-      throw new IllegalStateException ();
-    int numberOfJobsInObtainedServiceTimeMap = 0;
-    for (final Set<J> jobs : this.obtainedServiceTimeMap.values ())
-      numberOfJobsInObtainedServiceTimeMap += jobs.size ();
-    if (numberOfJobsInObtainedServiceTimeMap != getNumberOfJobsInServiceArea ())
+      this.numberOfGroups});
+    int numberOfJobsInGroups = 0;
+    int numberOfNonEmptyGroups = 0;
+    double previousObtainedServiceTime = Double.POSITIVE_INFINITY;
+    for (int group = 0; group <= this.topGroup; group++)
+      if (this.groupSize[group] > 0)
+      {
+        if (this.groupRoot[group] == CUPS.NIL
+        ||  this.groupObtainedServiceTime[group] >= previousObtainedServiceTime)
+          throw new IllegalStateException ();
+        previousObtainedServiceTime = this.groupObtainedServiceTime[group];
+        numberOfJobsInGroups += this.groupSize[group];
+        numberOfNonEmptyGroups++;
+      }
+      else if (group >= this.topGroup - 1)
+        throw new IllegalStateException ();
+    if (numberOfJobsInGroups != getNumberOfJobsInServiceArea ()
+    ||  numberOfNonEmptyGroups != this.numberOfGroups)
       throw new IllegalStateException ();
+    for (final J job : getJobsInServiceArea ())
+    {
+      final int group = findGroup (this.startSequence.get (job));
+      if (group < 0 || this.groupSize[group] == 0)
+        throw new IllegalStateException ();
+    }
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -296,7 +640,10 @@ extends AbstractProcessorSharingSimQueue<J, Q>
   protected final void resetEntitySubClass ()
   {
     super.resetEntitySubClass ();
-    this.obtainedServiceTimeMap.clear ();
+    // Note that the per-job administration is cleared along with the job slots.
+    this.topGroup = -1;
+    this.numberOfGroups = 0;
+    this.nextStartSequence = 0;
     this.lastCatchUpTime = Double.NaN;
     // Note that we use eventsScheduled in order to automatically have departure and catch-up events cancelled.
   }
@@ -314,6 +661,7 @@ extends AbstractProcessorSharingSimQueue<J, Q>
    * It is left protected for {@code javadoc}.
    * 
    * <p>
+   * Only the obtained service time of the executing group is advanced, in constant time.
    * This method automatically performs "catch-ups".
    * 
    * @param newTime The new time.
@@ -333,30 +681,25 @@ extends AbstractProcessorSharingSimQueue<J, Q>
       return;
     if (hasJobsInServiceArea ())
     {
-      final double ost_old = this.obtainedServiceTimeMap.firstKey ();
-      final int numberOfJobsExecuting = this.obtainedServiceTimeMap.firstEntry ().getValue ().size ();
+      final double ost_old = this.groupObtainedServiceTime[this.topGroup];
+      final int numberOfJobsExecuting = this.groupSize[this.topGroup];
       final double ost_new = ost_old + ((newTime - getLastUpdateTime ()) / numberOfJobsExecuting);
-      final Set<J> jobs_ost_old = this.obtainedServiceTimeMap.get (ost_old);
-      if (this.obtainedServiceTimeMap.size () > 1)
+      if (this.numberOfGroups > 1)
       {
-        final double ost_runner_up = this.obtainedServiceTimeMap.higherKey (ost_old);
-        this.obtainedServiceTimeMap.remove (ost_old);
+        final double ost_runner_up = this.groupObtainedServiceTime[this.topGroup - 1];
         if (ost_new > ost_runner_up + CUPS.TOLERANCE_OST)
           throw new IllegalStateException ();
         else if (ost_new >= ost_runner_up - CUPS.TOLERANCE_OST)
         {
           // We have "catch-up".
-          this.obtainedServiceTimeMap.get (ost_runner_up).addAll (jobs_ost_old);
+          mergeTopGroup ();
           this.lastCatchUpTime = newTime;
         }
         else
-          this.obtainedServiceTimeMap.put (ost_new, jobs_ost_old);
+          this.groupObtainedServiceTime[this.topGroup] = ost_new;
       }
       else
-      {
-        this.obtainedServiceTimeMap.remove (ost_old);
-        this.obtainedServiceTimeMap.put (ost_new, jobs_ost_old);
-      }
+        this.groupObtainedServiceTime[this.topGroup] = ost_new;
     }
   }
 
@@ -476,15 +819,14 @@ extends AbstractProcessorSharingSimQueue<J, Q>
    * 
    * @see #hasServerAcccessCredits
    * @see #hasJobsInWaitingArea
-   * @see #start
+   * @see #startJobs
    * @see #getFirstJobInWaitingArea
    * 
    */
   @Override
   protected final void rescheduleForNewServerAccessCredits (final double time)
   {
-    while (hasServerAcccessCredits () && hasJobsInWaitingArea ())
-      start (time, getFirstJobInWaitingArea ());
+    startJobs (time, () -> getFirstJobInWaitingArea ());
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -513,7 +855,7 @@ extends AbstractProcessorSharingSimQueue<J, Q>
   /** Performs sanity checks and administers the job's initial obtained service time.
    * 
    * @see #getServiceTimeForJob
-   * @see #obtainedServiceTimeMap
+   * @see #getMinimumObtainedServiceTime
    * 
    */
   @Override
@@ -527,9 +869,7 @@ extends AbstractProcessorSharingSimQueue<J, Q>
     final double jobRequiredServiceTime = getServiceTimeForJob (job);
     if (jobRequiredServiceTime < 0)
       throw new RuntimeException ();
-    if (! this.obtainedServiceTimeMap.containsKey (0.0))
-      this.obtainedServiceTimeMap.put (0.0, new LinkedHashSet<> ());
-    this.obtainedServiceTimeMap.get (0.0).add (job);
+    addJobToInternalAdministration (job, jobRequiredServiceTime);
   }
 
   /** Reschedules due to the start of a job,
@@ -623,17 +963,17 @@ extends AbstractProcessorSharingSimQueue<J, Q>
     if ((! Double.isNaN (this.lastCatchUpTime)) && this.lastCatchUpTime > time)
       throw new IllegalStateException ();
     final boolean recentCatchUp = (! Double.isNaN (this.lastCatchUpTime)) && this.lastCatchUpTime >= time - CUPS.TOLERANCE_OST;
-    final int oldObtainedServiceTimeMapSize = this.obtainedServiceTimeMap.size ();
-    if (oldObtainedServiceTimeMapSize < 2 && ! recentCatchUp)
+    final int oldNumberOfGroups = this.numberOfGroups;
+    if (oldNumberOfGroups < 2 && ! recentCatchUp)
       // We are mis-scheduled and there has been no recent catch-up to justify it.
       throw new IllegalStateException ("illegally scheduled catch-up event at t=" + time
-        + ", old obtained service-time map: " + this.obtainedServiceTimeMap + ".");
+        + ", old number of groups: " + oldNumberOfGroups + ".");
     update (time);
-    if (this.obtainedServiceTimeMap.size () != oldObtainedServiceTimeMapSize - 1 && ! recentCatchUp)
+    if (this.numberOfGroups != oldNumberOfGroups - 1 && ! recentCatchUp)
       // No catch up took place in the update and there has been no recent catch-up to justify it.
       throw new IllegalStateException ("missed catch-up at t=" + time
-        + ": old number of groups: " + oldObtainedServiceTimeMapSize
-        + ", new obtained service-time map: " + this.obtainedServiceTimeMap + ".");
+        + ": old number of groups: " + oldNumberOfGroups
+        + ", new number of groups: " + this.numberOfGroups + ".");
     rescheduleDepartureEvent ();
     rescheduleCatchUpEvent ();
   }
@@ -702,8 +1042,8 @@ extends AbstractProcessorSharingSimQueue<J, Q>
     sanityInternalAdministration ();
     if (hasJobsInServiceArea ())
     {
-      final Set<J> jobsExecuting = getJobsExecuting ();
-      if (jobsExecuting.isEmpty ())
+      final int numberOfJobsExecuting = getNumberOfJobsExecuting ();
+      if (numberOfJobsExecuting == 0)
         throw new IllegalStateException ();
       if (Double.isInfinite (getLastUpdateTime ()))
       {
@@ -712,38 +1052,24 @@ extends AbstractProcessorSharingSimQueue<J, Q>
         // because if finite, they should gave departed upon start already.
         // Other than that, there is nothing to do at positive or negative infinity,
         // because jobs with infinite service-time requirement never depart.
-        for (final J job : getJobsInServiceArea ())
-          if (Double.isFinite (getServiceTimeForJob (job)))
-            throw new IllegalStateException ();
+        if (isFullValidation ())
+          for (final J job : getJobsInServiceArea ())
+            if (Double.isFinite (getServiceTimeForJob (job)))
+              throw new IllegalStateException ();
       }
       else
       {
         // The current time is finite.
         // Find the job among those executing that is first to leave.
-        // In fact, given the CUPS scheduling, that is always the candidate job with the minimum REQUIRED service time.
+        // In fact, given the CUPS scheduling, that is always the candidate job with the minimum REQUIRED service time,
+        // with ties broken in start order.
         // (Since all jobs executing have identical obtained service times.)
-        boolean first = true;
-        J leaver = null;
-        double rst_leaver = Double.POSITIVE_INFINITY;
-        for (final J job : jobsExecuting)
-          if (first)
-          {
-            first = false;
-            leaver = job;
-            rst_leaver = getServiceTimeForJob (job); 
-          }
-          else
-          {
-            final double rst_job = getServiceTimeForJob (job);
-            if (rst_job < rst_leaver)
-            {
-              leaver = job;
-              rst_leaver = rst_job;
-            }
-          }
+        // That job is at the root of the heap of the executing group.
+        final int leaverSlot = this.groupRoot[this.topGroup];
+        final J leaver = getJobSlots ().getJob (leaverSlot);
+        final double rst_leaver = this.requiredServiceTime.array ()[leaverSlot];
         if (Double.isFinite (rst_leaver))
         {
-          final int numberOfJobsExecuting = jobsExecuting.size ();
           final double ost = getMinimumObtainedServiceTime ();
           final double timeToDeparture = Math.max (rst_leaver - ost, 0.0) * numberOfJobsExecuting;
           scheduleDepartureEvent (getLastUpdateTime () + timeToDeparture, leaver);
@@ -830,7 +1156,7 @@ extends AbstractProcessorSharingSimQueue<J, Q>
   protected final void rescheduleCatchUpEvent ()
   {
     cancelCatchUpEvent ();
-    if (this.obtainedServiceTimeMap.size () >= 2)
+    if (this.numberOfGroups >= 2)
     {
       final double time = getLastUpdateTime ();
       final double timeToCatchUp = getTimeToCatchUp ();
@@ -67,11 +67,22 @@ extends SimJQEvent<J, Q>
   public SimQueueCatchUpEvent
   (final Q queue, final double catchUpTime, final SimEventAction<J> action)
   {
-    super ("CatchUp@" + queue, catchUpTime, queue, null, action);
+    super (null, catchUpTime, queue, null, action);
     if (action == null)
       throw new IllegalArgumentException ();
   }
 
+  /** Returns "CatchUp@", followed by the queue.
+   * 
+   * @return "CatchUp@", followed by the queue.
+   * 
+   */
+  @Override
+  protected final String createDefaultName ()
+  {
+    return "CatchUp@" + getQueue ();
+  }
+  
   /** Throws an {@link UnsupportedOperationException}.
    * 
    * <p>
@@ -16,13 +16,12 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue.processorsharing;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
 import org.javades.jqueues.r5.entity.jq.SimJQEvent;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueJobSlots;
 import org.javades.jsimulation.r5.SimEventList;
 
 /** The single-server "social processor-sharing" queue serves jobs in the service area simultaneously
@@ -148,31 +147,165 @@ extends AbstractProcessorSharingSimQueue<J, Q>
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // INTERNAL (STATE) ADMINISTRATION
-  // - remainingServiceTime
+  // - scaledRemainingServiceTime
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** The per-job (in the service area) remaining service time.
+  /** The per-job (in the service area) scaled remaining service time, stored in the job slots of this queue.
+   * 
+   * <p>
+   * Since the service rate of a job in the service area is linearly proportional to its remaining service time,
+   * all (finite) remaining service times shrink by the same factor during an update.
+   * Hence, we store the remaining service time of a job divided by a (global) {@link #scale} at the time it started,
+   * and obtain its actual remaining service time by multiplying the stored value with the current scale,
+   * see {@link #getRemainingServiceTime}.
+   * 
+   * <p>
+   * Jobs in the waiting area (and free slots) hold zero scaled remaining service time.
    * 
    * <p>
    * Not intended to be modified by sub-classes!
    * 
+   * @see #getJobSlots
+   * @see #getRemainingServiceTime
+   * 
    */
-  protected final Map<J, Double> remainingServiceTime = new HashMap<> ();
+  protected final SimQueueJobSlots<J>.Doubles scaledRemainingServiceTime = getJobSlots ().newDoubles (0.0);
 
+  /** The scale of the (finite) values in {@link #scaledRemainingServiceTime}.
+   * 
+   */
+  private double scale = 1.0;
+  
+  /** The sum of the (finite) values in {@link #scaledRemainingServiceTime}.
+   * 
+   */
+  private double scaledRemainingWork = 0.0;
+  
+  /** The number of jobs in the service area with infinite remaining service time.
+   * 
+   */
+  private int numberOfJobsWithInfiniteRemainingServiceTime = 0;
+  
+  /** The scale below which the scaled remaining service times are renormalized (in order to prevent overflow).
+   * 
+   */
+  private static final double MIN_SCALE = 1.0E-100;
+  
+  /** Gets the remaining service time of a job.
+   * 
+   * @param job The job.
+   * 
+   * @return The remaining service time of the job, zero if it is not in the service area (or not present at all).
+   * 
+   * @see #scaledRemainingServiceTime
+   * 
+   */
+  protected final double getRemainingServiceTime (final J job)
+  {
+    final double scaledRst_j = this.scaledRemainingServiceTime.get (job);
+    if (Double.isInfinite (scaledRst_j))
+      return scaledRst_j;
+    return this.scale * scaledRst_j;
+  }
+  
   /** Gets the total remaining work, i.e., the sum of remaining service times of all jobs in the service area.
    * 
    * @return The total remaining work, non-negative.
    * 
-   * @see #remainingServiceTime
+   * @see #getRemainingServiceTime
    * 
    */
   protected final double getRemainingWork ()
   {
-    double remainingWork = 0;
-    for (double remainingWork_j : this.remainingServiceTime.values ())
-      remainingWork += remainingWork_j;
-    return remainingWork;
+    if (this.numberOfJobsWithInfiniteRemainingServiceTime > 0)
+      return Double.POSITIVE_INFINITY;
+    return Math.max (0.0, this.scale * this.scaledRemainingWork);
+  }
+  
+  /** Sets the remaining service time of a job, and updates the total remaining work.
+   * 
+   * @param job                  The job.
+   * @param remainingServiceTime The new remaining service time, non-negative.
+   * 
+   */
+  private void setRemainingServiceTime (final J job, final double remainingServiceTime)
+  {
+    final double oldScaledRst_j = this.scaledRemainingServiceTime.get (job);
+    if (Double.isInfinite (oldScaledRst_j))
+      this.numberOfJobsWithInfiniteRemainingServiceTime--;
+    else
+      this.scaledRemainingWork -= oldScaledRst_j;
+    final double newScaledRst_j;
+    if (Double.isInfinite (remainingServiceTime))
+    {
+      newScaledRst_j = remainingServiceTime;
+      this.numberOfJobsWithInfiniteRemainingServiceTime++;
+    }
+    else
+    {
+      newScaledRst_j = remainingServiceTime / this.scale;
+      this.scaledRemainingWork += newScaledRst_j;
+    }
+    this.scaledRemainingServiceTime.set (job, newScaledRst_j);
+    if (! hasJobsInServiceAreaWithRemainingWork ())
+      resetScale ();
+  }
+  
+  /** Returns whether any job holds non-zero scaled remaining service time.
+   * 
+   * @return Whether any job holds non-zero scaled remaining service time.
+   * 
+   */
+  private boolean hasJobsInServiceAreaWithRemainingWork ()
+  {
+    return this.numberOfJobsWithInfiniteRemainingServiceTime > 0 || this.scaledRemainingWork > 0;
+  }
+  
+  /** Resets the scale to unity, in absence of (finite) remaining work.
+   * 
+   * <p>
+   * Also removes any accumulated rounding error in {@link #scaledRemainingWork}.
+   * 
+   */
+  private void resetScale ()
+  {
+    this.scale = 1.0;
+    this.scaledRemainingWork = 0.0;
+  }
+  
+  /** Multiplies all (finite) scaled remaining service times with the scale, and resets the scale to unity.
+   * 
+   * <p>
+   * Takes time linear in the number of job slots, but only invoked when the scale becomes very small.
+   * 
+   */
+  private void renormalize ()
+  {
+    final double[] scaledRemainingServiceTimes = this.scaledRemainingServiceTime.array ();
+    final int capacity = getJobSlots ().getCapacity ();
+    double scaledRemainingWork = 0;
+    for (int slot = 0; slot < capacity; slot++)
+      if (Double.isFinite (scaledRemainingServiceTimes[slot]))
+      {
+        scaledRemainingServiceTimes[slot] *= this.scale;
+        scaledRemainingWork += scaledRemainingServiceTimes[slot];
+      }
+    this.scale = 1.0;
+    this.scaledRemainingWork = scaledRemainingWork;
+  }
+  
+  /** Sets all (finite) scaled remaining service times to zero.
+   * 
+   */
+  private void clearFiniteRemainingServiceTimes ()
+  {
+    final double[] scaledRemainingServiceTimes = this.scaledRemainingServiceTime.array ();
+    final int capacity = getJobSlots ().getCapacity ();
+    for (int slot = 0; slot < capacity; slot++)
+      if (Double.isFinite (scaledRemainingServiceTimes[slot]))
+        scaledRemainingServiceTimes[slot] = 0;
+    resetScale ();
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -181,16 +314,18 @@ extends AbstractProcessorSharingSimQueue<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Calls super method and clears the internal administration.
+  /** Calls super method (which also clears the internal administration).
    * 
-   * @see #remainingServiceTime
+   * @see #scaledRemainingServiceTime
    * 
    */
   @Override
   protected final void resetEntitySubClass ()
   {
     super.resetEntitySubClass ();
-    this.remainingServiceTime.clear ();
+    // Note that the scaled remaining service times are cleared along with the job slots.
+    resetScale ();
+    this.numberOfJobsWithInfiniteRemainingServiceTime = 0;
     // Note that we use eventsScheduled in order to automatically have departure events cancelled.
   }
   
@@ -206,11 +341,17 @@ extends AbstractProcessorSharingSimQueue<J, Q>
    * This method is called as an pre-update hook, and not meant to be called from user code (in sub-classes).
    * It is left protected for {@code javadoc}.
    * 
+   * <p>
+   * With finite remaining work {@code W} and elapsed time {@code dT},
+   * all remaining service times shrink by the factor {@code 1 - dT / W},
+   * which is applied to the {@link #scale} in constant time.
+   * With infinite remaining work, the (finite) remaining service times do not change.
+   * 
    * @param newTime The new time.
    * 
    * @see #hasJobsInServiceArea
    * @see #getLastUpdateTime
-   * @see #remainingServiceTime
+   * @see #scaledRemainingServiceTime
    * @see #registerPreUpdateHook
    * 
    */
@@ -221,27 +362,48 @@ extends AbstractProcessorSharingSimQueue<J, Q>
     if (newTime == getLastUpdateTime ())
       return;
     final double dT = newTime - getLastUpdateTime ();
-    final double oldRemainingWork = getRemainingWork ();
-    for (final J job : getJobsInServiceArea ())
+    if (isFullValidation ())
     {
-      if (! this.remainingServiceTime.containsKey (job))
-        throw new IllegalStateException ();
-      double newRst_j;
-      if (oldRemainingWork < SocPS.TOLERANCE_RST)
-        newRst_j = 0;
-      else
-      {
-        final double oldRst_j = this.remainingServiceTime.get (job);
-        if (oldRst_j < 0)
+      for (final J job : getJobsInServiceArea ())
+        if (getJobSlot (job) < 0)
           throw new IllegalStateException ();
-        newRst_j = oldRst_j - (oldRst_j / oldRemainingWork) * dT;
-        if (newRst_j < - SocPS.TOLERANCE_RST)
+      final double[] scaledRemainingServiceTimes = this.scaledRemainingServiceTime.array ();
+      final int capacity = getJobSlots ().getCapacity ();
+      double scaledRemainingWork = 0;
+      int numberOfJobsWithInfiniteRemainingServiceTime = 0;
+      for (int slot = 0; slot < capacity; slot++)
+        if (scaledRemainingServiceTimes[slot] < 0)
           throw new IllegalStateException ();
-        if (newRst_j < 0)
-          newRst_j = 0;
-      }
-      this.remainingServiceTime.put (job, newRst_j);
+        else if (Double.isInfinite (scaledRemainingServiceTimes[slot]))
+          numberOfJobsWithInfiniteRemainingServiceTime++;
+        else
+          scaledRemainingWork += scaledRemainingServiceTimes[slot];
+      if (numberOfJobsWithInfiniteRemainingServiceTime != this.numberOfJobsWithInfiniteRemainingServiceTime
+      ||  Math.abs (this.scale * (scaledRemainingWork - this.scaledRemainingWork)) > SocPS.TOLERANCE_RST)
+        throw new IllegalStateException ();
     }
+    if (! hasJobsInServiceAreaWithRemainingWork ())
+      return;
+    final double oldRemainingWork = getRemainingWork ();
+    if (Double.isInfinite (oldRemainingWork))
+      // The (finite) remaining service times do not change.
+      return;
+    if (oldRemainingWork < SocPS.TOLERANCE_RST)
+    {
+      clearFiniteRemainingServiceTimes ();
+      return;
+    }
+    final double newRemainingWork = oldRemainingWork - dT;
+    if (newRemainingWork < - SocPS.TOLERANCE_RST)
+      throw new IllegalStateException ();
+    if (newRemainingWork <= 0)
+    {
+      clearFiniteRemainingServiceTimes ();
+      return;
+    }
+    this.scale *= (newRemainingWork / oldRemainingWork);
+    if (this.scale < SocPS.MIN_SCALE)
+      renormalize ();
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -316,11 +478,11 @@ extends AbstractProcessorSharingSimQueue<J, Q>
   /** Removes the jobs from the internal data structures.
    * 
    * <p>
-   * Removes the job {@link #remainingServiceTime}.
+   * Resets the remaining service time of the job in {@link #scaledRemainingServiceTime}.
    * 
    * @see #revoke
    * @see #autoRevoke
-   * @see #remainingServiceTime
+   * @see #scaledRemainingServiceTime
    * @see #rescheduleAfterRevokation
    * 
    */
@@ -331,7 +493,7 @@ extends AbstractProcessorSharingSimQueue<J, Q>
       throw new IllegalArgumentException ();
     if (! isJob (job))
       throw new IllegalArgumentException ();
-    this.remainingServiceTime.remove (job);
+    setRemainingServiceTime (job, 0.0);
   }
 
   /** Calls {@link #rescheduleDepartureEvent}.
@@ -369,15 +531,14 @@ extends AbstractProcessorSharingSimQueue<J, Q>
    * 
    * @see #hasServerAcccessCredits
    * @see #hasJobsInWaitingArea
-   * @see #start
+   * @see #startJobs
    * @see #getFirstJobInWaitingArea
    * 
    */
   @Override
   protected final void rescheduleForNewServerAccessCredits (final double time)
   {
-    while (hasServerAcccessCredits () && hasJobsInWaitingArea ())
-      start (time, getFirstJobInWaitingArea ());
+    startJobs (time, () -> getFirstJobInWaitingArea ());
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -406,7 +567,7 @@ extends AbstractProcessorSharingSimQueue<J, Q>
   /** Performs sanity checks and administers the job's initial remaining service time.
    * 
    * @see #getServiceTimeForJob
-   * @see #remainingServiceTime
+   * @see #scaledRemainingServiceTime
    * 
    */
   @Override
@@ -415,12 +576,12 @@ extends AbstractProcessorSharingSimQueue<J, Q>
     if (job == null
     || (! getJobs ().contains (job))
     || isJobInServiceArea (job)
-    || this.remainingServiceTime.containsKey (job))
+    || this.scaledRemainingServiceTime.get (job) != 0)
       throw new IllegalArgumentException ();
     final double jobRequiredServiceTime = getServiceTimeForJob (job);
     if (jobRequiredServiceTime < 0)
       throw new RuntimeException ();
-    this.remainingServiceTime.put (job, jobRequiredServiceTime);
+    setRemainingServiceTime (job, jobRequiredServiceTime);
   }
 
   /** Invokes {@link #rescheduleDepartureEvent}.
@@ -434,8 +595,7 @@ extends AbstractProcessorSharingSimQueue<J, Q>
   {
     if (job == null
     || (! getJobs ().contains (job))
-    || (! getJobsInServiceArea ().contains (job))
-    || (! this.remainingServiceTime.containsKey (job)))
+    || (! getJobsInServiceArea ().contains (job)))
       throw new IllegalArgumentException ();
     rescheduleDepartureEvent ();
   }
@@ -493,7 +653,7 @@ extends AbstractProcessorSharingSimQueue<J, Q>
     if (departedJob == null
     ||  isJob (departedJob)
     ||  isJobInServiceArea (departedJob)
-    ||  this.remainingServiceTime.containsKey (departedJob))
+    ||  getJobSlot (departedJob) >= 0)
       throw new IllegalArgumentException ();
     if (hasJobsInServiceArea ())
       depart (time, getFirstJobInServiceArea ());
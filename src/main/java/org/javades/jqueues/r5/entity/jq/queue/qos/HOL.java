@@ -20,6 +20,7 @@ import java.util.LinkedHashSet;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.ToIntFunction;
 import org.javades.jqueues.r5.entity.jq.SimJQEvent;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
@@ -64,9 +65,43 @@ implements SimQueueQoS<J, Q, P>
   public HOL (final SimEventList eventList, final Class<P> qosClass, final P defaultJobQoS)
   {
     super (eventList, qosClass, defaultJobQoS);
+    this.jobsQoSBuckets = null;
+  }
+
+  /** Creates a new {@link HOL} that indexes its jobs on QoS value in buckets.
+   * 
+   * <p>
+   * The bucket order must be consistent with the natural ordering of the QoS values.
+   * 
+   * @param eventList       The event list to use, non-{@code null}.
+   * @param qosClass        The Java class to use for QoS behavior, non-{@code null}.
+   * @param defaultJobQoS   The default QoS value to use for non-QoS jobs, non-{@code null}. 
+   * @param numberOfBuckets The number of QoS buckets, strictly positive.
+   * @param bucketFunction  The mapping from QoS values onto bucket indices, non-{@code null}.
+   * 
+   * @throws IllegalArgumentException If any of the arguments is <code>null</code>,
+   *                                  if the number of buckets is zero or negative,
+   *                                  or if the default job QoS maps outside the bucket range.
+   * 
+   * @see SimQueueQoSBuckets
+   * 
+   */
+  public HOL
+  (final SimEventList eventList,
+    final Class<P> qosClass,
+    final P defaultJobQoS,
+    final int numberOfBuckets,
+    final ToIntFunction<? super P> bucketFunction)
+  {
+    super (eventList, qosClass, defaultJobQoS);
+    this.jobsQoSBuckets = new SimQueueQoSBuckets<> (numberOfBuckets, bucketFunction);
+    this.jobsQoSBuckets.getBucket (defaultJobQoS);
   }
 
   /** Returns a new {@link HOL} object on the same {@link SimEventList} with the same QoS structure.
+   * 
+   * <p>
+   * The new queue uses QoS buckets if and only if this queue does (with the same bucket function).
    * 
    * @return A new {@link HOL} object on the same {@link SimEventList} with the same QoS structure.
    * 
@@ -78,7 +113,15 @@ implements SimQueueQoS<J, Q, P>
   @Override
   public HOL<J, Q, P> getCopySimQueue () throws UnsupportedOperationException
   {
-    return new HOL (getEventList (), getQoSClass (), getDefaultJobQoS ());
+    if (this.jobsQoSBuckets == null)
+      return new HOL (getEventList (), getQoSClass (), getDefaultJobQoS ());
+    else
+      return new HOL
+        (getEventList (),
+          getQoSClass (),
+          getDefaultJobQoS (),
+          this.jobsQoSBuckets.getNumberOfBuckets (),
+          this.jobsQoSBuckets.getBucketFunction ());
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -104,12 +147,28 @@ implements SimQueueQoS<J, Q, P>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
+  /** The jobs per QoS value, unless {@link #jobsQoSBuckets} is used.
+   * 
+   */
   protected final NavigableMap<P, Set<J>> jobsQoSMap = new TreeMap<> ();
   
+  /** The QoS bucket index of the jobs, if used (instead of {@link #jobsQoSMap}).
+   * 
+   */
+  protected final SimQueueQoSBuckets<J, P> jobsQoSBuckets;
+  
+  /** Returns {@link #jobsQoSMap}, or a new map obtained from {@link #jobsQoSBuckets} if the latter is used.
+   * 
+   * @return {@link #jobsQoSMap}, or a new map obtained from {@link #jobsQoSBuckets} if the latter is used.
+   * 
+   */
   @Override
   public final NavigableMap<P, Set<J>> getJobsQoSMap ()
   {
-    return this.jobsQoSMap;
+    if (this.jobsQoSBuckets == null)
+      return this.jobsQoSMap;
+    else
+      return this.jobsQoSBuckets.toMap (new TreeMap<> ());
   }
   
   /** Gets the job in the waiting area that is next to serve.
@@ -118,6 +177,7 @@ implements SimQueueQoS<J, Q, P>
    * Iterates over the job sets in increasing order of QoS value,
    * and iterates over the jobs within each set in order as enforced by the standard Java {@link Set} iterator,
    * and returns the first job it finds that is <i>not</i> in the service area.
+   * With {@link #jobsQoSBuckets}, the job sets are visited in bucket order.
    * 
    * <p>
    * This method does (some) sanity checks on {@link #jobsQoSMap} on the fly.
@@ -133,6 +193,14 @@ implements SimQueueQoS<J, Q, P>
    */
   protected final J getNextJobToServeInWaitingArea ()
   {
+    if (this.jobsQoSBuckets != null)
+    {
+      for (int b = this.jobsQoSBuckets.nextBucket (0); b >= 0; b = this.jobsQoSBuckets.nextBucket (b + 1))
+        for (final J job : this.jobsQoSBuckets.getJobs (b))
+          if (! isJobInServiceArea (job))
+            return job;
+      return null;
+    }
     for (final Set<J> jobsP: jobsQoSMap.values ())
       if (jobsP == null || jobsP.isEmpty ())
         throw new IllegalStateException ();
@@ -145,15 +213,40 @@ implements SimQueueQoS<J, Q, P>
     return null;
   }
   
+  /** Removes a job from {@link #jobsQoSMap} or {@link #jobsQoSBuckets}.
+   * 
+   * @param job The job.
+   * 
+   * @throws IllegalStateException If the job is not present.
+   * 
+   */
+  private void removeJobFromQoSMap (final J job)
+  {
+    final P qos = SimQueueQoSUtils.getAndCheckJobQoS (job, this);
+    if (this.jobsQoSBuckets != null)
+    {
+      this.jobsQoSBuckets.remove (qos, job);
+      return;
+    }
+    if (! this.jobsQoSMap.containsKey (qos))
+      throw new IllegalStateException ();
+    if (this.jobsQoSMap.get (qos) == null || ! this.jobsQoSMap.get (qos).contains (job))
+      throw new IllegalStateException ();
+    this.jobsQoSMap.get (qos).remove (job);
+    if (this.jobsQoSMap.get (qos).isEmpty ())
+      this.jobsQoSMap.remove (qos);
+  }
+  
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // RESET
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-  /** Calls super method and clears {@link #jobsQoSMap}.
+  /** Calls super method and clears {@link #jobsQoSMap} and (if used) {@link #jobsQoSBuckets}.
    * 
    * @see #jobsQoSMap
+   * @see #jobsQoSBuckets
    * 
    */
   @Override
@@ -161,6 +254,8 @@ implements SimQueueQoS<J, Q, P>
   {
     super.resetEntitySubClass ();
     this.jobsQoSMap.clear ();
+    if (this.jobsQoSBuckets != null)
+      this.jobsQoSBuckets.clear ();
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -169,7 +264,7 @@ implements SimQueueQoS<J, Q, P>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Inserts the job {@link #jobsQoSMap}.
+  /** Inserts the job {@link #jobsQoSMap} or {@link #jobsQoSBuckets}.
    * 
    * @see SimQueueQoSUtils#getAndCheckJobQoS
    * 
@@ -178,9 +273,14 @@ implements SimQueueQoS<J, Q, P>
   protected final void insertJobInQueueUponArrival (final J job, final double time)
   {
     final P qos = SimQueueQoSUtils.getAndCheckJobQoS (job, this);
-    if (! this.jobsQoSMap.containsKey (qos))
-      this.jobsQoSMap.put (qos, new LinkedHashSet<> ());
-    this.jobsQoSMap.get (qos).add (job);
+    if (this.jobsQoSBuckets != null)
+      this.jobsQoSBuckets.add (qos, job);
+    else
+    {
+      if (! this.jobsQoSMap.containsKey (qos))
+        this.jobsQoSMap.put (qos, new LinkedHashSet<> ());
+      this.jobsQoSMap.get (qos).add (job);
+    }
   }
 
   /** Starts the arrived job if server-access credits are available and if there are no jobs in the service area.
@@ -237,7 +337,7 @@ implements SimQueueQoS<J, Q, P>
    * <p>
    * If the job is in service, its departure event is canceled through {@link #cancelDepartureEvent}.
    * Subsequently, whether the job was in service or not,
-   * it is removed from {@link #jobsQoSMap}.
+   * it is removed from {@link #jobsQoSMap} (or {@link #jobsQoSBuckets}).
    * 
    * @see #cancelDepartureEvent
    * @see #jobsQoSMap
@@ -248,14 +348,7 @@ implements SimQueueQoS<J, Q, P>
   {
     if (isJobInServiceArea (job))
       cancelDepartureEvent (job);
-    final P qos = SimQueueQoSUtils.getAndCheckJobQoS (job, this);
-    if (! this.jobsQoSMap.containsKey (qos))
-      throw new IllegalStateException ();
-    if (this.jobsQoSMap.get (qos) == null || ! this.jobsQoSMap.get (qos).contains (job))
-      throw new IllegalStateException ();
-    this.jobsQoSMap.get (qos).remove (job);
-    if (this.jobsQoSMap.get (qos).isEmpty ())
-      this.jobsQoSMap.remove (qos);
+    removeJobFromQoSMap (job);
   }
 
   /** Starts the next job in the waiting area if server-access credits are available and if there are no jobs in the service area.
@@ -415,7 +508,7 @@ implements SimQueueQoS<J, Q, P>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Removes the departing job from {@link #jobsQoSMap}.
+  /** Removes the departing job from {@link #jobsQoSMap} (or {@link #jobsQoSBuckets}).
    * 
    * @throws IllegalStateException If the job is not in the map.
    * 
@@ -425,14 +518,7 @@ implements SimQueueQoS<J, Q, P>
   @Override
   protected final void removeJobFromQueueUponDeparture (final J departingJob, final double time)
   {
-    final P qos = SimQueueQoSUtils.getAndCheckJobQoS (departingJob, this);
-    if (! this.jobsQoSMap.containsKey (qos))
-      throw new IllegalStateException ();
-    if (this.jobsQoSMap.get (qos) == null || ! this.jobsQoSMap.get (qos).contains (departingJob))
-      throw new IllegalStateException ();
-    this.jobsQoSMap.get (qos).remove (departingJob);
-    if (this.jobsQoSMap.get (qos).isEmpty ())
-      this.jobsQoSMap.remove (qos);
+    removeJobFromQoSMap (departingJob);
   }
 
   /** Starts the next job in the waiting area (if available) if server-access credits are available.
@@ -16,10 +16,15 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue.qos;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.ToIntFunction;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
 import org.javades.jqueues.r5.entity.jq.queue.processorsharing.AbstractEgalitarianProcessorSharingSimQueue;
@@ -86,9 +91,45 @@ implements SimQueueQoS<J, Q, P>
       throw new IllegalArgumentException ();
     this.qosClass = qosClass;
     this.defaultJobQoS = defaultJobQoS;
+    this.jobsQoSBuckets = null;
+  }
+  
+  /** Creates a single-server HOL-PS queue with infinite buffer size given an event list,
+   *  that indexes its jobs on QoS value in buckets.
+   *
+   * @param eventList       The event list to use.
+   * @param qosClass        The Java class to use for QoS behavior, non-{@code null}.
+   * @param defaultJobQoS   The default QoS value to use for non-QoS jobs, non-{@code null}. 
+   * @param numberOfBuckets The number of QoS buckets, strictly positive.
+   * @param bucketFunction  The mapping from QoS values onto bucket indices, non-{@code null}.
+   * 
+   * @throws IllegalArgumentException If any of the arguments is <code>null</code>,
+   *                                  if the number of buckets is zero or negative,
+   *                                  or if the default job QoS maps outside the bucket range.
+   * 
+   * @see SimQueueQoSBuckets
+   *
+   */
+  public HOL_PS
+  (final SimEventList eventList,
+    final Class<P> qosClass,
+    final P defaultJobQoS,
+    final int numberOfBuckets,
+    final ToIntFunction<? super P> bucketFunction)
+  {
+    super (eventList, Integer.MAX_VALUE, 1);
+    if (qosClass == null || defaultJobQoS == null)
+      throw new IllegalArgumentException ();
+    this.qosClass = qosClass;
+    this.defaultJobQoS = defaultJobQoS;
+    this.jobsQoSBuckets = new SimQueueQoSBuckets<> (numberOfBuckets, bucketFunction);
+    this.jobsQoSBuckets.getBucket (defaultJobQoS);
   }
   
   /** Returns a new {@link HOL_PS} object on the same {@link SimEventList} and the same QoS structure.
+   * 
+   * <p>
+   * The new queue uses QoS buckets if and only if this queue does (with the same bucket function).
    * 
    * @return A new {@link HOL_PS} object on the same {@link SimEventList} and the same QoS structure.
    * 
@@ -100,7 +141,15 @@ implements SimQueueQoS<J, Q, P>
   @Override
   public HOL_PS<J, Q, P> getCopySimQueue ()
   {
-    return new HOL_PS (getEventList (), getQoSClass (), getDefaultJobQoS ());
+    if (this.jobsQoSBuckets == null)
+      return new HOL_PS (getEventList (), getQoSClass (), getDefaultJobQoS ());
+    else
+      return new HOL_PS
+        (getEventList (),
+          getQoSClass (),
+          getDefaultJobQoS (),
+          this.jobsQoSBuckets.getNumberOfBuckets (),
+          this.jobsQoSBuckets.getBucketFunction ());
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -189,12 +238,61 @@ implements SimQueueQoS<J, Q, P>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
+  /** The jobs per QoS value, unless {@link #jobsQoSBuckets} is used.
+   * 
+   */
   protected final Map<P, Set<J>> jobsQoSMap = new HashMap<> ();
   
+  /** The QoS bucket index of the jobs, if used (instead of {@link #jobsQoSMap}).
+   * 
+   */
+  protected final SimQueueQoSBuckets<J, P> jobsQoSBuckets;
+  
+  /** Returns {@link #jobsQoSMap}, or a new map obtained from {@link #jobsQoSBuckets} if the latter is used.
+   * 
+   * @return {@link #jobsQoSMap}, or a new map obtained from {@link #jobsQoSBuckets} if the latter is used.
+   * 
+   */
   @Override
   public final Map<P, Set<J>> getJobsQoSMap ()
   {
-    return this.jobsQoSMap;
+    if (this.jobsQoSBuckets == null)
+      return this.jobsQoSMap;
+    else
+      return this.jobsQoSBuckets.toMap (new LinkedHashMap<> ());
+  }
+  
+  /** Returns the number of jobs present with given QoS value.
+   * 
+   * @param qos The QoS value.
+   * 
+   * @return The number of jobs present with the QoS value.
+   * 
+   */
+  private int getNumberOfJobsWithQoS (final P qos)
+  {
+    if (this.jobsQoSBuckets != null)
+      return this.jobsQoSBuckets.size (qos);
+    final Set<J> jobsP = this.jobsQoSMap.get (qos);
+    return jobsP != null ? jobsP.size () : 0;
+  }
+  
+  /** Returns the first job (in arrival order) present with given QoS value.
+   * 
+   * <p>
+   * This is the only job with that QoS value that may be in the service area.
+   * 
+   * @param qos The QoS value.
+   * 
+   * @return The first job present with the QoS value, {@code null} if there is no such job.
+   * 
+   */
+  private J getFirstJobWithQoS (final P qos)
+  {
+    if (this.jobsQoSBuckets != null)
+      return this.jobsQoSBuckets.getFirstJob (qos);
+    final Set<J> jobsP = this.jobsQoSMap.get (qos);
+    return jobsP != null ? jobsP.iterator ().next () : null;
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -203,7 +301,7 @@ implements SimQueueQoS<J, Q, P>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Calls super method and clears {@link #jobsQoSMap}.
+  /** Calls super method and clears {@link #jobsQoSMap} and (if used) {@link #jobsQoSBuckets}.
    * 
    */
   @Override
@@ -211,6 +309,8 @@ implements SimQueueQoS<J, Q, P>
   {
     super.resetEntitySubClass ();
     this.jobsQoSMap.clear ();
+    if (this.jobsQoSBuckets != null)
+      this.jobsQoSBuckets.clear ();
   }
     
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -219,10 +319,11 @@ implements SimQueueQoS<J, Q, P>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Inserts the job into {@link #jobsQoSMap}.
+  /** Inserts the job into {@link #jobsQoSMap} or {@link #jobsQoSBuckets}.
    * 
    * @see #arrive
    * @see #jobsQoSMap
+   * @see #jobsQoSBuckets
    * @see #rescheduleAfterArrival
    * 
    */
@@ -230,9 +331,14 @@ implements SimQueueQoS<J, Q, P>
   protected final void insertJobInQueueUponArrival (final J job, final double time)
   {
     final P qos = SimQueueQoSUtils.getAndCheckJobQoS (job, this);
-    if (! this.jobsQoSMap.containsKey (qos))
-      this.jobsQoSMap.put (qos, new LinkedHashSet<> ());
-    this.jobsQoSMap.get (qos).add (job);
+    if (this.jobsQoSBuckets != null)
+      this.jobsQoSBuckets.add (qos, job);
+    else
+    {
+      if (! this.jobsQoSMap.containsKey (qos))
+        this.jobsQoSMap.put (qos, new LinkedHashSet<> ());
+      this.jobsQoSMap.get (qos).add (job);
+    }
   }
 
   /** Starts the arrived job if server-access credits are available and there are no other jobs present with the same QoS value.
@@ -253,11 +359,14 @@ implements SimQueueQoS<J, Q, P>
     if (hasServerAcccessCredits ())
     {
       final P qos = SimQueueQoSUtils.getAndCheckJobQoS (job, this);
-      if (! this.jobsQoSMap.get (qos).contains (job))
+      final boolean present = (this.jobsQoSBuckets != null)
+        ? this.jobsQoSBuckets.contains (qos, job)
+        : this.jobsQoSMap.get (qos).contains (job);
+      if (! present)
         throw new IllegalArgumentException ();
-      if (this.jobsQoSMap.get (qos).size () == 1)
+      if (getNumberOfJobsWithQoS (qos) == 1)
         start (time, job);
-      else if (! isJobInServiceArea (this.jobsQoSMap.get (qos).iterator ().next ()))
+      else if (! isJobInServiceArea (getFirstJobWithQoS (qos)))
         throw new IllegalStateException ();
     }
   }
@@ -329,6 +438,11 @@ implements SimQueueQoS<J, Q, P>
       this.virtualDepartureTime.remove (job);
     }
     final P qos = SimQueueQoSUtils.getAndCheckJobQoS (job, this);
+    if (this.jobsQoSBuckets != null)
+    {
+      this.jobsQoSBuckets.remove (qos, job);
+      return;
+    }
     if (! this.jobsQoSMap.get (qos).contains (job))
       throw new IllegalArgumentException ();
     this.jobsQoSMap.get (qos).remove (job);
@@ -358,11 +472,12 @@ implements SimQueueQoS<J, Q, P>
     if (job == null)
       throw new IllegalArgumentException ();
     final P qos = SimQueueQoSUtils.getAndCheckJobQoS (job, this);
-    if (this.jobsQoSMap.containsKey (qos)
+    final J nextJob = getFirstJobWithQoS (qos);
+    if (nextJob != null
       && hasServerAcccessCredits ()
       // Next check is unnecessary for departure handling, but a revocation may have been from the waiting area!
-      && ! isJobInServiceArea (this.jobsQoSMap.get (qos).iterator ().next ()))
-      start (time, this.jobsQoSMap.get (qos).iterator ().next ());
+      && ! isJobInServiceArea (nextJob))
+      start (time, nextJob);
     else
       rescheduleDepartureEvent ();
   }
@@ -387,39 +502,54 @@ implements SimQueueQoS<J, Q, P>
    * <p>
    * A job is eligible to start if it resides in the waiting area and the service area currently does not contain
    * a (another) job with the same QoS value.
+   * In other words, the eligible jobs are the first jobs of their respective QoS values, provided they are waiting.
+   * 
+   * <p>
+   * Starting a job only blocks jobs with the same QoS value, so the eligible jobs are collected
+   * in a single pass over the waiting area, and then started in arrival order,
+   * taking time linear in the number of waiting jobs.
+   * A start may trigger departures, and (through {@link #rescheduleAfterRevokation})
+   * starts of jobs with the QoS values of the departed jobs;
+   * therefore, each collected job is checked to be still eligible before it is started.
    * 
    * @see #hasJobsInWaitingArea
    * @see #getJobsInWaitingArea
    * @see SimQueueQoSUtils#getAndCheckJobQoS
    * @see #jobsQoSMap
-   * @see #isJobInServiceArea
-   * @see #start
+   * @see #jobsQoSBuckets
+   * @see #isJobInWaitingArea
+   * @see #startJobs
    * @see #hasServerAcccessCredits
    * 
    */
   @Override
   protected final void rescheduleForNewServerAccessCredits (final double time)
   {
-    boolean hasStartableJobs = hasJobsInWaitingArea ();
-    while (hasStartableJobs)
+    if (! hasJobsInWaitingArea ())
+      return;
+    // Note: jobs are inserted in jobQueue in arrival order;
+    // our super-class (AbstractSimQueue) preserves this ordering on jobsInWaitingArea.
+    final List<J> eligibleJobs = new ArrayList<> ();
+    for (final J job : getJobsInWaitingArea ())
+    {
+      final J firstJob = getFirstJobWithQoS (SimQueueQoSUtils.getAndCheckJobQoS (job, this));
+      if (firstJob == null)
+        throw new IllegalStateException ();
+      if (firstJob == job)
+        eligibleJobs.add (job);
+    }
+    final Iterator<J> eligibleJobsIterator = eligibleJobs.iterator ();
+    startJobs (time, () ->
     {
-      boolean hasStartedJob = false;
-      // Note: jobs are inserted in jobQueue in arrival order;
-      // our super-class (AbstractSimQueue) preserves this ordering on jobsInWaitingArea.
-      for (final J job : getJobsInWaitingArea ())
+      while (eligibleJobsIterator.hasNext ())
       {
-        final P qos = SimQueueQoSUtils.getAndCheckJobQoS (job, this);
-        if (! this.jobsQoSMap.containsKey (qos))
-          throw new IllegalStateException ();
-        if (! isJobInServiceArea (this.jobsQoSMap.get (qos).iterator ().next ()))
-        {
-          start (time, this.jobsQoSMap.get (qos).iterator ().next ());
-          hasStartedJob = true;
-          break;
-        }
+        final J job = eligibleJobsIterator.next ();
+        if (isJobInWaitingArea (job)
+          && getFirstJobWithQoS (SimQueueQoSUtils.getAndCheckJobQoS (job, this)) == job)
+          return job;
       }
-      hasStartableJobs = hasStartedJob && hasServerAcccessCredits ();
-    }
+      return null;
+    });
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -20,6 +20,7 @@ import java.util.LinkedHashSet;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.ToIntFunction;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
 import org.javades.jqueues.r5.entity.jq.queue.preemptive.PreemptionStrategy;
@@ -68,9 +69,46 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
     final P defaultJobQoS)
   {
     super (eventList, Integer.MAX_VALUE, 1, preemptionStrategy, qosClass, defaultJobQoS);
+    this.jobsQoSBuckets = null;
+  }
+  
+  /** Creates a Priority Queue with infinite buffer size and a single server,
+   *  given an event list, preemption strategy, and QoS structure, that indexes its jobs on QoS value in buckets.
+   * 
+   * <p>
+   * The bucket order must be consistent with the natural ordering of the QoS values.
+   *
+   * @param eventList          The event list to use.
+   * @param preemptionStrategy The preemption strategy, if {@code null}, the default is used (preemptive-resume).
+   * @param qosClass           The Java class to use for QoS behavior, non-{@code null}.
+   * @param defaultJobQoS      The default QoS value to use for non-QoS jobs, non-{@code null}. 
+   * @param numberOfBuckets    The number of QoS buckets, strictly positive.
+   * @param bucketFunction     The mapping from QoS values onto bucket indices, non-{@code null}.
+   *
+   * @throws IllegalArgumentException If the event list, one or both QoS arguments or the bucket function is <code>null</code>,
+   *                                  if the number of buckets is zero or negative,
+   *                                  or if the default job QoS maps outside the bucket range.
+   * 
+   * @see SimQueueQoSBuckets
+   *
+   */
+  public PQ
+  (final SimEventList eventList,
+    final PreemptionStrategy preemptionStrategy,
+    final Class<P> qosClass,
+    final P defaultJobQoS,
+    final int numberOfBuckets,
+    final ToIntFunction<? super P> bucketFunction)
+  {
+    super (eventList, Integer.MAX_VALUE, 1, preemptionStrategy, qosClass, defaultJobQoS);
+    this.jobsQoSBuckets = new SimQueueQoSBuckets<> (numberOfBuckets, bucketFunction);
+    this.jobsQoSBuckets.getBucket (defaultJobQoS);
   }
   
   /** Returns a new {@link PQ} object on the same {@link SimEventList} with the same preemption strategy and QoS structure.
+   * 
+   * <p>
+   * The new queue uses QoS buckets if and only if this queue does (with the same bucket function).
    * 
    * @return A new {@link PQ} object on the same {@link SimEventList} with the same preemption strategy and QoS structure.
    * 
@@ -83,7 +121,16 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
   @Override
   public PQ<J, Q, P> getCopySimQueue ()
   {
-    return new PQ (getEventList (), getPreemptionStrategy (), getQoSClass (), getDefaultJobQoS ());
+    if (this.jobsQoSBuckets == null)
+      return new PQ (getEventList (), getPreemptionStrategy (), getQoSClass (), getDefaultJobQoS ());
+    else
+      return new PQ
+        (getEventList (),
+          getPreemptionStrategy (),
+          getQoSClass (),
+          getDefaultJobQoS (),
+          this.jobsQoSBuckets.getNumberOfBuckets (),
+          this.jobsQoSBuckets.getBucketFunction ());
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -109,12 +156,28 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
+  /** The jobs per QoS value, unless {@link #jobsQoSBuckets} is used.
+   * 
+   */
   protected final NavigableMap<P, Set<J>> jobsQoSMap = new TreeMap<> ();
   
+  /** The QoS bucket index of the jobs, if used (instead of {@link #jobsQoSMap}).
+   * 
+   */
+  protected final SimQueueQoSBuckets<J, P> jobsQoSBuckets;
+  
+  /** Returns {@link #jobsQoSMap}, or a new map obtained from {@link #jobsQoSBuckets} if the latter is used.
+   * 
+   * @return {@link #jobsQoSMap}, or a new map obtained from {@link #jobsQoSBuckets} if the latter is used.
+   * 
+   */
   @Override
   public final NavigableMap<P, Set<J>> getJobsQoSMap ()
   {
-    return this.jobsQoSMap;
+    if (this.jobsQoSBuckets == null)
+      return this.jobsQoSMap;
+    else
+      return this.jobsQoSBuckets.toMap (new TreeMap<> ());
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -123,9 +186,10 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Calls super method and clear {@link #jobsQoSMap}.
+  /** Calls super method and clear {@link #jobsQoSMap} and (if used) {@link #jobsQoSBuckets}.
    * 
    * @see #jobsQoSMap
+   * @see #jobsQoSBuckets
    * 
    */
   @Override
@@ -133,6 +197,8 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
   {
     super.resetEntitySubClass ();
     this.jobsQoSMap.clear ();
+    if (this.jobsQoSBuckets != null)
+      this.jobsQoSBuckets.clear ();
   }  
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -141,7 +207,7 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Inserts the job into {@link #jobsQoSMap}.
+  /** Inserts the job into {@link #jobsQoSMap} or {@link #jobsQoSBuckets}.
    * 
    * @see  SimQueueQoSUtils#getAndCheckJobQoS
    * 
@@ -150,9 +216,14 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
   protected final void insertJobInQueueUponArrival (final J job, final double time)
   {
     final P qos = SimQueueQoSUtils.getAndCheckJobQoS (job, this);
-    if (! this.jobsQoSMap.containsKey (qos))
-      this.jobsQoSMap.put (qos, new LinkedHashSet<> ());
-    this.jobsQoSMap.get (qos).add (job);
+    if (this.jobsQoSBuckets != null)
+      this.jobsQoSBuckets.add (qos, job);
+    else
+    {
+      if (! this.jobsQoSMap.containsKey (qos))
+        this.jobsQoSMap.put (qos, new LinkedHashSet<> ());
+      this.jobsQoSMap.get (qos).add (job);
+    }
   }
 
   /** Starts the arrived job immediately if it is the executable job (respecting server-access credits) with highest priority.
@@ -165,7 +236,10 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
   protected final void rescheduleAfterArrival (final J job, final double time)
   {
     final P qos = SimQueueQoSUtils.getAndCheckJobQoS (job, this);
-    if (! this.jobsQoSMap.get (qos).contains (job))
+    final boolean present = (this.jobsQoSBuckets != null)
+      ? this.jobsQoSBuckets.contains (qos, job)
+      : this.jobsQoSMap.get (qos).contains (job);
+    if (! present)
       throw new IllegalStateException ();
     if (getExecutableJobWithHighestPriority () == job)
       start (time, job);
@@ -220,10 +294,10 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Updates {@link #remainingServiceTime}.
+  /** Administers the remaining service time of the job.
    * 
    * @see #getServiceTimeForJob
-   * @see #remainingServiceTime
+   * @see #setRemainingServiceTime
    * 
    */
   @Override
@@ -232,17 +306,17 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
     if (job == null
     || (! isJob (job))
     || isJobInServiceArea (job)
-    || this.remainingServiceTime.containsKey (job))
+    || hasRemainingServiceTime (job))
       throw new IllegalArgumentException ();
     final double jobServiceTime = getServiceTimeForJob (job);
     if (jobServiceTime < 0)
       throw new RuntimeException ();
-    this.remainingServiceTime.put (job, jobServiceTime);
+    setRemainingServiceTime (job, jobServiceTime);
   }
 
   /** Invokes {@link #reschedule}.
    * 
-   * @see #remainingServiceTime
+   * @see #getRemainingServiceTime
    * @see #reschedule
    * 
    */
@@ -252,9 +326,9 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
     if (job == null
     || (! isJob (job))
     || (! isJobInServiceArea (job))
-    || (! this.remainingServiceTime.containsKey (job)))
+    || (! hasRemainingServiceTime (job)))
       throw new IllegalArgumentException ();
-    final double jobServiceTime = this.remainingServiceTime.get (job);
+    final double jobServiceTime = getRemainingServiceTime (job);
     if (jobServiceTime < 0)
       throw new RuntimeException ();
     reschedule ();
@@ -285,12 +359,13 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
   
   /** Removes the job from internal administration and cancels a pending departure event for it.
    * 
-   * @see #remainingServiceTime
+   * @see #getRemainingServiceTime
    * @see #jobsBeingServed
    * @see #getDepartureEvents
    * @see #cancelDepartureEvent
    * @see SimQueueQoSUtils#getAndCheckJobQoS
    * @see #getJobsQoSMap
+   * @see #jobsQoSBuckets
    * 
    */
   @Override
@@ -300,22 +375,22 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
       throw new IllegalArgumentException ();
     if (isJobInServiceArea (exitingJob))
     {
-      if (! this.remainingServiceTime.containsKey (exitingJob))
+      if (! hasRemainingServiceTime (exitingJob))
         throw new IllegalStateException ();
-      this.remainingServiceTime.remove (exitingJob);
-      if (this.jobsBeingServed.containsKey (exitingJob))
+      removeRemainingServiceTime (exitingJob);
+      if (isJobBeingServed (exitingJob))
       {
-        // Note: getDepartureEvents requires its argument to be present in this.jobQueue!
-        if (! getDepartureEvents (exitingJob).isEmpty ())
-        {
-          if (getDepartureEvents (exitingJob).size () > 1)
-            throw new IllegalStateException ();
+        if (getDepartureEvent (exitingJob) != null)
           cancelDepartureEvent (exitingJob);
-        }
-        this.jobsBeingServed.remove (exitingJob);
+        stopServiceChunk (exitingJob);
       }
     }
     final P qos = SimQueueQoSUtils.getAndCheckJobQoS (exitingJob, this);
+    if (this.jobsQoSBuckets != null)
+    {
+      this.jobsQoSBuckets.remove (qos, exitingJob);
+      return;
+    }
     if (! this.jobsQoSMap.containsKey (qos))
       throw new IllegalStateException ();
     if (! this.jobsQoSMap.get (qos).contains (exitingJob))
@@ -354,6 +429,8 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
    * Note that ties between executable jobs with equal QoS values are broken by the order in which the jobs appear
    * in an iterator over the applicable value set in {@link #jobsQoSMap}
    * (in the obvious sense that the job that first appears in the iterator is given highest priority).
+   * With {@link #jobsQoSBuckets}, the job sets are visited in bucket order,
+   * and the first job is returned right away if server-access credits are available.
    * 
    * <p>
    * This method does (some) sanity checks on {@link #jobsQoSMap} on the fly.
@@ -364,6 +441,15 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
    */
   protected final J getExecutableJobWithHighestPriority ()
   {
+    if (this.jobsQoSBuckets != null)
+    {
+      final boolean hasServerAccessCredits = hasServerAcccessCredits ();
+      for (int b = this.jobsQoSBuckets.nextBucket (0); b >= 0; b = this.jobsQoSBuckets.nextBucket (b + 1))
+        for (final J job : this.jobsQoSBuckets.getJobs (b))
+          if (hasServerAccessCredits || isJobInServiceArea (job))
+            return job;
+      return null;
+    }
     for (final Set<J> jobsP: this.jobsQoSMap.values ())
       if (jobsP == null || jobsP.isEmpty ())
         throw new IllegalStateException ();
@@ -399,9 +485,9 @@ extends AbstractPreemptiveSimQueueQoS<J, Q, P>
    */
   protected final void reschedule ()
   {
-    if (this.jobsBeingServed.keySet ().size () > 1)
+    if (this.jobsBeingServed.size () > 1)
       throw new IllegalStateException ();
-    final J jobBeingServed = (this.jobsBeingServed.isEmpty () ? null : this.jobsBeingServed.keySet ().iterator ().next ());
+    final J jobBeingServed = (this.jobsBeingServed.isEmpty () ? null : this.jobsBeingServed.iterator ().next ());
     final J jobToServe = getExecutableJobWithHighestPriority (); // Considers server-access credits!
     if (jobBeingServed != null && jobToServe == null)
       throw new IllegalStateException ();
@@ -0,0 +1,365 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue.qos;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.extensions.qos.SimQueueQoS;
+
+/** A bucket-array index of the jobs at a {@link SimQueueQoS} on their QoS value,
+ *  for QoS structures that map onto a dense range of integers.
+ * 
+ * <p>
+ * The QoS values are mapped onto bucket indices {@code 0} through {@link #getNumberOfBuckets} (exclusive)
+ * through a user-supplied {@link ToIntFunction}, e.g., {@link Enum#ordinal} for enum QoS classes,
+ * or an offset for small integer QoS domains.
+ * Each bucket holds the jobs with a single QoS value in insertion order;
+ * distinct QoS values present at the same time must map onto distinct buckets.
+ * Queues that order QoS values (like {@link HOL} and {@link PQ}) require in addition that
+ * the bucket order is consistent with the natural ordering of the QoS values.
+ * 
+ * <p>
+ * Insertion and removal of a job, and finding the first job of a QoS value take constant time.
+ * The non-empty buckets are tracked in a bit set, so finding the first non-empty bucket
+ * takes time linear in the number of buckets divided by 64.
+ * 
+ * @param <J> The type of {@link SimJob}s supported.
+ * @param <P> The type used for QoS.
+ * 
+ * @see HOL
+ * @see HOL_PS
+ * @see PQ
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+public final class SimQueueQoSBuckets<J extends SimJob, P>
+{
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // CONSTRUCTOR(S) / FACTORY
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Creates a new (empty) bucket index.
+   * 
+   * @param numberOfBuckets The number of buckets, strictly positive.
+   * @param bucketFunction  The mapping from QoS values onto bucket indices, non-{@code null}.
+   * 
+   * @throws IllegalArgumentException If the number of buckets is zero or negative, or the bucket function is {@code null}.
+   * 
+   */
+  public SimQueueQoSBuckets (final int numberOfBuckets, final ToIntFunction<? super P> bucketFunction)
+  {
+    if (numberOfBuckets <= 0 || bucketFunction == null)
+      throw new IllegalArgumentException ();
+    this.bucketFunction = bucketFunction;
+    this.qos = newQoSArray (numberOfBuckets);
+    this.jobs = newJobsArray (numberOfBuckets);
+    this.nonEmpty = new long[(numberOfBuckets + 63) >>> 6];
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // BUCKET FUNCTION
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private final ToIntFunction<? super P> bucketFunction;
+  
+  /** Returns the mapping from QoS values onto bucket indices.
+   * 
+   * @return The mapping from QoS values onto bucket indices.
+   * 
+   */
+  public final ToIntFunction<? super P> getBucketFunction ()
+  {
+    return this.bucketFunction;
+  }
+  
+  /** Returns the number of buckets.
+   * 
+   * @return The number of buckets.
+   * 
+   */
+  public final int getNumberOfBuckets ()
+  {
+    return this.qos.length;
+  }
+  
+  /** Returns the bucket index for given QoS value.
+   * 
+   * @param qos The QoS value.
+   * 
+   * @return The bucket index for the QoS value.
+   * 
+   * @throws IllegalArgumentException If the bucket function maps the value outside the bucket range.
+   * 
+   */
+  public final int getBucket (final P qos)
+  {
+    final int bucket = this.bucketFunction.applyAsInt (qos);
+    if (bucket < 0 || bucket >= this.qos.length)
+      throw new IllegalArgumentException ("QoS value " + qos + " maps onto illegal bucket " + bucket + ".");
+    return bucket;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // BUCKETS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private final P[] qos;
+  
+  @SuppressWarnings ("unchecked")
+  private static <P> P[] newQoSArray (final int length)
+  {
+    return (P[]) new Object[length];
+  }
+  
+  private final Set<J>[] jobs;
+  
+  @SuppressWarnings ("unchecked")
+  private static <J extends SimJob> Set<J>[] newJobsArray (final int length)
+  {
+    return (Set<J>[]) new Set[length];
+  }
+  
+  private final long[] nonEmpty;
+  
+  private int size = 0;
+  
+  /** Returns the number of jobs in this index.
+   * 
+   * @return The number of jobs in this index.
+   * 
+   */
+  public final int size ()
+  {
+    return this.size;
+  }
+  
+  /** Returns whether this index is empty.
+   * 
+   * @return Whether this index is empty.
+   * 
+   */
+  public final boolean isEmpty ()
+  {
+    return this.size == 0;
+  }
+  
+  /** Returns the first non-empty bucket at or beyond given bucket index.
+   * 
+   * @param fromBucket The bucket index to start from, non-negative.
+   * 
+   * @return The first non-empty bucket at or beyond the given index, {@code -1} if there is no such bucket.
+   * 
+   */
+  public final int nextBucket (final int fromBucket)
+  {
+    if (fromBucket < 0)
+      throw new IllegalArgumentException ();
+    int word = fromBucket >>> 6;
+    if (word >= this.nonEmpty.length)
+      return -1;
+    long bits = this.nonEmpty[word] & (-1L << (fromBucket & 63));
+    while (bits == 0)
+    {
+      if (++word == this.nonEmpty.length)
+        return -1;
+      bits = this.nonEmpty[word];
+    }
+    return (word << 6) + Long.numberOfTrailingZeros (bits);
+  }
+  
+  /** Returns the QoS value of the jobs in given bucket.
+   * 
+   * @param bucket The bucket index.
+   * 
+   * @return The QoS value of the jobs in the bucket, {@code null} if the bucket is empty.
+   * 
+   */
+  public final P getQoS (final int bucket)
+  {
+    return this.qos[bucket];
+  }
+  
+  /** Returns the jobs in given bucket.
+   * 
+   * <p>
+   * The set returned is owned by this index, and must not be modified.
+   * 
+   * @param bucket The bucket index.
+   * 
+   * @return The jobs in the bucket in insertion order, empty if there are none.
+   * 
+   */
+  public final Set<J> getJobs (final int bucket)
+  {
+    return this.jobs[bucket] != null ? this.jobs[bucket] : Collections.emptySet ();
+  }
+  
+  /** Returns the number of jobs with given QoS value.
+   * 
+   * @param qos The QoS value.
+   * 
+   * @return The number of jobs with the QoS value.
+   * 
+   * @throws IllegalArgumentException If the bucket function maps the value outside the bucket range.
+   * 
+   */
+  public final int size (final P qos)
+  {
+    final Set<J> jobsP = this.jobs[getBucket (qos)];
+    return jobsP != null ? jobsP.size () : 0;
+  }
+  
+  /** Returns the first job (in insertion order) with given QoS value.
+   * 
+   * @param qos The QoS value.
+   * 
+   * @return The first job with the QoS value, {@code null} if there is no such job.
+   * 
+   * @throws IllegalArgumentException If the bucket function maps the value outside the bucket range.
+   * 
+   */
+  public final J getFirstJob (final P qos)
+  {
+    final Set<J> jobsP = this.jobs[getBucket (qos)];
+    return (jobsP != null && ! jobsP.isEmpty ()) ? jobsP.iterator ().next () : null;
+  }
+  
+  /** Returns whether given job is present in this index with given QoS value.
+   * 
+   * @param qos The QoS value.
+   * @param job The job.
+   * 
+   * @return Whether the job is present with the QoS value.
+   * 
+   * @throws IllegalArgumentException If the bucket function maps the value outside the bucket range.
+   * 
+   */
+  public final boolean contains (final P qos, final J job)
+  {
+    final Set<J> jobsP = this.jobs[getBucket (qos)];
+    return jobsP != null && jobsP.contains (job);
+  }
+  
+  /** Adds a job with given QoS value.
+   * 
+   * @param qos The QoS value.
+   * @param job The job, non-{@code null}.
+   * 
+   * @throws IllegalArgumentException If the job is {@code null} or already present,
+   *                                  if the bucket function maps the value outside the bucket range,
+   *                                  or if the bucket holds jobs with a different QoS value.
+   * 
+   */
+  public final void add (final P qos, final J job)
+  {
+    if (job == null)
+      throw new IllegalArgumentException ();
+    final int bucket = getBucket (qos);
+    if (this.jobs[bucket] == null)
+      this.jobs[bucket] = new LinkedHashSet<> ();
+    final Set<J> jobsP = this.jobs[bucket];
+    if (jobsP.isEmpty ())
+    {
+      this.qos[bucket] = qos;
+      this.nonEmpty[bucket >>> 6] |= (1L << (bucket & 63));
+    }
+    else if (! this.qos[bucket].equals (qos))
+      throw new IllegalArgumentException ("QoS values " + this.qos[bucket] + " and " + qos + " map onto the same bucket.");
+    if (! jobsP.add (job))
+      throw new IllegalArgumentException ();
+    this.size++;
+  }
+  
+  /** Removes a job with given QoS value.
+   * 
+   * @param qos The QoS value.
+   * @param job The job.
+   * 
+   * @throws IllegalArgumentException If the bucket function maps the value outside the bucket range.
+   * @throws IllegalStateException    If the job is not present with the QoS value.
+   * 
+   */
+  public final void remove (final P qos, final J job)
+  {
+    final int bucket = getBucket (qos);
+    final Set<J> jobsP = this.jobs[bucket];
+    if (jobsP == null || ! jobsP.remove (job))
+      throw new IllegalStateException ();
+    if (jobsP.isEmpty ())
+    {
+      this.qos[bucket] = null;
+      this.nonEmpty[bucket >>> 6] &= ~(1L << (bucket & 63));
+    }
+    this.size--;
+  }
+  
+  /** Removes all jobs from this index.
+   * 
+   */
+  public final void clear ()
+  {
+    for (int bucket = nextBucket (0); bucket >= 0; bucket = nextBucket (bucket + 1))
+    {
+      this.jobs[bucket].clear ();
+      this.qos[bucket] = null;
+    }
+    Arrays.fill (this.nonEmpty, 0L);
+    this.size = 0;
+  }
+  
+  /** Puts the non-empty buckets into given map, in bucket order, as mappings from QoS values onto (copies of) the job sets.
+   * 
+   * @param <M> The map type.
+   * 
+   * @param map The map, non-{@code null}.
+   * 
+   * @return The map.
+   * 
+   */
+  public final <M extends Map<P, Set<J>>> M toMap (final M map)
+  {
+    for (int bucket = nextBucket (0); bucket >= 0; bucket = nextBucket (bucket + 1))
+      map.put (this.qos[bucket], new LinkedHashSet<> (this.jobs[bucket]));
+    return map;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
@@ -17,7 +17,9 @@
 package org.javades.jqueues.r5.entity.jq.queue.serverless;
 
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.entity.jq.queue.DepartureScheduling;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueJobSlots;
 import org.javades.jsimulation.r5.SimEventList;
 
 /** The {@link DELAY} queue induces a fixed waiting delay, after which jobs depart without service.
@@ -25,6 +27,16 @@ import org.javades.jsimulation.r5.SimEventList;
  * <p>
  * This {@link SimQueue} is server-less.
  * 
+ * <p>
+ * Since all jobs have the same wait time, jobs depart in order of arrival.
+ * The {@link DepartureScheduling} of the queue determines how their departure events are put on the event list.
+ * With {@link DepartureScheduling#PER_JOB} (the default), each job gets its own departure event upon arrival.
+ * With {@link DepartureScheduling#HEAD_ONLY}, the waiting jobs are held in an internal FIFO queue,
+ * and only the job(s) at the head of that queue have a departure event scheduled;
+ * as a result, {@link #getDepartureEvent} returns {@code null} for the other jobs,
+ * and the processing order of simultaneous events of this queue and other entities may change,
+ * see {@link DepartureScheduling#HEAD_ONLY}.
+ * 
  * @param <J> The type of {@link SimJob}s supported.
  * @param <Q> The type of {@link SimQueue}s supported.
  *
@@ -58,25 +70,45 @@ extends AbstractServerlessSimQueue<J, Q>
    * 
    */
   public DELAY (final SimEventList eventList, final double waitTime)
+  {
+    this (eventList, waitTime, DepartureScheduling.PER_JOB);
+  }
+  
+  /** Creates a {@link DELAY} queue with infinite buffer size given a (fixed) waiting time, an event list
+   *  and a departure scheduling.
+   *
+   * @param eventList           The event list to use.
+   * @param waitTime            The (fixed) wait time for all jobs.
+   * @param departureScheduling The departure scheduling, non-<code>null</code>.
+   *
+   * @throws IllegalArgumentException If <code>waitTime</code> is strictly negative,
+   *                                  or the departure scheduling is <code>null</code>.
+   * 
+   * @see DepartureScheduling
+   * 
+   */
+  public DELAY (final SimEventList eventList, final double waitTime, final DepartureScheduling departureScheduling)
   {
     super (eventList, Integer.MAX_VALUE);
-    if (waitTime < 0)
+    if (waitTime < 0 || departureScheduling == null)
       throw new IllegalArgumentException ();
     this.waitTime = waitTime;
+    this.departureScheduling = departureScheduling;
   }
   
-  /** Returns a new {@link DELAY} object on the same {@link SimEventList} with the same wait time.
+  /** Returns a new {@link DELAY} object on the same {@link SimEventList} with the same wait time and departure scheduling.
    * 
-   * @return A new {@link DELAY} object on the same {@link SimEventList} with the same wait time.
+   * @return A new {@link DELAY} object on the same {@link SimEventList} with the same wait time and departure scheduling.
    * 
    * @see #getEventList
    * @see #getWaitTime
+   * @see #getDepartureScheduling
    * 
    */
   @Override
   public DELAY<J, Q> getCopySimQueue ()
   {
-    return new DELAY<> (getEventList (), getWaitTime ());
+    return new DELAY<> (getEventList (), getWaitTime (), getDepartureScheduling ());
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -144,15 +176,79 @@ extends AbstractServerlessSimQueue<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     
-  /** Calls super method (in order to make implementation final).
+  /** Calls super method and clears the internal departure queue.
    * 
    */
   @Override
   protected final void resetEntitySubClass ()
   {
     super.resetEntitySubClass ();
+    this.departureQueue.clear ();
   }  
   
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // DEPARTURE SCHEDULING / DEPARTURE QUEUE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private final DepartureScheduling departureScheduling;
+  
+  /** Returns the departure scheduling of this queue.
+   * 
+   * @return The departure scheduling of this queue, non-<code>null</code>.
+   * 
+   */
+  public final DepartureScheduling getDepartureScheduling ()
+  {
+    return this.departureScheduling;
+  }
+  
+  /** The jobs with a (finite) departure time, in order of arrival (and departure).
+   * 
+   * <p>
+   * Only maintained in {@link DepartureScheduling#HEAD_ONLY}.
+   * 
+   */
+  private final SimQueueJobSlots<J>.Deque departureQueue = getJobSlots ().newDeque ();
+  
+  /** The departure time of each job in the departure queue.
+   * 
+   */
+  private final SimQueueJobSlots<J>.Doubles departureTime = getJobSlots ().newDoubles (Double.NaN);
+  
+  /** Schedules the departure events of the job at the head of the departure queue
+   *  and of all jobs directly following it with the same departure time,
+   *  unless the head job already has a departure event scheduled.
+   * 
+   */
+  private void scheduleHeadDepartureEvents ()
+  {
+    final J head = this.departureQueue.first ();
+    if (head == null || getDepartureEvent (head) != null)
+      return;
+    final double headDepartureTime = this.departureTime.get (head);
+    for (final J job : this.departureQueue)
+      if (this.departureTime.get (job) == headDepartureTime)
+        scheduleDepartureEvent (headDepartureTime, job);
+      else
+        break;
+  }
+  
+  /** Cancels the departure event of a job (if present), and, in {@link DepartureScheduling#HEAD_ONLY},
+   *  removes the job from the departure queue and schedules the departure event(s) at the head of that queue if needed.
+   * 
+   * @param job The job.
+   * 
+   */
+  private void removeJobFromDepartureQueue (final J job)
+  {
+    if (getDepartureEvent (job) != null)
+      cancelDepartureEvent (job);
+    if (this.departureScheduling == DepartureScheduling.HEAD_ONLY && this.departureQueue.remove (job))
+      scheduleHeadDepartureEvents ();
+  }
+  
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // ARRIVAL
@@ -171,6 +267,11 @@ extends AbstractServerlessSimQueue<J, Q>
    *  otherwise (zero wait time), makes the job depart immediately.
    * 
    * <p>
+   * In {@link DepartureScheduling#HEAD_ONLY}, the job is appended to the internal departure queue instead,
+   * and a departure event is only scheduled for the arrived job if the departure queue was empty,
+   * or if the last job in the departure queue has the same departure time and a scheduled departure event.
+   * 
+   * <p>
    * If the wait time is {@link Double#POSITIVE_INFINITY}, no departure events are scheduled, in other words,
    * this queue does not schedule departures at infinity.
    * 
@@ -187,11 +288,19 @@ extends AbstractServerlessSimQueue<J, Q>
       throw new IllegalStateException ();
     else if (waitTime == 0)
       depart (time, job);
-    else if (! Double.isInfinite (waitTime))
-      scheduleDepartureEvent (time + waitTime, job);
-    else
+    else if (Double.isInfinite (waitTime))
       // waitTime is positive infinity; do not schedule a departure event!
       ;
+    else if (this.departureScheduling == DepartureScheduling.PER_JOB)
+      scheduleDepartureEvent (time + waitTime, job);
+    else
+    {
+      final J last = this.departureQueue.last ();
+      this.departureTime.set (job, time + waitTime);
+      this.departureQueue.addLast (job);
+      if (last == null || (time + waitTime == this.departureTime.get (last) && getDepartureEvent (last) != null))
+        scheduleDepartureEvent (time + waitTime, job);
+    }
   }
 
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -228,16 +337,17 @@ extends AbstractServerlessSimQueue<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Cancels the departure of the job (if present).
+  /** Cancels the departure of the job (if present),
+   *  and removes the job from the internal departure queue (if applicable).
    * 
    * @see #cancelDepartureEvent
+   * @see #scheduleDepartureEvent
    * 
    */
   @Override
   protected final void removeJobFromQueueUponRevokation (final J job, final double time, final boolean auto)
   {
-    if (! getDepartureEvents (job).isEmpty ())
-      cancelDepartureEvent (job);
+    removeJobFromDepartureQueue (job);
   }
 
   /** Does nothing.
@@ -255,13 +365,16 @@ extends AbstractServerlessSimQueue<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
-  /** Does nothing.
+  /** Removes the job from the internal departure queue (if applicable),
+   *  and schedules the departure event(s) of the next job(s) (if needed).
+   * 
+   * @see #scheduleDepartureEvent
    * 
    */
   @Override
   protected final void removeJobFromQueueUponDeparture (final J departingJob, final double time)
   {
-    /* EMPTY */
+    removeJobFromDepartureQueue (departingJob);
   }
 
   /** Does nothing.
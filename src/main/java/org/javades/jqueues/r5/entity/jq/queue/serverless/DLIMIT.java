@@ -380,12 +380,24 @@ extends AbstractServerlessSimQueue<J, Q>
     (final double expirationTime,
      final Q queue)
     {
-      super ("RateLimitExpiration@" + queue, expirationTime, queue, (SimEventAction) (final SimEvent event) ->
+      super (null, expirationTime, queue, (SimEventAction) (final SimEvent event) ->
       {
         queue.rateLimitExpiration ((RateLimitExpirationEvent) event);
       });
     }   
 
+    /** Returns "RateLimitExpiration@", followed by the queue.
+     * 
+     * @return "RateLimitExpiration@", followed by the queue.
+     * 
+     */
+    @Override
+    protected final String createDefaultName ()
+    {
+      return "RateLimitExpiration@" + getQueue ();
+    }
+    
+
     /** Throws an {@link UnsupportedOperationException}.
      * 
      * <p>
@@ -16,11 +16,9 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue.serverless;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
 import org.javades.jqueues.r5.entity.SimEntityEvent;
 import org.javades.jqueues.r5.entity.SimEntityListener;
+import org.javades.jqueues.r5.entity.SimEntityNotificationBuffer;
 import org.javades.jqueues.r5.entity.SimEntitySimpleEventType;
 import org.javades.jqueues.r5.entity.jq.SimJQEvent;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
@@ -82,9 +80,9 @@ implements SimQueueWithGate<J, Q>
   {
     super (eventList, Integer.MAX_VALUE);
     registerOperation (SimQueueWithGateOperationUtils.GatePassageCreditsOperation.getInstance ());
-    registerNotificationType (SimQueueWithGateSimpleEventType.GATE_CLOSED, this::fireGateClosed);
-    registerNotificationType (SimQueueWithGateSimpleEventType.GATE_OPEN, this::fireGateOpen);
-    registerPreNotificationHook (this::gatePassageCreditsPreNotificationHook);
+    registerNotificationType (SimQueueWithGateSimpleEventType.GATE_CLOSED, this::fireGateClosed, true);
+    registerNotificationType (SimQueueWithGateSimpleEventType.GATE_OPEN, this::fireGateOpen, true);
+    registerPreNotificationBufferHook (this::gatePassageCreditsPreNotificationHook);
   }
   
   /** Returns a new {@link GATE} object on the same {@link SimEventList}.
@@ -181,14 +179,13 @@ implements SimQueueWithGate<J, Q>
    * @see SimQueueWithGateSimpleEventType#GATE_OPEN
    * 
    */
-  private void gatePassageCreditsPreNotificationHook
-  (final List<Map<SimEntitySimpleEventType.Member, SimEntityEvent>> pendingNotifications)
+  private void gatePassageCreditsPreNotificationHook (final SimEntityNotificationBuffer pendingNotifications)
   {
     if (pendingNotifications == null)
       throw new IllegalArgumentException ();
-    for (final Map<SimEntitySimpleEventType.Member, SimEntityEvent> entry : pendingNotifications)
+    for (int i = 0; i < pendingNotifications.size (); i++)
     {
-      final SimEntitySimpleEventType.Member notificationType = entry.keySet ().iterator ().next ();
+      final SimEntitySimpleEventType.Member notificationType = pendingNotifications.getNotificationType (i);
       if (notificationType == SimQueueWithGateSimpleEventType.GATE_CLOSED
       ||  notificationType == SimQueueWithGateSimpleEventType.GATE_OPEN)
         throw new IllegalArgumentException ();
@@ -199,11 +196,11 @@ implements SimQueueWithGate<J, Q>
       final double time = getLastUpdateTime ();
       final int gac = getGatePassageCredits ();
       if (gatePassageCreditsAvailability)
-        pendingNotifications.add (Collections.singletonMap
-          (SimQueueWithGateSimpleEventType.GATE_OPEN, new SimQueueGateEvent (this, time, gac)));
+        pendingNotifications.add
+          (SimQueueWithGateSimpleEventType.GATE_OPEN, new SimQueueGateEvent (this, time, gac));
       else
-        pendingNotifications.add (Collections.singletonMap
-          (SimQueueWithGateSimpleEventType.GATE_CLOSED, new SimQueueGateEvent (this, time, gac)));
+        pendingNotifications.add
+          (SimQueueWithGateSimpleEventType.GATE_CLOSED, new SimQueueGateEvent (this, time, gac));
     }
     this.previousGatePassageCreditsAvailability = gatePassageCreditsAvailability;
   }
@@ -379,7 +376,7 @@ implements SimQueueWithGate<J, Q>
     final Q queue = (Q) ((SimJQEvent) event).getQueue ();
     if (queue == null || queue != this)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimQueueWithGateSimpleEventType.GATE_OPEN))
       if (l instanceof SimQueueWithGateListener)
         ((SimQueueWithGateListener) l).notifyNewGateStatus (time, this, true);
   }
@@ -401,7 +398,7 @@ implements SimQueueWithGate<J, Q>
     final Q queue = (Q) ((SimJQEvent) event).getQueue ();
     if (queue == null || queue != this)
       throw new IllegalArgumentException ();
-    for (SimEntityListener l : getSimEntityListeners ())
+    for (SimEntityListener l : getSimEntityListeners (SimQueueWithGateSimpleEventType.GATE_CLOSED))
       if (l instanceof SimQueueWithGateListener)
         ((SimQueueWithGateListener) l).notifyNewGateStatus (time, this, false);
   }
@@ -55,8 +55,6 @@ extends SimJQEvent<J, Q>
   <J extends SimJob, Q extends SimQueue>
   String createName (final Q queue, final int gatePassageCredits)
   {
-    if (gatePassageCredits < 0)
-      throw new IllegalArgumentException ();
     if (! (queue instanceof SimQueueWithGate))
       return "GATE_NOP@" + queue;
     else if (gatePassageCredits == 0)
@@ -99,10 +97,21 @@ extends SimJQEvent<J, Q>
   public SimQueueGateEvent
   (final Q queue, final double time, final int gatePassageCredits)
   {
-    super (createName (queue, gatePassageCredits), time, queue, null, createAction (queue, gatePassageCredits));
+    super (null, time, queue, null, createAction (queue, gatePassageCredits));
     this.gatePassageCredits = gatePassageCredits;
   }
   
+  /** Returns the name of the event, created from the queue and the gate-passage credits.
+   * 
+   * @return The name of the event, created from the queue and the gate-passage credits.
+   * 
+   */
+  @Override
+  protected final String createDefaultName ()
+  {
+    return createName (getQueue (), getGatePassageCredits ());
+  }
+  
   @Override
   public SimJQEvent copyForQueueAndJob (final Q newQueue, final J newJob)
   {
@@ -0,0 +1,614 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.util.collection;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/** A hash map from keys to (primitive) <code>double</code> values with ordered value set
+ *  and methods to obtain pre-images of values and value ranges.
+ * 
+ * <p>
+ * This is the unboxed counterpart of {@link HashMapWithPreImageAndOrderedValueSet} for <code>double</code> values.
+ * Entries live in parallel arrays indexed by a slot number;
+ * keys are found through a chained hash index on the slots,
+ * and the slots are ordered on their value through an array-based treap (randomized binary search tree).
+ * A value change of an existing key costs a single hash lookup, and a removal and insertion in the treap,
+ * all without object allocation (except for occasional growth of the arrays).
+ * 
+ * <p>
+ * Values are compared as by {@link Double#compare}.
+ * Keys with equal values are ordered on the moment they obtained their current value (earliest first);
+ * this is the order in which they appear in pre-images, and the order that determines {@link #firstKey}.
+ * The treap priorities are drawn from a fixed-seed generator, so the structure (and its cost) is reproducible.
+ * 
+ * <p>
+ * Note that <code>null</code> keys and {@link Double#NaN} values are not allowed in this implementation;
+ * {@link Double#NaN} is returned by {@link #get}, {@link #put} and {@link #remove} to denote the absence of a value.
+ * 
+ * @param <K> The key type.
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+public class DoubleHashMapWithPreImageAndOrderedValueSet<K>
+implements Cloneable
+{
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // CONSTRUCTORS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Creates a new empty map with default initial capacity.
+   * 
+   */
+  public DoubleHashMapWithPreImageAndOrderedValueSet ()
+  {
+    this (DoubleHashMapWithPreImageAndOrderedValueSet.DEFAULT_INITIAL_CAPACITY);
+  }
+  
+  /** Creates a new empty map with given initial capacity.
+   * 
+   * @param initialCapacity The initial capacity (number of entries before the arrays need to grow).
+   * 
+   * @throws IllegalArgumentException If the initial capacity is strictly negative.
+   * 
+   */
+  public DoubleHashMapWithPreImageAndOrderedValueSet (final int initialCapacity)
+  {
+    if (initialCapacity < 0)
+      throw new IllegalArgumentException ();
+    int capacity = 1;
+    while (capacity < initialCapacity)
+      capacity <<= 1;
+    allocate (capacity);
+    clear ();
+  }
+  
+  /** The default initial capacity.
+   * 
+   */
+  public static final int DEFAULT_INITIAL_CAPACITY = 16;
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // SLOTS
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private static final int NIL = -1;
+  
+  private Object[] key;
+  
+  private double[] value;
+  
+  private long[] sequence;
+  
+  private int[] hashNext;
+  
+  private int[] left;
+  
+  private int[] right;
+  
+  private int[] priority;
+  
+  private int[] table;
+  
+  private int size;
+  
+  private int highWater;
+  
+  private int free;
+  
+  private int root;
+  
+  private long nextSequence;
+  
+  private int randomState;
+  
+  private void allocate (final int capacity)
+  {
+    this.key = new Object[capacity];
+    this.value = new double[capacity];
+    this.sequence = new long[capacity];
+    this.hashNext = new int[capacity];
+    this.left = new int[capacity];
+    this.right = new int[capacity];
+    this.priority = new int[capacity];
+    this.table = new int[2 * capacity];
+  }
+  
+  private void grow ()
+  {
+    final int capacity = 2 * this.key.length;
+    this.key = Arrays.copyOf (this.key, capacity);
+    this.value = Arrays.copyOf (this.value, capacity);
+    this.sequence = Arrays.copyOf (this.sequence, capacity);
+    this.hashNext = Arrays.copyOf (this.hashNext, capacity);
+    this.left = Arrays.copyOf (this.left, capacity);
+    this.right = Arrays.copyOf (this.right, capacity);
+    this.priority = Arrays.copyOf (this.priority, capacity);
+    // Growth only happens with an empty free list, hence all slots below the high-water mark are in use.
+    this.table = new int[2 * capacity];
+    Arrays.fill (this.table, DoubleHashMapWithPreImageAndOrderedValueSet.NIL);
+    for (int slot = 0; slot < this.highWater; slot++)
+    {
+      final int bucket = bucket (this.key[slot]);
+      this.hashNext[slot] = this.table[bucket];
+      this.table[bucket] = slot;
+    }
+  }
+  
+  private int bucket (final Object k)
+  {
+    final int h = k.hashCode ();
+    return (h ^ (h >>> 16)) & (this.table.length - 1);
+  }
+  
+  private int find (final Object k)
+  {
+    if (k == null)
+      throw new NullPointerException ();
+    for (int slot = this.table[bucket (k)]; slot != DoubleHashMapWithPreImageAndOrderedValueSet.NIL; slot = this.hashNext[slot])
+      if (this.key[slot] == k || this.key[slot].equals (k))
+        return slot;
+    return DoubleHashMapWithPreImageAndOrderedValueSet.NIL;
+  }
+  
+  private int nextPriority ()
+  {
+    // Xorshift; never zero given a non-zero seed.
+    int x = this.randomState;
+    x ^= x << 13;
+    x ^= x >>> 17;
+    x ^= x << 5;
+    this.randomState = x;
+    return x;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // TREAP
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  private boolean less (final int a, final int b)
+  {
+    final int c = Double.compare (this.value[a], this.value[b]);
+    return c < 0 || (c == 0 && this.sequence[a] < this.sequence[b]);
+  }
+  
+  private int insert (final int node, final int slot)
+  {
+    if (node == DoubleHashMapWithPreImageAndOrderedValueSet.NIL)
+      return slot;
+    if (less (slot, node))
+    {
+      final int l = insert (this.left[node], slot);
+      this.left[node] = l;
+      if (this.priority[l] > this.priority[node])
+      {
+        // Rotate right.
+        this.left[node] = this.right[l];
+        this.right[l] = node;
+        return l;
+      }
+    }
+    else
+    {
+      final int r = insert (this.right[node], slot);
+      this.right[node] = r;
+      if (this.priority[r] > this.priority[node])
+      {
+        // Rotate left.
+        this.right[node] = this.left[r];
+        this.left[r] = node;
+        return r;
+      }
+    }
+    return node;
+  }
+  
+  private int join (final int a, final int b)
+  {
+    if (a == DoubleHashMapWithPreImageAndOrderedValueSet.NIL)
+      return b;
+    if (b == DoubleHashMapWithPreImageAndOrderedValueSet.NIL)
+      return a;
+    if (this.priority[a] > this.priority[b])
+    {
+      this.right[a] = join (this.right[a], b);
+      return a;
+    }
+    else
+    {
+      this.left[b] = join (a, this.left[b]);
+      return b;
+    }
+  }
+  
+  private int delete (final int node, final int slot)
+  {
+    if (node == DoubleHashMapWithPreImageAndOrderedValueSet.NIL)
+      throw new IllegalStateException ();
+    if (node == slot)
+      return join (this.left[node], this.right[node]);
+    if (less (slot, node))
+      this.left[node] = delete (this.left[node], slot);
+    else
+      this.right[node] = delete (this.right[node], slot);
+    return node;
+  }
+  
+  private void link (final int slot)
+  {
+    this.left[slot] = DoubleHashMapWithPreImageAndOrderedValueSet.NIL;
+    this.right[slot] = DoubleHashMapWithPreImageAndOrderedValueSet.NIL;
+    this.sequence[slot] = this.nextSequence++;
+    this.root = insert (this.root, slot);
+  }
+  
+  private int firstSlot ()
+  {
+    if (this.root == DoubleHashMapWithPreImageAndOrderedValueSet.NIL)
+      throw new NoSuchElementException ();
+    int slot = this.root;
+    while (this.left[slot] != DoubleHashMapWithPreImageAndOrderedValueSet.NIL)
+      slot = this.left[slot];
+    return slot;
+  }
+  
+  private int lastSlot ()
+  {
+    if (this.root == DoubleHashMapWithPreImageAndOrderedValueSet.NIL)
+      throw new NoSuchElementException ();
+    int slot = this.root;
+    while (this.right[slot] != DoubleHashMapWithPreImageAndOrderedValueSet.NIL)
+      slot = this.right[slot];
+    return slot;
+  }
+  
+  @SuppressWarnings ("unchecked")
+  private K keyAt (final int slot)
+  {
+    return (K) this.key[slot];
+  }
+  
+  private void collect (final int node,
+                        final double from,
+                        final boolean fromInclusive,
+                        final double to,
+                        final boolean toInclusive,
+                        final Set<K> preImage)
+  {
+    if (node == DoubleHashMapWithPreImageAndOrderedValueSet.NIL)
+      return;
+    final int cFrom = Double.compare (this.value[node], from);
+    final int cTo = Double.compare (this.value[node], to);
+    final boolean aboveFrom = cFrom > 0 || (fromInclusive && cFrom == 0);
+    final boolean belowTo = cTo < 0 || (toInclusive && cTo == 0);
+    if (aboveFrom)
+      collect (this.left[node], from, fromInclusive, to, toInclusive, preImage);
+    if (aboveFrom && belowTo)
+      preImage.add (keyAt (node));
+    if (belowTo)
+      collect (this.right[node], from, fromInclusive, to, toInclusive, preImage);
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // MAP
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Returns the number of keys in this map.
+   * 
+   * @return The number of keys in this map.
+   * 
+   */
+  public final int size ()
+  {
+    return this.size;
+  }
+  
+  /** Returns whether this map is empty.
+   * 
+   * @return Whether this map is empty.
+   * 
+   */
+  public final boolean isEmpty ()
+  {
+    return this.size == 0;
+  }
+  
+  /** Removes all keys from this map.
+   * 
+   * <p>
+   * The capacity is retained.
+   * 
+   */
+  public final void clear ()
+  {
+    Arrays.fill (this.key, 0, this.highWater, null);
+    Arrays.fill (this.table, DoubleHashMapWithPreImageAndOrderedValueSet.NIL);
+    this.size = 0;
+    this.highWater = 0;
+    this.free = DoubleHashMapWithPreImageAndOrderedValueSet.NIL;
+    this.root = DoubleHashMapWithPreImageAndOrderedValueSet.NIL;
+    this.nextSequence = 0;
+    this.randomState = 0x9E3779B9;
+  }
+  
+  /** Returns whether this map contains given key.
+   * 
+   * @param key The key, non-<code>null</code>.
+   * 
+   * @return Whether this map contains the key.
+   * 
+   * @throws NullPointerException If the key is <code>null</code>.
+   * 
+   */
+  public final boolean containsKey (final Object key)
+  {
+    return find (key) != DoubleHashMapWithPreImageAndOrderedValueSet.NIL;
+  }
+  
+  /** Returns the value of given key.
+   * 
+   * @param key The key, non-<code>null</code>.
+   * 
+   * @return The value of the key, {@link Double#NaN} if the key is not present.
+   * 
+   * @throws NullPointerException If the key is <code>null</code>.
+   * 
+   */
+  public final double get (final Object key)
+  {
+    final int slot = find (key);
+    return slot == DoubleHashMapWithPreImageAndOrderedValueSet.NIL ? Double.NaN : this.value[slot];
+  }
+  
+  /** Sets the value of given key.
+   * 
+   * <p>
+   * If the key is present with a different value,
+   * it moves behind all other keys with the new value in the pre-image order.
+   * If the key is present with the same value, nothing changes.
+   * 
+   * @param key   The key, non-<code>null</code>.
+   * @param value The new value, not {@link Double#NaN}.
+   * 
+   * @return The previous value of the key, {@link Double#NaN} if the key was not present.
+   * 
+   * @throws NullPointerException     If the key is <code>null</code>.
+   * @throws IllegalArgumentException If the value is {@link Double#NaN}.
+   * 
+   */
+  public final double put (final K key, final double value)
+  {
+    if (Double.isNaN (value))
+      throw new IllegalArgumentException ();
+    int slot = find (key);
+    if (slot != DoubleHashMapWithPreImageAndOrderedValueSet.NIL)
+    {
+      final double oldValue = this.value[slot];
+      if (Double.compare (oldValue, value) != 0)
+      {
+        this.root = delete (this.root, slot);
+        this.value[slot] = value;
+        link (slot);
+      }
+      return oldValue;
+    }
+    if (this.free != DoubleHashMapWithPreImageAndOrderedValueSet.NIL)
+    {
+      slot = this.free;
+      this.free = this.hashNext[slot];
+    }
+    else
+    {
+      if (this.highWater == this.key.length)
+        grow ();
+      slot = this.highWater++;
+    }
+    this.key[slot] = key;
+    this.value[slot] = value;
+    this.priority[slot] = nextPriority ();
+    final int bucket = bucket (key);
+    this.hashNext[slot] = this.table[bucket];
+    this.table[bucket] = slot;
+    link (slot);
+    this.size++;
+    return Double.NaN;
+  }
+  
+  /** Removes given key from this map.
+   * 
+   * @param key The key, non-<code>null</code>.
+   * 
+   * @return The value of the key removed, {@link Double#NaN} if the key was not present.
+   * 
+   * @throws NullPointerException If the key is <code>null</code>.
+   * 
+   */
+  public final double remove (final Object key)
+  {
+    if (key == null)
+      throw new NullPointerException ();
+    final int bucket = bucket (key);
+    int previous = DoubleHashMapWithPreImageAndOrderedValueSet.NIL;
+    int slot = this.table[bucket];
+    while (slot != DoubleHashMapWithPreImageAndOrderedValueSet.NIL && ! (this.key[slot] == key || this.key[slot].equals (key)))
+    {
+      previous = slot;
+      slot = this.hashNext[slot];
+    }
+    if (slot == DoubleHashMapWithPreImageAndOrderedValueSet.NIL)
+      return Double.NaN;
+    if (previous == DoubleHashMapWithPreImageAndOrderedValueSet.NIL)
+      this.table[bucket] = this.hashNext[slot];
+    else
+      this.hashNext[previous] = this.hashNext[slot];
+    this.root = delete (this.root, slot);
+    this.key[slot] = null;
+    this.hashNext[slot] = this.free;
+    this.free = slot;
+    this.size--;
+    return this.value[slot];
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // ORDERED VALUE SET AND PRE-IMAGES
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Returns the smallest value in this map.
+   * 
+   * @return The smallest value in this map.
+   * 
+   * @throws NoSuchElementException If this map is empty.
+   * 
+   */
+  public final double firstValue ()
+  {
+    return this.value[firstSlot ()];
+  }
+  
+  /** Returns the key with the smallest value in this map.
+   * 
+   * <p>
+   * Among keys with the smallest value, the key that obtained its value first is returned.
+   * 
+   * @return The key with the smallest value in this map.
+   * 
+   * @throws NoSuchElementException If this map is empty.
+   * 
+   */
+  public final K firstKey ()
+  {
+    return keyAt (firstSlot ());
+  }
+  
+  /** Returns the largest value in this map.
+   * 
+   * @return The largest value in this map.
+   * 
+   * @throws NoSuchElementException If this map is empty.
+   * 
+   */
+  public final double lastValue ()
+  {
+    return this.value[lastSlot ()];
+  }
+  
+  /** Returns the (ordered) pre-image of given value.
+   * 
+   * @param value The value.
+   * 
+   * @return A new set holding the keys with given value, in order of obtaining that value; empty if there are none.
+   * 
+   */
+  public final Set<K> getPreImageForValue (final double value)
+  {
+    return getPreImageForRange (value, true, value, true);
+  }
+  
+  /** Returns the (ordered) pre-image of given value range.
+   * 
+   * <p>
+   * The set returned is a copy, not a view;
+   * it is not affected by later changes to this map, and changes to it do not affect this map.
+   * 
+   * @param from          The lower bound of the range.
+   * @param fromInclusive Whether the lower bound is included in the range.
+   * @param to            The upper bound of the range.
+   * @param toInclusive   Whether the upper bound is included in the range.
+   * 
+   * @return A new set holding the keys with values in the range, in increasing value order,
+   *           and, for equal values, in order of obtaining that value.
+   * 
+   * @throws IllegalArgumentException If either bound is {@link Double#NaN}.
+   * 
+   */
+  public final Set<K> getPreImageForRange (final double from,
+                                           final boolean fromInclusive,
+                                           final double to,
+                                           final boolean toInclusive)
+  {
+    if (Double.isNaN (from) || Double.isNaN (to))
+      throw new IllegalArgumentException ();
+    final Set<K> preImage = new LinkedHashSet<> ();
+    collect (this.root, from, fromInclusive, to, toInclusive, preImage);
+    return preImage;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // CLONE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+  /** Returns a copy of this map.
+   * 
+   * <p>
+   * The copy shares the keys, but none of its internal structure, with this map.
+   * 
+   * @return A copy of this map.
+   * 
+   */
+  @Override
+  @SuppressWarnings ("unchecked")
+  public DoubleHashMapWithPreImageAndOrderedValueSet<K> clone ()
+  {
+    final DoubleHashMapWithPreImageAndOrderedValueSet<K> clone;
+    try
+    {
+      clone = (DoubleHashMapWithPreImageAndOrderedValueSet<K>) super.clone ();
+    }
+    catch (CloneNotSupportedException cnse)
+    {
+      throw new RuntimeException (cnse);
+    }
+    clone.key = this.key.clone ();
+    clone.value = this.value.clone ();
+    clone.sequence = this.sequence.clone ();
+    clone.hashNext = this.hashNext.clone ();
+    clone.left = this.left.clone ();
+    clone.right = this.right.clone ();
+    clone.priority = this.priority.clone ();
+    clone.table = this.table.clone ();
+    return clone;
+  }
+  
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // END OF FILE
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  
+}
@@ -29,6 +29,11 @@ import java.util.TreeMap;
  * <p>
  * Note that <code>null</code> values are not allowed in this implementation.
  * 
+ * <p>
+ * This class is no longer used in this library.
+ * 
+ * @deprecated For {@link Double} values, use {@link DoubleHashMapWithPreImageAndOrderedValueSet} instead.
+ * 
  * @author Jan de Jongh, TNO
  * 
  * <p>
@@ -38,6 +43,7 @@ import java.util.TreeMap;
  * This file is covered by the LICENSE file in the root of this project.
  * 
  */
+@Deprecated
 public class HashMapWithPreImageAndOrderedValueSet<K, V>
 extends HashMap<K, V>
 {
@@ -18,8 +18,10 @@ package org.javades.jqueues.r5.util.stat;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.javades.jqueues.r5.entity.SimEntity;
 import org.javades.jqueues.r5.entity.SimEntityEvent;
+import org.javades.jqueues.r5.entity.SimEntityListener;
 import org.javades.jqueues.r5.entity.SimEntitySimpleEventType;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
@@ -52,13 +54,39 @@ implements SimQueueListener<J, Q>
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
   /** Constructor.
+   * 
+   * <p>
+   * The notification types are passed as interest set upon registration as listener at the queue,
+   * see {@link SimQueue#registerSimEntityListener(SimEntityListener, Set)},
+   * allowing the queue to skip notifications this object does not need.
+   * Resets and updates are always delivered.
+   * Sub-classes that override type-specific notification methods (like {@link #notifyArrival})
+   * <i>must</i> include the corresponding notification types.
+   * 
+   * @param queue             The queue to gather statistics from.
+   * @param notificationTypes The notification types (other than resets and updates) needed from the queue,
+   *                            {@code null} for all types.
+   * 
+   */
+  protected AbstractSimQueueStat (final Q queue, final Set<SimEntitySimpleEventType.Member> notificationTypes)
+  {
+    this.notificationTypes = notificationTypes;
+    setQueueInt (queue);
+  }
+  
+  /** Constructor.
+   * 
+   * <p>
+   * This object registers at the queue for all notification types.
+   * Sub-classes that only need updates and resets, or a limited set of notification types,
+   * should use {@link #AbstractSimQueueStat(SimQueue, Set)} instead.
    * 
    * @param queue The queue to gather statistics from.
    * 
    */
   public AbstractSimQueueStat (final Q queue)
   {
-    setQueueInt (queue);
+    this (queue, null);
   }
   
   /** Constructor.
@@ -74,6 +102,9 @@ implements SimQueueListener<J, Q>
   // The queue we are gathering statistics on, may be {@code null}.
   private Q queue = null;
   
+  // The notification types we need from the queue (besides resets and updates); null for all types.
+  private final Set<SimEntitySimpleEventType.Member> notificationTypes;
+  
   // The start time for gathering statistics, and the last update time.
   // Note that always startTime <= lastUpdateTime.
   // Updates before the start time are silently ignored.
@@ -296,7 +327,7 @@ implements SimQueueListener<J, Q>
       this.queue = queue;
       if (this.queue != null)
       {
-        this.queue.registerSimEntityListener (this);
+        this.queue.registerSimEntityListener (this, this.notificationTypes);
       }
     }    
   }
@@ -18,6 +18,8 @@ package org.javades.jqueues.r5.util.stat;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.SimEntitySimpleEventType;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
 
@@ -113,17 +115,45 @@ extends AbstractSimQueueStat<J, Q>
   // BEGIN: CONSTRUCTORS.
   //
   
+  /** Constructor registering at the queue for a limited set of notification types.
+   * 
+   * <p>
+   * The statistics of this class are gathered from update and reset notifications only,
+   * so sub-classes that do not override type-specific notification methods (like {@link #notifyArrival})
+   * may pass an empty set in order to let the queue skip all other notifications.
+   * 
+   * @param queue             The queue to gather statistics from.
+   * @param entries           The list of statistics to monitor on the queue.
+   * @param notificationTypes The notification types (other than resets and updates) needed from the queue,
+   *                            {@code null} for all types.
+   * 
+   * @see AbstractSimQueueStat#AbstractSimQueueStat(SimQueue, Set)
+   * 
+   */
+  protected AutoSimQueueStat
+  (final Q queue,
+   final List<AutoSimQueueStatEntry<Q>> entries,
+   final Set<SimEntitySimpleEventType.Member> notificationTypes)
+  {
+    super (queue, notificationTypes);
+    this.entries = entries;
+    resetStatistics ();
+  }
+  
   /** Constructor.
+   * 
+   * <p>
+   * This object registers at the queue for all notification types.
    * 
    * @param queue   The queue to gather statistics from.
    * @param entries The list of statistics to monitor on the queue.
    * 
+   * @see #AutoSimQueueStat(SimQueue, List, Set)
+   * 
    */
   public AutoSimQueueStat (final Q queue, final List<AutoSimQueueStatEntry<Q>> entries)
   {
-    super (queue);
-    this.entries = entries;
-    resetStatistics ();
+    this (queue, entries, null);
   }
   
   /** Constructor.
@@ -133,9 +163,7 @@ extends AbstractSimQueueStat<J, Q>
    */
   public AutoSimQueueStat ()
   {
-    super ();
-    this.entries = new ArrayList<> ();
-    resetStatistics ();
+    this (null, new ArrayList<> (), null);
   }
   
   //
@@ -16,6 +16,8 @@
  */
 package org.javades.jqueues.r5.util.stat;
 
+import java.util.Set;
+import org.javades.jqueues.r5.entity.SimEntitySimpleEventType;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
 
@@ -50,15 +52,39 @@ extends AbstractSimQueueStat<J, Q>
   //
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   
+  /** Constructor registering at the queue for a limited set of notification types.
+   * 
+   * <p>
+   * The statistics of this class are gathered from update and reset notifications only,
+   * so sub-classes that do not override type-specific notification methods (like {@link #notifyArrival})
+   * may pass an empty set in order to let the queue skip all other notifications.
+   * 
+   * @param queue             The queue to gather statistics from.
+   * @param notificationTypes The notification types (other than resets and updates) needed from the queue,
+   *                            {@code null} for all types.
+   * 
+   * @see AbstractSimQueueStat#AbstractSimQueueStat(SimQueue, Set)
+   * 
+   */
+  protected SimpleSimQueueStat (final Q queue, final Set<SimEntitySimpleEventType.Member> notificationTypes)
+  {
+    super (queue, notificationTypes);
+    resetStatisticsInt ();
+  }
+  
   /** Constructor.
+   * 
+   * <p>
+   * This object registers at the queue for all notification types.
    * 
    * @param queue The queue to gather statistics from.
    * 
+   * @see #SimpleSimQueueStat(SimQueue, Set)
+   * 
    */
   public SimpleSimQueueStat (final Q queue)
   {
-    super (queue);
-    resetStatisticsInt ();
+    this (queue, null);
   }
   
   /** Constructor.
@@ -68,8 +94,7 @@ extends AbstractSimQueueStat<J, Q>
    */
   public SimpleSimQueueStat ()
   {
-    super ();
-    resetStatisticsInt ();
+    this (null, null);
   }
   
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
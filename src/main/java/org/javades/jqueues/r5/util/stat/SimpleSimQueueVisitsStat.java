@@ -18,6 +18,9 @@ package org.javades.jqueues.r5.util.stat;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.SimEntitySimpleEventType;
+import org.javades.jqueues.r5.entity.jq.SimJQSimpleEventType;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
 
@@ -457,15 +460,38 @@ extends AbstractSimQueueStat<J, Q>
   // BEGIN: CONSTRUCTORS.
   //
   
+  /** Constructor registering at the queue for a limited set of notification types.
+   * 
+   * <p>
+   * The statistics of this class are gathered from the job-visit notifications
+   * (see {@link SimJQSimpleEventType#VISIT_TYPES}), and from update and reset notifications,
+   * so sub-classes that do not override other type-specific notification methods
+   * may pass the visit types in order to let the queue skip all other notifications.
+   * 
+   * @param queue             The queue to gather statistics from.
+   * @param notificationTypes The notification types (other than resets and updates) needed from the queue,
+   *                            {@code null} for all types.
+   * 
+   * @see AbstractSimQueueStat#AbstractSimQueueStat(SimQueue, Set)
+   * 
+   */
+  protected SimpleSimQueueVisitsStat (final Q queue, final Set<SimEntitySimpleEventType.Member> notificationTypes)
+  {
+    super (queue, notificationTypes);
+    resetStatisticsInt ();
+  }
+  
   /** Constructor.
+   * 
+   * <p>
+   * This object registers at the queue for all notification types.
    * 
    * @param queue The queue to gather statistics from.
    * 
    */
   public SimpleSimQueueVisitsStat (final Q queue)
   {
-    super (queue);
-    resetStatisticsInt ();
+    this (queue, null);
   }
   
   /** Constructor.
@@ -475,8 +501,7 @@ extends AbstractSimQueueStat<J, Q>
    */
   public SimpleSimQueueVisitsStat ()
   {
-    super ();
-    resetStatisticsInt ();
+    this (null, null);
   }
   
   //
@@ -128,6 +128,8 @@ implements ItemListener
   
   final JTextField numberOfVisitsTextField = new JTextField ("Number of Visits Value");
   
+  final JTextField numberOfChoicesTextField = new JTextField ("Number of Choices Value");
+  
   private void setQueueType (final KnownSimQueue queueType)
   {
     if (queueType != null)
@@ -1071,6 +1073,12 @@ implements ItemListener
       final NumberOfVisitsTextFieldListener numberOfVisitsTextFieldListener = new NumberOfVisitsTextFieldListener ();
       JSimQueueCreationDialog.this.numberOfVisitsTextField.addActionListener (numberOfVisitsTextFieldListener);
       JSimQueueCreationDialog.this.numberOfVisitsTextField.addFocusListener (numberOfVisitsTextFieldListener);
+      final JLabel numberOfChoicesLabel = new JLabel ("Number of Choices");
+      JSimQueueCreationDialog.this.numberOfChoicesTextField.setText
+        (Integer.toString (JSimQueueCreationDialog.this.parameters.numberOfChoices));
+      final NumberOfChoicesTextFieldListener numberOfChoicesTextFieldListener = new NumberOfChoicesTextFieldListener ();
+      JSimQueueCreationDialog.this.numberOfChoicesTextField.addActionListener (numberOfChoicesTextFieldListener);
+      JSimQueueCreationDialog.this.numberOfChoicesTextField.addFocusListener (numberOfChoicesTextFieldListener);
       final JPanel jPanel = new JPanel ();
       getContentPane ().add (jPanel);
       jPanel.setBorder
@@ -1087,12 +1095,14 @@ implements ItemListener
               .addComponent (onlyWaitingJobsLabel)
               .addComponent (feedbackProbabilityLabel)
               .addComponent (numberOfVisitsLabel)
+              .addComponent (numberOfChoicesLabel)
             )
           .addGroup
             (layout.createParallelGroup (GroupLayout.Alignment.LEADING)
               .addComponent (JSimQueueCreationDialog.this.onlyWaitingJobsCheckBox)
               .addComponent (JSimQueueCreationDialog.this.feedbackProbabilityTextField)
               .addComponent (JSimQueueCreationDialog.this.numberOfVisitsTextField)
+              .addComponent (JSimQueueCreationDialog.this.numberOfChoicesTextField)
             )
         );
       layout.setVerticalGroup
@@ -1112,6 +1122,11 @@ implements ItemListener
               .addComponent (numberOfVisitsLabel)
               .addComponent (JSimQueueCreationDialog.this.numberOfVisitsTextField)
             )
+          .addGroup
+            (layout.createParallelGroup (GroupLayout.Alignment.BASELINE)
+              .addComponent (numberOfChoicesLabel)
+              .addComponent (JSimQueueCreationDialog.this.numberOfChoicesTextField)
+            )
         );
     }
     
@@ -1271,6 +1286,57 @@ implements ItemListener
     
   }
   
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+  //
+  // NUMBER OF CHOICES TEXTFIELD LISTENER
+  //
+  //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+  private final class NumberOfChoicesTextFieldListener
+  implements ActionListener, FocusListener
+  {
+
+    @Override
+    public final void focusGained (final FocusEvent fe)
+    {
+    }
+
+    @Override
+    public final void focusLost (final FocusEvent fe)
+    {
+      actionPerformed ();
+    }
+
+    @Override
+    public final void actionPerformed (final ActionEvent ae)
+    {
+      actionPerformed ();
+    }
+    
+    private void actionPerformed ()
+    {
+      final String text = JSimQueueCreationDialog.this.numberOfChoicesTextField.getText ();
+      if (text != null)
+      {
+        try
+        {
+          final int numberOfChoicesInt = Integer.parseInt (text);
+          if (numberOfChoicesInt >= 1)
+          {
+            JSimQueueCreationDialog.this.parameters.numberOfChoices = numberOfChoicesInt;
+            return;
+          }
+        }
+        catch (NumberFormatException nfe)
+        {
+        }
+      }
+      JSimQueueCreationDialog.this.numberOfChoicesTextField.setText
+        (Integer.toString (JSimQueueCreationDialog.this.parameters.numberOfChoices));
+    }
+    
+  }
+  
   //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   //
   // END OF FILE
@@ -148,6 +148,18 @@ public enum KnownSimQueue
                   IntegerParameterProfile.IPP_IRRELEVANT,
                   IntegerParameterProfile.IPP_ALWAYS_INFINITE,
                   DoubleParameterProfile.DPP_IRRELEVANT),
+  JSQ_D          ("JSQ_d", true,
+                  org.javades.jqueues.r5.entity.jq.queue.composite.parallel.JSQ_d.class,
+                  GeneratorProfile.SE_QSET_DSJF_OWJ_NUMC_RNG,
+                  IntegerParameterProfile.IPP_IRRELEVANT,
+                  IntegerParameterProfile.IPP_ALWAYS_INFINITE,
+                  DoubleParameterProfile.DPP_IRRELEVANT),
+  JIQ            ("JIQ", true,
+                  org.javades.jqueues.r5.entity.jq.queue.composite.parallel.JIQ.class,
+                  GeneratorProfile.SE_QSET_DSJF_RNG,
+                  IntegerParameterProfile.IPP_IRRELEVANT,
+                  IntegerParameterProfile.IPP_ALWAYS_INFINITE,
+                  DoubleParameterProfile.DPP_IRRELEVANT),
   
   // XXX JRQ???
   
@@ -256,17 +268,19 @@ public enum KnownSimQueue
   public enum GeneratorProfile
   {
     
-    SE                    (true,  true,  false, false, false, false, 0, 0,                 false, false, false),
-    SE_WST                (true,  true,  true,  false, false, false, 0, 0,                 false, false, false),
-    SE_c                  (true,  true,  false, true,  false, false, 0, 0,                 false, false, false),
-    SE_B                  (true,  true,  false, false, true,  false, 0, 0,                 false, false, false),
-    SE_Q_DSJF             (true,  true,  false, false, false, true,  1, 1,                 false, false, false),
-    SE_Q1_Q2_DSJF         (true,  true,  false, false, false, true,  2, 2,                 false, false, false),
-    SE_QSET_DSJF          (true,  true,  false, false, false, true,  0, Integer.MAX_VALUE, false, false, false),
-    SE_QSET_DSJF_OWJ_RNG  (true,  true,  false, false, false, true,  0, Integer.MAX_VALUE, true,  false, false),
-    SE_Q_PFB_RNG_DSJF     (true,  true,  false, false, false, true,  1, 1,                 false, true,  false),
-    SE_Q_NUMV_DSJF        (true,  true,  false, false, false, true,  1, 1,                 false, false, true),
-    UNKNOWN               (false, false, false, false, false, false, 0, 0,                 false, false, false);
+    SE                         (true,  true,  false, false, false, false, 0, 0,                 false, false, false, false),
+    SE_WST                     (true,  true,  true,  false, false, false, 0, 0,                 false, false, false, false),
+    SE_c                       (true,  true,  false, true,  false, false, 0, 0,                 false, false, false, false),
+    SE_B                       (true,  true,  false, false, true,  false, 0, 0,                 false, false, false, false),
+    SE_Q_DSJF                  (true,  true,  false, false, false, true,  1, 1,                 false, false, false, false),
+    SE_Q1_Q2_DSJF              (true,  true,  false, false, false, true,  2, 2,                 false, false, false, false),
+    SE_QSET_DSJF               (true,  true,  false, false, false, true,  0, Integer.MAX_VALUE, false, false, false, false),
+    SE_QSET_DSJF_RNG           (true,  true,  false, false, false, true,  0, Integer.MAX_VALUE, false, false, false, false),
+    SE_QSET_DSJF_OWJ_RNG       (true,  true,  false, false, false, true,  0, Integer.MAX_VALUE, true,  false, false, false),
+    SE_QSET_DSJF_OWJ_NUMC_RNG  (true,  true,  false, false, false, true,  0, Integer.MAX_VALUE, true,  false, false, true),
+    SE_Q_PFB_RNG_DSJF          (true,  true,  false, false, false, true,  1, 1,                 false, true,  false, false),
+    SE_Q_NUMV_DSJF             (true,  true,  false, false, false, true,  1, 1,                 false, false, true,  false),
+    UNKNOWN                    (false, false, false, false, false, false, 0, 0,                 false, false, false, false);
     
     private final boolean canInstantiate;
     
@@ -290,6 +304,8 @@ public enum KnownSimQueue
     
     private final boolean requiresNumberOfVists;
     
+    private final boolean requiresNumberOfChoices;
+    
     private GeneratorProfile
       (final boolean canInstatiate,
        final boolean requiresSimEventList,
@@ -301,7 +317,8 @@ public enum KnownSimQueue
        final int     maxSubQueues,
        final boolean requiresOnlyWaitingJobs,
        final boolean requiresFeedbackProbability,
-       final boolean requiresNumberOfVisits)
+       final boolean requiresNumberOfVisits,
+       final boolean requiresNumberOfChoices)
     {
       this.canInstantiate = canInstatiate;
       this.requiresSimEventList = requiresSimEventList;
@@ -314,6 +331,7 @@ public enum KnownSimQueue
       this.requiresOnlyWaitingJobs = requiresOnlyWaitingJobs;
       this.requiresFeedbackProbability = requiresFeedbackProbability;
       this.requiresNumberOfVists = requiresNumberOfVisits;
+      this.requiresNumberOfChoices = requiresNumberOfChoices;
     }
     
     private SimQueue newInstance (final Class<? extends SimQueue> queueClass, final Parameters parameters)
@@ -338,6 +356,12 @@ public enum KnownSimQueue
         System.err.println ("No event-list supplied for new SimQueue instance with profile " + this + ".");
         return null;
       }
+      if (this.requiresNumberOfChoices && parameters.numberOfChoices < 1)
+      {
+        System.err.println ("Illegal number of choices supplied for new SimQueue instance with profile " + this + ".");
+        System.err.println ("-> Supplied: " + parameters.numberOfChoices + ".");
+        return null;
+      }
       final Set<SimQueue> copiedQueues;
       if (this.requiresSubQueues)
       {
@@ -408,12 +432,25 @@ public enum KnownSimQueue
             (SimEventList.class, Set.class, DelegateSimJobFactory.class);
           return (SimQueue) constructor.newInstance (parameters.eventList, copiedQueues, null);
         }
+        else if (this == SE_QSET_DSJF_RNG)
+        {
+          final Constructor constructor = queueClass.getConstructor
+            (SimEventList.class, Set.class, DelegateSimJobFactory.class, Random.class);
+          return (SimQueue) constructor.newInstance (parameters.eventList, copiedQueues, null, null);
+        }
         else if (this == SE_QSET_DSJF_OWJ_RNG)
         {
           final Constructor constructor = queueClass.getConstructor
             (SimEventList.class, Set.class, DelegateSimJobFactory.class, Boolean.TYPE, Random.class);
           return (SimQueue) constructor.newInstance (parameters.eventList, copiedQueues, null, parameters.onlyWaitingJobs, null);
         }
+        else if (this == SE_QSET_DSJF_OWJ_NUMC_RNG)
+        {
+          final Constructor constructor = queueClass.getConstructor
+            (SimEventList.class, Set.class, DelegateSimJobFactory.class, Boolean.TYPE, Integer.TYPE, Random.class);
+          return (SimQueue) constructor.newInstance
+            (parameters.eventList, copiedQueues, null, parameters.onlyWaitingJobs, parameters.numberOfChoices, null);
+        }
         else if (this == SE_Q_PFB_RNG_DSJF)
         {
           final Constructor constructor = queueClass.getConstructor
@@ -694,6 +731,8 @@ public enum KnownSimQueue
     
     public int numberOfVisits = 1;
     
+    public int numberOfChoices = 2;
+    
   }
   
 }
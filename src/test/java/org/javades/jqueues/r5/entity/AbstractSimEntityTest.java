@@ -0,0 +1,110 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity;
+
+import org.javades.jqueues.r5.entity.jq.SimJQSimpleEventType;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.FCFS;
+import org.javades.jqueues.r5.listener.DefaultSimQueueListener;
+import org.javades.jsimulation.r5.DefaultSimEventList;
+import org.javades.jsimulation.r5.SimEventList;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Tests for {@link AbstractSimEntity}.
+ *
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+public class AbstractSimEntityTest
+{
+  
+  public AbstractSimEntityTest ()
+  {
+  }
+  
+  @BeforeClass
+  public static void setUpClass ()
+  {
+  }
+  
+  @AfterClass
+  public static void tearDownClass ()
+  {
+  }
+  
+  @Before
+  public void setUp ()
+  {
+  }
+  
+  @After
+  public void tearDown ()
+  {
+  }
+
+  /**
+   * Test of isNotificationTypeConsumed, in particular in lazy-notifications mode.
+   * 
+   * <p>
+   * Registered notifiers count as consumers, unless they only propagate notifications to listeners.
+   * 
+   */
+  @Test
+  public void testIsNotificationTypeConsumed ()
+  {
+    System.out.println ("isNotificationTypeConsumed");
+    final SimEventList eventList = new DefaultSimEventList ();
+    final FCFS queue = new FCFS (eventList);
+    final SimEntitySimpleEventType.Member withoutNotifier = new SimEntitySimpleEventType.Member ("WITHOUT_NOTIFIER");
+    final SimEntitySimpleEventType.Member withNotifier = new SimEntitySimpleEventType.Member ("WITH_NOTIFIER");
+    final SimEntitySimpleEventType.Member withListenersOnlyNotifier
+      = new SimEntitySimpleEventType.Member ("WITH_LISTENERS_ONLY_NOTIFIER");
+    queue.registerNotificationType (withoutNotifier, null);
+    queue.registerNotificationType (withNotifier, (event) -> {});
+    queue.registerNotificationType (withListenersOnlyNotifier, (event) -> {}, true);
+    // Without lazy notifications, every notification type is consumed.
+    assertFalse (queue.isLazyNotifications ());
+    assertTrue (queue.isNotificationTypeConsumed (SimJQSimpleEventType.START));
+    assertTrue (queue.isNotificationTypeConsumed (withoutNotifier));
+    assertTrue (queue.isNotificationTypeConsumed (withNotifier));
+    assertTrue (queue.isNotificationTypeConsumed (withListenersOnlyNotifier));
+    // With lazy notifications and without listeners, only the notifier that does more than notifying listeners consumes.
+    queue.setLazyNotifications (true);
+    assertFalse (queue.isNotificationTypeConsumed (SimJQSimpleEventType.START));
+    assertFalse (queue.isNotificationTypeConsumed (withoutNotifier));
+    assertTrue (queue.isNotificationTypeConsumed (withNotifier));
+    assertFalse (queue.isNotificationTypeConsumed (withListenersOnlyNotifier));
+    // With lazy notifications and a listener, every notification type is consumed.
+    queue.registerSimEntityListener (new DefaultSimQueueListener ());
+    assertTrue (queue.isNotificationTypeConsumed (SimJQSimpleEventType.START));
+    assertTrue (queue.isNotificationTypeConsumed (withoutNotifier));
+    assertTrue (queue.isNotificationTypeConsumed (withNotifier));
+    assertTrue (queue.isNotificationTypeConsumed (withListenersOnlyNotifier));
+  }
+
+}
@@ -0,0 +1,191 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.jq.SimJQEvent;
+import org.javades.jqueues.r5.entity.jq.job.DefaultSimJob;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.entity.jq.queue.preemptive.P_LCFS;
+import org.javades.jqueues.r5.entity.jq.queue.preemptive.PreemptionStrategy;
+import org.javades.jqueues.r5.entity.jq.queue.preemptive.SRTF;
+import org.javades.jqueues.r5.entity.jq.queue.processorsharing.PS;
+import org.javades.jqueues.r5.listener.DefaultSimQueueListener;
+import org.javades.jsimulation.r5.DefaultSimEvent;
+import org.javades.jsimulation.r5.DefaultSimEventList;
+import org.javades.jsimulation.r5.SimEvent;
+import org.javades.jsimulation.r5.SimEventAction;
+import org.javades.jsimulation.r5.SimEventList;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Tests for {@link AbstractSimQueue}.
+ *
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+public class AbstractSimQueueTest
+{
+  
+  public AbstractSimQueueTest ()
+  {
+  }
+  
+  @BeforeClass
+  public static void setUpClass ()
+  {
+  }
+  
+  @AfterClass
+  public static void tearDownClass ()
+  {
+  }
+  
+  @Before
+  public void setUp ()
+  {
+  }
+  
+  @After
+  public void tearDown ()
+  {
+  }
+
+  private static SimJob scheduleJobArrival
+  (final SimEventList eventList, final SimQueue queue, final String name, final double arrTime, final double serviceTime)
+  {
+    final SimJob job = new DefaultSimJob (eventList, name, serviceTime);
+    eventList.add (new DefaultSimEvent ("ARRIVAL_" + name, arrTime, null, (SimEventAction) (final SimEvent event) ->
+    {
+      queue.arrive (event.getTime (), job);
+    }));
+    return job;
+  }
+  
+  /** Runs the event list one event at a time, and checks the departure events of the queue after each event.
+   * 
+   * <p>
+   * A departure event that is scheduled both before and after processing an event,
+   * must still be scheduled for the same job at the same time.
+   * In other words, a departure event canceled at some instant must not be rescheduled at that same instant,
+   * not even for the same job.
+   * 
+   * @return The departure times of the jobs, indexed by job.
+   * 
+   */
+  private static Map<SimJob, Double> runAndCheckDepartureEvents
+  (final SimEventList eventList, final AbstractSimQueue queue)
+  {
+    final Map<SimJob, Double> departureTimes = new HashMap<> ();
+    queue.registerSimEntityListener (new DefaultSimQueueListener ()
+    {
+      @Override
+      public void notifyDeparture (final double time, final SimJob job, final SimQueue queue)
+      {
+        departureTimes.put (job, time);
+      }
+    });
+    while (! eventList.isEmpty ())
+    {
+      final Map<SimJQEvent.Departure, SimJob> jobsBefore = new IdentityHashMap<> ();
+      final Map<SimJQEvent.Departure, Double> timesBefore = new IdentityHashMap<> ();
+      for (final SimJQEvent.Departure event : (Set<SimJQEvent.Departure>) queue.getDepartureEvents ())
+      {
+        jobsBefore.put (event, event.getJob ());
+        timesBefore.put (event, event.getTime ());
+      }
+      eventList.runSingleStep ();
+      for (final SimJQEvent.Departure event : (Set<SimJQEvent.Departure>) queue.getDepartureEvents ())
+        if (jobsBefore.containsKey (event))
+        {
+          assertSame (jobsBefore.get (event), event.getJob ());
+          assertEquals (timesBefore.get (event), event.getTime (), 0.0);
+        }
+    }
+    assertEquals (0, queue.getNumberOfJobs ());
+    assertTrue (queue.getDepartureEvents ().isEmpty ());
+    return departureTimes;
+  }
+  
+  /**
+   * Test of departure-event reuse when a PS queue cancels and reschedules departures at the same instant,
+   * including during the handling of its own departure.
+   * 
+   */
+  @Test
+  public void testDepartureEventsCanceledAndRescheduledAtSameInstantPS ()
+  {
+    System.out.println ("Departure events canceled and rescheduled at the same instant: PS");
+    final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+    eventList.reset (0);
+    final PS queue = new PS (eventList);
+    // A and B share the server until A departs at t = 2; D arrives at t = 2, and shares with B until both depart at t = 4.
+    final SimJob a = scheduleJobArrival (eventList, queue, "A", 0.0, 1.0);
+    final SimJob b = scheduleJobArrival (eventList, queue, "B", 0.0, 2.0);
+    final SimJob d = scheduleJobArrival (eventList, queue, "D", 2.0, 1.0);
+    final Map<SimJob, Double> departureTimes = runAndCheckDepartureEvents (eventList, queue);
+    assertEquals (2.0, departureTimes.get (a), 1.0e-12);
+    assertEquals (4.0, departureTimes.get (b), 1.0e-12);
+    assertEquals (4.0, departureTimes.get (d), 1.0e-12);
+  }
+
+  /**
+   * Test of departure-event reuse when preemptive queues cancel and reschedule departures at the same instant.
+   * 
+   */
+  @Test
+  public void testDepartureEventsCanceledAndRescheduledAtSameInstantPreemptive ()
+  {
+    System.out.println ("Departure events canceled and rescheduled at the same instant: P_LCFS and SRTF");
+    // P_LCFS: B preempts A at t = 1, C preempts B at t = 1.5;
+    // C departs at t = 2.5, B resumes and departs at t = 3, and A resumes and departs at t = 4.
+    final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+    eventList.reset (0);
+    final P_LCFS p_lcfs = new P_LCFS (eventList, PreemptionStrategy.RESUME);
+    final SimJob a = scheduleJobArrival (eventList, p_lcfs, "A", 0.0, 2.0);
+    final SimJob b = scheduleJobArrival (eventList, p_lcfs, "B", 1.0, 1.0);
+    final SimJob c = scheduleJobArrival (eventList, p_lcfs, "C", 1.5, 1.0);
+    Map<SimJob, Double> departureTimes = runAndCheckDepartureEvents (eventList, p_lcfs);
+    assertEquals (4.0, departureTimes.get (a), 1.0e-12);
+    assertEquals (3.0, departureTimes.get (b), 1.0e-12);
+    assertEquals (2.5, departureTimes.get (c), 1.0e-12);
+    // SRTF: B preempts A at t = 1 and departs at t = 2; A resumes and departs at t = 4.
+    eventList.reset (0);
+    final SRTF srtf = new SRTF (eventList, PreemptionStrategy.RESUME);
+    final SimJob x = scheduleJobArrival (eventList, srtf, "X", 0.0, 3.0);
+    final SimJob y = scheduleJobArrival (eventList, srtf, "Y", 1.0, 1.0);
+    departureTimes = runAndCheckDepartureEvents (eventList, srtf);
+    assertEquals (4.0, departureTimes.get (x), 1.0e-12);
+    assertEquals (2.0, departureTimes.get (y), 1.0e-12);
+  }
+
+}
@@ -19,6 +19,7 @@ package org.javades.jqueues.r5.entity.jq.queue;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -66,7 +67,32 @@ public class DefaultSimQueueTests
   {
   }
   
-  public final static int NUMBER_OF_PASSES = 2;  
+  /** The validation level of the queues under test in each pass.
+   * 
+   * <p>
+   * The first pass runs at the default level, the second one cross-checks cached state (like StartArmed),
+   * and the last one runs without any validation.
+   * 
+   * @see AbstractSimQueue#setValidationLevel
+   * 
+   */
+  private final static AbstractSimQueue.ValidationLevel[] PASS_VALIDATION_LEVELS =
+  {
+    AbstractSimQueue.ValidationLevel.FULL,
+    AbstractSimQueue.ValidationLevel.DEBUG,
+    AbstractSimQueue.ValidationLevel.OFF
+  };
+  
+  public final static int NUMBER_OF_PASSES = DefaultSimQueueTests.PASS_VALIDATION_LEVELS.length;  
+  
+  private static void setValidationLevel (final SimQueue queue, final AbstractSimQueue.ValidationLevel validationLevel)
+  {
+    if (queue instanceof AbstractSimQueue)
+      ((AbstractSimQueue) queue).setValidationLevel (validationLevel);
+    if (queue instanceof SimQueueComposite)
+      for (final SimQueue subQueue : (Set<SimQueue>) ((SimQueueComposite) queue).getQueues ())
+        setValidationLevel (subQueue, validationLevel);
+  }
   
   public static <Q extends SimQueue> boolean doSimQueueTests_SQ_SV
     (final Q queue,
@@ -81,6 +107,49 @@ public class DefaultSimQueueTests
      final Set<KnownLoadFactory_SQ_SV> restrict,
      final String message)
   throws SimQueuePredictionException
+  {
+    return doSimQueueTests_SQ_SV
+      (queue, predictor, predictorQueue, null, numberOfJobs, hints, silent, deadSilent, accuracy, omit, restrict, message);
+  }
+  
+  /** Runs the tests with a single given load factory instead of the known load factories.
+   * 
+   * @see #doSimQueueTests_SQ_SV(SimQueue, SimQueuePredictor, SimQueue, int, Set, boolean, boolean, double, Set, Set, String)
+   * 
+   */
+  public static <Q extends SimQueue> boolean doSimQueueTests_SQ_SV
+    (final Q queue,
+     final SimQueuePredictor<Q> predictor,
+     final SimQueue predictorQueue,
+     final LoadFactory_SQ_SV loadFactory,
+     final int numberOfJobs,
+     final Set<LoadFactoryHint> hints,
+     final boolean silent,
+     final boolean deadSilent,
+     final double accuracy,
+     final String message)
+  throws SimQueuePredictionException
+  {
+    if (loadFactory == null)
+      throw new IllegalArgumentException ();
+    return doSimQueueTests_SQ_SV
+      (queue, predictor, predictorQueue, loadFactory, numberOfJobs, hints, silent, deadSilent, accuracy, null, null, message);
+  }
+  
+  private static <Q extends SimQueue> boolean doSimQueueTests_SQ_SV
+    (final Q queue,
+     final SimQueuePredictor<Q> predictor,
+     final SimQueue predictorQueue,
+     final LoadFactory_SQ_SV loadFactory,
+     final int numberOfJobs,
+     final Set<LoadFactoryHint> hints,
+     final boolean silent,
+     final boolean deadSilent,
+     final double accuracy,
+     final Set<KnownLoadFactory_SQ_SV> omit,
+     final Set<KnownLoadFactory_SQ_SV> restrict,
+     final String message)
+  throws SimQueuePredictionException
   {
     if (queue == null
     || (predictor == null && predictorQueue == null)
@@ -94,9 +163,9 @@ public class DefaultSimQueueTests
     {
       return
         doSimQueueTests_SQ_SV
-          (queue, predictor, null, numberOfJobs, hints, silent, deadSilent, accuracy, omit, restrict, message)
+          (queue, predictor, null, loadFactory, numberOfJobs, hints, silent, deadSilent, accuracy, omit, restrict, message)
      && doSimQueueTests_SQ_SV
-          (queue, null, predictorQueue, numberOfJobs, hints, silent, deadSilent, accuracy, omit, restrict, message);
+          (queue, null, predictorQueue, loadFactory, numberOfJobs, hints, silent, deadSilent, accuracy, omit, restrict, message);
     }
     System.out.print ("SimQueue Test [SQ/SV]: ");
     if (predictorQueue == null)
@@ -139,21 +208,34 @@ public class DefaultSimQueueTests
       predictorQueue.registerSimEntityListener (predictorQueueSacLogger);
       predictorQueue.registerSimEntityListener (predictorQueueStaLogger);
     }
-    // Loop over (1) the known load factories and (2) the consequetive passes.
-    for (final KnownLoadFactory_SQ_SV klf : KnownLoadFactory_SQ_SV.values ())
-      if ((omit == null || ! omit.contains (klf))
-       && (restrict == null || restrict.contains (klf)))
+    // Collect the load factories; either the one given or the known ones (null values for those omitted).
+    final Map<String, LoadFactory_SQ_SV> loadFactories = new LinkedHashMap<> ();
+    if (loadFactory != null)
+      loadFactories.put (loadFactory.getClass ().getSimpleName (), loadFactory);
+    else
+      for (final KnownLoadFactory_SQ_SV klf : KnownLoadFactory_SQ_SV.values ())
+        if ((omit == null || ! omit.contains (klf))
+         && (restrict == null || restrict.contains (klf)))
+          loadFactories.put (klf.toString (), klf.getLoadFactory ());
+        else
+          loadFactories.put (klf.toString (), null);
+    // Loop over (1) the load factories and (2) the consequetive passes.
+    for (final Map.Entry<String, LoadFactory_SQ_SV> lf : loadFactories.entrySet ())
+      if (lf.getValue () != null)
         for (int pass = 1; pass <= NUMBER_OF_PASSES; pass++)
         {
+          final AbstractSimQueue.ValidationLevel validationLevel = DefaultSimQueueTests.PASS_VALIDATION_LEVELS[pass - 1];
           if (! deadSilent)
-            System.out.println ("===== Test: " + klf + ", pass " + pass + " =====");
+            System.out.println ("===== Test: " + lf.getKey () + ", pass " + pass + " [" + validationLevel + "] =====");
+          setValidationLevel (queue, validationLevel);
+          if (predictorQueue != null)
+            setValidationLevel (predictorQueue, validationLevel);
           assert ! queue.isQueueAccessVacation ();
           // Make sure we use the right 'type' of job.
           final SimJobFactory jobFactory = new DefaultVisitsLoggingSimJobQoSFactory<> ();
           final NavigableMap<Double, Set<SimJQEvent>> queueEventsAsMap = new TreeMap<> ();
-          final LoadFactory_SQ_SV loadFactory = klf.getLoadFactory ();
           // Generate the load; events will be scheduled on the event list for queue, but also put into queueEventsAsMap.
-          final Set<SimJob> jobs = loadFactory.generate
+          final Set<SimJob> jobs = lf.getValue ().generate
             (el, false, queue, jobFactory, numberOfJobs, true, 0.0, hints, queueEventsAsMap);
           // Create a set holding the events in proper order.
           final Set<SimJQEvent> queueEventsAsSet = new LinkedHashSet<> ();
@@ -248,11 +330,11 @@ public class DefaultSimQueueTests
             throw new RuntimeException ();
           // Create a test string to be passed to the matching functions.
           final String testString =
-                                           "    Load Factory   : " + klf
+                                           "    Load Factory   : " + lf.getKey ()
             + "\n"
-            +                              "      [Description]: " + klf.getLoadFactory ().getDescription ()
+            +                              "      [Description]: " + lf.getValue ().getDescription ()
             + "\n"
-            +                              "    Pass           : " + pass
+            +                              "    Pass           : " + pass + " [" + validationLevel + "]"
             + "\n"
             +                              "    Queue          : " + queue
             + "\n"
@@ -273,7 +355,7 @@ public class DefaultSimQueueTests
         }
       else if (! deadSilent)
         // Report omitted test.
-        System.out.println ("===== Omitting: " + klf + ".");
+        System.out.println ("===== Omitting: " + lf.getKey () + ".");
     return true;
   }
     
@@ -0,0 +1,191 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue.composite;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.jq.job.DefaultSimJob;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.entity.jq.queue.DefaultSimQueueTests;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.composite.parallel.JIQ;
+import org.javades.jqueues.r5.entity.jq.queue.composite.parallel.Pattern;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.FCFS;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.IS;
+import org.javades.jqueues.r5.entity.jq.queue.serverless.ZERO;
+import org.javades.jqueues.r5.util.predictor.SimQueuePredictionException;
+import org.javades.jsimulation.r5.DefaultSimEvent;
+import org.javades.jsimulation.r5.DefaultSimEventList;
+import org.javades.jsimulation.r5.SimEventList;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Tests for {@link JIQ}.
+ *
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ *
+ */
+public class JIQTest
+{
+  
+  public JIQTest ()
+  {
+  }
+  
+  @BeforeClass
+  public static void setUpClass ()
+  {
+  }
+  
+  @AfterClass
+  public static void tearDownClass ()
+  {
+  }
+  
+  @Before
+  public void setUp ()
+  {
+  }
+  
+  @After
+  public void tearDown ()
+  {
+  }
+
+  /**
+   * Test of JIQ.
+   * 
+   */
+  @Test
+  public void testJIQ () throws SimQueuePredictionException
+  {
+    final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+    final int numberOfJobs = 100;
+    final boolean silent = true;
+    final boolean deadSilent = true;
+    // JIQ{FCFS} == Pattern{FCFS}
+    // [Not compared to FCFS itself, because StartArmed on the (LocalStart) composite is always true.]
+    final FCFS fcfs0 = new FCFS (eventList);
+    final JIQ jiq0 =
+      new JIQ (eventList, Collections.singleton (fcfs0), null, new Random (20170101L));
+    final Pattern pattern0 =
+      new Pattern (eventList, Collections.singleton (new FCFS (eventList)), null, new int[] { 0 });
+    DefaultSimQueueTests.doSimQueueTests_SQ_SV
+      (jiq0, null, pattern0, numberOfJobs, null, silent, deadSilent, 1.0e-12, null, null, null);
+    // JIQ[ZERO,ZERO,ZERO] == Pattern[ZERO]
+    // [Not compared to ZERO itself, because the (LocalStart) composite starts jobs upon arrival.]
+    final Set<SimQueue> subQueues_jiq1 = new LinkedHashSet<> ();
+    subQueues_jiq1.add (new ZERO (eventList));
+    subQueues_jiq1.add (new ZERO (eventList));
+    subQueues_jiq1.add (new ZERO (eventList));
+    final JIQ jiq1 = new JIQ (eventList, subQueues_jiq1, null, new Random (20170101L));
+    final Pattern pattern1 =
+      new Pattern (eventList, Collections.singleton (new ZERO (eventList)), null, new int[] { 0 });
+    DefaultSimQueueTests.doSimQueueTests_SQ_SV
+      (jiq1, null, pattern1, numberOfJobs, null, silent, deadSilent, 1.0e-12, null, null, null);
+    // JIQ[IS,IS,IS] == IS
+    final Set<SimQueue> subQueues_jiq2 = new LinkedHashSet<> ();
+    subQueues_jiq2.add (new IS (eventList));
+    subQueues_jiq2.add (new IS (eventList));
+    subQueues_jiq2.add (new IS (eventList));
+    final JIQ jiq2 = new JIQ (eventList, subQueues_jiq2, null, new Random (20170101L));
+    DefaultSimQueueTests.doSimQueueTests_SQ_SV
+      (jiq2, null, new IS (eventList), numberOfJobs, null, silent, deadSilent, 1.0e-12, null, null, null);
+  }
+
+  /**
+   * Test of the JIQ selection with unevenly loaded {@link FCFS} sub-queues.
+   * 
+   * <p>
+   * Half of the sub-queues have no server-access credits, so their jobs are pinned in the waiting area,
+   * whereas the other half each have a job in service.
+   * Jobs arrive and are revoked at random, without running the event list (so no job ever departs),
+   * and each arriving job must be sent to an idle sub-queue if there is one.
+   * 
+   */
+  @Test
+  public void testJIQ_UnevenLoad ()
+  {
+    final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+    final Random rng = new Random (20170101L);
+    final List<FCFS> subQueues = new ArrayList<> ();
+    for (int q = 0; q < 6; q++)
+    {
+      final FCFS fcfs = new FCFS (eventList);
+      if (q % 2 == 0)
+        fcfs.setServerAccessCredits (0.0, 0);
+      subQueues.add (fcfs);
+    }
+    final JIQ jiq = new JIQ (eventList, new LinkedHashSet<> (subQueues), null, new Random (20170101L));
+    final List<SimJob> jobs = new ArrayList<> ();
+    int numberOfIdleSelections = 0;
+    int numberOfBusySelections = 0;
+    for (int i = 0; i < 500; i++)
+      // Keep the load low enough to have idle sub-queues most of the time.
+      if (jobs.isEmpty () || rng.nextInt (2) != 0)
+      {
+        final int[] numberOfJobs = new int[subQueues.size ()];
+        boolean idleQueues = false;
+        for (int q = 0; q < subQueues.size (); q++)
+        {
+          numberOfJobs[q] = subQueues.get (q).getNumberOfJobs ();
+          idleQueues = idleQueues || numberOfJobs[q] == 0;
+        }
+        final SimJob job = new DefaultSimJob (null, "J" + i, 100.0);
+        jiq.arrive (0.0, job);
+        jobs.add (job);
+        int selectedQueue = -1;
+        for (int q = 0; q < subQueues.size (); q++)
+          if (subQueues.get (q).getNumberOfJobs () != numberOfJobs[q])
+          {
+            assertEquals (-1, selectedQueue);
+            assertEquals (numberOfJobs[q] + 1, subQueues.get (q).getNumberOfJobs ());
+            selectedQueue = q;
+          }
+        assertNotEquals (-1, selectedQueue);
+        if (idleQueues)
+        {
+          assertEquals (0, numberOfJobs[selectedQueue]);
+          numberOfIdleSelections++;
+        }
+        else
+          numberOfBusySelections++;
+      }
+      else
+        jiq.revoke (0.0, jobs.remove (rng.nextInt (jobs.size ())), true);
+    // Make sure both cases have actually been tested.
+    assertTrue (numberOfIdleSelections > 0);
+    assertTrue (numberOfBusySelections > 0);
+  }
+
+}
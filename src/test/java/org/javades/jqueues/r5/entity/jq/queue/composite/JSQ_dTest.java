@@ -0,0 +1,235 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue.composite;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.jq.job.DefaultSimJob;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.entity.jq.queue.DefaultSimQueueTests;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.composite.parallel.JSQ_d;
+import org.javades.jqueues.r5.entity.jq.queue.composite.parallel.Pattern;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.FCFS;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.IS;
+import org.javades.jqueues.r5.entity.jq.queue.serverless.ZERO;
+import org.javades.jqueues.r5.util.predictor.SimQueuePredictionException;
+import org.javades.jsimulation.r5.DefaultSimEvent;
+import org.javades.jsimulation.r5.DefaultSimEventList;
+import org.javades.jsimulation.r5.SimEventList;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Tests for {@link JSQ_d}.
+ *
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ *
+ */
+public class JSQ_dTest
+{
+  
+  public JSQ_dTest ()
+  {
+  }
+  
+  @BeforeClass
+  public static void setUpClass ()
+  {
+  }
+  
+  @AfterClass
+  public static void tearDownClass ()
+  {
+  }
+  
+  @Before
+  public void setUp ()
+  {
+  }
+  
+  @After
+  public void tearDown ()
+  {
+  }
+
+  /**
+   * Test of JSQ_d.
+   * 
+   */
+  @Test
+  public void testJSQ_d () throws SimQueuePredictionException
+  {
+    final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+    final int numberOfJobs = 100;
+    final boolean silent = true;
+    final boolean deadSilent = true;
+    for (final boolean onlyWaitingJobs : new boolean[] { false, true })
+    {
+      for (final int d : new int[] { 1, 2, 3, 5 })
+      {
+        // JSQ_d{FCFS} == Pattern{FCFS}
+        // [Not compared to FCFS itself, because StartArmed on the (LocalStart) composite is always true.]
+        final FCFS fcfs0 = new FCFS (eventList);
+        final JSQ_d jsq0 =
+          new JSQ_d (eventList, Collections.singleton (fcfs0), null, onlyWaitingJobs, d, new Random (20170101L));
+        final Pattern pattern0 =
+          new Pattern (eventList, Collections.singleton (new FCFS (eventList)), null, new int[] { 0 });
+        DefaultSimQueueTests.doSimQueueTests_SQ_SV
+          (jsq0, null, pattern0, numberOfJobs, null, silent, deadSilent, 1.0e-12, null, null, null);
+        // JSQ_d[ZERO,ZERO,ZERO] == Pattern[ZERO]
+        // [Not compared to ZERO itself, because the (LocalStart) composite starts jobs upon arrival.]
+        final Set<SimQueue> subQueues_jsq1 = new LinkedHashSet<> ();
+        subQueues_jsq1.add (new ZERO (eventList));
+        subQueues_jsq1.add (new ZERO (eventList));
+        subQueues_jsq1.add (new ZERO (eventList));
+        final JSQ_d jsq1 = new JSQ_d (eventList, subQueues_jsq1, null, onlyWaitingJobs, d, new Random (20170101L));
+        final Pattern pattern1 =
+          new Pattern (eventList, Collections.singleton (new ZERO (eventList)), null, new int[] { 0 });
+        DefaultSimQueueTests.doSimQueueTests_SQ_SV
+          (jsq1, null, pattern1, numberOfJobs, null, silent, deadSilent, 1.0e-12, null, null, null);
+        // JSQ_d[IS,IS,IS] == IS
+        final Set<SimQueue> subQueues_jsq2 = new LinkedHashSet<> ();
+        subQueues_jsq2.add (new IS (eventList));
+        subQueues_jsq2.add (new IS (eventList));
+        subQueues_jsq2.add (new IS (eventList));
+        final JSQ_d jsq2 = new JSQ_d (eventList, subQueues_jsq2, null, onlyWaitingJobs, d, new Random (20170101L));
+        DefaultSimQueueTests.doSimQueueTests_SQ_SV
+          (jsq2, null, new IS (eventList), numberOfJobs, null, silent, deadSilent, 1.0e-12, null, null, null);
+      }
+    }
+  }
+
+  /** Lets a new job arrive at given queue, and returns the index of the sub-queue it was sent to.
+   * 
+   */
+  private static int arrive (final JSQ_d jsq_d, final List<FCFS> subQueues, final SimJob job)
+  {
+    final int[] numberOfJobs = new int[subQueues.size ()];
+    for (int q = 0; q < subQueues.size (); q++)
+      numberOfJobs[q] = subQueues.get (q).getNumberOfJobs ();
+    jsq_d.arrive (0.0, job);
+    int selectedQueue = -1;
+    for (int q = 0; q < subQueues.size (); q++)
+      if (subQueues.get (q).getNumberOfJobs () != numberOfJobs[q])
+      {
+        assertEquals (-1, selectedQueue);
+        assertEquals (numberOfJobs[q] + 1, subQueues.get (q).getNumberOfJobs ());
+        selectedQueue = q;
+      }
+    assertNotEquals (-1, selectedQueue);
+    return selectedQueue;
+  }
+  
+  /**
+   * Test of the reproducibility of the JSQ_d selections after a reset.
+   * 
+   * <p>
+   * After a reset, and with the random-number generator reset to the same seed,
+   * the queue must make the same selections as before.
+   * 
+   */
+  @Test
+  public void testJSQ_d_Reset ()
+  {
+    final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+    final Random rng = new Random ();
+    final List<FCFS> subQueues = new ArrayList<> ();
+    for (int q = 0; q < 5; q++)
+      subQueues.add (new FCFS (eventList));
+    final JSQ_d jsq_d = new JSQ_d (eventList, new LinkedHashSet<> (subQueues), null, false, 2, rng);
+    final List<Integer> selectedQueues = new ArrayList<> ();
+    rng.setSeed (20170101L);
+    for (int i = 0; i < 50; i++)
+      selectedQueues.add (arrive (jsq_d, subQueues, new DefaultSimJob (null, "J" + i, 100.0)));
+    eventList.reset ();
+    assertEquals (0, jsq_d.getNumberOfJobs ());
+    rng.setSeed (20170101L);
+    for (int i = 0; i < 50; i++)
+      assertEquals ((int) selectedQueues.get (i), arrive (jsq_d, subQueues, new DefaultSimJob (null, "J" + i, 100.0)));
+  }
+
+  private static int getLength (final SimQueue queue, final boolean onlyWaitingJobs)
+  {
+    return onlyWaitingJobs
+      ? (queue.getNumberOfJobs () - queue.getNumberOfJobsInServiceArea ())
+      : queue.getNumberOfJobs ();
+  }
+  
+  /**
+   * Test of the JSQ_d selection with {@code d} at least the number of sub-queues, with unevenly loaded {@link FCFS} sub-queues.
+   * 
+   * <p>
+   * Half of the sub-queues have no server-access credits, so their jobs are pinned in the waiting area,
+   * whereas the other half each have a job in service.
+   * Jobs arrive and are revoked at random, without running the event list (so no job ever departs),
+   * and each arriving job must be sent to a sub-queue of minimum length.
+   * 
+   */
+  @Test
+  public void testJSQ_d_AllChoices ()
+  {
+    for (final boolean onlyWaitingJobs : new boolean[] { false, true })
+      for (final int d : new int[] { 6, 7 })
+      {
+        final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+        final Random rng = new Random (20170101L);
+        final List<FCFS> subQueues = new ArrayList<> ();
+        for (int q = 0; q < 6; q++)
+        {
+          final FCFS fcfs = new FCFS (eventList);
+          if (q % 2 == 0)
+            fcfs.setServerAccessCredits (0.0, 0);
+          subQueues.add (fcfs);
+        }
+        final JSQ_d jsq_d =
+          new JSQ_d (eventList, new LinkedHashSet<> (subQueues), null, onlyWaitingJobs, d, new Random (20170101L));
+        final List<SimJob> jobs = new ArrayList<> ();
+        for (int i = 0; i < 500; i++)
+          if (jobs.isEmpty () || rng.nextInt (3) != 0)
+          {
+            final int[] length = new int[subQueues.size ()];
+            int minimumLength = Integer.MAX_VALUE;
+            for (int q = 0; q < subQueues.size (); q++)
+            {
+              length[q] = getLength (subQueues.get (q), onlyWaitingJobs);
+              minimumLength = Math.min (minimumLength, length[q]);
+            }
+            final SimJob job = new DefaultSimJob (null, "J" + i, 100.0);
+            assertEquals (minimumLength, length[arrive (jsq_d, subQueues, job)]);
+            jobs.add (job);
+          }
+          else
+            jsq_d.revoke (0.0, jobs.remove (rng.nextInt (jobs.size ())), true);
+      }
+  }
+
+}
@@ -0,0 +1,221 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue.composite;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.jq.job.DefaultSimJob;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.entity.jq.queue.DefaultSimQueueTests;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.composite.jackson.Jackson;
+import org.javades.jqueues.r5.entity.jq.queue.composite.jackson.JacksonSimQueueSelector;
+import org.javades.jqueues.r5.entity.jq.queue.composite.parallel.Pattern;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.IS;
+import org.javades.jqueues.r5.entity.jq.queue.serverless.ZERO;
+import org.javades.jqueues.r5.util.predictor.SimQueuePredictionException;
+import org.javades.jqueues.r5.util.predictor.queues.SimQueuePredictor_IS;
+import org.javades.jsimulation.r5.DefaultSimEvent;
+import org.javades.jsimulation.r5.DefaultSimEventList;
+import org.javades.jsimulation.r5.SimEventList;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Tests for {@link Jackson}.
+ *
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ *
+ */
+public class JacksonTest
+{
+  
+  public JacksonTest ()
+  {
+  }
+  
+  @BeforeClass
+  public static void setUpClass ()
+  {
+  }
+  
+  @AfterClass
+  public static void tearDownClass ()
+  {
+  }
+  
+  @Before
+  public void setUp ()
+  {
+  }
+  
+  @After
+  public void tearDown ()
+  {
+  }
+
+  /**
+   * Test of Jackson.
+   * 
+   */
+  @Test
+  public void testJackson () throws SimQueuePredictionException
+  {
+    final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+    final int numberOfJobs = 100;
+    final boolean silent = true;
+    final boolean deadSilent = true;
+    // Jackson{IS} with a single visit == IS
+    final Set<SimQueue> subQueues_jackson0 = new LinkedHashSet<> ();
+    subQueues_jackson0.add (new IS (eventList));
+    final Jackson jackson0 = new Jackson
+      (eventList, subQueues_jackson0, new double[] { 1.0 }, new double[][] { { 0.0 } }, new Random (20170101L), null);
+    DefaultSimQueueTests.doSimQueueTests_SQ_SV
+      (jackson0, new SimQueuePredictor_IS (), null, numberOfJobs, null, silent, deadSilent, 1.0e-12, null, null, null);
+    // Jackson[ZERO,ZERO,ZERO] == Pattern[ZERO]
+    // [Not compared to ZERO itself, because the (LocalStart) composite starts jobs upon arrival.]
+    final Set<SimQueue> subQueues_jackson1 = new LinkedHashSet<> ();
+    subQueues_jackson1.add (new ZERO (eventList));
+    subQueues_jackson1.add (new ZERO (eventList));
+    subQueues_jackson1.add (new ZERO (eventList));
+    final Jackson jackson1 = new Jackson
+      (eventList,
+       subQueues_jackson1,
+       new double[] { 0.2, 0.3, 0.4 },
+       new double[][] { { 0.0, 0.5, 0.25 }, { 0.1, 0.1, 0.1 }, { 0.6, 0.0, 0.0 } },
+       new Random (20170101L),
+       null);
+    final Pattern pattern1 =
+      new Pattern (eventList, Collections.singleton (new ZERO (eventList)), null, new int[] { 0 });
+    DefaultSimQueueTests.doSimQueueTests_SQ_SV
+      (jackson1, null, pattern1, numberOfJobs, null, silent, deadSilent, 1.0e-12, null, null, null);
+  }
+
+  /** A {@link Random} that returns the midpoints of a regular grid on {@code [0, 1)} from {@link #nextDouble}, in order.
+   * 
+   * <p>
+   * Drawing all grid points once yields the distribution sampled by a selector up to the grid resolution,
+   * without statistical noise.
+   * 
+   */
+  private static final class GridRandom
+  extends Random
+  {
+    
+    private final int numberOfPoints;
+    
+    private int point = 0;
+    
+    private GridRandom (final int numberOfPoints)
+    {
+      this.numberOfPoints = numberOfPoints;
+    }
+    
+    @Override
+    public double nextDouble ()
+    {
+      final double sample = (this.point + 0.5) / this.numberOfPoints;
+      this.point = (this.point + 1) % this.numberOfPoints;
+      return sample;
+    }
+    
+  }
+  
+  /** Checks the distribution of the outcomes (queue indices, and the number of queues for departure) against a pdf array.
+   * 
+   * <p>
+   * The expected departure probability is the remainder of the pdf array, or zero if the array sums to unity (or more).
+   * Outcomes with zero probability must never occur; the others must match within the grid resolution.
+   * 
+   */
+  private static void checkDistribution (final double[] pdf, final int[] outcomes, final int numberOfDraws)
+  {
+    double sum = 0;
+    for (int q = 0; q < pdf.length; q++)
+    {
+      assertEquals (pdf[q], outcomes[q] / (double) numberOfDraws, 1.0e-5);
+      if (pdf[q] == 0)
+        assertEquals (0, outcomes[q]);
+      sum += pdf[q];
+    }
+    final double exit = Math.max (0, 1 - sum);
+    assertEquals (exit, outcomes[pdf.length] / (double) numberOfDraws, 1.0e-5);
+    if (exit == 0)
+      assertEquals (0, outcomes[pdf.length]);
+  }
+  
+  /**
+   * Test of the arrival and transition probabilities of {@link JacksonSimQueueSelector}.
+   * 
+   * <p>
+   * Draws each point of a fine grid on {@code [0, 1)} once, and compares the resulting frequencies of the queues selected
+   * (and of departure) with {@link JacksonSimQueueSelector#getPdfArrival} and {@link JacksonSimQueueSelector#getPdfTransition},
+   * including distributions with zero entries, with a departure remainder,
+   * and with a sum exceeding unity due to rounding.
+   * 
+   */
+  @Test
+  public void testJacksonSimQueueSelector ()
+  {
+    final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+    final List<SimQueue> queues = new ArrayList<> ();
+    for (int q = 0; q < 3; q++)
+      queues.add (new ZERO (eventList));
+    final double[][] pdfArrivals =
+      { { 0.2, 0.3, 0.4 }, { 0.0, 1.0, 0.0 }, { 0.0, 0.0, 0.0 }, { 0.1, 0.2, 0.7 } };
+    final double[][] pdfTransition =
+      { { 0.0, 0.5, 0.25 }, { 0.1, 0.1, 0.1 }, { 0.0, 0.0, 1.0 } };
+    final int numberOfDraws = 1 << 20;
+    final SimJob job = new DefaultSimJob (null, "J", 1.0);
+    for (final double[] pdfArrival : pdfArrivals)
+    {
+      final JacksonSimQueueSelector<SimJob, SimQueue> selector = new JacksonSimQueueSelector<>
+        (new LinkedHashSet<> (queues), pdfArrival, pdfTransition, new GridRandom (numberOfDraws));
+      final int[] arrivalOutcomes = new int[queues.size () + 1];
+      for (int i = 0; i < numberOfDraws; i++)
+      {
+        final SimQueue queue = selector.selectFirstQueue (0.0, job);
+        arrivalOutcomes[queue == null ? queues.size () : queues.indexOf (queue)]++;
+      }
+      checkDistribution (selector.getPdfArrival (), arrivalOutcomes, numberOfDraws);
+      for (int r = 0; r < queues.size (); r++)
+      {
+        final int[] transitionOutcomes = new int[queues.size () + 1];
+        for (int i = 0; i < numberOfDraws; i++)
+        {
+          final SimQueue queue = selector.selectNextQueue (0.0, job, queues.get (r));
+          transitionOutcomes[queue == null ? queues.size () : queues.indexOf (queue)]++;
+        }
+        checkDistribution (selector.getPdfTransition ()[r], transitionOutcomes, numberOfDraws);
+      }
+    }
+  }
+
+}
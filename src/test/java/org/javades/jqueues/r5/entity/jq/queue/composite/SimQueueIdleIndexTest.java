@@ -0,0 +1,198 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue.composite;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.jq.SimJQEventScheduler;
+import org.javades.jqueues.r5.entity.jq.job.DefaultSimJob;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.composite.parallel.SimQueueIdleIndex;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.FCFS;
+import org.javades.jsimulation.r5.DefaultSimEvent;
+import org.javades.jsimulation.r5.DefaultSimEventList;
+import org.javades.jsimulation.r5.SimEventList;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Tests for {@link SimQueueIdleIndex}.
+ *
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ *
+ */
+public class SimQueueIdleIndexTest
+{
+  
+  public SimQueueIdleIndexTest ()
+  {
+  }
+  
+  @BeforeClass
+  public static void setUpClass ()
+  {
+  }
+  
+  @AfterClass
+  public static void tearDownClass ()
+  {
+  }
+  
+  @Before
+  public void setUp ()
+  {
+  }
+  
+  @After
+  public void tearDown ()
+  {
+  }
+
+  /** Checks the index against a full scan of the queues.
+   * 
+   */
+  private static void checkIndex (final SimQueueIdleIndex index, final Set<SimQueue> queues)
+  {
+    assertEquals (queues.size (), index.size ());
+    final Set<SimQueue> expected = new HashSet<> ();
+    for (final SimQueue queue : queues)
+    {
+      assertEquals (queue.getNumberOfJobs () == 0, index.isIdle (queue));
+      if (queue.getNumberOfJobs () == 0)
+        expected.add (queue);
+    }
+    assertEquals (expected.size (), index.getNumberOfIdleQueues ());
+    final Set<SimQueue> actual = new HashSet<> ();
+    for (int i = 0; i < index.getNumberOfIdleQueues (); i++)
+      actual.add (index.getIdleQueue (i));
+    assertEquals (expected, actual);
+  }
+  
+  /**
+   * Test of update and updateAll against a full scan of the queues.
+   * 
+   * <p>
+   * Runs a random load with arrivals and revocations on {@link FCFS} queues,
+   * updating the index after each event on the event list.
+   * 
+   */
+  @Test
+  public void testUpdate ()
+  {
+    for (long seed = 0; seed < 20; seed++)
+    {
+      final Random rng = new Random (seed);
+      final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+      final Set<SimQueue> queues = new LinkedHashSet<> ();
+      for (int q = 0; q < 7; q++)
+        queues.add (new FCFS (eventList));
+      final List<SimQueue> queuesList = new ArrayList<> (queues);
+      final SimQueueIdleIndex index = new SimQueueIdleIndex (queues);
+      checkIndex (index, queues);
+      double time = 0;
+      for (int i = 0; i < 100; i++)
+      {
+        time += rng.nextInt (3);
+        final SimQueue queue = queuesList.get (rng.nextInt (queuesList.size ()));
+        final SimJob job = new DefaultSimJob (null, "J" + i, rng.nextInt (4) == 0 ? 0 : rng.nextInt (8));
+        SimJQEventScheduler.scheduleJobArrival (job, queue, time);
+        if (rng.nextInt (6) == 0)
+          SimJQEventScheduler.scheduleJobRevocation (job, queue, time + rng.nextInt (4) + 0.5, rng.nextBoolean ());
+      }
+      int step = 0;
+      while (! eventList.isEmpty ())
+      {
+        eventList.runSingleStep ();
+        if (++step % 50 == 0)
+          index.updateAll ();
+        else
+        {
+          // Update the queues one at a time, in random order.
+          final List<SimQueue> shuffledQueues = new ArrayList<> (queuesList);
+          Collections.shuffle (shuffledQueues, rng);
+          for (final SimQueue queue : shuffledQueues)
+            index.update (queue);
+        }
+        checkIndex (index, queues);
+      }
+      assertEquals (queues.size (), index.getNumberOfIdleQueues ());
+    }
+  }
+  
+  /**
+   * Test of the corner cases and argument checking of {@link SimQueueIdleIndex}.
+   * 
+   */
+  @Test
+  public void testCornerCases ()
+  {
+    final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+    final SimQueueIdleIndex emptyIndex = new SimQueueIdleIndex (Collections.<SimQueue>emptySet ());
+    assertEquals (0, emptyIndex.size ());
+    assertEquals (0, emptyIndex.getNumberOfIdleQueues ());
+    try
+    {
+      new SimQueueIdleIndex (null);
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+    try
+    {
+      new SimQueueIdleIndex (Collections.<SimQueue>singleton (null));
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+    final SimQueueIdleIndex index = new SimQueueIdleIndex (Collections.singleton (new FCFS (eventList)));
+    try
+    {
+      index.update (new FCFS (eventList));
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+    try
+    {
+      index.getIdleQueue (1);
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+  }
+  
+}
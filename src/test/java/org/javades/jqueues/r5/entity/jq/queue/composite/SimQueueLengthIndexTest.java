@@ -0,0 +1,258 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue.composite;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.jq.SimJQEventScheduler;
+import org.javades.jqueues.r5.entity.jq.job.DefaultSimJob;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueueEventScheduler;
+import org.javades.jqueues.r5.entity.jq.queue.composite.parallel.SimQueueLengthIndex;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.FCFS;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.FCFS_c;
+import org.javades.jsimulation.r5.DefaultSimEvent;
+import org.javades.jsimulation.r5.DefaultSimEventList;
+import org.javades.jsimulation.r5.SimEventList;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Tests for {@link SimQueueLengthIndex}.
+ *
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ *
+ */
+public class SimQueueLengthIndexTest
+{
+  
+  public SimQueueLengthIndexTest ()
+  {
+  }
+  
+  @BeforeClass
+  public static void setUpClass ()
+  {
+  }
+  
+  @AfterClass
+  public static void tearDownClass ()
+  {
+  }
+  
+  @Before
+  public void setUp ()
+  {
+  }
+  
+  @After
+  public void tearDown ()
+  {
+  }
+
+  private static int getLength (final SimQueue queue, final boolean onlyWaitingJobs)
+  {
+    return onlyWaitingJobs
+      ? (queue.getNumberOfJobs () - queue.getNumberOfJobsInServiceArea ())
+      : queue.getNumberOfJobs ();
+  }
+  
+  /** Checks the index against a full scan of the queues.
+   * 
+   */
+  private static void checkIndex (final SimQueueLengthIndex index, final Set<SimQueue> queues, final Random rng)
+  {
+    assertEquals (queues.size (), index.size ());
+    int minimumLength = Integer.MAX_VALUE;
+    int maximumLength = 0;
+    for (final SimQueue queue : queues)
+    {
+      final int length = getLength (queue, index.isOnlyWaitingJobs ());
+      assertEquals (length, index.getLength (queue));
+      minimumLength = Math.min (minimumLength, length);
+      maximumLength = Math.max (maximumLength, length);
+    }
+    assertEquals (minimumLength, index.getMinimumLength ());
+    for (int length = 0; length <= maximumLength + 1; length++)
+    {
+      final Set<SimQueue> expected = new HashSet<> ();
+      for (final SimQueue queue : queues)
+        if (getLength (queue, index.isOnlyWaitingJobs ()) == length)
+          expected.add (queue);
+      assertEquals (expected.size (), index.getNumberOfQueuesWithLength (length));
+      final Set<SimQueue> actual = new HashSet<> ();
+      for (int i = 0; i < index.getNumberOfQueuesWithLength (length); i++)
+        actual.add (index.getQueueWithLength (length, i));
+      assertEquals (expected, actual);
+    }
+    final SimQueue shortestQueue = index.selectShortestQueue (rng);
+    assertTrue (queues.contains (shortestQueue));
+    assertEquals (minimumLength, getLength (shortestQueue, index.isOnlyWaitingJobs ()));
+  }
+  
+  /**
+   * Test of update, updateAll and selectShortestQueue against a full scan of the queues.
+   * 
+   * <p>
+   * Runs a random load on a mix of {@link FCFS} and {@link FCFS_c} queues with arrivals, revocations,
+   * and server-access credits, updating the index after each event on the event list.
+   * 
+   */
+  @Test
+  public void testUpdate ()
+  {
+    for (final boolean onlyWaitingJobs : new boolean[] { false, true })
+      for (long seed = 0; seed < 20; seed++)
+      {
+        final Random rng = new Random (seed);
+        final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+        final Set<SimQueue> queues = new LinkedHashSet<> ();
+        for (int q = 0; q < 7; q++)
+          queues.add (q % 3 == 0 ? new FCFS_c (eventList, 2) : new FCFS (eventList));
+        final List<SimQueue> queuesList = new ArrayList<> (queues);
+        final SimQueueLengthIndex index = new SimQueueLengthIndex (queues, onlyWaitingJobs);
+        assertEquals (onlyWaitingJobs, index.isOnlyWaitingJobs ());
+        checkIndex (index, queues, rng);
+        double time = 0;
+        for (int i = 0; i < 200; i++)
+        {
+          time += rng.nextInt (2);
+          final SimQueue queue = queuesList.get (rng.nextInt (queuesList.size ()));
+          final SimJob job = new DefaultSimJob (null, "J" + i, rng.nextInt (4) == 0 ? 0 : rng.nextInt (12));
+          SimJQEventScheduler.scheduleJobArrival (job, queue, time);
+          if (rng.nextInt (6) == 0)
+            SimJQEventScheduler.scheduleJobRevocation (job, queue, time + rng.nextInt (4) + 0.5, rng.nextBoolean ());
+          if (rng.nextInt (4) == 0)
+            SimQueueEventScheduler.scheduleServerAccessCredits (queue, time + 0.25, rng.nextInt (3));
+        }
+        for (final SimQueue queue : queues)
+          SimQueueEventScheduler.scheduleServerAccessCredits (queue, time + 1000, Integer.MAX_VALUE);
+        int step = 0;
+        while (! eventList.isEmpty ())
+        {
+          eventList.runSingleStep ();
+          if (++step % 50 == 0)
+            index.updateAll ();
+          else
+          {
+            // Update the queues one at a time, in random order.
+            final List<SimQueue> shuffledQueues = new ArrayList<> (queuesList);
+            Collections.shuffle (shuffledQueues, rng);
+            for (final SimQueue queue : shuffledQueues)
+              index.update (queue);
+          }
+          checkIndex (index, queues, rng);
+        }
+        eventList.reset ();
+        for (final SimQueue queue : queues)
+          index.update (queue);
+        checkIndex (index, queues, rng);
+        assertEquals (0, index.getMinimumLength ());
+        assertEquals (queues.size (), index.getNumberOfQueuesWithLength (0));
+      }
+  }
+  
+  /**
+   * Test of the corner cases and argument checking of {@link SimQueueLengthIndex}.
+   * 
+   */
+  @Test
+  public void testCornerCases ()
+  {
+    final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+    final Random rng = new Random (20170101L);
+    final SimQueueLengthIndex emptyIndex = new SimQueueLengthIndex (Collections.<SimQueue>emptySet (), false);
+    assertEquals (0, emptyIndex.size ());
+    assertEquals (0, emptyIndex.getMinimumLength ());
+    assertNull (emptyIndex.selectShortestQueue (rng));
+    emptyIndex.updateAll ();
+    assertEquals (0, emptyIndex.getNumberOfQueuesWithLength (0));
+    final FCFS queue = new FCFS (eventList);
+    final SimQueueLengthIndex index = new SimQueueLengthIndex (Collections.singleton (queue), false);
+    assertEquals (queue, index.selectShortestQueue (rng));
+    assertEquals (0, index.getNumberOfQueuesWithLength (5));
+    try
+    {
+      new SimQueueLengthIndex (null, false);
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+    try
+    {
+      new SimQueueLengthIndex (Collections.<SimQueue>singleton (null), false);
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+    try
+    {
+      index.update (new FCFS (eventList));
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+    try
+    {
+      index.getNumberOfQueuesWithLength (-1);
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+    try
+    {
+      index.getQueueWithLength (0, 1);
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+    try
+    {
+      index.selectShortestQueue (null);
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+    assertFalse (index.isOnlyWaitingJobs ());
+  }
+
+}
@@ -21,11 +21,19 @@ import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeMap;
+import org.javades.jqueues.r5.entity.jq.SimJQEvent;
+import org.javades.jqueues.r5.entity.jq.SimJQEventScheduler;
+import org.javades.jqueues.r5.entity.jq.job.visitslogging.DefaultVisitsLoggingSimJob;
+import org.javades.jqueues.r5.entity.jq.job.visitslogging.JobQueueVisitLog;
 import org.javades.jqueues.r5.entity.jq.queue.DefaultSimQueueTests;
+import org.javades.jqueues.r5.entity.jq.queue.DepartureScheduling;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
 import org.javades.jqueues.r5.entity.jq.queue.composite.tandem.Tandem;
 import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.FCFS;
 import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.IC;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.IS_CST;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.NoBuffer_c;
 import org.javades.jqueues.r5.entity.jq.queue.preemptive.P_LCFS;
 import org.javades.jqueues.r5.entity.jq.queue.serverless.DELAY;
 import org.javades.jqueues.r5.entity.jq.queue.serverless.DLIMIT;
@@ -47,9 +55,12 @@ import org.javades.jqueues.r5.util.predictor.queues.SimQueuePredictor_Tandem;
 import org.javades.jqueues.r5.util.predictor.queues.SimQueuePredictor_ZERO;
 import org.javades.jsimulation.r5.DefaultSimEvent;
 import org.javades.jsimulation.r5.DefaultSimEventList;
+import org.javades.jsimulation.r5.DefaultSimEventList_IOEL;
 import org.javades.jsimulation.r5.SimEventList;
 import org.junit.After;
 import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -240,4 +251,121 @@ public class TandemTest
        numberOfJobs, jitterHint, silent, deadSilent, 1.0e-12, null, null, null);
   }
 
+  /** Runs jobs through a {@link Tandem} of an {@link IS_CST} or {@link DELAY} queue (both with residence time 1.0)
+   *  and a {@link NoBuffer_c} queue with a single server, and returns the visit logs of the jobs at the tandem.
+   * 
+   * <p>
+   * All jobs request a service time of 0.5.
+   * The event list processes simultaneous events in insertion order.
+   * 
+   * @param isCst               Whether to use {@link IS_CST} (instead of {@link DELAY}) as first queue.
+   * @param departureScheduling The departure scheduling of the first queue.
+   * @param arrivalTimes        The arrival times of the jobs, in order of arrival.
+   * 
+   * @return The visit logs of the jobs at the tandem, in order of arrival.
+   * 
+   */
+  private static List<JobQueueVisitLog> runFixedResidenceNoBufferTandem
+  (final boolean isCst, final DepartureScheduling departureScheduling, final double[] arrivalTimes)
+  {
+    final SimEventList eventList = new DefaultSimEventList_IOEL (DefaultSimEvent.class);
+    final Set<SimQueue> subQueues = new LinkedHashSet<> ();
+    subQueues.add (isCst ? new IS_CST (eventList, 1.0, departureScheduling) : new DELAY (eventList, 1.0, departureScheduling));
+    subQueues.add (new NoBuffer_c (eventList, 1));
+    final Tandem tandem = new Tandem (eventList, subQueues, null);
+    final List<DefaultVisitsLoggingSimJob> jobs = new ArrayList<> ();
+    final Set<SimJQEvent<DefaultVisitsLoggingSimJob, Tandem>> arrivals = new LinkedHashSet<> ();
+    for (int i = 0; i < arrivalTimes.length; i++)
+    {
+      final DefaultVisitsLoggingSimJob job = new DefaultVisitsLoggingSimJob (eventList, "J" + i, 0.5);
+      jobs.add (job);
+      arrivals.add (new SimJQEvent.Arrival<> (job, tandem, arrivalTimes[i]));
+    }
+    SimJQEventScheduler.scheduleJQ (eventList, true, 0.0, arrivals);
+    eventList.run ();
+    final List<JobQueueVisitLog> visitLogs = new ArrayList<> ();
+    for (int i = 0; i < arrivalTimes.length; i++)
+    {
+      final TreeMap<Double, TreeMap<Integer, JobQueueVisitLog>> visitLogs_i = jobs.get (i).getVisitLogs ();
+      final JobQueueVisitLog visitLog = visitLogs_i.get (arrivalTimes[i]).get (0);
+      assertTrue (visitLog.queue == tandem);
+      visitLogs.add (visitLog);
+    }
+    return visitLogs;
+  }
+  
+  /** Asserts that two visit logs (of different jobs at different queues) record the same visit.
+   * 
+   * @param expected The expected visit log.
+   * @param actual   The actual visit log.
+   * 
+   */
+  private static void assertSameVisit (final JobQueueVisitLog expected, final JobQueueVisitLog actual)
+  {
+    assertEquals (expected.arrived, actual.arrived);
+    assertEquals (expected.arrivalTime, actual.arrivalTime, 0.0);
+    assertEquals (expected.sequenceNumber, actual.sequenceNumber);
+    assertEquals (expected.started, actual.started);
+    assertEquals (expected.dropped, actual.dropped);
+    assertEquals (expected.revoked, actual.revoked);
+    assertEquals (expected.departed, actual.departed);
+    if (expected.started)
+      assertEquals (expected.startTime, actual.startTime, 0.0);
+    if (expected.dropped)
+      assertEquals (expected.dropTime, actual.dropTime, 0.0);
+    if (expected.departed)
+      assertEquals (expected.departureTime, actual.departureTime, 0.0);
+  }
+  
+  /**
+   * Test of the order of simultaneous departures from {@link IS_CST} and {@link DELAY} in a {@link Tandem}.
+   * 
+   * <p>
+   * Job 0 occupies the server of the {@link NoBuffer_c} queue from 1.0 until 1.5.
+   * Jobs 1 and 2 leave the first queue at 1.4 and 1.5, respectively,
+   * and with a departure event per job (as with all other queues), they are both dropped,
+   * because the departure of job 2 from the first queue is scheduled before the departure of job 0
+   * from the {@link NoBuffer_c} queue.
+   * With {@link DepartureScheduling#HEAD_ONLY}, the departure event of job 2 is only scheduled when job 1 departs,
+   * hence job 0 leaves the server first and job 2 is served (as documented).
+   * In the second scenario, jobs 1 and 2 arrive simultaneously,
+   * and all departure schedulings must yield the same visit logs.
+   * 
+   */
+  @Test
+  public void testTandemSimultaneousDepartures ()
+  {
+    for (final boolean isCst : new boolean[] { false, true })
+    {
+      // Departure times from the first queue: 1.0, 1.4, 1.5.
+      final List<JobQueueVisitLog> perJob =
+        runFixedResidenceNoBufferTandem (isCst, DepartureScheduling.PER_JOB, new double[] { 0.0, 0.4, 0.5 });
+      assertTrue (perJob.get (0).departed);
+      assertEquals (1.5, perJob.get (0).departureTime, 0.0);
+      assertTrue (perJob.get (1).dropped);
+      assertEquals (1.4, perJob.get (1).dropTime, 0.0);
+      assertTrue (perJob.get (2).dropped);
+      assertEquals (1.5, perJob.get (2).dropTime, 0.0);
+      final List<JobQueueVisitLog> headOnly =
+        runFixedResidenceNoBufferTandem (isCst, DepartureScheduling.HEAD_ONLY, new double[] { 0.0, 0.4, 0.5 });
+      assertSameVisit (perJob.get (0), headOnly.get (0));
+      assertSameVisit (perJob.get (1), headOnly.get (1));
+      assertTrue (headOnly.get (2).departed);
+      assertEquals (2.0, headOnly.get (2).departureTime, 0.0);
+      // Departure times from the first queue: 1.0, 1.5, 1.5.
+      final List<JobQueueVisitLog> perJobTie =
+        runFixedResidenceNoBufferTandem (isCst, DepartureScheduling.PER_JOB, new double[] { 0.0, 0.5, 0.5 });
+      assertTrue (perJobTie.get (0).departed);
+      assertEquals (1.5, perJobTie.get (0).departureTime, 0.0);
+      assertTrue (perJobTie.get (1).dropped);
+      assertEquals (1.5, perJobTie.get (1).dropTime, 0.0);
+      assertTrue (perJobTie.get (2).dropped);
+      assertEquals (1.5, perJobTie.get (2).dropTime, 0.0);
+      final List<JobQueueVisitLog> headOnlyTie =
+        runFixedResidenceNoBufferTandem (isCst, DepartureScheduling.HEAD_ONLY, new double[] { 0.0, 0.5, 0.5 });
+      for (int i = 0; i < 3; i++)
+        assertSameVisit (perJobTie.get (i), headOnlyTie.get (i));
+    }
+  }
+
 }
@@ -17,6 +17,7 @@
 package org.javades.jqueues.r5.entity.jq.queue.nonpreemptive;
 
 import org.javades.jqueues.r5.entity.jq.queue.DefaultSimQueueTests;
+import org.javades.jqueues.r5.entity.jq.queue.DepartureScheduling;
 import org.javades.jqueues.r5.util.predictor.SimQueuePredictionException;
 import org.javades.jqueues.r5.util.predictor.SimQueuePredictor;
 import org.javades.jqueues.r5.util.predictor.queues.SimQueuePredictor_IS_CST;
@@ -79,13 +80,14 @@ public class IS_CSTTest
     final boolean silent = true;
     final boolean deadSilent = true;
     final double[] serviceTimeValues = { 0.0, 3.39, 27.833 };
-    for (final double serviceTime : serviceTimeValues)
-    {
-      final IS_CST queue = new IS_CST (eventList, serviceTime);
-      final SimQueuePredictor predictor = new SimQueuePredictor_IS_CST (serviceTime);
-      DefaultSimQueueTests.doSimQueueTests_SQ_SV
-        (queue, predictor, null, numberOfJobs, null, silent, deadSilent, 1.0e-6, null, null, null);      
-    }
+    for (final DepartureScheduling departureScheduling : DepartureScheduling.values ())
+      for (final double serviceTime : serviceTimeValues)
+      {
+        final IS_CST queue = new IS_CST (eventList, serviceTime, departureScheduling);
+        final SimQueuePredictor predictor = new SimQueuePredictor_IS_CST (serviceTime);
+        DefaultSimQueueTests.doSimQueueTests_SQ_SV
+          (queue, predictor, null, numberOfJobs, null, silent, deadSilent, 1.0e-6, null, null, null);      
+      }
   }
 
 }
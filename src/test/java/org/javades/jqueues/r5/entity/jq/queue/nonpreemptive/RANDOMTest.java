@@ -149,7 +149,23 @@ public class RANDOMTest
   {
     System.out.println ("SimQueue Test [Custom RANDOM]");
     final SimEventList<DefaultSimEvent> el = new DefaultSimEventList<> (DefaultSimEvent.class);
-    final RANDOM queue = new RANDOM (el);
+    testRANDOM (el, new RANDOM (el));
+  }
+  
+  /**
+   * Test of RANDOM in fast selection mode.
+   * 
+   */
+  @Test
+  public void testRANDOMFast ()
+  {
+    System.out.println ("SimQueue Test [Custom RANDOM, Fast]");
+    final SimEventList<DefaultSimEvent> el = new DefaultSimEventList<> (DefaultSimEvent.class);
+    testRANDOM (el, new RANDOM (el, null, RANDOM.SelectionMode.FAST));
+  }
+  
+  private static void testRANDOM (final SimEventList<DefaultSimEvent> el, final RANDOM queue)
+  {
     final int NR_OF_JOBS = 10;
     final int NR_OF_SAMPLES = 100 * NR_OF_JOBS;
     final Map<Double, Integer> startTimes = new HashMap<> ();
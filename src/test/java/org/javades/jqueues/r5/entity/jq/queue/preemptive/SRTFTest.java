@@ -16,8 +16,14 @@
  */
 package org.javades.jqueues.r5.entity.jq.queue.preemptive;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.jq.SimJQEvent;
+import org.javades.jqueues.r5.entity.jq.job.visitslogging.DefaultVisitsLoggingSimJob;
+import org.javades.jqueues.r5.entity.jq.job.visitslogging.JobQueueVisitLog;
 import org.javades.jqueues.r5.entity.jq.queue.DefaultSimQueueTests;
 import org.javades.jqueues.r5.util.predictor.SimQueuePredictionException;
+import org.javades.jqueues.r5.util.predictor.SimQueuePrediction_SQ_SV;
 import org.javades.jqueues.r5.util.predictor.SimQueuePredictor;
 import org.javades.jqueues.r5.util.predictor.queues.SimQueuePredictor_SRTF;
 import org.javades.jsimulation.r5.DefaultSimEvent;
@@ -25,6 +31,7 @@ import org.javades.jsimulation.r5.DefaultSimEventList;
 import org.javades.jsimulation.r5.SimEventList;
 import org.junit.After;
 import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -89,4 +96,49 @@ public class SRTFTest
       }
   }
 
+  /** Returns the departure time from the (single) visit log of a job.
+   * 
+   */
+  private static double getDepartureTime (final DefaultVisitsLoggingSimJob<?, ?> job)
+  {
+    final JobQueueVisitLog visitLog = job.getVisitLogs ().firstEntry ().getValue ().firstEntry ().getValue ();
+    return visitLog.departureTime;
+  }
+  
+  /**
+   * Test of the order among jobs with equal remaining service times in SRTF, against the predictor.
+   * 
+   * <p>
+   * Job A (service time 5) arrives at t = 0 and is served, job C (service time 5) arrives at t = 1 and waits,
+   * and job B (service time 1) arrives at t = 2 and preempts A.
+   * With {@link PreemptionStrategy#RESTART}, the remaining service time of A is reset to 5, equal to that of C.
+   * Jobs with equal remaining service times are served in the order in which they entered the service area,
+   * so A is served after the departure of B at t = 3, and C after that.
+   * This order is the one taken by {@link SimQueuePredictor_SRTF}.
+   * 
+   */
+  @Test
+  public void testSRTF_TieAfterRestart () throws SimQueuePredictionException
+  {
+    final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+    eventList.reset (0);
+    final SRTF queue = new SRTF (eventList, PreemptionStrategy.RESTART);
+    final DefaultVisitsLoggingSimJob a = new DefaultVisitsLoggingSimJob (eventList, "A", 5.0);
+    final DefaultVisitsLoggingSimJob b = new DefaultVisitsLoggingSimJob (eventList, "B", 1.0);
+    final DefaultVisitsLoggingSimJob c = new DefaultVisitsLoggingSimJob (eventList, "C", 5.0);
+    final Set<SimJQEvent> workloadEvents = new LinkedHashSet<> ();
+    workloadEvents.add (new SimJQEvent.Arrival<> (a, queue, 0.0));
+    workloadEvents.add (new SimJQEvent.Arrival<> (c, queue, 1.0));
+    workloadEvents.add (new SimJQEvent.Arrival<> (b, queue, 2.0));
+    final SimQueuePrediction_SQ_SV<SRTF> prediction = new SimQueuePredictor_SRTF ().predict_SQ_SV_ROEL_U (queue, workloadEvents);
+    assertEquals (3.0, prediction.getVisitLogs ().get (b).departureTime, 0.0);
+    assertEquals (8.0, prediction.getVisitLogs ().get (a).departureTime, 0.0);
+    assertEquals (13.0, prediction.getVisitLogs ().get (c).departureTime, 0.0);
+    eventList.addAll (workloadEvents);
+    eventList.run ();
+    assertEquals (3.0, getDepartureTime (b), 0.0);
+    assertEquals (8.0, getDepartureTime (a), 0.0);
+    assertEquals (13.0, getDepartureTime (c), 0.0);
+  }
+
 }
@@ -21,6 +21,7 @@ import java.util.Set;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.DefaultSimQueueTests;
 import org.javades.jqueues.r5.util.loadfactory.LoadFactoryHint;
+import org.javades.jqueues.r5.util.loadfactory.pattern.KnownLoadFactory_SQ_SV;
 import org.javades.jqueues.r5.util.loadfactory.pattern.LoadFactory_SQ_SV_0010;
 import org.javades.jqueues.r5.util.predictor.SimQueuePredictionException;
 import org.javades.jqueues.r5.util.predictor.SimQueuePredictor;
@@ -89,4 +90,92 @@ public class HOL_PSTest
       (queue, predictor, null, numberOfJobs, jitterHint, silent, deadSilent, 1.0e-09, null, null, null);
   }
 
+  /**
+   * Test of HOL_PS (Double) with QoS buckets.
+   * 
+   * <p>
+   * Omits the load with (random) explicit QoS values, as these cannot be mapped onto buckets.
+   * 
+   */
+  @Test
+  public void testHOL_PS_DoubleBuckets () throws SimQueuePredictionException
+  {
+    final SimEventList eventList = new DefaultSimEventList ();
+    final HOL_PS<SimJob, HOL_PS, Double> queue
+      = new HOL_PS<> (eventList, Double.class, Double.POSITIVE_INFINITY, 1, (qos) -> 0);
+    final SimQueuePredictor<HOL_PS> predictor = new SimQueuePredictor_HOL_PS ();
+    final int numberOfJobs = 120;
+    final Set<LoadFactoryHint> jitterHint = Collections.singleton (LoadFactory_SQ_SV_0010.SERVICE_TIME_JITTER);
+    final Set<KnownLoadFactory_SQ_SV> omit = Collections.singleton (KnownLoadFactory_SQ_SV.KLF_0100);
+    final boolean silent = true;
+    final boolean deadSilent = true;
+    DefaultSimQueueTests.doSimQueueTests_SQ_SV
+      (queue, predictor, null, numberOfJobs, jitterHint, silent, deadSilent, 1.0e-09, omit, null, null);
+  }
+
+  /**
+   * Test of HOL_PS (Double) with multiple QoS buckets.
+   * 
+   * <p>
+   * Uses distinct integral QoS values for the jobs with explicit QoS values,
+   * and maps these (and the default QoS) onto their own buckets,
+   * both densely and spread out over more than 64 buckets.
+   * 
+   * @see LoadFactory_SQ_SV_IntegralQoS
+   * 
+   */
+  @Test
+  public void testHOL_PS_DoubleBucketsDistinct () throws SimQueuePredictionException
+  {
+    final SimEventList eventList = new DefaultSimEventList ();
+    final int numberOfJobs = 120;
+    final Set<LoadFactoryHint> jitterHint = Collections.singleton (LoadFactory_SQ_SV_0010.SERVICE_TIME_JITTER);
+    final Set<KnownLoadFactory_SQ_SV> omit = Collections.singleton (KnownLoadFactory_SQ_SV.KLF_0100);
+    final boolean silent = true;
+    final boolean deadSilent = true;
+    for (final int spread : new int[] {1, 3})
+    {
+      final HOL_PS<SimJob, HOL_PS, Double> queue = new HOL_PS<>
+        (eventList, Double.class, (double) numberOfJobs, spread * numberOfJobs + 1, (qos) -> spread * qos.intValue ());
+      final SimQueuePredictor<HOL_PS> predictor = new SimQueuePredictor_HOL_PS ();
+      DefaultSimQueueTests.doSimQueueTests_SQ_SV
+        (queue, predictor, null, numberOfJobs, jitterHint, silent, deadSilent, 1.0e-09, omit, null, null);
+      DefaultSimQueueTests.doSimQueueTests_SQ_SV
+        (queue, predictor, null, new LoadFactory_SQ_SV_IntegralQoS<> (1),
+         numberOfJobs, jitterHint, silent, deadSilent, 1.0e-09, null);
+      eventList.reset ();
+    }
+  }
+
+  /**
+   * Test of HOL_PS (Double) with multiple QoS buckets shared by several jobs.
+   * 
+   * <p>
+   * Lets four jobs share each integral QoS value, and maps these onto their own buckets,
+   * so buckets hold several jobs while several buckets are non-empty,
+   * both densely and spread out over more than 64 buckets.
+   * 
+   * @see LoadFactory_SQ_SV_IntegralQoS
+   * 
+   */
+  @Test
+  public void testHOL_PS_DoubleBucketsShared () throws SimQueuePredictionException
+  {
+    final SimEventList eventList = new DefaultSimEventList ();
+    final int numberOfJobs = 120;
+    final Set<LoadFactoryHint> jitterHint = Collections.singleton (LoadFactory_SQ_SV_0010.SERVICE_TIME_JITTER);
+    final boolean silent = true;
+    final boolean deadSilent = true;
+    for (final int spread : new int[] {1, 6})
+    {
+      final HOL_PS<SimJob, HOL_PS, Double> queue = new HOL_PS<>
+        (eventList, Double.class, (double) numberOfJobs, spread * numberOfJobs + 1, (qos) -> spread * qos.intValue ());
+      final SimQueuePredictor<HOL_PS> predictor = new SimQueuePredictor_HOL_PS ();
+      DefaultSimQueueTests.doSimQueueTests_SQ_SV
+        (queue, predictor, null, new LoadFactory_SQ_SV_IntegralQoS<> (4),
+         numberOfJobs, jitterHint, silent, deadSilent, 1.0e-09, null);
+      eventList.reset ();
+    }
+  }
+
 }
@@ -0,0 +1,115 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.entity.jq.queue.qos;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.Set;
+import org.javades.jqueues.r5.entity.jq.SimJQEvent;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.entity.jq.job.SimJobFactory;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.extensions.qos.SimJobQoS;
+import org.javades.jqueues.r5.util.loadfactory.LoadFactoryHint;
+import org.javades.jqueues.r5.util.loadfactory.pattern.LoadFactory_SQ_SV_0100;
+import org.javades.jsimulation.r5.SimEventList;
+
+/** A {@link LoadFactory_SQ_SV_0100} with integral QoS values, shared by a fixed number of jobs each.
+ *
+ * <p>
+ * The jobs receive the QoS values {@code 0.0}, {@code 1.0}, ... in random order,
+ * each value being shared by (at most) {@code jobsPerQoS} jobs,
+ * which allows queues to index the QoS values in buckets (e.g., through {@link Double#intValue}).
+ * 
+ * @param <J> The type of {@link SimJob}s supported.
+ * @param <Q> The type of {@link SimQueue}s supported.
+ *
+ * @see SimQueueQoSBuckets
+ * 
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+class LoadFactory_SQ_SV_IntegralQoS<J extends SimJob, Q extends SimQueue>
+extends LoadFactory_SQ_SV_0100<J, Q>
+{
+
+  /** Creates the load factory.
+   * 
+   * @param jobsPerQoS The number of jobs sharing a QoS value, strictly positive.
+   * 
+   * @throws IllegalArgumentException If the number of jobs per QoS value is zero or negative.
+   * 
+   */
+  public LoadFactory_SQ_SV_IntegralQoS (final int jobsPerQoS)
+  {
+    if (jobsPerQoS <= 0)
+      throw new IllegalArgumentException ();
+    this.jobsPerQoS = jobsPerQoS;
+  }
+  
+  private final int jobsPerQoS;
+  
+  private final Random rngQoS = new Random ();
+  
+  @Override
+  public String getDescription ()
+  {
+    return "Jobs with U[0.95, 9.5] requested service times and integral Double QoS values, "
+      + this.jobsPerQoS + " job(s) per QoS value.";
+  }
+
+  /** Generates the load.
+   * 
+   * <p>
+   * Generates the load of {@link LoadFactory_SQ_SV_0100},
+   * and replaces the QoS values of the jobs with the integral values described above.
+   * 
+   */
+  @Override
+  public Set<J> generate
+  (final SimEventList eventList,
+    boolean attachSimJobsToEventList,
+    final Q queue,
+    final SimJobFactory<J, Q> jobFactory,
+    final int numberOfJobs,
+    final boolean reset,
+    final double resetTime,
+    final Set<LoadFactoryHint> hints,
+    final NavigableMap<Double, Set<SimJQEvent>> queueExternalEvents)
+  {
+    final Set<J> jobs = super.generate
+      (eventList, attachSimJobsToEventList, queue, jobFactory, numberOfJobs, reset, resetTime, hints, queueExternalEvents);
+    final List<Double> qosList = new ArrayList<> ();
+    for (int i = 0; i < jobs.size (); i++)
+      qosList.add ((double) (i / this.jobsPerQoS));
+    Collections.shuffle (qosList, this.rngQoS);
+    int i = 0;
+    for (final J job : jobs)
+      ((SimJobQoS) job).setQoS (qosList.get (i++));
+    return jobs;
+  }
+  
+}
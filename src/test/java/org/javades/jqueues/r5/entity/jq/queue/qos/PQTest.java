@@ -18,10 +18,12 @@ package org.javades.jqueues.r5.entity.jq.queue.qos;
 
 import java.util.Collections;
 import java.util.Set;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.DefaultSimQueueTests;
 import org.javades.jqueues.r5.entity.jq.queue.preemptive.PreemptionStrategy;
 import org.javades.jqueues.r5.extensions.qos.SimQueuePredictor_PQ;
 import org.javades.jqueues.r5.util.loadfactory.LoadFactoryHint;
+import org.javades.jqueues.r5.util.loadfactory.pattern.KnownLoadFactory_SQ_SV;
 import org.javades.jqueues.r5.util.loadfactory.pattern.LoadFactory_SQ_SV_0010;
 import org.javades.jqueues.r5.util.predictor.SimQueuePredictionException;
 import org.javades.jqueues.r5.util.predictor.SimQueuePredictor;
@@ -94,4 +96,102 @@ public class PQTest
       }
   }
 
+  /**
+   * Test of PQ (Double) with QoS buckets.
+   * 
+   * <p>
+   * Omits the load with (random) explicit QoS values, as these cannot be mapped onto buckets.
+   * 
+   */
+  @Test
+  public void testPQ_DoubleBuckets () throws SimQueuePredictionException
+  {
+    final SimEventList eventList = new DefaultSimEventList ();
+    final int numberOfJobs = 100;
+    final Set<LoadFactoryHint> jitterHint = Collections.singleton (LoadFactory_SQ_SV_0010.SERVICE_TIME_JITTER);
+    final Set<KnownLoadFactory_SQ_SV> omit = Collections.singleton (KnownLoadFactory_SQ_SV.KLF_0100);
+    final boolean silent = true;
+    final boolean deadSilent = true;
+    for (final PreemptionStrategy preemptionStrategy : PreemptionStrategy.values ())
+      if (preemptionStrategy != PreemptionStrategy.REDRAW && preemptionStrategy != PreemptionStrategy.CUSTOM)
+      {
+        final SimQueuePredictor<PQ> predictor = new SimQueuePredictor_PQ ();
+        final PQ queue = new PQ (eventList, preemptionStrategy, Double.class, Double.POSITIVE_INFINITY, 1, (qos) -> 0);
+        DefaultSimQueueTests.doSimQueueTests_SQ_SV
+          (queue, predictor, null, numberOfJobs, jitterHint, silent, deadSilent, 1.0e-12, omit, null, null);
+        eventList.reset ();
+      }
+  }
+
+  /**
+   * Test of PQ (Double) with multiple QoS buckets.
+   * 
+   * <p>
+   * Uses distinct integral QoS values for the jobs with explicit QoS values,
+   * and maps these (and the default QoS) onto their own buckets,
+   * both densely and spread out over more than 64 buckets.
+   * 
+   * @see LoadFactory_SQ_SV_IntegralQoS
+   * 
+   */
+  @Test
+  public void testPQ_DoubleBucketsDistinct () throws SimQueuePredictionException
+  {
+    final SimEventList eventList = new DefaultSimEventList ();
+    final int numberOfJobs = 100;
+    final Set<LoadFactoryHint> jitterHint = Collections.singleton (LoadFactory_SQ_SV_0010.SERVICE_TIME_JITTER);
+    final Set<KnownLoadFactory_SQ_SV> omit = Collections.singleton (KnownLoadFactory_SQ_SV.KLF_0100);
+    final boolean silent = true;
+    final boolean deadSilent = true;
+    for (final int spread : new int[] {1, 3})
+      for (final PreemptionStrategy preemptionStrategy : PreemptionStrategy.values ())
+        if (preemptionStrategy != PreemptionStrategy.REDRAW && preemptionStrategy != PreemptionStrategy.CUSTOM)
+        {
+          final SimQueuePredictor<PQ> predictor = new SimQueuePredictor_PQ ();
+          final PQ<SimJob, PQ, Double> queue = new PQ<>
+            (eventList, preemptionStrategy, Double.class, (double) numberOfJobs,
+             spread * numberOfJobs + 1, (qos) -> spread * qos.intValue ());
+          DefaultSimQueueTests.doSimQueueTests_SQ_SV
+            (queue, predictor, null, numberOfJobs, jitterHint, silent, deadSilent, 1.0e-12, omit, null, null);
+          DefaultSimQueueTests.doSimQueueTests_SQ_SV
+            (queue, predictor, null, new LoadFactory_SQ_SV_IntegralQoS<> (1),
+             numberOfJobs, jitterHint, silent, deadSilent, 1.0e-12, null);
+          eventList.reset ();
+        }
+  }
+
+  /**
+   * Test of PQ (Double) with multiple QoS buckets shared by several jobs.
+   * 
+   * <p>
+   * Lets four jobs share each integral QoS value, and maps these onto their own buckets,
+   * so buckets hold several jobs while several buckets are non-empty,
+   * both densely and spread out over more than 64 buckets.
+   * 
+   * @see LoadFactory_SQ_SV_IntegralQoS
+   * 
+   */
+  @Test
+  public void testPQ_DoubleBucketsShared () throws SimQueuePredictionException
+  {
+    final SimEventList eventList = new DefaultSimEventList ();
+    final int numberOfJobs = 100;
+    final Set<LoadFactoryHint> jitterHint = Collections.singleton (LoadFactory_SQ_SV_0010.SERVICE_TIME_JITTER);
+    final boolean silent = true;
+    final boolean deadSilent = true;
+    for (final int spread : new int[] {1, 6})
+      for (final PreemptionStrategy preemptionStrategy : PreemptionStrategy.values ())
+        if (preemptionStrategy != PreemptionStrategy.REDRAW && preemptionStrategy != PreemptionStrategy.CUSTOM)
+        {
+          final SimQueuePredictor<PQ> predictor = new SimQueuePredictor_PQ ();
+          final PQ<SimJob, PQ, Double> queue = new PQ<>
+            (eventList, preemptionStrategy, Double.class, (double) numberOfJobs,
+             spread * numberOfJobs + 1, (qos) -> spread * qos.intValue ());
+          DefaultSimQueueTests.doSimQueueTests_SQ_SV
+            (queue, predictor, null, new LoadFactory_SQ_SV_IntegralQoS<> (4),
+             numberOfJobs, jitterHint, silent, deadSilent, 1.0e-12, null);
+          eventList.reset ();
+        }
+  }
+
 }
@@ -17,6 +17,7 @@
 package org.javades.jqueues.r5.entity.jq.queue.serverless;
 
 import org.javades.jqueues.r5.entity.jq.queue.DefaultSimQueueTests;
+import org.javades.jqueues.r5.entity.jq.queue.DepartureScheduling;
 import org.javades.jqueues.r5.util.predictor.SimQueuePredictionException;
 import org.javades.jqueues.r5.util.predictor.SimQueuePredictor;
 import org.javades.jqueues.r5.util.predictor.queues.SimQueuePredictor_DELAY;
@@ -79,13 +80,14 @@ public class DELAYTest
     final boolean silent = true;
     final boolean deadSilent = true;
     final double[] waitingTimeValues = { 0.0, 3.39, 27.833, Double.POSITIVE_INFINITY };
-    for (final double waitingTime : waitingTimeValues)
-    {
-      final DELAY queue = new DELAY (eventList, waitingTime);
-      final SimQueuePredictor predictor = new SimQueuePredictor_DELAY ();
-      DefaultSimQueueTests.doSimQueueTests_SQ_SV
-        (queue, predictor, null, numberOfJobs, null, silent, deadSilent, 1.0e-12, null, null, null);
-    }
+    for (final DepartureScheduling departureScheduling : DepartureScheduling.values ())
+      for (final double waitingTime : waitingTimeValues)
+      {
+        final DELAY queue = new DELAY (eventList, waitingTime, departureScheduling);
+        final SimQueuePredictor predictor = new SimQueuePredictor_DELAY ();
+        DefaultSimQueueTests.doSimQueueTests_SQ_SV
+          (queue, predictor, null, numberOfJobs, null, silent, deadSilent, 1.0e-12, null, null, null);
+      }
     // DELAY[0.0] == ZERO
     final DELAY delay0 = new DELAY (eventList, 0);
     final ZERO zero = new ZERO (eventList);
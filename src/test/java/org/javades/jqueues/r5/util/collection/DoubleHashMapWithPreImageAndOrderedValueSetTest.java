@@ -0,0 +1,356 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.util.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Tests for {@link DoubleHashMapWithPreImageAndOrderedValueSet}.
+ *
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+public class DoubleHashMapWithPreImageAndOrderedValueSetTest
+{
+  
+  public DoubleHashMapWithPreImageAndOrderedValueSetTest ()
+  {
+  }
+  
+  @BeforeClass
+  public static void setUpClass ()
+  {
+  }
+  
+  @AfterClass
+  public static void tearDownClass ()
+  {
+  }
+  
+  @Before
+  public void setUp ()
+  {
+  }
+  
+  @After
+  public void tearDown ()
+  {
+  }
+
+  private static Set<String> setOf (final String... keys)
+  {
+    return new LinkedHashSet<> (Arrays.asList (keys));
+  }
+  
+  private static void assertPreImage (final Set<String> expected, final Set<String> actual)
+  {
+    // Compare as lists in order to check the iteration order as well.
+    assertEquals (new ArrayList<> (expected), new ArrayList<> (actual));
+  }
+  
+  /**
+   * Test of put, get and remove, including the use of NaN to denote absent values.
+   * 
+   */
+  @Test
+  public void testPutGetRemove ()
+  {
+    final DoubleHashMapWithPreImageAndOrderedValueSet<String> map = new DoubleHashMapWithPreImageAndOrderedValueSet<> ();
+    assertTrue (map.isEmpty ());
+    assertTrue (Double.isNaN (map.get ("a")));
+    assertTrue (Double.isNaN (map.remove ("a")));
+    assertTrue (Double.isNaN (map.put ("a", 1.0)));
+    assertTrue (Double.isNaN (map.put ("b", 2.0)));
+    assertEquals (2, map.size ());
+    assertTrue (map.containsKey ("a"));
+    assertFalse (map.containsKey ("c"));
+    assertEquals (1.0, map.get ("a"), 0.0);
+    assertEquals (1.0, map.put ("a", 3.0), 0.0);
+    assertEquals (3.0, map.get ("a"), 0.0);
+    assertEquals (3.0, map.put ("a", 3.0), 0.0);
+    assertEquals (2, map.size ());
+    try
+    {
+      map.put ("a", Double.NaN);
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+    try
+    {
+      map.put ("c", Double.NaN);
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+    assertEquals (3.0, map.get ("a"), 0.0);
+    assertFalse (map.containsKey ("c"));
+    try
+    {
+      map.get (null);
+      fail ();
+    }
+    catch (NullPointerException npe)
+    {
+    }
+    try
+    {
+      map.remove (null);
+      fail ();
+    }
+    catch (NullPointerException npe)
+    {
+    }
+    // Infinite values are legal.
+    assertTrue (Double.isNaN (map.put ("c", Double.NEGATIVE_INFINITY)));
+    assertEquals (Double.NEGATIVE_INFINITY, map.get ("c"), 0.0);
+    assertEquals (3.0, map.remove ("a"), 0.0);
+    assertTrue (Double.isNaN (map.remove ("a")));
+    assertTrue (Double.isNaN (map.get ("a")));
+    assertEquals (2, map.size ());
+    map.clear ();
+    assertTrue (map.isEmpty ());
+    assertTrue (Double.isNaN (map.get ("b")));
+  }
+  
+  /**
+   * Test of firstKey, firstValue and lastValue, including ties and value changes.
+   * 
+   */
+  @Test
+  public void testFirstAndLast ()
+  {
+    final DoubleHashMapWithPreImageAndOrderedValueSet<String> map = new DoubleHashMapWithPreImageAndOrderedValueSet<> ();
+    try
+    {
+      map.firstValue ();
+      fail ();
+    }
+    catch (NoSuchElementException nsee)
+    {
+    }
+    try
+    {
+      map.firstKey ();
+      fail ();
+    }
+    catch (NoSuchElementException nsee)
+    {
+    }
+    try
+    {
+      map.lastValue ();
+      fail ();
+    }
+    catch (NoSuchElementException nsee)
+    {
+    }
+    map.put ("a", 2.0);
+    map.put ("b", 1.0);
+    map.put ("c", 1.0);
+    map.put ("d", 5.0);
+    assertEquals ("b", map.firstKey ());
+    assertEquals (1.0, map.firstValue (), 0.0);
+    assertEquals (5.0, map.lastValue (), 0.0);
+    // Re-putting the same value does not change the order among ties.
+    map.put ("b", 1.0);
+    assertEquals ("b", map.firstKey ());
+    // Obtaining the value anew moves a key behind the other keys with that value.
+    map.put ("b", 0.0);
+    map.put ("b", 1.0);
+    assertEquals ("c", map.firstKey ());
+    map.remove ("c");
+    assertEquals ("b", map.firstKey ());
+    map.put ("d", Double.POSITIVE_INFINITY);
+    assertEquals (Double.POSITIVE_INFINITY, map.lastValue (), 0.0);
+    // Values are compared as by Double.compare, so -0.0 comes before 0.0.
+    map.put ("e", 0.0);
+    map.put ("f", -0.0);
+    assertEquals ("f", map.firstKey ());
+    assertEquals (Double.doubleToLongBits (-0.0), Double.doubleToLongBits (map.firstValue ()));
+    map.remove ("f");
+    map.remove ("e");
+    map.remove ("b");
+    map.remove ("a");
+    assertEquals ("d", map.firstKey ());
+    assertEquals (map.firstValue (), map.lastValue (), 0.0);
+  }
+  
+  /**
+   * Test of getPreImageForValue and getPreImageForRange, notably on the range boundaries.
+   * 
+   */
+  @Test
+  public void testPreImages ()
+  {
+    final DoubleHashMapWithPreImageAndOrderedValueSet<String> map = new DoubleHashMapWithPreImageAndOrderedValueSet<> ();
+    assertTrue (map.getPreImageForValue (1.0).isEmpty ());
+    assertTrue (map.getPreImageForRange (Double.NEGATIVE_INFINITY, true, Double.POSITIVE_INFINITY, true).isEmpty ());
+    map.put ("a", 1.0);
+    map.put ("b", 2.0);
+    map.put ("c", 1.0);
+    map.put ("d", 3.0);
+    map.put ("e", 2.0);
+    assertPreImage (setOf ("a", "c"), map.getPreImageForValue (1.0));
+    assertPreImage (setOf ("b", "e"), map.getPreImageForValue (2.0));
+    assertPreImage (setOf (), map.getPreImageForValue (1.5));
+    assertPreImage (setOf ("a", "c", "b", "e", "d"), map.getPreImageForRange (1.0, true, 3.0, true));
+    assertPreImage (setOf ("b", "e", "d"), map.getPreImageForRange (1.0, false, 3.0, true));
+    assertPreImage (setOf ("a", "c", "b", "e"), map.getPreImageForRange (1.0, true, 3.0, false));
+    assertPreImage (setOf ("b", "e"), map.getPreImageForRange (1.0, false, 3.0, false));
+    assertPreImage (setOf ("b", "e"), map.getPreImageForRange (2.0, true, 2.0, true));
+    assertPreImage (setOf (), map.getPreImageForRange (2.0, false, 2.0, true));
+    assertPreImage (setOf (), map.getPreImageForRange (2.0, true, 2.0, false));
+    assertPreImage (setOf (), map.getPreImageForRange (3.0, true, 1.0, true));
+    assertPreImage (setOf ("a", "c", "b", "e", "d"),
+      map.getPreImageForRange (Double.NEGATIVE_INFINITY, true, Double.POSITIVE_INFINITY, true));
+    assertPreImage (setOf ("d"), map.getPreImageForRange (2.5, true, Double.POSITIVE_INFINITY, false));
+    // The pre-image is a copy.
+    final Set<String> preImage = map.getPreImageForValue (1.0);
+    preImage.clear ();
+    assertPreImage (setOf ("a", "c"), map.getPreImageForValue (1.0));
+    // The order within a pre-image follows the order of obtaining the value.
+    map.put ("a", 2.0);
+    assertPreImage (setOf ("b", "e", "a"), map.getPreImageForValue (2.0));
+    try
+    {
+      map.getPreImageForRange (Double.NaN, true, 1.0, true);
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+    try
+    {
+      map.getPreImageForRange (1.0, true, Double.NaN, true);
+      fail ();
+    }
+    catch (IllegalArgumentException iae)
+    {
+    }
+  }
+  
+  /**
+   * Test of clone.
+   * 
+   */
+  @Test
+  public void testClone ()
+  {
+    final DoubleHashMapWithPreImageAndOrderedValueSet<String> map = new DoubleHashMapWithPreImageAndOrderedValueSet<> (2);
+    for (int i = 0; i < 10; i++)
+      map.put ("k" + i, i % 3);
+    final DoubleHashMapWithPreImageAndOrderedValueSet<String> clone = map.clone ();
+    assertNotSame (map, clone);
+    assertEquals (map.size (), clone.size ());
+    assertPreImage (map.getPreImageForRange (0.0, true, 2.0, true), clone.getPreImageForRange (0.0, true, 2.0, true));
+    // Changes to the clone do not affect the original, and vice versa.
+    clone.put ("k0", 5.0);
+    clone.remove ("k1");
+    clone.put ("x", -1.0);
+    assertEquals (0.0, map.get ("k0"), 0.0);
+    assertEquals (1.0, map.get ("k1"), 0.0);
+    assertFalse (map.containsKey ("x"));
+    assertEquals ("k0", map.firstKey ());
+    assertEquals ("x", clone.firstKey ());
+    assertEquals (5.0, clone.lastValue (), 0.0);
+    map.put ("k2", -2.0);
+    assertEquals (2.0, clone.get ("k2"), 0.0);
+    assertEquals ("x", clone.firstKey ());
+    assertEquals (10, map.size ());
+    assertEquals (10, clone.size ());
+  }
+  
+  /**
+   * Test of random operations against a straightforward reference implementation.
+   * 
+   */
+  @Test
+  public void testRandomOperations ()
+  {
+    final Random rng = new Random (20170101L);
+    final DoubleHashMapWithPreImageAndOrderedValueSet<Integer> map = new DoubleHashMapWithPreImageAndOrderedValueSet<> (1);
+    // The reference: keys in order of obtaining their current value, mapped onto that value.
+    final Map<Integer, Double> reference = new LinkedHashMap<> ();
+    for (int i = 0; i < 20000; i++)
+    {
+      final Integer key = rng.nextInt (200);
+      if (rng.nextInt (3) == 0)
+      {
+        final Double expected = reference.remove (key);
+        final double removed = map.remove (key);
+        assertEquals (expected == null ? Double.NaN : expected, removed, 0.0);
+      }
+      else
+      {
+        // Few distinct values, so as to have many ties.
+        final double value = rng.nextInt (20) / 4.0;
+        final Double expected = reference.get (key);
+        if (expected == null || expected != value)
+        {
+          reference.remove (key);
+          reference.put (key, value);
+        }
+        assertEquals (expected == null ? Double.NaN : expected, map.put (key, value), 0.0);
+      }
+      assertEquals (reference.size (), map.size ());
+      if (i % 100 == 0)
+      {
+        // Expected order: by value, and for equal values, in order of obtaining the value.
+        final List<Integer> expectedOrder = new ArrayList<> (reference.keySet ());
+        Collections.sort (expectedOrder, (k1, k2) -> Double.compare (reference.get (k1), reference.get (k2)));
+        assertEquals (expectedOrder,
+          new ArrayList<> (map.getPreImageForRange (Double.NEGATIVE_INFINITY, true, Double.POSITIVE_INFINITY, true)));
+        if (! expectedOrder.isEmpty ())
+        {
+          assertEquals (expectedOrder.get (0), map.firstKey ());
+          assertEquals (reference.get (expectedOrder.get (0)), map.firstValue (), 0.0);
+          assertEquals (reference.get (expectedOrder.get (expectedOrder.size () - 1)), map.lastValue (), 0.0);
+        }
+        for (final Map.Entry<Integer, Double> entry : reference.entrySet ())
+          assertEquals (entry.getValue (), map.get (entry.getKey ()), 0.0);
+      }
+    }
+  }
+
+}
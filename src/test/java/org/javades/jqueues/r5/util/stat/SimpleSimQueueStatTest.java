@@ -16,6 +16,7 @@
  */
 package org.javades.jqueues.r5.util.stat;
 
+import java.util.Collections;
 import org.javades.jqueues.r5.entity.jq.job.DefaultSimJob;
 import org.javades.jqueues.r5.entity.jq.job.SimJob;
 import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
@@ -286,4 +287,43 @@ public class SimpleSimQueueStatTest
     assertEquals (expResult, result, 0.0);
   }
 
+  /**
+   * Test of type-specific notifications to sub-classes of SimpleSimQueueStat.
+   * 
+   * <p>
+   * A sub-class created through a public constructor must receive arrivals and departures;
+   * one created with an empty set of notification types must still gather its statistics.
+   */
+  @Test
+  public void testSubClassNotifications ()
+  {
+    System.out.println ("Sub-class notifications");
+    final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+    eventList.reset (0);
+    final SimQueue queue = new FCFS<> (eventList);
+    final int[] counts = new int[2];
+    final SimpleSimQueueStat instance = new SimpleSimQueueStat (queue)
+    {
+      @Override
+      public void notifyArrival (final double time, final SimJob job, final SimQueue queue)
+      {
+        counts[0]++;
+      }
+      @Override
+      public void notifyDeparture (final double time, final SimJob job, final SimQueue queue)
+      {
+        counts[1]++;
+      }
+    };
+    final SimpleSimQueueStat narrowInstance = new SimpleSimQueueStat (queue, Collections.emptySet ())
+    {
+    };
+    scheduleJobArrivals (false, 4, eventList, queue);
+    eventList.run ();
+    assertEquals (4, counts[0]);
+    assertEquals (4, counts[1]);
+    assertEquals (instance.getAvgNrOfJobs (), narrowInstance.getAvgNrOfJobs (), 0.0);
+    assertEquals (instance.getMaxNrOfJobs (), narrowInstance.getMaxNrOfJobs (), 0.0);
+  }
+
 }
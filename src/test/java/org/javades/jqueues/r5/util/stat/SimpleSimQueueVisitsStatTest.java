@@ -0,0 +1,164 @@
+/* 
+ * Copyright 2010-2018 Jan de Jongh <jfcmdejongh@gmail.com>, TNO.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * 
+ */
+package org.javades.jqueues.r5.util.stat;
+
+import org.javades.jqueues.r5.entity.SimEntity;
+import org.javades.jqueues.r5.entity.jq.SimJQSimpleEventType;
+import org.javades.jqueues.r5.entity.jq.job.DefaultSimJob;
+import org.javades.jqueues.r5.entity.jq.job.SimJob;
+import org.javades.jqueues.r5.entity.jq.queue.SimQueue;
+import org.javades.jqueues.r5.entity.jq.queue.nonpreemptive.FCFS;
+import org.javades.jsimulation.r5.DefaultSimEvent;
+import org.javades.jsimulation.r5.DefaultSimEventList;
+import org.javades.jsimulation.r5.SimEvent;
+import org.javades.jsimulation.r5.SimEventAction;
+import org.javades.jsimulation.r5.SimEventList;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Tests for {@link SimpleSimQueueVisitsStat}.
+ *
+ * @author Jan de Jongh, TNO
+ * 
+ * <p>
+ * Copyright (C) 2005-2017 Jan de Jongh, TNO
+ * 
+ * <p>
+ * This file is covered by the LICENSE file in the root of this project.
+ * 
+ */
+public class SimpleSimQueueVisitsStatTest
+{
+  
+  public SimpleSimQueueVisitsStatTest ()
+  {
+  }
+  
+  @BeforeClass
+  public static void setUpClass ()
+  {
+  }
+  
+  @AfterClass
+  public static void tearDownClass ()
+  {
+  }
+  
+  @Before
+  public void setUp ()
+  {
+  }
+  
+  @After
+  public void tearDown ()
+  {
+  }
+
+  private static void scheduleJobArrivals (final int n, final SimEventList eventList, final SimQueue queue)
+  {
+    for (int i = 1; i <= n; i++)
+    {
+      final SimJob job = new DefaultSimJob (eventList, Integer.toString (i), i);
+      final double arrTime = i;
+      eventList.add (new DefaultSimEvent ("ARRIVAL_" + i, arrTime, null, (SimEventAction) (final SimEvent event) ->
+      {
+        queue.arrive (event.getTime (), job);
+      }));
+    }
+  }
+  
+  private static void scheduleAction (final SimEventList eventList, final double time, final SimEventAction action)
+  {
+    eventList.add (new DefaultSimEvent ("ACTION@" + time, time, null, action));
+  }
+  
+  /**
+   * Test of statistics and sub-class notifications of class SimpleSimQueueVisitsStat, with a queue reset mid-run.
+   * 
+   * <p>
+   * A sub-class created through a public constructor must receive non-visit notifications like
+   * {@link SimpleSimQueueVisitsStat#notifyOutOfServerAccessCredits};
+   * one created with the visit types only must gather the same statistics.
+   * The reset must clear the statistics, and jobs flushed by the reset must not show up afterwards.
+   */
+  @Test
+  public void testStatisticsWithQueueReset ()
+  {
+    System.out.println ("Statistics with queue reset");
+    final SimEventList eventList = new DefaultSimEventList (DefaultSimEvent.class);
+    eventList.reset (0);
+    final SimQueue queue = new FCFS<> (eventList);
+    final int[] counts = new int[3];
+    final SimpleSimQueueVisitsStat instance = new SimpleSimQueueVisitsStat (queue)
+    {
+      @Override
+      public void notifyResetEntity (final SimEntity entity)
+      {
+        super.notifyResetEntity (entity);
+        counts[0]++;
+      }
+      @Override
+      public void notifyOutOfServerAccessCredits (final double time, final SimQueue queue)
+      {
+        counts[1]++;
+      }
+      @Override
+      public void notifyRegainedServerAccessCredits (final double time, final SimQueue queue)
+      {
+        counts[2]++;
+      }
+    };
+    final SimpleSimQueueVisitsStat narrowInstance = new SimpleSimQueueVisitsStat (queue, SimJQSimpleEventType.VISIT_TYPES)
+    {
+    };
+    // FCFS; job i arrives at t = i and requests service time i.
+    // t = 0   1   2   3   4   5   6   7   8
+    // 1:      XXXX
+    // 2:          XXXXXXXX
+    // 3:              ....
+    // 4:                  XXXXXXXXXXXXXXXX
+    // The queue is reset at t = 3.5, flushing jobs 2 (in service) and 3 (waiting).
+    // Afterwards, job 4 arrives at t = 4, starts at t = 4 and departs at t = 8.
+    scheduleJobArrivals (4, eventList, queue);
+    scheduleAction (eventList, 3.5, (SimEventAction) (final SimEvent event) -> queue.resetEntity ());
+    scheduleAction (eventList, 5.0, (SimEventAction) (final SimEvent event) -> queue.setServerAccessCredits (5.0, 0));
+    scheduleAction (eventList, 6.0, (SimEventAction) (final SimEvent event) -> queue.setServerAccessCredits (6.0, 1));
+    eventList.run ();
+    assertEquals (1, counts[0]);
+    assertEquals (1, counts[1]);
+    assertEquals (1, counts[2]);
+    for (final SimpleSimQueueVisitsStat stat : new SimpleSimQueueVisitsStat[] { instance, narrowInstance })
+    {
+      assertEquals (1, stat.getNumberOfArrivals ());
+      assertEquals (1, stat.getNumberOfStartedJobs ());
+      assertEquals (1, stat.getNumberOfDepartures ());
+      assertEquals (1, stat.getNumberOfExits ());
+      assertEquals (0, stat.getNumberOfJobsDropped ());
+      assertEquals (0, stat.getNumberOfRevocations ());
+      assertEquals (0.0, stat.getAvgWaitingTime (), 0.0);
+      assertEquals (0.0, stat.getMaxWaitingTime (), 0.0);
+      assertEquals (4.0, stat.getAvgSojournTime (), 0.0);
+      assertEquals (4.0, stat.getMinSojournTime (), 0.0);
+      assertEquals (4.0, stat.getMaxSojournTime (), 0.0);
+    }
+  }
+
+}